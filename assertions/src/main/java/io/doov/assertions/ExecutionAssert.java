@@ -0,0 +1,191 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.assertions;
+
+import static java.util.stream.Collectors.toList;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.assertj.core.api.AbstractAssert;
+
+import io.doov.core.FieldId;
+import io.doov.core.dsl.DslModel;
+import io.doov.core.dsl.lang.ValidationRule;
+
+/**
+ * Assertion for the cost of the execution of a {@link ValidationRule} on a model, see
+ * {@link ValidationRuleAssert#executingOn(DslModel)}.
+ * <p>
+ * The rule is first executed {@link #withWarmUp(int) warm-up} times so that it is compiled, then the measures are
+ * made over {@link #measuredOver(int) measured} executions in the calling thread.
+ */
+public class ExecutionAssert extends AbstractAssert<ExecutionAssert, ValidationRule> {
+
+    private static final int DEFAULT_WARM_UP = 10_000;
+    private static final int DEFAULT_MEASURED = 1_000;
+
+    private final DslModel model;
+    private int warmUp = DEFAULT_WARM_UP;
+    private int measured = DEFAULT_MEASURED;
+
+    ExecutionAssert(ValidationRule rule, DslModel model, Class<?> selfType) {
+        super(rule, selfType);
+        this.model = model;
+    }
+
+    /**
+     * Sets the number of executions before the measures.
+     *
+     * @param iterations the number of executions, 0 for no warm-up
+     * @return self
+     */
+    public ExecutionAssert withWarmUp(int iterations) {
+        if (iterations < 0) {
+            throw new IllegalArgumentException("warm-up iterations must not be negative: " + iterations);
+        }
+        this.warmUp = iterations;
+        return this;
+    }
+
+    /**
+     * Sets the number of measured executions.
+     *
+     * @param iterations the number of executions
+     * @return self
+     */
+    public ExecutionAssert measuredOver(int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("measured iterations must be positive: " + iterations);
+        }
+        this.measured = iterations;
+        return this;
+    }
+
+    /**
+     * Verifies that an execution allocates at most the given number of bytes on average, using the allocation
+     * counter of the current thread. The counter is enabled during the measures, then restored to its previous state.
+     *
+     * @param bytes the maximum number of bytes
+     * @return self
+     * @throws IllegalStateException if the JVM does not support thread allocation counters
+     */
+    public ExecutionAssert allocatesAtMost(long bytes) {
+        final com.sun.management.ThreadMXBean threads = threadMXBean();
+        final long thread = Thread.currentThread().getId();
+        final boolean enabled = threads.isThreadAllocatedMemoryEnabled();
+        final long allocated;
+        threads.setThreadAllocatedMemoryEnabled(true);
+        try {
+            warmUp();
+            final long start = threads.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < measured; i++) {
+                actual.executeOn(model);
+            }
+            allocated = (threads.getThreadAllocatedBytes(thread) - start) / measured;
+        } finally {
+            threads.setThreadAllocatedMemoryEnabled(enabled);
+        }
+        if (allocated > bytes) {
+            failWithMessage("Expected rule <%s> to allocate at most %d bytes per execution but allocated %d bytes",
+                    actual.readable(), bytes, allocated);
+        }
+        return this;
+    }
+
+    /**
+     * Verifies that the median duration of an execution is at most the given number of nanoseconds.
+     *
+     * @param nanos the maximum median duration
+     * @return self
+     */
+    public ExecutionAssert completesWithin(long nanos) {
+        warmUp();
+        final long[] durations = new long[measured];
+        for (int i = 0; i < measured; i++) {
+            final long start = System.nanoTime();
+            actual.executeOn(model);
+            durations[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(durations);
+        final long median = durations[measured / 2];
+        if (median > nanos) {
+            failWithMessage("Expected rule <%s> to complete within %d ns but median execution took %d ns",
+                    actual.readable(), nanos, median);
+        }
+        return this;
+    }
+
+    /**
+     * Verifies that an execution reads at most the given number of distinct fields of the model.
+     *
+     * @param fields the maximum number of fields
+     * @return self
+     */
+    public ExecutionAssert readsAtMostFields(int fields) {
+        final ReadRecordingModel recording = new ReadRecordingModel(model);
+        actual.executeOn(recording);
+        if (recording.reads.size() > fields) {
+            failWithMessage("Expected rule <%s> to read at most %d fields but read %d: %s",
+                    actual.readable(), fields, recording.reads.size(),
+                    recording.reads.stream().map(FieldId::code).collect(toList()));
+        }
+        return this;
+    }
+
+    private void warmUp() {
+        for (int i = 0; i < warmUp; i++) {
+            actual.executeOn(model);
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        final java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            throw new IllegalStateException("thread allocation counters are not supported by this JVM");
+        }
+        final com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        if (!allocations.isThreadAllocatedMemorySupported()) {
+            throw new IllegalStateException("thread allocation counters are not supported by this JVM");
+        }
+        return allocations;
+    }
+
+    private static final class ReadRecordingModel implements DslModel {
+
+        private final DslModel model;
+        private final Set<FieldId> reads = new HashSet<>();
+
+        ReadRecordingModel(DslModel model) {
+            this.model = model;
+        }
+
+        @Override
+        public <T> T get(FieldId id) {
+            reads.add(id);
+            return model.get(id);
+        }
+
+        @Override
+        public <T> void set(FieldId fieldId, T value) {
+            model.set(fieldId, value);
+        }
+
+    }
+
+}
@@ -58,6 +58,17 @@ public class ValidationRuleAssert extends AbstractAssert<ValidationRuleAssert, V
         return resultAssert;
     }
 
+    /**
+     * Returns the assertion on the cost of the execution of the rule on the given model.
+     *
+     * @param model the model
+     * @return the assert
+     * @see ExecutionAssert
+     */
+    public ExecutionAssert executingOn(DslModel model) {
+        return new ExecutionAssert(actual, model, ExecutionAssert.class);
+    }
+
     /**
      * Verifies that the result is true for the given model.
      * <p>
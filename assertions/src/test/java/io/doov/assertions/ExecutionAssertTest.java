@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.assertions;
+
+import static io.doov.assertions.Assertions.assertThat;
+import static io.doov.core.dsl.DOOV.when;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.dsl.field.types.IntegerFieldInfo;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.runtime.GenericModel;
+
+/**
+ * @see ExecutionAssert
+ */
+public class ExecutionAssertTest {
+
+    private final GenericModel model = new GenericModel();
+    private final IntegerFieldInfo a = model.intField(1, "A");
+    private final IntegerFieldInfo b = model.intField(2, "B");
+    private final ValidationRule rule = when(a.eq(1).and(b.eq(2))).validate();
+
+    @Test
+    public void should_count_read_fields() {
+        assertThat(rule).executingOn(model).readsAtMostFields(2);
+        assertThatThrownBy(() -> assertThat(rule).executingOn(model).readsAtMostFields(1))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("to read at most 1 fields but read 2");
+    }
+
+    @Test
+    public void should_measure_allocations() {
+        assertThat(rule).executingOn(model).withWarmUp(100).measuredOver(100).allocatesAtMost(1_000_000);
+        assertThatThrownBy(() -> assertThat(rule).executingOn(model).withWarmUp(0).measuredOver(10).allocatesAtMost(-1))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("to allocate at most -1 bytes per execution");
+    }
+
+    @Test
+    public void should_restore_allocation_counter() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        boolean enabled = threads.isThreadAllocatedMemoryEnabled();
+        threads.setThreadAllocatedMemoryEnabled(false);
+        try {
+            assertThat(rule).executingOn(model).withWarmUp(0).measuredOver(10).allocatesAtMost(1_000_000);
+            org.assertj.core.api.Assertions.assertThat(threads.isThreadAllocatedMemoryEnabled()).isFalse();
+        } finally {
+            threads.setThreadAllocatedMemoryEnabled(enabled);
+        }
+    }
+
+    @Test
+    public void should_measure_duration() {
+        assertThat(rule).executingOn(model).withWarmUp(100).measuredOver(100).completesWithin(1_000_000_000L);
+        assertThatThrownBy(() -> assertThat(rule).executingOn(model).withWarmUp(0).measuredOver(10).completesWithin(-1))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("to complete within -1 ns");
+    }
+
+    @Test
+    public void should_reject_invalid_iterations() {
+        assertThatThrownBy(() -> assertThat(rule).executingOn(model).withWarmUp(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> assertThat(rule).executingOn(model).measuredOver(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
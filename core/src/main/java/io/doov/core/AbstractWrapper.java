@@ -14,12 +14,18 @@ public abstract class AbstractWrapper<M> implements FieldModel {
 
     protected final List<FieldInfo> fieldInfos;
     protected final M model;
+    private FieldInfoIndex index;
 
     public AbstractWrapper(List<FieldInfo> fieldInfos, M model) {
         this.fieldInfos = fieldInfos;
         this.model = model;
     }
 
+    public AbstractWrapper(FieldInfoIndex index, M model) {
+        this(index.fieldInfos(), model);
+        this.index = index;
+    }
+
     public M getModel() {
         return model;
     }
@@ -29,4 +35,22 @@ public abstract class AbstractWrapper<M> implements FieldModel {
         return fieldInfos;
     }
 
+    @Override
+    public FieldInfoIndex fieldInfoIndex() {
+        if (index == null) {
+            index = FieldInfoIndex.of(fieldInfos);
+        }
+        return index;
+    }
+
+    @Override
+    public FieldInfo info(FieldId id) {
+        return fieldInfoIndex().info(id);
+    }
+
+    @Override
+    public void setAsString(FieldId fieldId, String value) {
+        fieldInfoIndex().setAsString(this, fieldId, value);
+    }
+
 }
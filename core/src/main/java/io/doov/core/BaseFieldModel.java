@@ -31,6 +31,7 @@ public class BaseFieldModel implements FieldModel {
 
     protected Map<FieldId, Object> values;
     protected List<FieldInfo> fieldInfos;
+    private FieldInfoIndex index;
 
     public BaseFieldModel(List<FieldInfo> fieldInfos) {
         this(new HashMap<>(), fieldInfos);
@@ -43,6 +44,7 @@ public class BaseFieldModel implements FieldModel {
 
     public BaseFieldModel(FieldModel fieldModel) {
         this(fieldModel.getFieldInfos());
+        this.index = fieldModel.fieldInfoIndex();
         setAll(fieldModel);
     }
 
@@ -55,6 +57,24 @@ public class BaseFieldModel implements FieldModel {
         return fieldInfos;
     }
 
+    @Override
+    public FieldInfoIndex fieldInfoIndex() {
+        if (index == null || index.fieldInfos() != fieldInfos) {
+            index = FieldInfoIndex.of(fieldInfos);
+        }
+        return index;
+    }
+
+    @Override
+    public FieldInfo info(FieldId id) {
+        return fieldInfoIndex().info(id);
+    }
+
+    @Override
+    public void setAsString(FieldId fieldId, String value) {
+        fieldInfoIndex().setAsString(this, fieldId, value);
+    }
+
     @Override
     public TypeAdapterRegistry getTypeAdapterRegistry() {
         return TYPE_ADAPTER_REGISTRY;
@@ -69,14 +89,12 @@ public class BaseFieldModel implements FieldModel {
     @Override
     public void set(FieldId fieldId, Object value) {
         values.put(fieldId, value);
-        Arrays.stream(siblingsOf(fieldId)).forEach(s -> values.put(s, value));
-    }
-
-    private static final FieldId[] NO_SIBLINGS = new FieldId[] {};
-
-    private FieldId[] siblingsOf(FieldId fieldId) {
-        Optional<FieldInfo> sublings = fieldInfos.stream().filter(info -> info.id() == fieldId).findFirst();
-        return sublings.isPresent() ? sublings.get().siblings() : NO_SIBLINGS;
+        FieldInfo info = fieldInfoIndex().info(fieldId);
+        if (info != null) {
+            for (FieldId sibling : info.siblings()) {
+                values.put(sibling, value);
+            }
+        }
     }
 
     @Override
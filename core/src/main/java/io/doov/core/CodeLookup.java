@@ -7,19 +7,21 @@ import java.util.Arrays;
 import java.util.stream.Stream;
 
 /**
- * Enum type interface with overridable {@link #parseCode} implementation.
+ * Enum type interface with overridable {@link #parseCode} implementation. The default implementation looks up a
+ * code table computed once per enum type.
  *
  * @param <E> Enum type
  */
 public interface CodeLookup<E extends Enum<E> & CodeValuable> extends CodeValuable {
 
+    @SuppressWarnings("unchecked")
     default E parseCode(String code) {
-        return stream().filter(e -> e.getCode().equals(code)).findFirst().orElse(null);
+        return (E) CodeTable.of(((Enum<?>) this).getDeclaringClass()).parse(code);
     }
 
     @SuppressWarnings("unchecked")
     default Stream<E> stream() {
-        return Arrays.stream((E[]) getClass().getEnumConstants());
+        return Arrays.stream(CodeTable.of(((Enum<?>) this).getDeclaringClass()).constants()).map(e -> (E) e);
     }
 
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Constants and code to constant table of a {@code CodeValuable} enum type, computed once per type.
+ */
+final class CodeTable {
+
+    private static final ClassValue<CodeTable> TABLES = new ClassValue<CodeTable>() {
+        @Override
+        protected CodeTable computeValue(Class<?> type) {
+            return new CodeTable(type);
+        }
+    };
+
+    private final Object[] constants;
+    private final Map<String, Object> byCode;
+
+    private CodeTable(Class<?> type) {
+        Object[] enumConstants = type.getEnumConstants();
+        this.constants = enumConstants == null ? new Object[] {} : enumConstants;
+        this.byCode = new HashMap<>(constants.length * 2);
+        for (Object constant : constants) {
+            String code = ((CodeValuable) constant).getCode();
+            if (code != null) {
+                byCode.putIfAbsent(code, constant);
+            }
+        }
+    }
+
+    static CodeTable of(Class<?> type) {
+        return TABLES.get(type);
+    }
+
+    /**
+     * Returns the constants, the array is shared and must not be modified
+     */
+    Object[] constants() {
+        return constants;
+    }
+
+    Object parse(String code) {
+        return code == null ? null : byCode.get(code);
+    }
+
+}
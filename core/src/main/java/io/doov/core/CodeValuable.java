@@ -3,8 +3,6 @@
  */
 package io.doov.core;
 
-import java.util.Arrays;
-
 /**
  * Enum type interface for coherent String representation of an Enum literal.
  */
@@ -17,8 +15,21 @@ public interface CodeValuable {
     class Helper {
 
         public static <C extends CodeValuable> C parseCode(Class<C> type, String value, C defaultValue) {
-            return Arrays.stream(type.getEnumConstants()).filter(e -> e.getCode().equals(value)).findFirst()
-                            .orElse(defaultValue);
+            Object constant = CodeTable.of(type).parse(value);
+            return constant == null ? defaultValue : type.cast(constant);
+        }
+
+        /**
+         * Returns a constant of the enum type, to call {@link CodeLookup#parseCode(String)} on. The constants are
+         * cached per type, the array is not cloned on each call like {@code getEnumConstants()}.
+         *
+         * @param type the enum type
+         * @param <C> the enum type
+         * @return the first constant, or null if the enum has none
+         */
+        public static <C extends CodeLookup<?>> C lookup(Class<C> type) {
+            Object[] constants = CodeTable.of(type).constants();
+            return constants.length == 0 ? null : type.cast(constants[0]);
         }
     }
 
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.core;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.*;
+
+import io.doov.core.serial.TypeAdapterRegistry;
+import io.doov.core.serial.TypeAdapters;
+
+/**
+ * Thread-safe {@code FieldModel} implementation based on an {@code AtomicReferenceArray} indexed by the ordinal of
+ * the field in the field info list. Reads and writes never lock, and setting a value also sets its siblings.
+ */
+public class ConcurrentFieldModel implements FieldModel {
+
+    private final FieldInfoIndex ordinals;
+    private final AtomicReferenceArray<Object> values;
+
+    public ConcurrentFieldModel(List<FieldInfo> fieldInfos) {
+        this.ordinals = FieldInfoIndex.of(fieldInfos);
+        this.values = new AtomicReferenceArray<>(fieldInfos.size());
+    }
+
+    public ConcurrentFieldModel(FieldModel fieldModel) {
+        this(fieldModel.getFieldInfos());
+        setAll(fieldModel);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(FieldId fieldId) {
+        int ordinal = ordinals.ordinal(fieldId);
+        return ordinal < 0 ? null : (T) values.get(ordinal);
+    }
+
+    @Override
+    public <T> void set(FieldId fieldId, T value) {
+        int ordinal = ordinals.checkedOrdinal(fieldId);
+        values.set(ordinal, value);
+        for (int sibling : ordinals.siblings(ordinal)) {
+            values.set(sibling, value);
+        }
+    }
+
+    @Override
+    public List<FieldInfo> getFieldInfos() {
+        return ordinals.fieldInfos();
+    }
+
+    @Override
+    public FieldInfoIndex fieldInfoIndex() {
+        return ordinals;
+    }
+
+    @Override
+    public FieldInfo info(FieldId id) {
+        return ordinals.info(id);
+    }
+
+    @Override
+    public TypeAdapterRegistry getTypeAdapterRegistry() {
+        return TypeAdapters.INSTANCE;
+    }
+
+    @Override
+    public Iterator<Entry<FieldId, Object>> iterator() {
+        return stream().iterator();
+    }
+
+    @Override
+    public Spliterator<Entry<FieldId, Object>> spliterator() {
+        return stream().spliterator();
+    }
+
+    @Override
+    public Stream<Entry<FieldId, Object>> stream() {
+        return IntStream.range(0, ordinals.size()).mapToObj(this::entry);
+    }
+
+    @Override
+    public Stream<Entry<FieldId, Object>> parallelStream() {
+        return IntStream.range(0, ordinals.size()).parallel().mapToObj(this::entry);
+    }
+
+    private Entry<FieldId, Object> entry(int ordinal) {
+        return new SimpleImmutableEntry<>(ordinals.id(ordinal), values.get(ordinal));
+    }
+
+}
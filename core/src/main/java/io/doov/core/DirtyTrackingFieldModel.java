@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.core;
+
+import java.util.BitSet;
+
+/**
+ * A {@code FieldModel} recording the fields set since the last reset, by their ordinal in the
+ * {@link #fieldInfoIndex() field info index}.
+ * <p>
+ * Setting a field marks it and its siblings as dirty, whether the value changed or not. Code writing to the
+ * underlying model without going through {@link #set(FieldId, Object)}, like the generated {@link ModelCopier}s, must
+ * call {@link #markDirty(FieldId)}, other changes are not recorded. Generated wrappers implement this interface when
+ * generated with the {@code dirtyTracking} option, see {@link io.doov.core.dsl.impl.IncrementalExecution}.
+ */
+public interface DirtyTrackingFieldModel extends FieldModel {
+
+    /**
+     * Returns the ordinals of the fields set since the last reset.
+     *
+     * @return a copy of the dirty fields
+     */
+    BitSet dirtyFields();
+
+    /**
+     * Marks the given field and its siblings as dirty, ignoring fields that are not part of the model.
+     *
+     * @param fieldId the field id
+     */
+    void markDirty(FieldId fieldId);
+
+    /**
+     * Clears the dirty fields.
+     */
+    void resetDirty();
+
+    /**
+     * Returns true if the given field was set since the last reset.
+     *
+     * @param fieldId the field id
+     * @return true if the field is dirty
+     */
+    default boolean isDirty(FieldId fieldId) {
+        final int ordinal = fieldInfoIndex().ordinal(fieldId);
+        return ordinal >= 0 && dirtyFields().get(ordinal);
+    }
+
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.core;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import io.doov.core.serial.TypeAdapter;
+import io.doov.core.serial.TypeAdapterRegistry;
+
+/**
+ * Immutable index of a field info list, giving the metadata of a field by its ordinal in the list: field info, type,
+ * ordinals of its siblings, code valuable flag and tags.
+ * <p>
+ * The tags of the fields are given dense bit indices, in order of first appearance, so that the tags of a field are a
+ * {@code long} bitmask: the first 64 tags are tested with a mask, the next ones with {@link FieldId#hasTag(TagId)}.
+ * The ordinals of the fields of each tag are precomputed, see {@link #tagged(TagId)}.
+ * <p>
+ * When all the field ids are constants of the same enum, the ordinal of a field id is read in a table indexed by the
+ * enum ordinal, otherwise in a hash map. The generated field info classes expose a shared index of their field infos,
+ * used by the generated wrappers, see {@link FieldModel#fieldInfoIndex()}.
+ */
+public final class FieldInfoIndex {
+
+    private static final int[] NO_SIBLINGS = new int[] {};
+    private static final int[] NO_FIELDS = new int[] {};
+    private static final int MASK_BITS = Long.SIZE;
+
+    private final List<FieldInfo> fieldInfos;
+    private final FieldInfo[] infos;
+    private final Class<?>[] types;
+    private final int[][] siblings;
+    private final boolean[] codeValuables;
+    private final Class<?> enumType;
+    private final int[] enumOrdinals;
+    private final Map<FieldId, Integer> ordinals;
+    private final Map<TagId, Integer> tagBits;
+    private final long[] tagMasks;
+    private final Map<TagId, int[]> tagged;
+    private volatile Adapters adapters;
+
+    private FieldInfoIndex(List<FieldInfo> fieldInfos) {
+        this.fieldInfos = fieldInfos;
+        this.infos = fieldInfos.toArray(new FieldInfo[0]);
+        this.types = new Class<?>[infos.length];
+        this.codeValuables = new boolean[infos.length];
+        for (int i = 0; i < infos.length; i++) {
+            types[i] = infos[i].type();
+            codeValuables[i] = infos[i].isCodeValuable();
+        }
+        this.enumType = enumType(infos);
+        this.enumOrdinals = enumType == null ? null : enumOrdinals(enumType, infos);
+        this.ordinals = enumType == null ? hashOrdinals(infos) : null;
+        this.siblings = new int[infos.length][];
+        for (int i = 0; i < infos.length; i++) {
+            FieldId[] fieldSiblings = infos[i].siblings();
+            siblings[i] = fieldSiblings.length == 0 ? NO_SIBLINGS : Arrays.stream(fieldSiblings)
+                            .mapToInt(this::ordinal).filter(ordinal -> ordinal >= 0).toArray();
+        }
+        this.tagBits = new HashMap<>();
+        this.tagMasks = new long[infos.length];
+        Map<TagId, List<Integer>> taggedOrdinals = new HashMap<>();
+        for (int i = 0; i < infos.length; i++) {
+            for (TagId tag : infos[i].id().tags()) {
+                int bit = tagBits.computeIfAbsent(tag, t -> tagBits.size());
+                if (bit < MASK_BITS) {
+                    tagMasks[i] |= 1L << bit;
+                }
+                List<Integer> fields = taggedOrdinals.computeIfAbsent(tag, t -> new ArrayList<>());
+                if (fields.isEmpty() || fields.get(fields.size() - 1) != i) {
+                    fields.add(i);
+                }
+            }
+        }
+        this.tagged = new HashMap<>();
+        taggedOrdinals.forEach((tag, fields) -> tagged.put(tag, fields.stream().mapToInt(Integer::intValue)
+                        .toArray()));
+    }
+
+    /**
+     * Returns a new index of the given field infos. The list must not be modified afterwards.
+     *
+     * @param fieldInfos the field infos
+     * @return the index
+     */
+    public static FieldInfoIndex of(List<FieldInfo> fieldInfos) {
+        return new FieldInfoIndex(fieldInfos);
+    }
+
+    private static Class<?> enumType(FieldInfo[] infos) {
+        if (infos.length == 0 || !(infos[0].id() instanceof Enum)) {
+            return null;
+        }
+        Class<?> type = ((Enum<?>) infos[0].id()).getDeclaringClass();
+        for (FieldInfo info : infos) {
+            if (!(info.id() instanceof Enum) || ((Enum<?>) info.id()).getDeclaringClass() != type) {
+                return null;
+            }
+        }
+        return type;
+    }
+
+    private static Map<FieldId, Integer> hashOrdinals(FieldInfo[] infos) {
+        Map<FieldId, Integer> ordinals = new HashMap<>();
+        for (int i = 0; i < infos.length; i++) {
+            ordinals.put(infos[i].id(), i);
+        }
+        return ordinals;
+    }
+
+    private static int[] enumOrdinals(Class<?> enumType, FieldInfo[] infos) {
+        int[] enumOrdinals = new int[enumType.getEnumConstants().length];
+        Arrays.fill(enumOrdinals, -1);
+        for (int i = 0; i < infos.length; i++) {
+            enumOrdinals[((Enum<?>) infos[i].id()).ordinal()] = i;
+        }
+        return enumOrdinals;
+    }
+
+    public List<FieldInfo> fieldInfos() {
+        return fieldInfos;
+    }
+
+    public int size() {
+        return infos.length;
+    }
+
+    /**
+     * Returns the ordinal of the field, or -1 when the field is not part of the list
+     *
+     * @param fieldId the field id
+     * @return the ordinal
+     */
+    public int ordinal(FieldId fieldId) {
+        if (enumOrdinals != null) {
+            return fieldId instanceof Enum && ((Enum<?>) fieldId).getDeclaringClass() == enumType
+                            ? enumOrdinals[((Enum<?>) fieldId).ordinal()] : -1;
+        }
+        Integer ordinal = ordinals.get(fieldId);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    /**
+     * Returns the ordinal of the field
+     *
+     * @param fieldId the field id
+     * @return the ordinal
+     * @throws IllegalArgumentException when the field is not part of the list
+     */
+    public int checkedOrdinal(FieldId fieldId) {
+        int ordinal = ordinal(fieldId);
+        if (ordinal < 0) {
+            throw new IllegalArgumentException("unsupported field " + fieldId);
+        }
+        return ordinal;
+    }
+
+    public boolean contains(FieldId fieldId) {
+        return ordinal(fieldId) >= 0;
+    }
+
+    /**
+     * Returns the field info of the field, or null when the field is not part of the list
+     *
+     * @param fieldId the field id
+     * @return the field info
+     */
+    public FieldInfo info(FieldId fieldId) {
+        int ordinal = ordinal(fieldId);
+        return ordinal < 0 ? null : infos[ordinal];
+    }
+
+    public FieldInfo info(int ordinal) {
+        return infos[ordinal];
+    }
+
+    public FieldId id(int ordinal) {
+        return infos[ordinal].id();
+    }
+
+    public Class<?> type(int ordinal) {
+        return types[ordinal];
+    }
+
+    public boolean isCodeValuable(int ordinal) {
+        return codeValuables[ordinal];
+    }
+
+    /**
+     * Returns the ordinals of the siblings of the field, the array must not be modified
+     *
+     * @param ordinal the ordinal of the field
+     * @return the ordinals of the siblings
+     */
+    public int[] siblings(int ordinal) {
+        return siblings[ordinal];
+    }
+
+    /**
+     * Returns the bitmask of the given tag, 0 when no field has the tag or when the tag has no bit
+     *
+     * @param tag the tag
+     * @return the bitmask
+     */
+    public long tagMask(TagId tag) {
+        Integer bit = tagBits.get(tag);
+        return bit == null || bit >= MASK_BITS ? 0 : 1L << bit;
+    }
+
+    /**
+     * Returns the bitmask of the tags of the field, see {@link #tagMask(TagId)}
+     *
+     * @param ordinal the ordinal of the field
+     * @return the bitmask
+     */
+    public long tagMask(int ordinal) {
+        return tagMasks[ordinal];
+    }
+
+    /**
+     * Returns true if the field has the given tag
+     *
+     * @param ordinal the ordinal of the field
+     * @param tag the tag
+     * @return true if tagged
+     */
+    public boolean hasTag(int ordinal, TagId tag) {
+        Integer bit = tagBits.get(tag);
+        if (bit == null) {
+            return false;
+        }
+        return bit < MASK_BITS ? (tagMasks[ordinal] & 1L << bit) != 0 : infos[ordinal].id().hasTag(tag);
+    }
+
+    /**
+     * Returns true if the field has one of the tags of the given bitmask
+     *
+     * @param ordinal the ordinal of the field
+     * @param mask the bitmask of tags
+     * @return true if tagged
+     */
+    public boolean hasAnyTag(int ordinal, long mask) {
+        return (tagMasks[ordinal] & mask) != 0;
+    }
+
+    /**
+     * Returns the ordinals of the fields with the given tag, in increasing order, without copying the precomputed
+     * ordinals shared by the models of this index
+     *
+     * @param tag the tag
+     * @return the ordinals of the tagged fields
+     */
+    public IntStream tagged(TagId tag) {
+        return Arrays.stream(tagged.getOrDefault(tag, NO_FIELDS));
+    }
+
+    /**
+     * Returns the first type adapter of the registry accepting the field, cached by ordinal for the last registry
+     * used, see {@link TypeAdapterRegistry#adapter(FieldInfo)}.
+     *
+     * @param registry the type adapter registry
+     * @param ordinal the ordinal of the field
+     * @return the type adapter, or null when none accepts the field
+     */
+    public TypeAdapter adapter(TypeAdapterRegistry registry, int ordinal) {
+        Adapters current = adapters;
+        if (current == null || current.registry != registry) {
+            current = new Adapters(registry, infos.length);
+            adapters = current;
+        }
+        TypeAdapter adapter = current.adapters[ordinal];
+        if (adapter == null) {
+            adapter = registry.adapter(infos[ordinal]);
+            current.adapters[ordinal] = adapter;
+        }
+        return adapter;
+    }
+
+    /**
+     * Sets the value of the field from a string with the cached type adapter, see
+     * {@link FieldModel#setAsString(FieldInfo, String)}
+     */
+    void setAsString(FieldModel model, FieldId fieldId, String value) {
+        int ordinal = checkedOrdinal(fieldId);
+        if (value == null) {
+            model.set(fieldId, null);
+            return;
+        }
+        TypeAdapter adapter = model.getTypeAdapterRegistry().adapter(this, ordinal);
+        if (adapter == null) {
+            throw new IllegalStateException("cannot set field " + fieldId + " with value " + value);
+        }
+        model.set(fieldId, adapter.fromString(infos[ordinal], value));
+    }
+
+    private static final class Adapters {
+
+        private final TypeAdapterRegistry registry;
+        private final TypeAdapter[] adapters;
+
+        Adapters(TypeAdapterRegistry registry, int size) {
+            this.registry = registry;
+            this.adapters = new TypeAdapter[size];
+        }
+
+    }
+
+}
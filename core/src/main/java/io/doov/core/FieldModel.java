@@ -103,8 +103,21 @@ public interface FieldModel extends Iterable<Map.Entry<FieldId, Object>>, DslMod
      * @param tag the tag id
      */
     default void clear(TagId tag) {
-        getFieldInfos().stream().filter(info -> info.id().hasTag(tag) && get(info.id()) != null)
-                        .forEach(info -> set(info.id(), null));
+        FieldInfoIndex index = fieldInfoIndex();
+        index.tagged(tag).mapToObj(index::id).filter(id -> get(id) != null).forEach(id -> set(id, null));
+    }
+
+    /**
+     * Returns a sequential {@code Stream} of the fields tagged with the specified {@code TagId}, visiting only the
+     * tagged fields, see {@link FieldInfoIndex#tagged(TagId)}
+     *
+     * @param tag the tag id
+     * @return the stream
+     */
+    default Stream<Map.Entry<FieldId, Object>> stream(TagId tag) {
+        FieldInfoIndex index = fieldInfoIndex();
+        return index.tagged(tag).mapToObj(index::id)
+                        .<Map.Entry<FieldId, Object>> map(id -> new AbstractMap.SimpleImmutableEntry<>(id, get(id)));
     }
 
     /**
@@ -117,6 +130,16 @@ public interface FieldModel extends Iterable<Map.Entry<FieldId, Object>>, DslMod
         return getFieldInfos().stream().filter(info -> info.id() == id).findFirst().orElse(null);
     }
 
+    /**
+     * Returns the index of the field infos of this model. The default implementation builds a new index on each
+     * call: models should cache their index, and share it when their list of field infos is fixed.
+     *
+     * @return the field info index
+     */
+    default FieldInfoIndex fieldInfoIndex() {
+        return FieldInfoIndex.of(getFieldInfos());
+    }
+
 
     @Override
     default String getAsString(FieldId fieldId) {
@@ -149,11 +172,10 @@ public interface FieldModel extends Iterable<Map.Entry<FieldId, Object>>, DslMod
         if (value == null) {
             set(fieldInfo.id(), null);
         } else {
-            TypeAdapter typeAdapter = getTypeAdapterRegistry().stream()
-                    .filter(a -> a.accept(fieldInfo))
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalStateException("cannot set field "
-                            + fieldInfo.id() + " with value " + value));
+            TypeAdapter typeAdapter = getTypeAdapterRegistry().adapter(fieldInfo);
+            if (typeAdapter == null) {
+                throw new IllegalStateException("cannot set field " + fieldInfo.id() + " with value " + value);
+            }
             set(fieldInfo.id(), typeAdapter.fromString(fieldInfo, value));
         }
     }
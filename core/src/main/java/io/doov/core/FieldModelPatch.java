@@ -0,0 +1,277 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.core;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.*;
+import java.util.*;
+
+import io.doov.core.serial.TypeAdapter;
+import io.doov.core.serial.TypeAdapterRegistry;
+
+/**
+ * Change set between two versions of a {@code FieldModel}, see {@link FieldModels#diff(FieldModel, FieldModel)}.
+ * <p>
+ * Each change is stored as the ordinal of the field in the field info list, with its old and new values, in
+ * parallel arrays. A patch can be encoded to bytes, values are then written as UTF-8 strings with the
+ * {@code TypeAdapter} of their field, see {@link FieldInfoIndex#adapter(TypeAdapterRegistry, int)}.
+ */
+public final class FieldModelPatch {
+
+    private static final int MAGIC = 0xD0;
+    private static final int VERSION = 2;
+    private static final int OLD_VALUE = 1;
+    private static final int NEW_VALUE = 2;
+
+    private final FieldInfoIndex index;
+    private int size;
+    private int[] ordinals;
+    private Object[] oldValues;
+    private Object[] newValues;
+
+    FieldModelPatch(FieldInfoIndex index) {
+        this.index = index;
+        this.ordinals = new int[8];
+        this.oldValues = new Object[8];
+        this.newValues = new Object[8];
+    }
+
+    void add(int ordinal, Object oldValue, Object newValue) {
+        if (size == ordinals.length) {
+            ordinals = Arrays.copyOf(ordinals, size * 2);
+            oldValues = Arrays.copyOf(oldValues, size * 2);
+            newValues = Arrays.copyOf(newValues, size * 2);
+        }
+        ordinals[size] = ordinal;
+        oldValues[size] = oldValue;
+        newValues[size] = newValue;
+        size++;
+    }
+
+    /**
+     * @return the field infos of the compared models
+     */
+    public List<FieldInfo> getFieldInfos() {
+        return index.fieldInfos();
+    }
+
+    /**
+     * @return the number of changed fields
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param index the change index
+     * @return the ordinal of the changed field in the field info list
+     */
+    public int ordinal(int index) {
+        checkIndex(index);
+        return ordinals[index];
+    }
+
+    /**
+     * @param index the change index
+     * @return the id of the changed field
+     */
+    public FieldId fieldId(int index) {
+        return this.index.id(ordinal(index));
+    }
+
+    /**
+     * @param index the change index
+     * @return the value before the change
+     */
+    public Object oldValue(int index) {
+        checkIndex(index);
+        return oldValues[index];
+    }
+
+    /**
+     * @param index the change index
+     * @return the value after the change
+     */
+    public Object newValue(int index) {
+        checkIndex(index);
+        return newValues[index];
+    }
+
+    /**
+     * @return the ids of the changed fields
+     */
+    public List<FieldId> fieldIds() {
+        List<FieldId> fieldIds = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            fieldIds.add(index.id(ordinals[i]));
+        }
+        return fieldIds;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+    }
+
+    /**
+     * Encodes this patch, values are written with the first type adapter accepting their field.
+     *
+     * @param registry the type adapters
+     * @return the encoded patch
+     * @throws IllegalStateException if no type adapter accepts a field
+     */
+    public byte[] encode(TypeAdapterRegistry registry) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(MAGIC);
+            out.writeByte(VERSION);
+            writeVarInt(out, index.size());
+            writeVarInt(out, size);
+            for (int i = 0; i < size; i++) {
+                writeVarInt(out, ordinals[i]);
+                out.writeByte((oldValues[i] != null ? OLD_VALUE : 0) | (newValues[i] != null ? NEW_VALUE : 0));
+                writeValue(out, registry, ordinals[i], oldValues[i]);
+                writeValue(out, registry, ordinals[i], newValues[i]);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a patch encoded with {@link #encode(TypeAdapterRegistry)}, values are read with the first type adapter
+     * accepting their field.
+     *
+     * @param bytes the encoded patch
+     * @param fieldInfos the field infos of the models the patch applies to
+     * @param registry the type adapters
+     * @return the patch
+     * @throws IllegalArgumentException if the bytes are not a patch for the given field infos
+     */
+    public static FieldModelPatch decode(byte[] bytes, List<FieldInfo> fieldInfos, TypeAdapterRegistry registry) {
+        return decode(bytes, FieldInfoIndex.of(fieldInfos), registry);
+    }
+
+    /**
+     * Decodes a patch encoded with {@link #encode(TypeAdapterRegistry)}, with the type adapters cached by the index.
+     *
+     * @param bytes the encoded patch
+     * @param index the field info index of the models the patch applies to
+     * @param registry the type adapters
+     * @return the patch
+     * @throws IllegalArgumentException if the bytes are not a patch for the given field infos
+     */
+    public static FieldModelPatch decode(byte[] bytes, FieldInfoIndex index, TypeAdapterRegistry registry) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (in.readUnsignedByte() != MAGIC || in.readUnsignedByte() != VERSION) {
+                throw new IllegalArgumentException("not an encoded field model patch");
+            }
+            int fieldCount = readVarInt(in);
+            if (fieldCount != index.size()) {
+                throw new IllegalArgumentException("patch encoded for " + fieldCount + " fields, got "
+                                + index.size());
+            }
+            FieldModelPatch patch = new FieldModelPatch(index);
+            int size = readVarInt(in);
+            if (size < 0 || size > in.available()) {
+                throw new IllegalArgumentException("malformed field model patch size " + size);
+            }
+            for (int i = 0; i < size; i++) {
+                int ordinal = readVarInt(in);
+                if (ordinal < 0 || ordinal >= fieldCount) {
+                    throw new IllegalArgumentException("unsupported field ordinal " + ordinal);
+                }
+                int flags = in.readUnsignedByte();
+                Object oldValue = (flags & OLD_VALUE) != 0 ? readValue(in, registry, index, ordinal) : null;
+                Object newValue = (flags & NEW_VALUE) != 0 ? readValue(in, registry, index, ordinal) : null;
+                patch.add(ordinal, oldValue, newValue);
+            }
+            return patch;
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("truncated field model patch", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeValue(DataOutputStream out, TypeAdapterRegistry registry, int ordinal, Object value)
+                    throws IOException {
+        if (value == null) {
+            return;
+        }
+        TypeAdapter adapter = index.adapter(registry, ordinal);
+        if (adapter == null) {
+            throw new IllegalStateException("cannot encode field " + index.id(ordinal) + " with value " + value);
+        }
+        byte[] bytes = adapter.toString(value).getBytes(UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static Object readValue(DataInputStream in, TypeAdapterRegistry registry, FieldInfoIndex index,
+                    int ordinal) throws IOException {
+        int length = readVarInt(in);
+        if (length < 0 || length > in.available()) {
+            throw new IllegalArgumentException("malformed field model patch value length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        String value = new String(bytes, UTF_8);
+        TypeAdapter adapter = index.adapter(registry, ordinal);
+        if (adapter == null) {
+            throw new IllegalStateException("cannot decode field " + index.id(ordinal) + " with value " + value);
+        }
+        return adapter.fromString(index.info(ordinal), value);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("malformed field model patch");
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("FieldModelPatch[");
+        for (int i = 0; i < size; i++) {
+            builder.append(i == 0 ? "" : ", ").append(fieldId(i)).append(": ").append(oldValues[i]).append(" -> ")
+                            .append(newValues[i]);
+        }
+        return builder.append(']').toString();
+    }
+
+}
@@ -15,10 +15,12 @@
  */
 package io.doov.core;
 
-import java.util.EnumSet;
+import static java.util.stream.Collector.Characteristics.CONCURRENT;
+import static java.util.stream.Collector.Characteristics.IDENTITY_FINISH;
+import static java.util.stream.Collector.Characteristics.UNORDERED;
+
+import java.util.*;
 import java.util.Map.Entry;
-import java.util.Set;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.*;
 import java.util.stream.Collector;
 
@@ -40,6 +42,8 @@ public class FieldModels {
 
     /**
      * Returns a concurrent {@code Collector} that accumulates the input elements into a unique {@code FieldModel}.
+     * Elements are accumulated without locking into a {@link ConcurrentFieldModel}, which is then copied into the
+     * given model, unless the given model is itself a {@code ConcurrentFieldModel}.
      *
      * @param <Fm>  the type of field model
      * @param model the model
@@ -49,6 +53,71 @@ public class FieldModels {
         return new ConcurrentFieldModelCollector<>(model);
     }
 
+    /**
+     * Returns the changes between two versions of a model, both models are expected to share the same field info
+     * list. Values are compared with {@code equals}, the models are read field by field without creating entries.
+     *
+     * @param before the previous version
+     * @param after the new version
+     * @return the change set
+     */
+    public static FieldModelPatch diff(FieldModel before, FieldModel after) {
+        if (before instanceof VersionedFieldModel && after instanceof VersionedFieldModel) {
+            return diff(((VersionedFieldModel) before).snapshot(), ((VersionedFieldModel) after).snapshot());
+        }
+        return diff(before.fieldInfoIndex(), before::get, after::get);
+    }
+
+    /**
+     * Returns the changes between two persistent versions of a model, skipping the trie nodes they share.
+     *
+     * @param before the previous version
+     * @param after the new version
+     * @return the change set
+     * @see #diff(FieldModel, FieldModel)
+     */
+    public static FieldModelPatch diff(PersistentFieldModel before, PersistentFieldModel after) {
+        FieldModelPatch patch = new FieldModelPatch(before.fieldInfoIndex());
+        if (before.diff(after, patch)) {
+            return patch;
+        }
+        return diff(before.fieldInfoIndex(), before::get, after::get);
+    }
+
+    private static FieldModelPatch diff(FieldInfoIndex index, Function<FieldId, Object> before,
+                    Function<FieldId, Object> after) {
+        FieldModelPatch patch = new FieldModelPatch(index);
+        for (int ordinal = 0; ordinal < index.size(); ordinal++) {
+            FieldId fieldId = index.id(ordinal);
+            Object oldValue = before.apply(fieldId);
+            Object newValue = after.apply(fieldId);
+            if (!Objects.equals(oldValue, newValue)) {
+                patch.add(ordinal, oldValue, newValue);
+            }
+        }
+        return patch;
+    }
+
+    /**
+     * Sets the new values of the patch on the model. A {@link VersionedFieldModel} publishes all the changes as a
+     * single version, use {@link PersistentFieldModel#with(FieldModelPatch)} for a persistent model.
+     *
+     * @param <Fm> the type of field model
+     * @param model the model to update
+     * @param patch the change set
+     * @return the updated model
+     */
+    public static <Fm extends FieldModel> Fm apply(Fm model, FieldModelPatch patch) {
+        if (model instanceof VersionedFieldModel) {
+            ((VersionedFieldModel) model).update(builder -> builder.setAll(patch));
+            return model;
+        }
+        for (int i = 0; i < patch.size(); i++) {
+            model.set(patch.fieldId(i), patch.newValue(i));
+        }
+        return model;
+    }
+
     private static final class FieldModelCollector<Fm extends FieldModel>
                     implements Collector<Entry<FieldId, Object>, Fm, Fm> {
 
@@ -75,7 +144,12 @@ public class FieldModels {
 
         @Override
         public BinaryOperator<Fm> combiner() {
-            return (m1, m2) -> m1;
+            return (m1, m2) -> {
+                if (m1 != m2) {
+                    m1.setAll(m2);
+                }
+                return m1;
+            };
         }
 
         @Override
@@ -85,56 +159,59 @@ public class FieldModels {
 
         @Override
         public Set<Characteristics> characteristics() {
-            return EnumSet.allOf(Characteristics.class);
+            return EnumSet.of(IDENTITY_FINISH);
         }
 
     }
 
     private static final class ConcurrentFieldModelCollector<Fm extends FieldModel>
-                    implements Collector<Entry<FieldId, Object>, Fm, Fm> {
+                    implements Collector<Entry<FieldId, Object>, ConcurrentFieldModel, Fm> {
 
         private final Fm model;
-        private final ReentrantLock lock;
 
         ConcurrentFieldModelCollector(Fm model) {
             this.model = model;
-            lock = new ReentrantLock();
         }
 
         @Override
-        public Supplier<Fm> supplier() {
-            return () -> model;
+        public Supplier<ConcurrentFieldModel> supplier() {
+            return () -> model instanceof ConcurrentFieldModel ? (ConcurrentFieldModel) model
+                            : new ConcurrentFieldModel(model.getFieldInfos());
         }
 
         @Override
-        public BiConsumer<Fm, Entry<FieldId, Object>> accumulator() {
-            return (supplier, entry) -> {
+        public BiConsumer<ConcurrentFieldModel, Entry<FieldId, Object>> accumulator() {
+            return (container, entry) -> {
                 Object value = entry.getValue();
-                if (value == null) {
-                    return;
-                }
-                lock.lock();
-                try {
-                    supplier.set(entry.getKey(), value);
-                } finally {
-                    lock.unlock();
+                if (value != null) {
+                    container.set(entry.getKey(), value);
                 }
             };
         }
 
         @Override
-        public BinaryOperator<Fm> combiner() {
-            return (m1, m2) -> m1;
+        public BinaryOperator<ConcurrentFieldModel> combiner() {
+            return (m1, m2) -> {
+                if (m1 != m2) {
+                    m1.setAll(m2);
+                }
+                return m1;
+            };
         }
 
         @Override
-        public Function<Fm, Fm> finisher() {
-            return (m) -> model;
+        public Function<ConcurrentFieldModel, Fm> finisher() {
+            return (container) -> {
+                if (container != model) {
+                    model.setAll(container);
+                }
+                return model;
+            };
         }
 
         @Override
         public Set<Characteristics> characteristics() {
-            return EnumSet.allOf(Characteristics.class);
+            return EnumSet.of(CONCURRENT, UNORDERED);
         }
 
     }
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.core;
+
+/**
+ * Copies field values between two field model classes with direct getter and setter calls.
+ * <p>
+ * Implementations are generated for a declared pair of models, with a correspondence between their field ids fixed
+ * at generation. Each corresponding pair of fields has an index. Copying a pair has the same effect as
+ * {@code out.set(outFieldId, in.get(inFieldId))}, including the lazy creation of the out path and the dirty fields of
+ * a {@link DirtyTrackingFieldModel}, see {@link DirtyTrackingFieldModel#markDirty(FieldId)}. Generated copiers
+ * register themselves in {@link ModelCopiers} when the in wrapper class is loaded.
+ *
+ * @param <I> the in field model type
+ * @param <O> the out field model type
+ */
+public interface ModelCopier<I extends FieldModel, O extends FieldModel> {
+
+    /**
+     * Returns the in field model class.
+     *
+     * @return the in class
+     */
+    Class<I> inClass();
+
+    /**
+     * Returns the out field model class.
+     *
+     * @return the out class
+     */
+    Class<O> outClass();
+
+    /**
+     * Returns the index of the given pair of fields in the correspondence.
+     *
+     * @param inFieldId the in field id
+     * @param outFieldId the out field id
+     * @return the index, -1 if the fields do not correspond
+     */
+    int index(FieldId inFieldId, FieldId outFieldId);
+
+    /**
+     * Copies the pair of fields at the given index.
+     *
+     * @param in the in model
+     * @param out the out model
+     * @param index the index of the pair of fields
+     * @return the copied value
+     */
+    Object copy(I in, O out, int index);
+
+    /**
+     * Copies all the corresponding fields.
+     *
+     * @param in the in model
+     * @param out the out model
+     */
+    void copy(I in, O out);
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the {@link ModelCopier}s, by in and out field model classes.
+ */
+public class ModelCopiers {
+
+    private static final Map<Class<?>, Map<Class<?>, ModelCopier<?, ?>>> COPIERS = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a copier, replacing the previous copier for the same classes.
+     *
+     * @param copier the copier
+     */
+    public static void register(ModelCopier<?, ?> copier) {
+        COPIERS.computeIfAbsent(copier.inClass(), c -> new ConcurrentHashMap<>()).put(copier.outClass(), copier);
+    }
+
+    /**
+     * Returns the copier between the given classes. The in class is initialized on the first lookup, so that a
+     * generated wrapper registers its copiers.
+     *
+     * @param in the in field model class
+     * @param out the out field model class
+     * @param <I> the in field model type
+     * @param <O> the out field model type
+     * @return the copier, null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public static <I extends FieldModel, O extends FieldModel> ModelCopier<I, O> copier(Class<I> in, Class<O> out) {
+        Map<Class<?>, ModelCopier<?, ?>> copiers = COPIERS.get(in);
+        if (copiers == null) {
+            try {
+                Class.forName(in.getName(), true, in.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+            copiers = COPIERS.computeIfAbsent(in, c -> new ConcurrentHashMap<>());
+        }
+        return (ModelCopier<I, O>) copiers.get(out);
+    }
+
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.core;
+
+import java.util.*;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Map.Entry;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import io.doov.core.serial.TypeAdapterRegistry;
+import io.doov.core.serial.TypeAdapters;
+
+/**
+ * Immutable {@link ReadOnlyFieldModel} implementation, storing its values in a 32-way trie indexed by the ordinal of
+ * the field in the field info list.
+ * <p>
+ * {@link #with(FieldId, Object)} returns a new version sharing every untouched node with this one, so an update
+ * copies a single path of the trie. A value and its siblings are always updated in the same version. Use
+ * {@link VersionedFieldModel} to publish versions to concurrent readers, or to get a writable {@link FieldModel}, for
+ * example to execute rules on a version.
+ */
+public final class PersistentFieldModel implements ReadOnlyFieldModel {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private final FieldInfoIndex ordinals;
+    private final int shift;
+    private final Object[] root;
+
+    public PersistentFieldModel(List<FieldInfo> fieldInfos) {
+        this(FieldInfoIndex.of(fieldInfos));
+    }
+
+    private PersistentFieldModel(FieldInfoIndex ordinals) {
+        this.ordinals = ordinals;
+        int shift = 0;
+        while ((1L << (shift + BITS)) < ordinals.size()) {
+            shift += BITS;
+        }
+        this.shift = shift;
+        this.root = new Object[WIDTH];
+    }
+
+    private PersistentFieldModel(FieldInfoIndex ordinals, int shift, Object[] root) {
+        this.ordinals = ordinals;
+        this.shift = shift;
+        this.root = root;
+    }
+
+    /**
+     * Returns an immutable copy of the given model.
+     *
+     * @param fieldModel the model to copy
+     * @return the persistent model
+     */
+    public static PersistentFieldModel of(FieldModel fieldModel) {
+        if (fieldModel instanceof VersionedFieldModel) {
+            return ((VersionedFieldModel) fieldModel).snapshot();
+        }
+        Builder builder = new PersistentFieldModel(fieldModel.getFieldInfos()).builder();
+        fieldModel.getFieldInfos().stream().filter(info -> fieldModel.get(info.id()) != null)
+                        .forEach(info -> builder.set(info.id(), fieldModel.get(info.id())));
+        return builder.build();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(FieldId fieldId) {
+        int ordinal = ordinals.ordinal(fieldId);
+        return ordinal < 0 ? null : (T) valueAt(ordinal);
+    }
+
+    private Object valueAt(int ordinal) {
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(ordinal >>> level) & MASK];
+            if (node == null) {
+                return null;
+            }
+        }
+        return node[ordinal & MASK];
+    }
+
+    /**
+     * Returns a new version of this model with the value, and its siblings, set. This model is left unchanged.
+     *
+     * @param fieldId the field id
+     * @param value the value
+     * @param <T> the value type
+     * @return the new version
+     * @throws IllegalArgumentException if the field is not part of the model
+     */
+    public <T> PersistentFieldModel with(FieldId fieldId, T value) {
+        return builder().set(fieldId, value).build();
+    }
+
+    /**
+     * Returns a new version of this model with the new values of the patch. This model is left unchanged.
+     *
+     * @param patch the change set
+     * @return the new version
+     */
+    public PersistentFieldModel with(FieldModelPatch patch) {
+        return builder().setAll(patch).build();
+    }
+
+    /**
+     * Returns a builder starting from this version, to apply several updates while copying each trie node at most
+     * once.
+     *
+     * @return the builder
+     */
+    public Builder builder() {
+        return new Builder(this);
+    }
+
+    /**
+     * Returns this model, persistent models can be shared as is.
+     *
+     * @return this model
+     */
+    public PersistentFieldModel snapshot() {
+        return this;
+    }
+
+    /**
+     * Adds the changes between this version and the given one to the patch, skipping the trie nodes they share.
+     */
+    boolean diff(PersistentFieldModel after, FieldModelPatch patch) {
+        if (after.ordinals != ordinals) {
+            return false;
+        }
+        diff(root, after.root, shift, 0, patch);
+        return true;
+    }
+
+    private void diff(Object[] before, Object[] after, int level, int offset, FieldModelPatch patch) {
+        if (before == after) {
+            return;
+        }
+        for (int slot = 0; slot < WIDTH; slot++) {
+            int ordinal = offset | (slot << level);
+            if (ordinal >= ordinals.size()) {
+                return;
+            }
+            Object oldValue = before == null ? null : before[slot];
+            Object newValue = after == null ? null : after[slot];
+            if (level > 0) {
+                diff((Object[]) oldValue, (Object[]) newValue, level - BITS, ordinal, patch);
+            } else if (!Objects.equals(oldValue, newValue)) {
+                patch.add(ordinal, oldValue, newValue);
+            }
+        }
+    }
+
+    @Override
+    public List<FieldInfo> getFieldInfos() {
+        return ordinals.fieldInfos();
+    }
+
+    @Override
+    public FieldInfoIndex fieldInfoIndex() {
+        return ordinals;
+    }
+
+    @Override
+    public FieldInfo info(FieldId id) {
+        return ordinals.info(id);
+    }
+
+    public TypeAdapterRegistry getTypeAdapterRegistry() {
+        return TypeAdapters.INSTANCE;
+    }
+
+    @Override
+    public Iterator<Entry<FieldId, Object>> iterator() {
+        return stream().iterator();
+    }
+
+    @Override
+    public Spliterator<Entry<FieldId, Object>> spliterator() {
+        return stream().spliterator();
+    }
+
+    @Override
+    public Stream<Entry<FieldId, Object>> stream() {
+        return IntStream.range(0, ordinals.size()).mapToObj(this::entry);
+    }
+
+    @Override
+    public Stream<Entry<FieldId, Object>> parallelStream() {
+        return IntStream.range(0, ordinals.size()).parallel().mapToObj(this::entry);
+    }
+
+    private Entry<FieldId, Object> entry(int ordinal) {
+        return new SimpleImmutableEntry<>(ordinals.id(ordinal), valueAt(ordinal));
+    }
+
+    /**
+     * Accumulates updates on top of a persistent model. Nodes copied by the builder are owned by it and updated in
+     * place, so each node is copied at most once whatever the number of updates. A builder is not thread-safe and
+     * should not be used after {@link #build()}.
+     */
+    public static final class Builder {
+
+        private final FieldInfoIndex ordinals;
+        private final int shift;
+        private final Set<Object[]> owned;
+        private Object[] root;
+
+        private Builder(PersistentFieldModel model) {
+            this.ordinals = model.ordinals;
+            this.shift = model.shift;
+            this.owned = Collections.newSetFromMap(new IdentityHashMap<>());
+            this.root = model.root;
+        }
+
+        /**
+         * Sets the value, and its siblings.
+         *
+         * @param fieldId the field id
+         * @param value the value
+         * @param <T> the value type
+         * @return this builder
+         * @throws IllegalArgumentException if the field is not part of the model
+         */
+        public <T> Builder set(FieldId fieldId, T value) {
+            int ordinal = ordinals.checkedOrdinal(fieldId);
+            root = assoc(root, shift, ordinal, value);
+            for (int sibling : ordinals.siblings(ordinal)) {
+                root = assoc(root, shift, sibling, value);
+            }
+            return this;
+        }
+
+        /**
+         * Sets the new values of the patch.
+         *
+         * @param patch the change set
+         * @return this builder
+         */
+        public Builder setAll(FieldModelPatch patch) {
+            for (int i = 0; i < patch.size(); i++) {
+                set(patch.fieldId(i), patch.newValue(i));
+            }
+            return this;
+        }
+
+        private Object[] assoc(Object[] node, int level, int ordinal, Object value) {
+            Object[] copy = owned(node);
+            int slot = (ordinal >>> level) & MASK;
+            if (level == 0) {
+                copy[slot] = value;
+            } else {
+                Object[] child = (Object[]) copy[slot];
+                copy[slot] = assoc(child == null ? new Object[WIDTH] : child, level - BITS, ordinal, value);
+            }
+            return copy;
+        }
+
+        private Object[] owned(Object[] node) {
+            if (owned.contains(node)) {
+                return node;
+            }
+            Object[] copy = node.clone();
+            owned.add(copy);
+            return copy;
+        }
+
+        /**
+         * Returns the new version, sharing every node that was not updated.
+         *
+         * @return the persistent model
+         */
+        public PersistentFieldModel build() {
+            owned.clear();
+            return new PersistentFieldModel(ordinals, shift, root);
+        }
+
+    }
+
+}
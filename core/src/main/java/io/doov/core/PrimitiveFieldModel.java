@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.core;
+
+/**
+ * A {@code FieldModel} that reads numeric and boolean values without boxing them.
+ * <p>
+ * The primitive accessors return {@code 0} or {@code false} when the value is null, {@link #isNull(FieldId)} tells
+ * both cases apart. The default implementations unbox the value of {@link #get(FieldId)}, generated wrappers
+ * override them to read the model getters directly. Numeric and boolean conditions detect this interface and
+ * evaluate on the primitive values.
+ */
+public interface PrimitiveFieldModel extends FieldModel {
+
+    /**
+     * Returns true if the value of the given field id is null.
+     *
+     * @param fieldId the field id to read
+     * @return true if the value is null
+     */
+    default boolean isNull(FieldId fieldId) {
+        return get(fieldId) == null;
+    }
+
+    /**
+     * Returns the value of an int field id, {@code 0} if the value is null.
+     *
+     * @param fieldId the field id to read
+     * @return the field value
+     */
+    default int getInt(FieldId fieldId) {
+        final Number value = get(fieldId);
+        return value == null ? 0 : value.intValue();
+    }
+
+    /**
+     * Returns the value of a long field id, {@code 0} if the value is null.
+     *
+     * @param fieldId the field id to read
+     * @return the field value
+     */
+    default long getLong(FieldId fieldId) {
+        final Number value = get(fieldId);
+        return value == null ? 0L : value.longValue();
+    }
+
+    /**
+     * Returns the value of a double or float field id, {@code 0} if the value is null.
+     *
+     * @param fieldId the field id to read
+     * @return the field value
+     */
+    default double getDouble(FieldId fieldId) {
+        final Number value = get(fieldId);
+        return value == null ? 0d : value.doubleValue();
+    }
+
+    /**
+     * Returns the value of a boolean field id, {@code false} if the value is null.
+     *
+     * @param fieldId the field id to read
+     * @return the field value
+     */
+    default boolean getBoolean(FieldId fieldId) {
+        final Boolean value = get(fieldId);
+        return value != null && value;
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.core;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import io.doov.core.dsl.DslField;
+
+/**
+ * A read-only view of a model that maps {@code FieldId} to values, with no {@code set} method. Use
+ * {@link VersionedFieldModel} to get a writable {@link FieldModel} starting from a {@link PersistentFieldModel}.
+ */
+public interface ReadOnlyFieldModel extends Iterable<Map.Entry<FieldId, Object>> {
+
+    /**
+     * Returns the value of the given field id.
+     *
+     * @param <T>     the type of the return
+     * @param fieldId the field id to get
+     * @return the field value
+     */
+    <T> T get(FieldId fieldId);
+
+    /**
+     * Returns the value of the given field.
+     *
+     * @param <T>   the type of the return
+     * @param field the field to get
+     * @return the field value
+     */
+    default <T> T get(DslField<T> field) {
+        return get(field.id());
+    }
+
+    /**
+     * Returns all the {@code FieldInfo} for this model
+     *
+     * @return the list of field infos
+     */
+    List<FieldInfo> getFieldInfos();
+
+    /**
+     * Returns the index of the field infos of this model.
+     *
+     * @return the field info index
+     */
+    FieldInfoIndex fieldInfoIndex();
+
+    /**
+     * Returns the field info for the given field id.
+     *
+     * @param id the field id
+     * @return the field info
+     */
+    FieldInfo info(FieldId id);
+
+    /**
+     * Returns a sequential {@code Stream} with all key-value pairs
+     *
+     * @return the stream
+     */
+    Stream<Map.Entry<FieldId, Object>> stream();
+
+    /**
+     * Returns a parallel {@code Stream} with all key-value pairs
+     *
+     * @return the parallel stream
+     */
+    Stream<Map.Entry<FieldId, Object>> parallelStream();
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.core;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import io.doov.core.serial.TypeAdapterRegistry;
+
+/**
+ * Mutable {@code FieldModel} publishing {@link PersistentFieldModel} versions, the writable counterpart of the
+ * read-only snapshots.
+ * <p>
+ * Writes build a new version and publish it atomically, readers never block. {@link #snapshot()} returns the current
+ * version in constant time: rules executed on a snapshot see a consistent model, whatever the concurrent writes.
+ * Reads made directly on this model each see the latest version.
+ */
+public class VersionedFieldModel implements FieldModel {
+
+    private final AtomicReference<PersistentFieldModel> current;
+
+    public VersionedFieldModel(List<FieldInfo> fieldInfos) {
+        this.current = new AtomicReference<>(new PersistentFieldModel(fieldInfos));
+    }
+
+    public VersionedFieldModel(FieldModel fieldModel) {
+        this.current = new AtomicReference<>(PersistentFieldModel.of(fieldModel));
+    }
+
+    /**
+     * Creates a writable model starting from the given version, in constant time. The version is left unchanged by
+     * the writes made on this model.
+     *
+     * @param version the initial version
+     */
+    public VersionedFieldModel(PersistentFieldModel version) {
+        this.current = new AtomicReference<>(version);
+    }
+
+    /**
+     * Returns the current version. Wrap it in a new {@code VersionedFieldModel} to execute rules on it.
+     *
+     * @return the immutable snapshot
+     */
+    public PersistentFieldModel snapshot() {
+        return current.get();
+    }
+
+    /**
+     * Applies several updates and publishes them as a single version, concurrent readers see either none or all of
+     * them. The updates may be applied more than once if another writer publishes a version concurrently.
+     *
+     * @param updates the updates to apply on the builder
+     * @return the published version
+     */
+    public PersistentFieldModel update(Consumer<PersistentFieldModel.Builder> updates) {
+        PersistentFieldModel previous;
+        PersistentFieldModel next;
+        do {
+            previous = current.get();
+            PersistentFieldModel.Builder builder = previous.builder();
+            updates.accept(builder);
+            next = builder.build();
+        } while (!current.compareAndSet(previous, next));
+        return next;
+    }
+
+    @Override
+    public <T> T get(FieldId fieldId) {
+        return current.get().get(fieldId);
+    }
+
+    @Override
+    public <T> void set(FieldId fieldId, T value) {
+        current.updateAndGet(model -> model.with(fieldId, value));
+    }
+
+    @Override
+    public void setAll(FieldModel source) {
+        update(builder -> getFieldInfos().stream().filter(info -> source.get(info.id()) != null)
+                        .forEach(info -> builder.set(info.id(), source.get(info.id()))));
+    }
+
+    @Override
+    public void clear() {
+        update(builder -> getFieldInfos().forEach(info -> builder.set(info.id(), null)));
+    }
+
+    @Override
+    public void clear(TagId tag) {
+        FieldInfoIndex index = fieldInfoIndex();
+        update(builder -> index.tagged(tag).forEach(ordinal -> builder.set(index.id(ordinal), null)));
+    }
+
+    @Override
+    public List<FieldInfo> getFieldInfos() {
+        return current.get().getFieldInfos();
+    }
+
+    @Override
+    public FieldInfo info(FieldId id) {
+        return current.get().info(id);
+    }
+
+    @Override
+    public FieldInfoIndex fieldInfoIndex() {
+        return current.get().fieldInfoIndex();
+    }
+
+    @Override
+    public TypeAdapterRegistry getTypeAdapterRegistry() {
+        return current.get().getTypeAdapterRegistry();
+    }
+
+    @Override
+    public Iterator<Entry<FieldId, Object>> iterator() {
+        return current.get().iterator();
+    }
+
+    @Override
+    public Spliterator<Entry<FieldId, Object>> spliterator() {
+        return current.get().spliterator();
+    }
+
+    @Override
+    public Stream<Entry<FieldId, Object>> stream() {
+        return current.get().stream();
+    }
+
+    @Override
+    public Stream<Entry<FieldId, Object>> parallelStream() {
+        return current.get().parallelStream();
+    }
+
+}
@@ -3,11 +3,15 @@
  */
 package io.doov.core.dsl.field.types;
 
+import java.util.function.Function;
+
 import io.doov.core.FieldInfo;
 import io.doov.core.dsl.field.BaseFieldInfo;
 import io.doov.core.dsl.field.DelegatingFieldInfoImpl;
 import io.doov.core.dsl.impl.DefaultCondition;
+import io.doov.core.dsl.impl.ElementCondition;
 import io.doov.core.dsl.impl.IterableCondition;
+import io.doov.core.dsl.impl.num.IntegerFunction;
 import io.doov.core.dsl.lang.StepCondition;
 
 public class IterableFieldInfo<T, C extends Iterable<T>> extends DelegatingFieldInfoImpl implements BaseFieldInfo<C> {
@@ -46,4 +50,16 @@ public class IterableFieldInfo<T, C extends Iterable<T>> extends DelegatingField
         return new IterableCondition<>(this).hasNotSize(size);
     }
 
+    public StepCondition forAll(Function<ElementCondition<T>, StepCondition> condition) {
+        return new IterableCondition<>(this).forAll(condition);
+    }
+
+    public StepCondition forAny(Function<ElementCondition<T>, StepCondition> condition) {
+        return new IterableCondition<>(this).forAny(condition);
+    }
+
+    public IntegerFunction countWhere(Function<ElementCondition<T>, StepCondition> condition) {
+        return new IterableCondition<>(this).countWhere(condition);
+    }
+
 }
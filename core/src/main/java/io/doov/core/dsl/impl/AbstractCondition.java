@@ -29,10 +29,17 @@ abstract class AbstractCondition<N> implements Condition<N> {
 
     protected final PredicateMetadata metadata;
     protected final BiFunction<DslModel, Context, Optional<N>> function;
+    protected final DslField<N> field;
 
     protected AbstractCondition(PredicateMetadata metadata, BiFunction<DslModel, Context, Optional<N>> function) {
+        this(metadata, function, null);
+    }
+
+    protected AbstractCondition(PredicateMetadata metadata, BiFunction<DslModel, Context, Optional<N>> function,
+            DslField<N> field) {
         this.metadata = metadata;
         this.function = function;
+        this.field = field;
     }
 
     public Optional<N> value(DslModel model, Context context) {
@@ -47,6 +54,15 @@ abstract class AbstractCondition<N> implements Condition<N> {
         return function;
     }
 
+    /**
+     * Returns the field read by this condition, null if the condition is a function of the model.
+     *
+     * @return the field or null
+     */
+    public DslField<N> getField() {
+        return field;
+    }
+
     @Override
     public String readable() {
         return metadata.readable();
@@ -20,6 +20,7 @@ import static java.lang.Boolean.TRUE;
 import java.util.Optional;
 import java.util.function.BiFunction;
 
+import io.doov.core.FieldId;
 import io.doov.core.dsl.DslField;
 import io.doov.core.dsl.DslModel;
 import io.doov.core.dsl.field.types.LogicalFieldInfo;
@@ -50,7 +51,8 @@ public class BooleanCondition extends DefaultCondition<Boolean> {
      * @return the step condition
      */
     public final StepCondition not() {
-        return predicate(this, notMetadata(metadata), value -> !value);
+        return predicate(this, notMetadata(metadata), value -> !value,
+                (ModelInterceptor model, FieldId id) -> !model.getBoolean(id));
     }
 
     /**
@@ -60,7 +62,8 @@ public class BooleanCondition extends DefaultCondition<Boolean> {
      * @return the step condition
      */
     public final StepCondition and(boolean value) {
-        return predicate(this, andMetadata(metadata, value), value, Boolean::logicalAnd);
+        return predicate(this, andMetadata(metadata, value), value, Boolean::logicalAnd,
+                (model, id) -> model.getBoolean(id) && value);
     }
 
     /**
@@ -80,7 +83,8 @@ public class BooleanCondition extends DefaultCondition<Boolean> {
      * @return the step condition
      */
     public final StepCondition or(boolean value) {
-        return predicate(this, orMetadata(metadata, value), value, Boolean::logicalOr);
+        return predicate(this, orMetadata(metadata, value), value, Boolean::logicalOr,
+                (model, id) -> model.getBoolean(id) || value);
     }
 
     /**
@@ -100,7 +104,8 @@ public class BooleanCondition extends DefaultCondition<Boolean> {
      * @return the step condition
      */
     public final StepCondition xor(boolean value) {
-        return predicate(this, xorMetadata(metadata, value), value, Boolean::logicalXor);
+        return predicate(this, xorMetadata(metadata, value), value, Boolean::logicalXor,
+                (model, id) -> model.getBoolean(id) ^ value);
     }
 
     /**
@@ -119,7 +124,8 @@ public class BooleanCondition extends DefaultCondition<Boolean> {
      * @return the step condition
      */
     public final StepCondition isTrue() {
-        return predicate(this, isMetadata(metadata, true), TRUE, Boolean::equals);
+        return predicate(this, isMetadata(metadata, true), TRUE, Boolean::equals,
+                (model, id) -> model.getBoolean(id));
     }
 
     /**
@@ -128,7 +134,8 @@ public class BooleanCondition extends DefaultCondition<Boolean> {
      * @return the step condition
      */
     public final StepCondition isFalse() {
-        return predicate(this, isMetadata(metadata, false), FALSE, Boolean::equals);
+        return predicate(this, isMetadata(metadata, false), FALSE, Boolean::equals,
+                (model, id) -> !model.getBoolean(id));
     }
 
 }
@@ -46,7 +46,7 @@ import io.doov.core.dsl.meta.predicate.PredicateMetadata;
 public class DefaultCondition<T> extends AbstractCondition<T> {
 
     public DefaultCondition(DslField<T> field) {
-        this(fieldMetadata(field), (model, context) -> valueModel(model, field));
+        super(fieldMetadata(field), (model, context) -> valueModel(model, field), field);
     }
 
     public DefaultCondition(PredicateMetadata metadata, BiFunction<DslModel, Context, Optional<T>> value) {
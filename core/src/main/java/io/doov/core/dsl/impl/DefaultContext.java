@@ -17,6 +17,8 @@ import java.util.*;
 import io.doov.core.FieldId;
 import io.doov.core.dsl.lang.Context;
 import io.doov.core.dsl.meta.Metadata;
+import io.doov.core.dsl.metrics.Metrics;
+import io.doov.core.dsl.time.EvaluationClock;
 
 public class DefaultContext implements Context {
 
@@ -24,15 +26,30 @@ public class DefaultContext implements Context {
     private final List<Metadata> evalFalse = new ArrayList<>();
     private final Map<FieldId, Object> values = new HashMap<>();
     private final boolean shortCircuit;
+    private final boolean counted;
     private Metadata rootMetadata;
+    private EvaluationClock clock;
 
     public DefaultContext(Metadata rootMetadata) {
         this(true, rootMetadata);
     }
 
     public DefaultContext(boolean shortCircuit, Metadata rootMetadata) {
+        this(shortCircuit, rootMetadata, null);
+    }
+
+    /**
+     * Creates a context with the given evaluation clock, that can be shared by the contexts of a batch.
+     *
+     * @param shortCircuit true to evaluate logical expressions like java
+     * @param rootMetadata the root node
+     * @param clock the evaluation clock, null to read a snapshot on the first temporal function
+     */
+    public DefaultContext(boolean shortCircuit, Metadata rootMetadata, EvaluationClock clock) {
         this.shortCircuit = shortCircuit;
         this.rootMetadata = rootMetadata;
+        this.clock = clock;
+        this.counted = !Metrics.isSuspended();
     }
 
     @Override
@@ -55,6 +72,15 @@ public class DefaultContext implements Context {
         return shortCircuit;
     }
 
+    /**
+     * Returns true unless the context was created while the metrics were suspended, see
+     * {@link Metrics#suspend(Runnable)}.
+     */
+    @Override
+    public boolean isCounted() {
+        return counted;
+    }
+
     @Override
     public void addEvalTrue(Metadata metadata) {
         evalTrue.add(metadata);
@@ -90,4 +116,12 @@ public class DefaultContext implements Context {
         return Collections.unmodifiableList(evalFalse);
     }
 
+    @Override
+    public EvaluationClock getEvaluationClock() {
+        if (clock == null) {
+            clock = EvaluationClock.now();
+        }
+        return clock;
+    }
+
 }
@@ -21,6 +21,8 @@ import java.util.stream.Stream;
 
 import io.doov.core.dsl.lang.RuleRegistry;
 import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.metrics.Metrics;
+import io.doov.core.dsl.metrics.RuleMetrics;
 
 public class DefaultRuleRegistry implements RuleRegistry {
 
@@ -31,6 +33,10 @@ public class DefaultRuleRegistry implements RuleRegistry {
     @Override
     public void register(ValidationRule rule) {
         rules.add(rule);
+        final RuleMetrics metrics = Metrics.current();
+        if (metrics != null) {
+            metrics.registered(rule.metadata());
+        }
     }
 
     @Override
@@ -38,11 +38,18 @@ public class DefaultStepCondition extends AbstractDSLBuilder implements StepCond
     public BiPredicate<DslModel, Context> predicate() {
         return (model, context) -> {
             final boolean test = predicate.test(new ModelInterceptor(model, context), context);
+            if (!context.isTraced()) {
+                return test;
+            }
             if (test) {
-                metadata.incTrueEval();
+                if (context.isCounted()) {
+                    metadata.incTrueEval();
+                }
                 context.addEvalTrue(metadata);
             } else {
-                metadata.incFalseEval();
+                if (context.isCounted()) {
+                    metadata.incFalseEval();
+                }
                 context.addEvalFalse(metadata);
             }
             return test;
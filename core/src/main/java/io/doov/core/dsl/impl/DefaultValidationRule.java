@@ -4,6 +4,9 @@ import io.doov.core.dsl.DslModel;
 import io.doov.core.dsl.lang.*;
 import io.doov.core.dsl.meta.Metadata;
 import io.doov.core.dsl.meta.RuleMetadata;
+import io.doov.core.dsl.metrics.Metrics;
+import io.doov.core.dsl.metrics.RuleMetrics;
+import io.doov.core.dsl.time.EvaluationClock;
 
 public class DefaultValidationRule extends AbstractDSLBuilder implements ValidationRule {
 
@@ -40,9 +43,20 @@ public class DefaultValidationRule extends AbstractDSLBuilder implements Validat
         return executeOn(model, new DefaultContext(shortCircuit, stepWhen.stepCondition().metadata()));
     }
 
+    @Override
+    public Result executeAt(DslModel model, EvaluationClock clock) {
+        return executeOn(model, new DefaultContext(shortCircuit, stepWhen.stepCondition().metadata(), clock));
+    }
+
     @Override
     public Result executeOn(DslModel model, Context context) {
+        final RuleMetrics metrics = Metrics.current();
+        if (metrics == null) {
+            return new DefaultResult(stepWhen.stepCondition().predicate().test(model, context), context);
+        }
+        final long start = System.nanoTime();
         boolean valid = stepWhen.stepCondition().predicate().test(model, context);
+        metrics.record(metadata, System.nanoTime() - start, valid);
         return new DefaultResult(valid, context);
     }
 
@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import static io.doov.core.dsl.meta.function.IterableFunctionMetadata.elementMetadata;
+import static io.doov.core.dsl.meta.function.IterableFunctionMetadata.indexMetadata;
+
+import java.util.Optional;
+
+import io.doov.core.dsl.impl.num.IntegerFunction;
+
+/**
+ * Condition on the current element of an iteration, see {@link IterableCondition#forAll(java.util.function.Function)}.
+ * It reads the element from the {@link ElementContext} of the evaluation.
+ *
+ * @param <T> the type of the elements
+ */
+public class ElementCondition<T> extends DefaultCondition<T> {
+
+    @SuppressWarnings("unchecked")
+    ElementCondition() {
+        super(elementMetadata(), (model, context) -> Optional.ofNullable((T) ElementContext.of(context).element()));
+    }
+
+    /**
+     * Returns a function of the index of the current element, starting at 0.
+     *
+     * @return the integer function
+     */
+    public IntegerFunction index() {
+        return new IntegerFunction(indexMetadata(), (model, context) -> Optional.of(ElementContext.of(context).index()));
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import java.util.List;
+
+import io.doov.core.FieldId;
+import io.doov.core.dsl.lang.Context;
+import io.doov.core.dsl.meta.Metadata;
+import io.doov.core.dsl.time.EvaluationClock;
+
+/**
+ * Context of the evaluation of an element condition, see {@link IterableCondition#forAll(java.util.function.Function)}.
+ * <p>
+ * A single element context is used for all the elements of an iteration: it holds the current element and its
+ * index, and delegates to the context of the iteration. The nodes of the element condition are not added to the
+ * evaluated nodes of the iteration context for each element, only the iteration node is.
+ */
+public class ElementContext implements Context {
+
+    private final Context parent;
+    private Object element;
+    private int index = -1;
+
+    ElementContext(Context parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Returns the element context of the given context.
+     *
+     * @param context the context
+     * @return the element context
+     * @throws IllegalStateException if the context is not the context of an iteration
+     */
+    static ElementContext of(Context context) {
+        if (context instanceof ElementContext) {
+            return (ElementContext) context;
+        }
+        throw new IllegalStateException("element condition evaluated outside of an iteration");
+    }
+
+    void next(Object element) {
+        this.element = element;
+        this.index++;
+    }
+
+    /**
+     * @return the current element
+     */
+    public Object element() {
+        return element;
+    }
+
+    /**
+     * @return the index of the current element, starting at 0
+     */
+    public int index() {
+        return index;
+    }
+
+    /**
+     * @return the context of the iteration
+     */
+    public Context parent() {
+        return parent;
+    }
+
+    @Override
+    public Metadata getRootMetadata() {
+        return parent.getRootMetadata();
+    }
+
+    @Override
+    public boolean isShortCircuit() {
+        return parent.isShortCircuit();
+    }
+
+    @Override
+    public boolean isTraced() {
+        return parent.isTraced();
+    }
+
+    @Override
+    public boolean isCounted() {
+        return parent.isCounted();
+    }
+
+    @Override
+    public void addEvalFalse(Metadata metadata) {
+    }
+
+    @Override
+    public void addEvalTrue(Metadata metadata) {
+    }
+
+    @Override
+    public void addEvalValue(FieldId id, Object value) {
+        parent.addEvalValue(id, value);
+    }
+
+    @Override
+    public boolean addEvalRead(FieldId id) {
+        return parent.addEvalRead(id);
+    }
+
+    @Override
+    public void addSetValue(FieldId id, Object value) {
+        parent.addSetValue(id, value);
+    }
+
+    @Override
+    public Object getEvalValue(FieldId id) {
+        return parent.getEvalValue(id);
+    }
+
+    @Override
+    public boolean isEvalTrue(Metadata metadata) {
+        return parent.isEvalTrue(metadata);
+    }
+
+    @Override
+    public boolean isEvalFalse(Metadata metadata) {
+        return parent.isEvalFalse(metadata);
+    }
+
+    @Override
+    public List<Metadata> getEvalTrue() {
+        return parent.getEvalTrue();
+    }
+
+    @Override
+    public List<Metadata> getEvalFalse() {
+        return parent.getEvalFalse();
+    }
+
+    @Override
+    public EvaluationClock getEvaluationClock() {
+        return parent.getEvaluationClock();
+    }
+
+}
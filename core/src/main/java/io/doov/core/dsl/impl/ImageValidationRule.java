@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.core.dsl.impl;
+
+import io.doov.core.dsl.DslModel;
+import io.doov.core.dsl.lang.*;
+import io.doov.core.dsl.meta.Metadata;
+import io.doov.core.dsl.time.EvaluationClock;
+
+/**
+ * Validation rule read from a {@link RuleImage}. The metadata is decoded from the image until the rule is
+ * materialized by reading its static field, which happens on first execution. Reading the field initializes the
+ * holder class, which materializes all the rules it declares at once.
+ */
+final class ImageValidationRule extends AbstractDSLBuilder implements ValidationRule {
+
+    private final ClassLoader classLoader;
+    private final String className;
+    private final String fieldName;
+    private byte[] tree;
+    private volatile Metadata metadata;
+    private volatile ValidationRule rule;
+
+    ImageValidationRule(ClassLoader classLoader, String className, String fieldName, byte[] tree) {
+        this.classLoader = classLoader;
+        this.className = className;
+        this.fieldName = fieldName;
+        this.tree = tree;
+    }
+
+    ValidationRule rule() {
+        ValidationRule result = rule;
+        if (result == null) {
+            synchronized (this) {
+                result = rule;
+                if (result == null) {
+                    try {
+                        result = RuleImage.rule(Class.forName(className, true, classLoader).getField(fieldName));
+                    } catch (ReflectiveOperationException e) {
+                        throw new IllegalStateException("unable to load rule " + className + "." + fieldName, e);
+                    }
+                    rule = result;
+                    metadata = null;
+                    tree = null;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Metadata metadata() {
+        ValidationRule materialized = rule;
+        if (materialized != null) {
+            return materialized.metadata();
+        }
+        Metadata result = metadata;
+        if (result == null) {
+            synchronized (this) {
+                if (rule != null) {
+                    return rule.metadata();
+                }
+                result = metadata;
+                if (result == null) {
+                    result = tree.length == 0 ? rule().metadata() : RuleImage.decode(tree, classLoader);
+                    metadata = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public StepWhen getStepWhen() {
+        return rule().getStepWhen();
+    }
+
+    @Override
+    public ValidationRule withShortCircuit(boolean shortCircuit) {
+        return rule().withShortCircuit(shortCircuit);
+    }
+
+    @Override
+    public Result executeOn(DslModel model) {
+        return rule().executeOn(model);
+    }
+
+    @Override
+    public Result executeAt(DslModel model, EvaluationClock clock) {
+        return rule().executeAt(model, clock);
+    }
+
+    @Override
+    public Result executeOn(DslModel model, Context context) {
+        return rule().executeOn(model, context);
+    }
+
+    @Override
+    public ValidationRule registerOn(RuleRegistry registry) {
+        registry.register(this);
+        return this;
+    }
+
+}
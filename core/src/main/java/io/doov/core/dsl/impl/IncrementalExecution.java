@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import static java.util.stream.Collectors.toList;
+
+import java.util.*;
+
+import io.doov.core.*;
+import io.doov.core.dsl.lang.*;
+import io.doov.core.dsl.time.EvaluationClock;
+
+/**
+ * Incremental execution of the rules of a registry on a {@link DirtyTrackingFieldModel}. The first execution
+ * evaluates all the rules and records the fields read by each rule. The next executions only re-evaluate the rules
+ * that read a dirty field, and reuse the previous results of the other rules.
+ * <p>
+ * A rule follows the same evaluation path as long as the fields it read keep their values, so its read set is the set
+ * of fields read by its last evaluation, short-circuits included. The rules must only depend on the model: a result
+ * that is reused keeps the evaluation clock of its evaluation. The results are untraced, see {@link SamplingPolicy}.
+ * <p>
+ * The rules of the registry are read once, on creation. This class is not thread-safe.
+ */
+public final class IncrementalExecution {
+
+    private final List<ValidationRule> rules;
+    private final DirtyTrackingFieldModel model;
+    private final FieldInfoIndex index;
+    private final BitSet[] reads;
+    private final Result[] results;
+    private int evaluated;
+
+    public IncrementalExecution(RuleRegistry registry, DirtyTrackingFieldModel model) {
+        this.rules = registry.stream().collect(toList());
+        this.model = model;
+        this.index = model.fieldInfoIndex();
+        this.reads = new BitSet[rules.size()];
+        this.results = new Result[rules.size()];
+    }
+
+    /**
+     * Executes the rules whose read set intersects the dirty fields of the model, or that were never executed, then
+     * resets the dirty fields.
+     *
+     * @return the results, in the order of the rules
+     */
+    public List<Result> execute() {
+        final BitSet dirty = model.dirtyFields();
+        model.resetDirty();
+        final EvaluationClock clock = EvaluationClock.now();
+        evaluated = 0;
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null || reads[i].intersects(dirty)) {
+                final ReadRecordingContext context = new ReadRecordingContext(index, clock);
+                results[i] = SamplingPolicy.execute(rules.get(i), model, context);
+                reads[i] = context.reads;
+                evaluated++;
+            }
+        }
+        return Collections.unmodifiableList(Arrays.asList(results.clone()));
+    }
+
+    /**
+     * @return the number of rules evaluated by the last execution
+     */
+    public int evaluated() {
+        return evaluated;
+    }
+
+    /**
+     * Returns the ordinals of the fields read by the last evaluation of the rule.
+     *
+     * @param rule the index of the rule in the registry
+     * @return a copy of the read set, empty if the rule was never executed
+     */
+    public BitSet reads(int rule) {
+        return reads[rule] == null ? new BitSet() : (BitSet) reads[rule].clone();
+    }
+
+    private static final class ReadRecordingContext extends UntracedContext {
+
+        private final FieldInfoIndex index;
+        private final BitSet reads = new BitSet();
+
+        ReadRecordingContext(FieldInfoIndex index, EvaluationClock clock) {
+            super(clock);
+            this.index = index;
+        }
+
+        @Override
+        public boolean addEvalRead(FieldId id) {
+            final int ordinal = index.ordinal(id);
+            if (ordinal >= 0) {
+                reads.set(ordinal);
+            }
+            return false;
+        }
+
+    }
+
+}
@@ -11,10 +11,11 @@ import static java.util.stream.StreamSupport.stream;
 
 import java.util.Arrays;
 import java.util.Optional;
-import java.util.function.BiFunction;
+import java.util.function.*;
 
 import io.doov.core.dsl.DslField;
 import io.doov.core.dsl.DslModel;
+import io.doov.core.dsl.impl.num.IntegerFunction;
 import io.doov.core.dsl.lang.Context;
 import io.doov.core.dsl.lang.StepCondition;
 import io.doov.core.dsl.meta.predicate.PredicateMetadata;
@@ -61,4 +62,73 @@ public class IterableCondition<T, C extends Iterable<T>> extends DefaultConditio
                 iterable -> stream(iterable.spliterator(), false).count() != size);
     }
 
+    /**
+     * Returns a step condition checking if all the elements match the given element condition. The elements are
+     * evaluated in a single pass, until one does not match.
+     *
+     * @param condition the element condition, built from the current element
+     * @return the step condition
+     */
+    public StepCondition forAll(Function<ElementCondition<T>, StepCondition> condition) {
+        final StepCondition element = condition.apply(new ElementCondition<>());
+        final BiPredicate<DslModel, Context> predicate = element.predicate();
+        return new DefaultStepCondition(forAllMetadata(metadata, element),
+                (model, context) -> value(model, context).map(iterable -> {
+                    final ElementContext elementContext = new ElementContext(context);
+                    for (T value : iterable) {
+                        elementContext.next(value);
+                        if (!predicate.test(model, elementContext)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }).orElse(false));
+    }
+
+    /**
+     * Returns a step condition checking if any of the elements matches the given element condition. The elements
+     * are evaluated in a single pass, until one matches.
+     *
+     * @param condition the element condition, built from the current element
+     * @return the step condition
+     */
+    public StepCondition forAny(Function<ElementCondition<T>, StepCondition> condition) {
+        final StepCondition element = condition.apply(new ElementCondition<>());
+        final BiPredicate<DslModel, Context> predicate = element.predicate();
+        return new DefaultStepCondition(forAnyMetadata(metadata, element),
+                (model, context) -> value(model, context).map(iterable -> {
+                    final ElementContext elementContext = new ElementContext(context);
+                    for (T value : iterable) {
+                        elementContext.next(value);
+                        if (predicate.test(model, elementContext)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }).orElse(false));
+    }
+
+    /**
+     * Returns a function counting the elements that match the given element condition, in a single pass.
+     *
+     * @param condition the element condition, built from the current element
+     * @return the integer function
+     */
+    public IntegerFunction countWhere(Function<ElementCondition<T>, StepCondition> condition) {
+        final StepCondition element = condition.apply(new ElementCondition<>());
+        final BiPredicate<DslModel, Context> predicate = element.predicate();
+        return new IntegerFunction(countWhereMetadata(metadata, element),
+                (model, context) -> value(model, context).map(iterable -> {
+                    final ElementContext elementContext = new ElementContext(context);
+                    int count = 0;
+                    for (T value : iterable) {
+                        elementContext.next(value);
+                        if (predicate.test(model, elementContext)) {
+                            count++;
+                        }
+                    }
+                    return count;
+                }));
+    }
+
 }
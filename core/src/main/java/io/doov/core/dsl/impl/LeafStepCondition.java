@@ -22,6 +22,7 @@ import static io.doov.core.dsl.meta.predicate.LeafPredicateMetadata.nullMetadata
 import java.util.Optional;
 import java.util.function.*;
 
+import io.doov.core.FieldId;
 import io.doov.core.dsl.DslModel;
 import io.doov.core.dsl.field.BaseFieldInfo;
 import io.doov.core.dsl.lang.Context;
@@ -42,6 +43,17 @@ public class LeafStepCondition<N> extends DefaultStepCondition {
                 .orElse(false));
     }
 
+    private LeafStepCondition(PredicateMetadata metadata, BiPredicate<DslModel, Context> boxed, FieldId fieldId,
+            Predicate<ModelInterceptor> primitive) {
+        super(metadata, (model, context) -> {
+            if (model instanceof ModelInterceptor && ((ModelInterceptor) model).isPrimitive()) {
+                final ModelInterceptor interceptor = (ModelInterceptor) model;
+                return !interceptor.isNull(fieldId) && primitive.test(interceptor);
+            }
+            return boxed.test(model, context);
+        });
+    }
+
     /**
      * Returns a step condition checking if the node value is null.
      * 
@@ -74,6 +86,57 @@ public class LeafStepCondition<N> extends DefaultStepCondition {
                 condition.getFunction(), predicate);
     }
 
+    /**
+     * Returns a step condition testing the node value with the given predicate. When the condition reads a field
+     * of a {@code PrimitiveFieldModel}, the value is tested without boxing by the primitive predicate, which reads it
+     * from the model interceptor.
+     *
+     * @param <N> the type of the node value
+     * @param condition the node value to check
+     * @param mergeMetadata the predicate metadata
+     * @param predicate the predicate on the boxed value
+     * @param primitive the predicate on the primitive value
+     * @return the step condition
+     */
+    public static <N> LeafStepCondition<N> predicate(AbstractCondition<N> condition,
+            LeafPredicateMetadata<?> mergeMetadata, Function<N, Boolean> predicate,
+            BiPredicate<ModelInterceptor, FieldId> primitive) {
+        if (condition.getField() == null) {
+            return predicate(condition, mergeMetadata, predicate);
+        }
+        final BiFunction<DslModel, Context, Optional<N>> value = condition.getFunction();
+        final FieldId fieldId = condition.getField().id();
+        return new LeafStepCondition<>(condition.getMetadata().merge(mergeMetadata),
+                (model, context) -> value.apply(model, context).map(predicate).orElse(false),
+                fieldId, model -> primitive.test(model, fieldId));
+    }
+
+    /**
+     * Returns a step condition testing the node value against the given value. When the condition reads a field of a
+     * {@code PrimitiveFieldModel} and the value is not null, the value is tested without boxing by the primitive
+     * predicate, which reads it from the model interceptor.
+     *
+     * @param <N> the type of the node value
+     * @param condition the node value to check
+     * @param mergeMetadata the predicate metadata
+     * @param value the right side value
+     * @param predicate the predicate on the boxed values
+     * @param primitive the predicate on the primitive value
+     * @return the step condition
+     */
+    public static <N> LeafStepCondition<N> predicate(AbstractCondition<N> condition,
+            LeafPredicateMetadata<?> mergeMetadata, N value, BiFunction<N, N, Boolean> predicate,
+            BiPredicate<ModelInterceptor, FieldId> primitive) {
+        if (condition.getField() == null || value == null) {
+            return predicate(condition, mergeMetadata, value, predicate);
+        }
+        final BiFunction<DslModel, Context, Optional<N>> left = condition.getFunction();
+        final FieldId fieldId = condition.getField().id();
+        return new LeafStepCondition<>(condition.getMetadata().merge(mergeMetadata),
+                (model, context) -> left.apply(model, context).map(l -> predicate.apply(l, value)).orElse(false),
+                fieldId, model -> primitive.test(model, fieldId));
+    }
+
     public static <N> LeafStepCondition<N> predicate(AbstractCondition<N> condition,
             LeafPredicateMetadata<?> mergeMetadata, BaseFieldInfo<N> value, BiFunction<N, N, Boolean> predicate) {
         return new LeafStepCondition<>(condition.getMetadata().merge(mergeMetadata),
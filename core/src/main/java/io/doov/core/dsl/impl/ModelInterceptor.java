@@ -4,9 +4,14 @@
 package io.doov.core.dsl.impl;
 
 import io.doov.core.FieldId;
+import io.doov.core.PrimitiveFieldModel;
 import io.doov.core.dsl.DslModel;
 import io.doov.core.dsl.lang.Context;
 
+/**
+ * Model that adds the values read by an evaluation to its context. The primitive reads only box the values when the
+ * context keeps them, see {@link Context#addEvalRead(FieldId)}.
+ */
 public final class ModelInterceptor implements DslModel {
     private final DslModel model;
     private final Context context;
@@ -19,7 +24,66 @@ public final class ModelInterceptor implements DslModel {
     @Override
     public <T> T get(FieldId id) {
         final T value = model.get(id);
-        context.addEvalValue(id, value);
+        if (context.addEvalRead(id)) {
+            context.addEvalValue(id, value);
+        }
+        return value;
+    }
+
+    /**
+     * Returns true if the intercepted model reads values without boxing.
+     *
+     * @return true if the model is a {@code PrimitiveFieldModel}
+     */
+    public boolean isPrimitive() {
+        return model instanceof PrimitiveFieldModel;
+    }
+
+    public boolean isNull(FieldId id) {
+        final boolean isNull = ((PrimitiveFieldModel) model).isNull(id);
+        if (context.addEvalRead(id) && isNull) {
+            context.addEvalValue(id, null);
+        }
+        return isNull;
+    }
+
+    public int getInt(FieldId id) {
+        final int value = ((PrimitiveFieldModel) model).getInt(id);
+        if (context.addEvalRead(id)) {
+            context.addEvalValue(id, value);
+        }
+        return value;
+    }
+
+    public long getLong(FieldId id) {
+        final long value = ((PrimitiveFieldModel) model).getLong(id);
+        if (context.addEvalRead(id)) {
+            context.addEvalValue(id, value);
+        }
+        return value;
+    }
+
+    public double getDouble(FieldId id) {
+        final double value = ((PrimitiveFieldModel) model).getDouble(id);
+        if (context.addEvalRead(id)) {
+            context.addEvalValue(id, value);
+        }
+        return value;
+    }
+
+    public float getFloat(FieldId id) {
+        final float value = (float) ((PrimitiveFieldModel) model).getDouble(id);
+        if (context.addEvalRead(id)) {
+            context.addEvalValue(id, value);
+        }
+        return value;
+    }
+
+    public boolean getBoolean(FieldId id) {
+        final boolean value = ((PrimitiveFieldModel) model).getBoolean(id);
+        if (context.addEvalRead(id)) {
+            context.addEvalValue(id, value);
+        }
         return value;
     }
 
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded sample of recent models, captured on the request path to be replayed by {@link RegistryHolder}.
+ * <p>
+ * One model in {@code rate} is kept, in a ring of {@code size} slots, so that capturing costs a random draw and, for
+ * the kept models, an atomic increment. The models are kept by reference: they must not be modified after being
+ * captured, capture a copy otherwise.
+ *
+ * @param <M> the type of the models
+ */
+public final class ModelSample<M> {
+
+    private final AtomicReferenceArray<M> models;
+    private final AtomicLong next = new AtomicLong();
+    private final int rate;
+
+    /**
+     * @param size the maximum number of models kept
+     * @param rate the capture rate, 1 to capture all the models
+     */
+    public ModelSample(int size, int rate) {
+        if (size < 1) {
+            throw new IllegalArgumentException("sample size must be positive: " + size);
+        }
+        if (rate < 1) {
+            throw new IllegalArgumentException("capture rate must be positive: " + rate);
+        }
+        this.models = new AtomicReferenceArray<>(size);
+        this.rate = rate;
+    }
+
+    /**
+     * Captures the given model, one time in {@code rate}.
+     *
+     * @param model the model
+     */
+    public void capture(M model) {
+        if (rate == 1 || ThreadLocalRandom.current().nextInt(rate) == 0) {
+            models.set((int) (next.getAndIncrement() % models.length()), model);
+        }
+    }
+
+    /**
+     * @return the captured models, the most recent ones if more were captured than the size of the sample
+     */
+    public List<M> models() {
+        final List<M> list = new ArrayList<>(models.length());
+        for (int i = 0; i < models.length(); i++) {
+            final M model = models.get(i);
+            if (model != null) {
+                list.add(model);
+            }
+        }
+        return list;
+    }
+
+}
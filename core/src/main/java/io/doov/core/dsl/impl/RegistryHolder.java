@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import io.doov.core.FieldModel;
+import io.doov.core.dsl.DslModel;
+import io.doov.core.dsl.lang.RuleRegistry;
+import io.doov.core.dsl.mapping.MappingRegistry;
+import io.doov.core.dsl.metrics.Metrics;
+
+/**
+ * Holder of the current version of a registry, replaced by a new version only once the new version is warmed up.
+ * <p>
+ * The warm-up replays the models of a {@link ModelSample} captured on the request path through the production entry
+ * points, so that the lambdas of the new version are compiled with the profile of the requests before it serves
+ * them. The replays are not recorded, see {@link Metrics#suspend(Runnable)}. The swap is an atomic reference
+ * update: executions read the registry once with {@link #get()} and keep the version they started with.
+ *
+ * @param <R> the type of the registry
+ * @param <M> the type of the models
+ */
+public final class RegistryHolder<R, M> {
+
+    private final AtomicReference<R> current;
+    private final ModelSample<M> sample;
+    private final BiConsumer<R, M> replay;
+
+    /**
+     * @param registry the initial registry
+     * @param sample the sample of models replayed by the warm-up
+     * @param replay the execution of a registry on a model during the warm-up
+     */
+    public RegistryHolder(R registry, ModelSample<M> sample, BiConsumer<R, M> replay) {
+        this.current = new AtomicReference<>(registry);
+        this.sample = sample;
+        this.replay = replay;
+    }
+
+    /**
+     * Returns a holder of rule registries, warmed up by executing all the rules with
+     * {@link io.doov.core.dsl.lang.ValidationRule#executeOn(DslModel)}.
+     *
+     * @param registry the initial registry
+     * @param sample the sample of models
+     * @param <M> the type of the models
+     * @return the holder
+     */
+    public static <M extends DslModel> RegistryHolder<RuleRegistry, M> rules(RuleRegistry registry,
+            ModelSample<M> sample) {
+        return new RegistryHolder<>(registry, sample,
+                (rules, model) -> rules.stream().forEach(rule -> rule.executeOn(model)));
+    }
+
+    /**
+     * Returns a holder of mapping registries, warmed up by mapping the models to new out models with
+     * {@link MappingRegistry#validateAndExecute(FieldModel, FieldModel)}.
+     *
+     * @param registry the initial registry
+     * @param sample the sample of in models
+     * @param outModel the supplier of out models
+     * @param <M> the type of the in models
+     * @return the holder
+     */
+    public static <M extends FieldModel> RegistryHolder<MappingRegistry, M> mappings(MappingRegistry registry,
+            ModelSample<M> sample, Supplier<? extends FieldModel> outModel) {
+        return new RegistryHolder<>(registry, sample,
+                (mappings, model) -> mappings.validateAndExecute(model, outModel.get()));
+    }
+
+    /**
+     * @return the current registry
+     */
+    public R get() {
+        return current.get();
+    }
+
+    /**
+     * Captures the given model in the sample, see {@link ModelSample#capture(Object)}.
+     *
+     * @param model the model
+     */
+    public void capture(M model) {
+        sample.capture(model);
+    }
+
+    /**
+     * Replays the sample of models on the given registry, with the metrics suspended.
+     *
+     * @param registry the registry
+     * @param iterations the number of times the sample is replayed
+     */
+    public void warmUp(R registry, int iterations) {
+        final List<M> models = sample.models();
+        Metrics.suspend(() -> {
+            for (int i = 0; i < iterations; i++) {
+                for (M model : models) {
+                    replay.accept(registry, model);
+                }
+            }
+        });
+    }
+
+    /**
+     * Warms up the given registry in the calling thread, then makes it the current registry. If the warm-up throws,
+     * the current registry is not replaced.
+     *
+     * @param registry the new registry
+     * @param iterations the number of times the sample is replayed
+     * @return the previous registry
+     */
+    public R swap(R registry, int iterations) {
+        warmUp(registry, iterations);
+        return current.getAndSet(registry);
+    }
+
+    /**
+     * Warms up the given registry on the given executor, then makes it the current registry.
+     *
+     * @param registry the new registry
+     * @param iterations the number of times the sample is replayed
+     * @param executor the executor of the warm-up
+     * @return the future previous registry
+     */
+    public CompletableFuture<R> swapAsync(R registry, int iterations, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> swap(registry, iterations), executor);
+    }
+
+}
@@ -0,0 +1,486 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.core.dsl.impl;
+
+import static io.doov.core.dsl.meta.DefaultOperator.count;
+import static io.doov.core.dsl.meta.DefaultOperator.match_all;
+import static io.doov.core.dsl.meta.DefaultOperator.match_any;
+import static io.doov.core.dsl.meta.DefaultOperator.match_none;
+import static io.doov.core.dsl.meta.DefaultOperator.min;
+import static io.doov.core.dsl.meta.DefaultOperator.not;
+import static io.doov.core.dsl.meta.DefaultOperator.sum;
+import static java.lang.reflect.Modifier.isFinal;
+import static java.lang.reflect.Modifier.isPublic;
+import static java.lang.reflect.Modifier.isStatic;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.*;
+import java.lang.reflect.Field;
+import java.util.*;
+
+import io.doov.core.FieldId;
+import io.doov.core.dsl.DslField;
+import io.doov.core.dsl.lang.RuleRegistry;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.meta.*;
+import io.doov.core.dsl.meta.predicate.*;
+
+/**
+ * Binary image of a rule registry, written at build time and read at startup instead of building the rules through
+ * the DSL.
+ * <p>
+ * Rules are referenced by the public static final field that holds them, and their metadata tree is written with
+ * the reference. Reading an image only indexes the rules: the metadata tree of a rule is decoded the first time it
+ * is rendered, and the field is only read, initializing its class and building the predicates, when the rule is
+ * first executed. Reading a field initializes its whole class, so executing one rule builds all the rules declared
+ * by the same class: declare rules in separate holder classes to materialize them independently.
+ * <p>
+ * Fields are decoded as {@link DslField}s holding their {@link FieldId}: enum ids are resolved to the enum constant,
+ * other ids are decoded as an id with the same code. Nodes that cannot be rebuilt from the image, like mappings or
+ * composed operators, are kept as their readable text. Rules with dynamic values, like {@code today()}, are not
+ * rendered from the image.
+ */
+public final class RuleImage {
+
+    private static final int MAGIC = 0xD1;
+    private static final int VERSION = 3;
+
+    private static final int RULE = 0;
+    private static final int WHEN = 1;
+    private static final int BINARY = 2;
+    private static final int NARY = 3;
+    private static final int UNARY = 4;
+    private static final int LEAF = 5;
+    private static final int TEXT = 6;
+
+    private static final Set<Operator> NARY_OPERATORS = new HashSet<>(
+                    Arrays.asList(match_any, match_all, match_none, count, sum, min));
+
+    private RuleImage() {
+    }
+
+    /**
+     * Writes the image of the public static final rules declared by the given classes, in declaration order.
+     *
+     * @param ruleClasses the classes declaring the rules
+     * @param out the output stream
+     */
+    public static void write(Collection<Class<?>> ruleClasses, OutputStream out) {
+        DefaultRuleRegistry registry = new DefaultRuleRegistry();
+        ruleClasses.stream().flatMap(c -> ruleFields(c).stream()).map(RuleImage::rule).forEach(registry::register);
+        write(registry, ruleClasses, out);
+    }
+
+    /**
+     * Writes the image of the given registry. Each rule of the registry must be held by a public static final field
+     * of one of the given classes.
+     *
+     * @param registry the registry
+     * @param ruleClasses the classes declaring the rules
+     * @param out the output stream
+     * @throws IllegalArgumentException if a rule is not held by a field of the given classes
+     */
+    public static void write(RuleRegistry registry, Collection<Class<?>> ruleClasses, OutputStream out) {
+        Map<ValidationRule, Field> fields = new IdentityHashMap<>();
+        ruleClasses.stream().flatMap(c -> ruleFields(c).stream()).forEach(f -> fields.putIfAbsent(rule(f), f));
+        try {
+            DataOutputStream data = new DataOutputStream(out);
+            data.writeByte(MAGIC);
+            data.writeByte(VERSION);
+            List<ValidationRule> rules = new ArrayList<>();
+            registry.stream().forEach(rules::add);
+            data.writeInt(rules.size());
+            for (ValidationRule rule : rules) {
+                Field field = fields.get(rule);
+                if (field == null) {
+                    throw new IllegalArgumentException("rule is not a static field: " + rule.readable());
+                }
+                data.writeUTF(field.getDeclaringClass().getName());
+                data.writeUTF(field.getName());
+                Metadata metadata = rule.metadata();
+                if (metadata.flatten().stream().anyMatch(Element::isDynamic)) {
+                    data.writeInt(0);
+                } else {
+                    ByteArrayOutputStream tree = new ByteArrayOutputStream();
+                    writeNode(new DataOutputStream(tree), metadata);
+                    data.writeInt(tree.size());
+                    tree.writeTo(data);
+                }
+            }
+            data.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads an image, loading the rule classes with the context class loader.
+     *
+     * @param in the input stream
+     * @return the registry of the image rules
+     * @see #read(InputStream, ClassLoader)
+     */
+    public static RuleRegistry read(InputStream in) {
+        return read(in, Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * Reads an image written by {@link #write(RuleRegistry, Collection, OutputStream)}. The rule classes are not
+     * loaded until a rule is executed.
+     *
+     * @param in the input stream
+     * @param classLoader the class loader of the rule classes
+     * @return the registry of the image rules
+     * @throws IllegalArgumentException if the stream is not a rule image
+     */
+    public static RuleRegistry read(InputStream in, ClassLoader classLoader) {
+        try {
+            DataInputStream data = new DataInputStream(in);
+            if (data.readUnsignedByte() != MAGIC || data.readUnsignedByte() != VERSION) {
+                throw new IllegalArgumentException("not a rule image");
+            }
+            DefaultRuleRegistry registry = new DefaultRuleRegistry();
+            int size = data.readInt();
+            for (int i = 0; i < size; i++) {
+                String className = data.readUTF();
+                String fieldName = data.readUTF();
+                byte[] tree = new byte[data.readInt()];
+                data.readFully(tree);
+                registry.register(new ImageValidationRule(classLoader, className, fieldName, tree));
+            }
+            return registry;
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("truncated rule image", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static List<Field> ruleFields(Class<?> ruleClass) {
+        List<Field> fields = new ArrayList<>();
+        for (Field field : ruleClass.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            if (isPublic(modifiers) && isStatic(modifiers) && isFinal(modifiers)
+                            && ValidationRule.class.isAssignableFrom(field.getType())) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    static ValidationRule rule(Field field) {
+        try {
+            return (ValidationRule) field.get(null);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("unable to read rule " + field, e);
+        }
+    }
+
+    static Metadata decode(byte[] tree, ClassLoader classLoader) {
+        try {
+            return readNode(new DataInputStream(new ByteArrayInputStream(tree)), classLoader);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("malformed rule image", e);
+        }
+    }
+
+    private static void writeNode(DataOutputStream out, Metadata metadata) throws IOException {
+        if (metadata instanceof RuleMetadata || metadata instanceof WhenMetadata) {
+            out.writeByte(metadata instanceof RuleMetadata ? RULE : WHEN);
+            writeNode(out, metadata.children().findFirst().orElseThrow(IllegalStateException::new));
+        } else if (metadata instanceof BinaryPredicateMetadata
+                        && isEnum(((BinaryPredicateMetadata) metadata).getOperator())) {
+            BinaryPredicateMetadata binary = (BinaryPredicateMetadata) metadata;
+            out.writeByte(BINARY);
+            writeOperator(out, binary.getOperator());
+            writeNode(out, binary.getLeft());
+            writeNode(out, binary.getRight());
+        } else if (metadata instanceof NaryPredicateMetadata
+                        && NARY_OPERATORS.contains(((NaryPredicateMetadata) metadata).getOperator())) {
+            NaryPredicateMetadata nary = (NaryPredicateMetadata) metadata;
+            out.writeByte(NARY);
+            writeOperator(out, nary.getOperator());
+            out.writeInt(nary.getValues().size());
+            for (Metadata value : nary.getValues()) {
+                writeNode(out, value);
+            }
+        } else if (metadata instanceof UnaryPredicateMetadata
+                        && ((UnaryPredicateMetadata) metadata).getOperator() == not) {
+            out.writeByte(UNARY);
+            writeNode(out, ((UnaryPredicateMetadata) metadata).getValue());
+        } else if (metadata instanceof LeafPredicateMetadata) {
+            LeafPredicateMetadata<?> leaf = (LeafPredicateMetadata<?>) metadata;
+            out.writeByte(LEAF);
+            out.writeByte(leaf.type().ordinal());
+            out.writeInt(leaf.elements().size());
+            for (Element element : leaf.elements()) {
+                writeElement(out, element);
+            }
+        } else {
+            out.writeByte(TEXT);
+            writeString(out, metadata.readable());
+        }
+    }
+
+    private static Metadata readNode(DataInputStream in, ClassLoader classLoader) throws IOException {
+        int node = in.readUnsignedByte();
+        switch (node) {
+            case RULE:
+                return RuleMetadata.rule(readNode(in, classLoader));
+            case WHEN:
+                return WhenMetadata.when(readNode(in, classLoader));
+            case BINARY: {
+                Operator operator = readOperator(in, classLoader);
+                Metadata left = readNode(in, classLoader);
+                return BinaryPredicateMetadata.binaryMetadata(left, operator, readNode(in, classLoader));
+            }
+            case NARY: {
+                Operator operator = readOperator(in, classLoader);
+                int size = in.readInt();
+                List<Metadata> values = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    values.add(readNode(in, classLoader));
+                }
+                return naryMetadata(operator, values);
+            }
+            case UNARY:
+                return UnaryPredicateMetadata.notMetadata(readNode(in, classLoader));
+            case LEAF: {
+                LeafPredicateMetadata<?> leaf = new LeafPredicateMetadata<>(
+                                MetadataType.values()[in.readUnsignedByte()]);
+                int size = in.readInt();
+                for (int i = 0; i < size; i++) {
+                    leaf.add(readElement(in, classLoader));
+                }
+                return leaf;
+            }
+            case TEXT:
+                return new LeafPredicateMetadata<>(MetadataType.LEAF_PREDICATE)
+                                .add(Element.value(readString(in), ElementType.UNKNOWN));
+            default:
+                throw new IOException("unknown node " + node);
+        }
+    }
+
+    private static void writeElement(DataOutputStream out, Element element) throws IOException {
+        if (element.getType() == ElementType.OPERATOR && isEnum(element.getReadable())) {
+            out.writeByte(ElementType.OPERATOR.ordinal());
+            writeOperator(out, (Operator) element.getReadable());
+        } else if (element.getType() == ElementType.FIELD && element.getReadable() instanceof DslField) {
+            DslField<?> field = (DslField<?>) element.getReadable();
+            out.writeByte(ElementType.FIELD.ordinal());
+            writeFieldId(out, field.id());
+            writeString(out, field.readable());
+        } else if (element.getType() == ElementType.OPERATOR || element.getType() == ElementType.FIELD) {
+            out.writeByte(ElementType.UNKNOWN.ordinal());
+            writeString(out, element.getReadable().readable());
+        } else {
+            out.writeByte(element.getType().ordinal());
+            writeString(out, element.getReadable().readable());
+        }
+    }
+
+    private static Element readElement(DataInputStream in, ClassLoader classLoader) throws IOException {
+        ElementType type = ElementType.values()[in.readUnsignedByte()];
+        switch (type) {
+            case OPERATOR:
+                return Element.operator(readOperator(in, classLoader));
+            case FIELD: {
+                FieldId id = readFieldId(in, classLoader);
+                return Element.field(new ImageField(id, readString(in)));
+            }
+            case PARENTHESIS_LEFT:
+                readString(in);
+                return Element.leftParenthesis();
+            case PARENTHESIS_RIGHT:
+                readString(in);
+                return Element.rightParenthesis();
+            default:
+                return Element.value(readString(in), type);
+        }
+    }
+
+    private static boolean isEnum(Object operator) {
+        return operator instanceof Enum;
+    }
+
+    private static void writeOperator(DataOutputStream out, Operator operator) throws IOException {
+        out.writeUTF(((Enum<?>) operator).getDeclaringClass().getName());
+        out.writeUTF(((Enum<?>) operator).name());
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Operator readOperator(DataInputStream in, ClassLoader classLoader) throws IOException {
+        String className = in.readUTF();
+        String name = in.readUTF();
+        try {
+            return (Operator) Enum.valueOf((Class<Enum>) Class.forName(className, false, classLoader), name);
+        } catch (ClassNotFoundException e) {
+            throw new IOException("unknown operator " + className + "." + name, e);
+        }
+    }
+
+    private static void writeFieldId(DataOutputStream out, FieldId id) throws IOException {
+        if (id instanceof Enum) {
+            out.writeBoolean(true);
+            out.writeUTF(((Enum<?>) id).getDeclaringClass().getName());
+            out.writeUTF(((Enum<?>) id).name());
+        } else {
+            out.writeBoolean(false);
+            writeString(out, id.code());
+        }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static FieldId readFieldId(DataInputStream in, ClassLoader classLoader) throws IOException {
+        if (!in.readBoolean()) {
+            return new ImageFieldId(readString(in));
+        }
+        String className = in.readUTF();
+        String name = in.readUTF();
+        try {
+            return (FieldId) Enum.valueOf((Class<Enum>) Class.forName(className, false, classLoader), name);
+        } catch (ClassNotFoundException | IllegalArgumentException e) {
+            throw new IOException("unknown field " + className + "." + name, e);
+        }
+    }
+
+    /**
+     * Writes a readable text or value as varint length prefixed UTF-8, not limited to 64 KB like
+     * {@link DataOutputStream#writeUTF(String)}, which is kept for class and constant names.
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = readVarInt(in);
+        if (length < 0 || length > in.available()) {
+            throw new IOException("malformed string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("malformed varint");
+    }
+
+    private static Metadata naryMetadata(Operator operator, List<Metadata> values) throws IOException {
+        if (!NARY_OPERATORS.contains(operator)) {
+            throw new IOException("unsupported operator " + operator);
+        }
+        switch ((DefaultOperator) operator) {
+            case match_any:
+                return NaryPredicateMetadata.matchAnyMetadata(values);
+            case match_all:
+                return NaryPredicateMetadata.matchAllMetadata(values);
+            case match_none:
+                return NaryPredicateMetadata.matchNoneMetadata(values);
+            case count:
+                return NaryPredicateMetadata.countMetadata(values);
+            case sum:
+                return NaryPredicateMetadata.sumMetadata(values);
+            case min:
+                return NaryPredicateMetadata.minMetadata(values);
+            default:
+                throw new IOException("unsupported operator " + operator);
+        }
+    }
+
+    /**
+     * Field decoded from an image, reading its value from the model by id.
+     */
+    private static final class ImageField implements DslField<Object> {
+
+        private final FieldId id;
+        private final String readable;
+
+        ImageField(FieldId id, String readable) {
+            this.id = id;
+            this.readable = readable;
+        }
+
+        @Override
+        public FieldId id() {
+            return id;
+        }
+
+        @Override
+        public String readable() {
+            return readable;
+        }
+
+        @Override
+        public DefaultCondition<Object> getDefaultCondition() {
+            return new DefaultCondition<>(this);
+        }
+
+    }
+
+    /**
+     * Id of a field that is not an enum constant, decoded from its code.
+     */
+    private static final class ImageFieldId implements FieldId {
+
+        private final String code;
+
+        ImageFieldId(String code) {
+            this.code = code;
+        }
+
+        @Override
+        public String code() {
+            return code;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof ImageFieldId && ((ImageFieldId) obj).code.equals(code);
+        }
+
+        @Override
+        public int hashCode() {
+            return code.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return code;
+        }
+
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import io.doov.core.dsl.DslModel;
+import io.doov.core.dsl.lang.*;
+import io.doov.core.dsl.meta.Metadata;
+import io.doov.core.dsl.metrics.Metrics;
+import io.doov.core.dsl.time.EvaluationClock;
+
+/**
+ * Execution policy that traces 1 in N evaluations and runs the others in an {@link UntracedContext}.
+ * <p>
+ * Traced evaluations record the evaluated nodes and feed the node statistics. The result of an untraced evaluation
+ * has the same value, and re-runs the rule on the model in a traced context the first time its context or its
+ * reduction is requested, typically by {@link Result#getFailureCause()} when the rule fails. The re-run uses the
+ * short circuit of the rule and is not recorded, neither in the metrics nor in the node statistics, see
+ * {@link Metrics#suspend(Runnable)}. The model must not change until then.
+ */
+public final class SamplingPolicy {
+
+    private static final SamplingPolicy TRACE_ALL = new SamplingPolicy(1);
+    private static final SamplingPolicy TRACE_NONE = new SamplingPolicy(0);
+
+    private final int rate;
+
+    private SamplingPolicy(int rate) {
+        this.rate = rate;
+    }
+
+    /**
+     * @return a policy that traces all the evaluations
+     */
+    public static SamplingPolicy traceAll() {
+        return TRACE_ALL;
+    }
+
+    /**
+     * @return a policy that traces no evaluation, except the re-runs of the results
+     */
+    public static SamplingPolicy traceNone() {
+        return TRACE_NONE;
+    }
+
+    /**
+     * Returns a policy that traces 1 in {@code rate} evaluations, at random.
+     *
+     * @param rate the sampling rate
+     * @return the policy
+     * @throws IllegalArgumentException if the rate is not positive
+     */
+    public static SamplingPolicy traceOneIn(int rate) {
+        if (rate < 1) {
+            throw new IllegalArgumentException("sampling rate must be positive: " + rate);
+        }
+        return rate == 1 ? TRACE_ALL : new SamplingPolicy(rate);
+    }
+
+    /**
+     * @return the sampling rate, 0 if no evaluation is traced
+     */
+    public int rate() {
+        return rate;
+    }
+
+    /**
+     * @return true if the next evaluation is traced
+     */
+    public boolean sample() {
+        return rate == 1 || rate > 1 && ThreadLocalRandom.current().nextInt(rate) == 0;
+    }
+
+    /**
+     * Executes the given rule on the given model.
+     *
+     * @param rule the rule
+     * @param model the model
+     * @return the result
+     */
+    public Result execute(ValidationRule rule, DslModel model) {
+        if (sample()) {
+            return rule.executeOn(model);
+        }
+        return execute(rule, model, new UntracedContext());
+    }
+
+    /**
+     * Executes the rules of the given registry on the given model. The rules are all traced or all untraced, and
+     * share the same evaluation clock.
+     *
+     * @param registry the registry
+     * @param model the model
+     * @return the results, in the order of the rules
+     */
+    public List<Result> execute(RuleRegistry registry, DslModel model) {
+        final EvaluationClock clock = EvaluationClock.now();
+        if (sample()) {
+            return registry.stream().map(rule -> rule.executeAt(model, clock)).collect(Collectors.toList());
+        }
+        final UntracedContext context = new UntracedContext(clock);
+        return registry.stream().map(rule -> execute(rule, model, context)).collect(Collectors.toList());
+    }
+
+    static Result execute(ValidationRule rule, DslModel model, UntracedContext context) {
+        return new UntracedResult(rule, model, rule.executeOn(model, context).value(), context);
+    }
+
+    private static final class UntracedResult implements Result {
+
+        private final ValidationRule rule;
+        private final DslModel model;
+        private final boolean value;
+        private final Context context;
+        private Result traced;
+
+        UntracedResult(ValidationRule rule, DslModel model, boolean value, Context context) {
+            this.rule = rule;
+            this.model = model;
+            this.value = value;
+            this.context = context;
+        }
+
+        private Result traced() {
+            if (traced == null) {
+                Metrics.suspend(() -> traced = rule.executeAt(model, context.getEvaluationClock()));
+            }
+            return traced;
+        }
+
+        @Override
+        public boolean value() {
+            return value;
+        }
+
+        @Override
+        public Metadata reduce(ReduceType type) {
+            return traced().reduce(type);
+        }
+
+        @Override
+        public Context getContext() {
+            return traced().getContext();
+        }
+
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import java.util.Collections;
+import java.util.List;
+
+import io.doov.core.FieldId;
+import io.doov.core.dsl.lang.Context;
+import io.doov.core.dsl.meta.Metadata;
+import io.doov.core.dsl.time.EvaluationClock;
+
+/**
+ * Context that does not trace the evaluation: the evaluated nodes and values are neither recorded nor counted in the
+ * node statistics, only the result is computed. Results evaluated in this context cannot be reduced, see
+ * {@link SamplingPolicy}.
+ */
+public class UntracedContext implements Context {
+
+    private EvaluationClock clock;
+
+    public UntracedContext() {
+        this(null);
+    }
+
+    /**
+     * @param clock the evaluation clock, null to read a snapshot on the first temporal function
+     */
+    public UntracedContext(EvaluationClock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public Metadata getRootMetadata() {
+        return null;
+    }
+
+    @Override
+    public boolean isShortCircuit() {
+        return true;
+    }
+
+    @Override
+    public boolean isTraced() {
+        return false;
+    }
+
+    @Override
+    public void addEvalFalse(Metadata metadata) {
+    }
+
+    @Override
+    public void addEvalTrue(Metadata metadata) {
+    }
+
+    @Override
+    public void addEvalValue(FieldId id, Object value) {
+    }
+
+    @Override
+    public boolean addEvalRead(FieldId id) {
+        return false;
+    }
+
+    @Override
+    public void addSetValue(FieldId id, Object value) {
+    }
+
+    @Override
+    public Object getEvalValue(FieldId id) {
+        return null;
+    }
+
+    @Override
+    public boolean isEvalTrue(Metadata metadata) {
+        return false;
+    }
+
+    @Override
+    public boolean isEvalFalse(Metadata metadata) {
+        return false;
+    }
+
+    @Override
+    public List<Metadata> getEvalTrue() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<Metadata> getEvalFalse() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public EvaluationClock getEvaluationClock() {
+        if (clock == null) {
+            clock = EvaluationClock.now();
+        }
+        return clock;
+    }
+
+}
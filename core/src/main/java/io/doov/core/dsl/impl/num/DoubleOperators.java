@@ -6,6 +6,9 @@ package io.doov.core.dsl.impl.num;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 
+import io.doov.core.FieldId;
+import io.doov.core.dsl.impl.ModelInterceptor;
+
 public interface DoubleOperators extends NumericOperators<Double> {
     @Override
     default BiFunction<Double, Double, Boolean> lesserThanFunction() {
@@ -46,4 +49,24 @@ public interface DoubleOperators extends NumericOperators<Double> {
     default Double identity() {
         return 0d;
     }
+
+    @Override
+    default boolean lesserThanPrimitive(ModelInterceptor model, FieldId id, Double value) {
+        return model.getDouble(id) < value;
+    }
+
+    @Override
+    default boolean lesserOrEqualsPrimitive(ModelInterceptor model, FieldId id, Double value) {
+        return model.getDouble(id) <= value;
+    }
+
+    @Override
+    default boolean greaterThanPrimitive(ModelInterceptor model, FieldId id, Double value) {
+        return model.getDouble(id) > value;
+    }
+
+    @Override
+    default boolean greaterOrEqualsPrimitive(ModelInterceptor model, FieldId id, Double value) {
+        return model.getDouble(id) >= value;
+    }
 }
@@ -6,6 +6,9 @@ package io.doov.core.dsl.impl.num;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 
+import io.doov.core.FieldId;
+import io.doov.core.dsl.impl.ModelInterceptor;
+
 public interface FloatOperators extends NumericOperators<Float> {
 
     @Override
@@ -47,4 +50,24 @@ public interface FloatOperators extends NumericOperators<Float> {
     default Float identity() {
         return 0f;
     }
+
+    @Override
+    default boolean lesserThanPrimitive(ModelInterceptor model, FieldId id, Float value) {
+        return model.getFloat(id) < value;
+    }
+
+    @Override
+    default boolean lesserOrEqualsPrimitive(ModelInterceptor model, FieldId id, Float value) {
+        return model.getFloat(id) <= value;
+    }
+
+    @Override
+    default boolean greaterThanPrimitive(ModelInterceptor model, FieldId id, Float value) {
+        return model.getFloat(id) > value;
+    }
+
+    @Override
+    default boolean greaterOrEqualsPrimitive(ModelInterceptor model, FieldId id, Float value) {
+        return model.getFloat(id) >= value;
+    }
 }
@@ -6,6 +6,9 @@ package io.doov.core.dsl.impl.num;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 
+import io.doov.core.FieldId;
+import io.doov.core.dsl.impl.ModelInterceptor;
+
 public interface IntegerOperators extends NumericOperators<Integer> {
 
     @Override
@@ -47,4 +50,24 @@ public interface IntegerOperators extends NumericOperators<Integer> {
     default Integer identity() {
         return 0;
     }
+
+    @Override
+    default boolean lesserThanPrimitive(ModelInterceptor model, FieldId id, Integer value) {
+        return model.getInt(id) < value;
+    }
+
+    @Override
+    default boolean lesserOrEqualsPrimitive(ModelInterceptor model, FieldId id, Integer value) {
+        return model.getInt(id) <= value;
+    }
+
+    @Override
+    default boolean greaterThanPrimitive(ModelInterceptor model, FieldId id, Integer value) {
+        return model.getInt(id) > value;
+    }
+
+    @Override
+    default boolean greaterOrEqualsPrimitive(ModelInterceptor model, FieldId id, Integer value) {
+        return model.getInt(id) >= value;
+    }
 }
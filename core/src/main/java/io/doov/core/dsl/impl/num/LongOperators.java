@@ -6,6 +6,9 @@ package io.doov.core.dsl.impl.num;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 
+import io.doov.core.FieldId;
+import io.doov.core.dsl.impl.ModelInterceptor;
+
 public interface LongOperators extends NumericOperators<Long> {
     @Override
     default BiFunction<Long, Long, Boolean> lesserThanFunction() {
@@ -46,4 +49,24 @@ public interface LongOperators extends NumericOperators<Long> {
     default Long identity() {
         return 0L;
     }
+
+    @Override
+    default boolean lesserThanPrimitive(ModelInterceptor model, FieldId id, Long value) {
+        return model.getLong(id) < value;
+    }
+
+    @Override
+    default boolean lesserOrEqualsPrimitive(ModelInterceptor model, FieldId id, Long value) {
+        return model.getLong(id) <= value;
+    }
+
+    @Override
+    default boolean greaterThanPrimitive(ModelInterceptor model, FieldId id, Long value) {
+        return model.getLong(id) > value;
+    }
+
+    @Override
+    default boolean greaterOrEqualsPrimitive(ModelInterceptor model, FieldId id, Long value) {
+        return model.getLong(id) >= value;
+    }
 }
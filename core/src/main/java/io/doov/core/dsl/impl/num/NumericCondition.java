@@ -59,7 +59,8 @@ public abstract class NumericCondition<N extends Number> extends DefaultConditio
      */
     public final StepCondition lesserThan(N value) {
         return predicate(this, lesserThanMetadata(metadata, value), value,
-                (l, r) -> lesserThanFunction().apply(l, r));
+                (l, r) -> lesserThanFunction().apply(l, r),
+                (model, id) -> lesserThanPrimitive(model, id, value));
     }
 
     /**
@@ -81,7 +82,8 @@ public abstract class NumericCondition<N extends Number> extends DefaultConditio
      */
     public final StepCondition lesserOrEquals(N value) {
         return predicate(this, lesserOrEqualsMetadata(metadata, value), value,
-                (l, r) -> lesserOrEqualsFunction().apply(l, r));
+                (l, r) -> lesserOrEqualsFunction().apply(l, r),
+                (model, id) -> lesserOrEqualsPrimitive(model, id, value));
     }
 
     /**
@@ -103,7 +105,8 @@ public abstract class NumericCondition<N extends Number> extends DefaultConditio
      */
     public final StepCondition greaterThan(N value) {
         return predicate(this, greaterThanMetadata(metadata, value), value,
-                (l, r) -> greaterThanFunction().apply(l, r));
+                (l, r) -> greaterThanFunction().apply(l, r),
+                (model, id) -> greaterThanPrimitive(model, id, value));
     }
 
     /**
@@ -125,7 +128,8 @@ public abstract class NumericCondition<N extends Number> extends DefaultConditio
      */
     public final StepCondition greaterOrEquals(N value) {
         return predicate(this, greaterOrEqualsMetadata(metadata, value), value,
-                (l, r) -> greaterOrEqualsFunction().apply(l, r));
+                (l, r) -> greaterOrEqualsFunction().apply(l, r),
+                (model, id) -> greaterOrEqualsPrimitive(model, id, value));
     }
 
     /**
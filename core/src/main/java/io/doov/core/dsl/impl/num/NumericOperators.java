@@ -6,6 +6,9 @@ package io.doov.core.dsl.impl.num;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 
+import io.doov.core.FieldId;
+import io.doov.core.dsl.impl.ModelInterceptor;
+
 public interface NumericOperators<N extends Number> {
 
     BiFunction<N, N, Boolean> lesserThanFunction();
@@ -23,4 +26,13 @@ public interface NumericOperators<N extends Number> {
     BiFunction<N, Integer, N> timesFunction();
 
     N identity();
+
+    // comparisons of a field value read without boxing, the model intercepts a PrimitiveFieldModel
+    boolean lesserThanPrimitive(ModelInterceptor model, FieldId id, N value);
+
+    boolean lesserOrEqualsPrimitive(ModelInterceptor model, FieldId id, N value);
+
+    boolean greaterThanPrimitive(ModelInterceptor model, FieldId id, N value);
+
+    boolean greaterOrEqualsPrimitive(ModelInterceptor model, FieldId id, N value);
 }
@@ -16,6 +16,7 @@ import java.util.List;
 
 import io.doov.core.FieldId;
 import io.doov.core.dsl.meta.Metadata;
+import io.doov.core.dsl.time.EvaluationClock;
 
 /**
  * Interface for the execution context.
@@ -39,6 +40,26 @@ public interface Context {
      */
     boolean isShortCircuit();
 
+    /**
+     * Returns true if the evaluation is traced: the evaluated nodes are added to this context and counted in the node
+     * statistics. Untraced contexts only compute the result.
+     *
+     * @return true if traced, by default
+     */
+    default boolean isTraced() {
+        return true;
+    }
+
+    /**
+     * Returns true if the evaluated nodes are counted in the node statistics. Re-runs made to explain a result are
+     * traced but not counted, so that each evaluation is counted once.
+     *
+     * @return true if counted, by default when traced
+     */
+    default boolean isCounted() {
+        return isTraced();
+    }
+
     /**
      * Adds the given node that evaluates to false.
      *
@@ -61,6 +82,18 @@ public interface Context {
      */
     void addEvalValue(FieldId id, Object value);
 
+    /**
+     * Adds the read of the given field id, before its evaluation value. The primitive reads only box the value for
+     * {@link #addEvalValue(FieldId, Object)} when this returns true, contexts that do not keep the evaluation values
+     * return false.
+     *
+     * @param id the id
+     * @return true if the value must be added, by default
+     */
+    default boolean addEvalRead(FieldId id) {
+        return true;
+    }
+
     /**
      * Adds the set value for the given field id.
      *
@@ -107,4 +140,14 @@ public interface Context {
      */
     List<Metadata> getEvalFalse();
 
+    /**
+     * Returns the clock snapshot of the evaluation, read by the temporal functions. The default implementation
+     * returns a new snapshot on each call, contexts should keep the snapshot for the whole evaluation.
+     *
+     * @return the evaluation clock
+     */
+    default EvaluationClock getEvaluationClock() {
+        return EvaluationClock.now();
+    }
+
 }
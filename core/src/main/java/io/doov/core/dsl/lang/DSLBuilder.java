@@ -1,7 +1,6 @@
 package io.doov.core.dsl.lang;
 
 import static io.doov.core.dsl.meta.ast.AstVisitorUtils.astToMarkdown;
-import static io.doov.core.dsl.meta.ast.AstVisitorUtils.astToString;
 
 import java.util.Locale;
 
@@ -19,7 +18,7 @@ public interface DSLBuilder extends Readable {
      * @see #readable()
      */
     default String readable(Locale locale) {
-        return astToString(metadata(), locale).trim();
+        return metadata().readable(locale);
     }
 
     @Override
@@ -17,6 +17,9 @@ package io.doov.core.dsl.lang;
 
 import java.util.stream.Stream;
 
+import io.doov.core.DirtyTrackingFieldModel;
+import io.doov.core.dsl.impl.IncrementalExecution;
+
 /**
  * Interface for the rules registry.
  * <p>
@@ -38,4 +41,15 @@ public interface RuleRegistry {
      */
     Stream<ValidationRule> stream();
 
+    /**
+     * Returns an incremental execution of the rules of this registry on the given model, that only re-evaluates the
+     * rules reading the fields set since the previous execution.
+     *
+     * @param model the model
+     * @return the incremental execution
+     */
+    default IncrementalExecution incrementalOn(DirtyTrackingFieldModel model) {
+        return new IncrementalExecution(this, model);
+    }
+
 }
@@ -1,6 +1,7 @@
 package io.doov.core.dsl.lang;
 
 import io.doov.core.dsl.DslModel;
+import io.doov.core.dsl.time.EvaluationClock;
 
 /**
  * Interface for the validation rule that encapsulates the validation algorithm and data.
@@ -50,6 +51,21 @@ public interface ValidationRule extends DSLBuilder {
      */
     Result executeOn(DslModel model, Context context);
 
+    /**
+     * Executes the validation rule on the given model with the given evaluation clock, typically shared by a batch of
+     * executions so that they all see the same date.
+     *
+     * The default implementation executes the rule with {@link #executeOn(DslModel)} while the clock is returned by
+     * {@link EvaluationClock#now()} in the calling thread.
+     *
+     * @param model the model
+     * @param clock the evaluation clock, null to read a snapshot on the first temporal function
+     * @return the result
+     */
+    default Result executeAt(DslModel model, EvaluationClock clock) {
+        return clock == null ? executeOn(model) : clock.call(() -> executeOn(model));
+    }
+
     /**
      * Registers this rule on the given registry.
      *
@@ -7,6 +7,8 @@ import io.doov.core.FieldModel;
 import io.doov.core.dsl.impl.DefaultContext;
 import io.doov.core.dsl.lang.*;
 import io.doov.core.dsl.meta.*;
+import io.doov.core.dsl.metrics.Metrics;
+import io.doov.core.dsl.metrics.RuleMetrics;
 
 public class DefaultConditionalMappingRule extends AbstractDSLBuilder implements ConditionalMappingRule {
 
@@ -63,12 +65,25 @@ public class DefaultConditionalMappingRule extends AbstractDSLBuilder implements
 
     @Override
     public <C extends Context> C executeOn(FieldModel inModel, FieldModel outModel, C context) {
+        final RuleMetrics metrics = Metrics.current();
+        if (metrics == null) {
+            execute(inModel, outModel, context);
+            return context;
+        }
+        final long start = System.nanoTime();
+        boolean condition = execute(inModel, outModel, context);
+        metrics.record(metadata, System.nanoTime() - start, condition);
+        return context;
+    }
+
+    private boolean execute(FieldModel inModel, FieldModel outModel, Context context) {
         if (validationRule.executeOn(inModel, context).value()) {
             mappingRules.executeOn(inModel, outModel, context);
+            return true;
         } else if (!elseMappingRules.isEmpty()) {
             elseMappingRules.executeOn(inModel, outModel, context);
         }
-        return context;
+        return false;
     }
 
     @Override
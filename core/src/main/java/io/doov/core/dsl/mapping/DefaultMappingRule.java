@@ -21,6 +21,14 @@ public class DefaultMappingRule<T> extends AbstractDSLBuilder implements Mapping
         this.metadata = new MappingRuleMetadata(input.metadata(), output.metadata());
     }
 
+    MappingInput<T> input() {
+        return input;
+    }
+
+    MappingOutput<T> output() {
+        return output;
+    }
+
     @Override
     public Metadata metadata() {
         return metadata;
@@ -21,7 +21,11 @@ public class FieldInput<T> extends AbstractDSLBuilder implements MappingInput<T>
 
     @Override
     public boolean validate(FieldModel inModel) {
-        return inModel.getFieldInfos().stream().anyMatch(f -> f.id() == field.id());
+        return inModel.info(field.id()) != null;
+    }
+
+    DslField<T> field() {
+        return field;
     }
 
     @Override
@@ -22,7 +22,11 @@ public class FieldOutput<T> implements MappingOutput<T> {
 
     @Override
     public boolean validate(FieldModel outModel) {
-        return outModel.getFieldInfos().stream().anyMatch(f -> f.id() == field.id());
+        return outModel.info(field.id()) != null;
+    }
+
+    DslField<T> field() {
+        return field;
     }
 
     @Override
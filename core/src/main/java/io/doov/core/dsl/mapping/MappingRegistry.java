@@ -3,23 +3,36 @@
  */
 package io.doov.core.dsl.mapping;
 
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import io.doov.core.FieldModel;
+import io.doov.core.*;
 import io.doov.core.dsl.impl.DefaultContext;
 import io.doov.core.dsl.lang.*;
 import io.doov.core.dsl.meta.*;
+import io.doov.core.dsl.metrics.Metrics;
+import io.doov.core.dsl.metrics.RuleMetrics;
 
 /**
  * Immutable, ordered, composable container for {@link MappingRule}s
+ * <p>
+ * Plain field to field mappings are executed with the {@link ModelCopier} registered for the classes of the models,
+ * if there is one, instead of reading and writing the models by field id.
  */
 public class MappingRegistry extends AbstractDSLBuilder implements MappingRule {
 
     private final List<MappingRule> mappingRules;
     private final MappingRegistryMetadata metadata;
+    private final FieldId[] inFieldIds;
+    private final FieldId[] outFieldIds;
+    private final ClassValue<Map<Class<?>, Copy>> copies = new ClassValue<Map<Class<?>, Copy>>() {
+        @Override
+        protected Map<Class<?>, Copy> computeValue(Class<?> inClass) {
+            return new ConcurrentHashMap<>();
+        }
+    };
 
     public static MappingRegistry mappings(MappingRule... mappingRules) {
         return new MappingRegistry(mappingRules);
@@ -29,6 +42,17 @@ public class MappingRegistry extends AbstractDSLBuilder implements MappingRule {
         this.mappingRules = Arrays.stream(mappingRules).flatMap(MappingRule::stream).collect(Collectors.toList());
         // TODO
         this.metadata = MappingRegistryMetadata.mappings(stream().map(MappingRule::metadata).collect(Collectors.toList()));
+        this.inFieldIds = new FieldId[this.mappingRules.size()];
+        this.outFieldIds = new FieldId[this.mappingRules.size()];
+        for (int i = 0; i < this.mappingRules.size(); i++) {
+            MappingRule rule = this.mappingRules.get(i);
+            if (rule instanceof DefaultMappingRule
+                    && ((DefaultMappingRule<?>) rule).input() instanceof FieldInput
+                    && ((DefaultMappingRule<?>) rule).output() instanceof FieldOutput) {
+                inFieldIds[i] = ((FieldInput<?>) ((DefaultMappingRule<?>) rule).input()).field().id();
+                outFieldIds[i] = ((FieldOutput<?>) ((DefaultMappingRule<?>) rule).output()).field().id();
+            }
+        }
     }
 
     @Override
@@ -55,10 +79,7 @@ public class MappingRegistry extends AbstractDSLBuilder implements MappingRule {
      * @return context
      */
     public Context validateAndExecute(FieldModel inModel, FieldModel outModel) {
-        DefaultContext context = new DefaultContext(metadata());
-        mappingRules.stream().filter(m -> m.validate(inModel, outModel))
-                        .forEach(m -> m.executeOn(inModel, outModel, context));
-        return context;
+        return validateAndExecute(inModel, outModel, new DefaultContext(metadata()));
     }
 
     /**
@@ -71,8 +92,14 @@ public class MappingRegistry extends AbstractDSLBuilder implements MappingRule {
      * @return context
      */
     public <C extends Context> C validateAndExecute(FieldModel inModel, FieldModel outModel, C context) {
-        mappingRules.stream().filter(m -> m.validate(inModel, outModel))
-                        .forEach(m -> m.executeOn(inModel, outModel, context));
+        final RuleMetrics metrics = Metrics.current();
+        if (metrics == null) {
+            execute(inModel, outModel, context, true);
+            return context;
+        }
+        final long start = System.nanoTime();
+        boolean valid = execute(inModel, outModel, context, true);
+        metrics.record(metadata, System.nanoTime() - start, valid);
         return context;
     }
 
@@ -90,10 +117,59 @@ public class MappingRegistry extends AbstractDSLBuilder implements MappingRule {
 
     @Override
     public <C extends Context> C executeOn(FieldModel inModel, FieldModel outModel, C context) {
-        mappingRules.forEach(rule -> rule.executeOn(inModel, outModel, context));
+        execute(inModel, outModel, context, false);
         return context;
     }
 
+    /**
+     * Executes the mapping rules, skipping the rules that do not validate when asked to, returns true if no rule was
+     * skipped
+     */
+    @SuppressWarnings("unchecked")
+    private boolean execute(FieldModel inModel, FieldModel outModel, Context context, boolean validate) {
+        final Copy copy = copy(inModel, outModel);
+        final ModelCopier<FieldModel, FieldModel> copier = (ModelCopier<FieldModel, FieldModel>) copy.copier;
+        boolean valid = true;
+        for (int i = 0; i < mappingRules.size(); i++) {
+            final MappingRule rule = mappingRules.get(i);
+            if (validate && !rule.validate(inModel, outModel)) {
+                valid = false;
+                continue;
+            }
+            if (copier != null && copy.indexes[i] >= 0) {
+                final Object value = copier.copy(inModel, outModel, copy.indexes[i]);
+                context.addEvalValue(inFieldIds[i], value);
+                context.addSetValue(outFieldIds[i], value);
+            } else {
+                rule.executeOn(inModel, outModel, context);
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Returns the copier indexes of the field mappings for the classes of the given models, cached by pair of classes
+     */
+    private Copy copy(FieldModel inModel, FieldModel outModel) {
+        return copies.get(inModel.getClass()).computeIfAbsent(outModel.getClass(),
+                        outClass -> copy(inModel.getClass(), outClass));
+    }
+
+    private Copy copy(Class<? extends FieldModel> inClass, Class<?> outClass) {
+        if (Arrays.stream(inFieldIds).noneMatch(Objects::nonNull)) {
+            return Copy.NONE;
+        }
+        final ModelCopier<?, ?> copier = ModelCopiers.copier(inClass, outClass.asSubclass(FieldModel.class));
+        if (copier == null) {
+            return Copy.NONE;
+        }
+        final int[] indexes = new int[inFieldIds.length];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = inFieldIds[i] == null ? -1 : copier.index(inFieldIds[i], outFieldIds[i]);
+        }
+        return new Copy(copier, indexes);
+    }
+
     @Override
     public Context executeOn(FieldModel inModel, FieldModel outModel) {
         return this.executeOn(inModel, outModel, new DefaultContext(metadata()));
@@ -104,4 +180,18 @@ public class MappingRegistry extends AbstractDSLBuilder implements MappingRule {
         return mappingRules.stream();
     }
 
+    private static final class Copy {
+
+        private static final Copy NONE = new Copy(null, null);
+
+        private final ModelCopier<?, ?> copier;
+        private final int[] indexes;
+
+        Copy(ModelCopier<?, ?> copier, int[] indexes) {
+            this.copier = copier;
+            this.indexes = indexes;
+        }
+
+    }
+
 }
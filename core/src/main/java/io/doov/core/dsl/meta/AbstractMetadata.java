@@ -3,10 +3,82 @@
  */
 package io.doov.core.dsl.meta;
 
+import static io.doov.core.dsl.meta.ast.AstVisitorUtils.astToString;
+import static io.doov.core.dsl.meta.i18n.ResourceBundleProvider.BUNDLE;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Base class of the metadata nodes. The readable of a node is cached per locale when the subtree does not contain
+ * dynamic elements, since the syntax tree of a built rule does not change. The cache is dropped when a bundle is
+ * registered, see {@link io.doov.core.dsl.meta.i18n.ResourceBundleProvider#generation()}.
+ */
 public abstract class AbstractMetadata implements Metadata {
 
+    private volatile Boolean staticTree;
+    private volatile Readables readables;
+
+    @Override
+    public String readable(Locale locale) {
+        if (!isCacheable()) {
+            return render(locale);
+        }
+        int generation = BUNDLE.generation();
+        Readables cache = readables;
+        if (cache == null || cache.generation != generation) {
+            cache = new Readables(generation);
+            readables = cache;
+        }
+        return cache.values.computeIfAbsent(locale, this::render);
+    }
+
+    private String render(Locale locale) {
+        return astToString(this, locale).trim();
+    }
+
+    /**
+     * Returns true if the readable of this node can be cached.
+     *
+     * @return true if this subtree is static
+     */
+    protected boolean isCacheable() {
+        return isStatic();
+    }
+
+    /**
+     * Returns true if the readable of this subtree does not change, that is if all the children are static.
+     *
+     * @return true if this subtree is static
+     */
+    protected boolean isStatic() {
+        Boolean value = staticTree;
+        if (value == null) {
+            value = children().allMatch(AbstractMetadata::isStaticNode);
+            staticTree = value;
+        }
+        return value;
+    }
+
+    private static boolean isStaticNode(Metadata metadata) {
+        return metadata instanceof AbstractMetadata && ((AbstractMetadata) metadata).isStatic();
+    }
+
     @Override
     public String toString() {
         return readable();
     }
+
+    private static final class Readables {
+
+        private final int generation;
+        private final Map<Locale, String> values = new ConcurrentHashMap<>(2);
+
+        Readables(int generation) {
+            this.generation = generation;
+        }
+
+    }
+
 }
@@ -3,7 +3,6 @@
  */
 package io.doov.core.dsl.meta;
 
-import static io.doov.core.dsl.meta.ElementType.OPERATOR;
 import static io.doov.core.dsl.meta.MetadataType.BINARY_PREDICATE;
 
 import java.util.ArrayList;
@@ -47,7 +46,7 @@ public class BinaryMetadata extends AbstractMetadata {
     @Override
     public List<Element> flatten() {
         final List<Element> flatten = new ArrayList<>(left.flatten());
-        flatten.add(new Element(operator, OPERATOR));
+        flatten.add(Element.operator(operator));
         flatten.addAll(right.flatten());
         return flatten;
     }
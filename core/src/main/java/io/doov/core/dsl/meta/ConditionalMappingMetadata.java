@@ -15,7 +15,6 @@
  */
 package io.doov.core.dsl.meta;
 
-import static io.doov.core.dsl.meta.ElementType.OPERATOR;
 import static io.doov.core.dsl.meta.MetadataType.MULTIPLE_MAPPING;
 
 import java.util.ArrayList;
@@ -63,9 +62,9 @@ public class ConditionalMappingMetadata extends AbstractMetadata {
     @Override
     public List<Element> flatten() {
         final List<Element> flatten = new ArrayList<>(when.flatten());
-        flatten.add(new Element(MappingOperator.then, OPERATOR));
+        flatten.add(Element.operator(MappingOperator.then));
         flatten.addAll(then.flatten());
-        flatten.add(new Element(MappingOperator._else, OPERATOR));
+        flatten.add(Element.operator(MappingOperator._else));
         flatten.addAll(otherwise.flatten());
         return flatten;
     }
@@ -48,6 +48,11 @@ public enum DefaultOperator implements Operator {
     has_size("has size"), //
     is_empty("is empty"), //
     is_not_empty("is not empty"), //
+    for_all("for all"), //
+    for_any("for any"), //
+    count_where("count where"), //
+    element("element"), //
+    index("index"), //
     length_is("length is"), //
 
     // TemporalAdjuster
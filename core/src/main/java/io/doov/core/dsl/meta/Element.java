@@ -3,40 +3,173 @@
  */
 package io.doov.core.dsl.meta;
 
-import static io.doov.core.dsl.meta.ElementType.PARENTHESIS_LEFT;
-import static io.doov.core.dsl.meta.ElementType.PARENTHESIS_RIGHT;
+import static io.doov.core.dsl.meta.ElementType.*;
+import static java.util.stream.Collectors.joining;
 
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import io.doov.core.dsl.DslField;
 import io.doov.core.dsl.lang.Readable;
 
-public class Element {
+/**
+ * Element of a leaf metadata. Operator and field elements are interned, and values are kept as is and only rendered
+ * when the element is read, so building a rule does not allocate a readable per value.
+ */
+public class Element implements Readable {
+
+    private static final int READABLE = 0;
+    private static final int OBJECT = 1;
+    private static final int OBJECT_LIST = 2;
+    private static final int READABLE_LIST = 3;
+    private static final int SUPPLIER = 4;
 
-    private final Readable readable;
+    private static final Element LEFT_PARENTHESIS = new Element("(", PARENTHESIS_LEFT, OBJECT);
+    private static final Element RIGHT_PARENTHESIS = new Element(")", PARENTHESIS_RIGHT, OBJECT);
+    private static final Map<Operator, Element> OPERATORS = new ConcurrentHashMap<>();
+    private static final Map<DslField<?>, WeakReference<Element>> FIELDS = new WeakHashMap<>();
+
+    private final Object value;
     private final ElementType type;
+    private final int kind;
 
     public Element(Readable readable, ElementType type) {
-        this.readable = readable;
+        this(readable, type, READABLE);
+    }
+
+    private Element(Object value, ElementType type, int kind) {
+        this.value = value;
         this.type = type;
+        this.kind = kind;
+    }
+
+    /**
+     * Returns the operator element, shared for enum operators.
+     *
+     * @param operator the operator
+     * @return the element
+     */
+    public static Element operator(Operator operator) {
+        if (operator instanceof Enum) {
+            return OPERATORS.computeIfAbsent(operator, o -> new Element(o, OPERATOR));
+        }
+        return new Element(operator, OPERATOR);
+    }
+
+    /**
+     * Returns the field element, shared while the field is reachable.
+     *
+     * @param field the field
+     * @return the element
+     */
+    public static Element field(DslField<?> field) {
+        synchronized (FIELDS) {
+            WeakReference<Element> reference = FIELDS.get(field);
+            Element element = reference == null ? null : reference.get();
+            if (element == null) {
+                element = new Element(field, FIELD);
+                FIELDS.put(field, new WeakReference<>(element));
+            }
+            return element;
+        }
+    }
+
+    /**
+     * Returns an element rendering the value with {@code String.valueOf} when read.
+     *
+     * @param value the value
+     * @param type the element type
+     * @return the element
+     */
+    public static Element value(Object value, ElementType type) {
+        return new Element(value, type, OBJECT);
     }
 
+    /**
+     * Returns an element rendering the values when read.
+     *
+     * @param values the values
+     * @return the element
+     */
+    public static Element values(Collection<?> values) {
+        return new Element(values, VALUE, OBJECT_LIST);
+    }
+
+    /**
+     * Returns an element rendering the readables when read.
+     *
+     * @param readables the readables
+     * @return the element
+     */
+    public static Element readables(Collection<? extends Readable> readables) {
+        return new Element(readables, VALUE, READABLE_LIST);
+    }
+
+    /**
+     * Returns a dynamic element, rendering the supplied value each time it is read.
+     *
+     * @param supplier the value supplier
+     * @return the element
+     */
+    public static Element supplied(Supplier<?> supplier) {
+        return new Element(supplier, VALUE, SUPPLIER);
+    }
+
+    /**
+     * Returns the readable of this element: the operator or field for these element types, the element itself for
+     * values.
+     *
+     * @return the readable
+     */
     public Readable getReadable() {
-        return readable;
+        return kind == READABLE ? (Readable) value : this;
     }
 
     public ElementType getType() {
         return type;
     }
 
+    /**
+     * Returns true if the readable may change between calls, like a supplied value.
+     *
+     * @return true if dynamic
+     */
+    public boolean isDynamic() {
+        return kind == SUPPLIER;
+    }
+
+    @Override
+    public String readable() {
+        switch (kind) {
+            case READABLE:
+                return ((Readable) value).readable();
+            case OBJECT:
+                return String.valueOf(value);
+            case OBJECT_LIST:
+                return ((Collection<?>) value).stream().map(Object::toString).collect(joining(", ", " : ", ""));
+            case READABLE_LIST:
+                return ((Collection<?>) value).stream().map(r -> ((Readable) r).readable())
+                                .collect(joining(", ", " : ", ""));
+            case SUPPLIER:
+                return String.valueOf(((Supplier<?>) value).get());
+            default:
+                throw new IllegalStateException("unknown element kind " + kind);
+        }
+    }
+
     @Override
     public String toString() {
-        return readable.readable();
+        return readable();
     }
 
     public static Element leftParenthesis() {
-        return new Element(() -> "(", PARENTHESIS_LEFT);
+        return LEFT_PARENTHESIS;
     }
 
     public static Element rightParenthesis() {
-        return new Element(() -> ")", PARENTHESIS_RIGHT);
+        return RIGHT_PARENTHESIS;
     }
 
 }
@@ -0,0 +1,249 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.meta;
+
+import java.util.*;
+
+/**
+ * Array backed {@code Deque} of the elements of a leaf metadata. Leaves hold a handful of elements, so the array
+ * starts small and grows on demand, and insertions at the head shift the array.
+ */
+final class ElementDeque extends AbstractCollection<Element> implements Deque<Element> {
+
+    private static final Element[] EMPTY = new Element[] {};
+    private static final int MIN_CAPACITY = 4;
+
+    private Element[] elements;
+    private int size;
+
+    ElementDeque() {
+        this.elements = EMPTY;
+    }
+
+    ElementDeque(Collection<Element> elements) {
+        this.elements = elements.isEmpty() ? EMPTY : new Element[elements.size()];
+        elements.forEach(this::addLast);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<Element> iterator() {
+        return new Itr(false);
+    }
+
+    @Override
+    public Iterator<Element> descendingIterator() {
+        return new Itr(true);
+    }
+
+    private void insert(int index, Element element) {
+        Objects.requireNonNull(element);
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(MIN_CAPACITY, size + (size >> 1)));
+        }
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = element;
+        size++;
+    }
+
+    private Element removeAt(int index) {
+        Element element = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        elements[--size] = null;
+        return element;
+    }
+
+    @Override
+    public void addFirst(Element element) {
+        insert(0, element);
+    }
+
+    @Override
+    public void addLast(Element element) {
+        insert(size, element);
+    }
+
+    @Override
+    public boolean offerFirst(Element element) {
+        addFirst(element);
+        return true;
+    }
+
+    @Override
+    public boolean offerLast(Element element) {
+        addLast(element);
+        return true;
+    }
+
+    @Override
+    public Element removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return removeAt(0);
+    }
+
+    @Override
+    public Element removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return removeAt(size - 1);
+    }
+
+    @Override
+    public Element pollFirst() {
+        return size == 0 ? null : removeAt(0);
+    }
+
+    @Override
+    public Element pollLast() {
+        return size == 0 ? null : removeAt(size - 1);
+    }
+
+    @Override
+    public Element getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return elements[0];
+    }
+
+    @Override
+    public Element getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return elements[size - 1];
+    }
+
+    @Override
+    public Element peekFirst() {
+        return size == 0 ? null : elements[0];
+    }
+
+    @Override
+    public Element peekLast() {
+        return size == 0 ? null : elements[size - 1];
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object o) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i].equals(o)) {
+                removeAt(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object o) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (elements[i].equals(o)) {
+                removeAt(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean add(Element element) {
+        addLast(element);
+        return true;
+    }
+
+    @Override
+    public boolean offer(Element element) {
+        return offerLast(element);
+    }
+
+    @Override
+    public Element remove() {
+        return removeFirst();
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return removeFirstOccurrence(o);
+    }
+
+    @Override
+    public Element poll() {
+        return pollFirst();
+    }
+
+    @Override
+    public Element element() {
+        return getFirst();
+    }
+
+    @Override
+    public Element peek() {
+        return peekFirst();
+    }
+
+    @Override
+    public void push(Element element) {
+        addFirst(element);
+    }
+
+    @Override
+    public Element pop() {
+        return removeFirst();
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+    }
+
+    private final class Itr implements Iterator<Element> {
+
+        private final boolean descending;
+        private int next;
+        private int last = -1;
+
+        Itr(boolean descending) {
+            this.descending = descending;
+            this.next = descending ? size - 1 : 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return descending ? next >= 0 : next < size;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next += descending ? -1 : 1;
+            return elements[last];
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            removeAt(last);
+            if (!descending) {
+                next = last;
+            }
+            last = -1;
+        }
+
+    }
+
+}
@@ -4,29 +4,32 @@
 package io.doov.core.dsl.meta;
 
 import static io.doov.core.dsl.meta.ElementType.*;
-import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 
 import java.util.*;
 import java.util.function.Supplier;
-import java.util.stream.Collector;
 
 import io.doov.core.dsl.DslField;
 import io.doov.core.dsl.impl.DefaultCondition;
 import io.doov.core.dsl.lang.Readable;
 
 public class LeafMetadata<M extends LeafMetadata<M>> extends AbstractMetadata {
-    private static final Collector<CharSequence, ?, String> COLLECTOR_LIST = joining(", ", " : ", "");
     private final MetadataType type;
     private final Deque<Element> elements;
 
     public LeafMetadata(Deque<Element> elements, MetadataType type) {
-        this.elements = elements;
+        this.elements = elements instanceof ElementDeque ? elements : new ElementDeque(elements);
+        this.type = type;
+    }
+
+    protected LeafMetadata(List<Element> elements, MetadataType type) {
+        this.elements = new ElementDeque(elements);
         this.type = type;
     }
 
     public LeafMetadata(MetadataType type) {
-        this(new ArrayDeque<>(), type);
+        this.elements = new ElementDeque();
+        this.type = type;
     }
 
     @Override
@@ -47,6 +50,19 @@ public class LeafMetadata<M extends LeafMetadata<M>> extends AbstractMetadata {
         return new ArrayList<>(elements);
     }
 
+    /**
+     * Leaf elements can still be added, so the readable of a leaf is never cached.
+     */
+    @Override
+    protected boolean isCacheable() {
+        return false;
+    }
+
+    @Override
+    protected boolean isStatic() {
+        return elements.stream().noneMatch(Element::isDynamic);
+    }
+
     public M valueReadable(Readable readable) {
         return add(readable == null ? null : new Element(readable, VALUE));
     }
@@ -54,23 +70,21 @@ public class LeafMetadata<M extends LeafMetadata<M>> extends AbstractMetadata {
     // field
 
     public M field(DslField<?> readable) {
-        return add(readable == null ? null : new Element(readable, FIELD));
+        return add(readable == null ? null : Element.field(readable));
     }
 
     // operator
 
     public M operator(Operator op) {
-        return add(op == null ? null : new Element(op, OPERATOR));
+        return add(op == null ? null : Element.operator(op));
     }
 
     // value
 
     public M valueObject(Object readable) {
-        if (readable == null)
-            return valueReadable(() -> "null");
         if (readable instanceof String)
             return valueString((String) readable);
-        return valueReadable(() -> String.valueOf(readable));
+        return add(Element.value(readable, VALUE));
     }
 
     @SuppressWarnings("unchecked")
@@ -82,15 +96,15 @@ public class LeafMetadata<M extends LeafMetadata<M>> extends AbstractMetadata {
     }
 
     public M valueString(String readable) {
-        return add(readable == null ? null : new Element(() -> readable, STRING_VALUE));
+        return add(readable == null ? null : Element.value(readable, STRING_VALUE));
     }
 
     public M valueSupplier(Supplier<?> readable) {
-        return add(readable == null ? null : new Element(() -> String.valueOf(readable.get()), VALUE));
+        return add(readable == null ? null : Element.supplied(readable));
     }
 
     public M valueUnknown(String readable) {
-        return add(readable == null ? null : new Element(() -> "-function- " + readable, UNKNOWN));
+        return add(readable == null ? null : Element.value("-function- " + readable, UNKNOWN));
     }
 
     @SuppressWarnings("unchecked")
@@ -101,20 +115,10 @@ public class LeafMetadata<M extends LeafMetadata<M>> extends AbstractMetadata {
     }
 
     public M valueListReadable(Collection<? extends Readable> readables) {
-        return add(readables == null || readables.isEmpty() ? null
-                        : new Element(() -> formatListReadable(readables), VALUE));
+        return add(readables == null || readables.isEmpty() ? null : Element.readables(readables));
     }
 
     public M valueListObject(Collection<?> readables) {
-        return add(readables == null || readables.isEmpty() ? null
-                        : new Element(() -> formatListObject(readables), VALUE));
-    }
-
-    private static String formatListReadable(Collection<? extends Readable> readables) {
-        return readables.stream().map(Readable::readable).collect(COLLECTOR_LIST);
-    }
-
-    private static String formatListObject(Collection<?> readables) {
-        return readables.stream().map(Object::toString).collect(COLLECTOR_LIST);
+        return add(readables == null || readables.isEmpty() ? null : Element.values(readables));
     }
 }
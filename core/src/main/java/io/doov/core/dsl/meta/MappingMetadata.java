@@ -83,7 +83,7 @@ public class MappingMetadata extends LeafMetadata<MappingMetadata> {
     }
 
     private MappingMetadata function() {
-        return add(new Element(() -> "-function-", UNKNOWN));
+        return add(Element.value("-function-", UNKNOWN));
     }
 
 }
@@ -3,7 +3,6 @@
  */
 package io.doov.core.dsl.meta;
 
-import static io.doov.core.dsl.meta.ElementType.OPERATOR;
 import static io.doov.core.dsl.meta.MetadataType.NARY_PREDICATE;
 
 import java.util.ArrayList;
@@ -36,7 +35,7 @@ public class NaryMetadata extends AbstractMetadata {
     @Override
     public List<Element> flatten() {
         final List<Element> flatten = new ArrayList<>();
-        flatten.add(new Element(operator, OPERATOR));
+        flatten.add(Element.operator(operator));
         flatten.addAll(values.stream().map(Metadata::flatten).flatMap(List::stream).collect(Collectors.toList()));
         return flatten;
     }
@@ -4,7 +4,6 @@
 package io.doov.core.dsl.meta;
 
 import static io.doov.core.dsl.meta.DefaultOperator.rule;
-import static io.doov.core.dsl.meta.ElementType.OPERATOR;
 import static io.doov.core.dsl.meta.MetadataType.RULE;
 
 import java.util.ArrayList;
@@ -31,7 +30,7 @@ public class RuleMetadata extends AbstractMetadata {
     @Override
     public List<Element> flatten() {
         final List<Element> flatten = new ArrayList<>();
-        flatten.add(new Element(rule, OPERATOR));
+        flatten.add(Element.operator(rule));
         flatten.addAll(value.flatten());
         return flatten;
     }
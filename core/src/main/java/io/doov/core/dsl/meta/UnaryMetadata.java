@@ -3,7 +3,6 @@
  */
 package io.doov.core.dsl.meta;
 
-import static io.doov.core.dsl.meta.ElementType.OPERATOR;
 import static io.doov.core.dsl.meta.MetadataType.UNARY_PREDICATE;
 
 import java.util.ArrayList;
@@ -35,7 +34,7 @@ public class UnaryMetadata extends AbstractMetadata {
     @Override
     public List<Element> flatten() {
         final List<Element> flatten = new ArrayList<>();
-        flatten.add(new Element(operator, OPERATOR));
+        flatten.add(Element.operator(operator));
         flatten.addAll(value.flatten());
         return flatten;
     }
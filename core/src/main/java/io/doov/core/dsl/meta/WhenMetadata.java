@@ -4,7 +4,6 @@
 package io.doov.core.dsl.meta;
 
 import static io.doov.core.dsl.meta.DefaultOperator.when;
-import static io.doov.core.dsl.meta.ElementType.OPERATOR;
 import static io.doov.core.dsl.meta.MetadataType.WHEN;
 
 import java.util.ArrayList;
@@ -30,7 +29,7 @@ public class WhenMetadata extends AbstractMetadata {
     @Override
     public List<Element> flatten() {
         final List<Element> flatten = new ArrayList<>();
-        flatten.add(new Element(when, OPERATOR));
+        flatten.add(Element.operator(when));
         flatten.addAll(value.flatten());
         return flatten;
     }
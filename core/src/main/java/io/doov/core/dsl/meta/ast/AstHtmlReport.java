@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.meta.ast;
+
+import static io.doov.core.dsl.meta.ast.AstVisitorUtils.append;
+import static io.doov.core.dsl.meta.i18n.ResourceBundleProvider.BUNDLE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.commons.text.StringEscapeUtils.escapeHtml4;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import io.doov.core.dsl.lang.RuleRegistry;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.meta.i18n.ResourceProvider;
+import io.doov.core.dsl.meta.predicate.EvalCounts;
+
+/**
+ * Html report of the rules of a registry, with their evaluation percentages. Rules are rendered in parallel on the
+ * given executor and written in the order of the registry, at most {@code window} rendered rules being kept in
+ * memory, so the report size does not depend on the number of rules.
+ */
+public class AstHtmlReport {
+
+    private static final int DEFAULT_WINDOW = 64;
+
+    private final ResourceProvider bundle;
+    private final Locale locale;
+    private final Executor executor;
+    private final int window;
+
+    public AstHtmlReport(Locale locale) {
+        this(BUNDLE, locale, ForkJoinPool.commonPool(), DEFAULT_WINDOW);
+    }
+
+    public AstHtmlReport(ResourceProvider bundle, Locale locale, Executor executor, int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("window must be positive: " + window);
+        }
+        this.bundle = bundle;
+        this.locale = locale;
+        this.executor = executor;
+        this.window = window;
+    }
+
+    /**
+     * Writes the html page of the registry in UTF-8 to the given stream. The stream is flushed, not closed.
+     *
+     * @param registry the rule registry
+     * @param ops the output stream
+     */
+    public void write(RuleRegistry registry, OutputStream ops) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(ops, UTF_8));
+        write(registry.stream(), writer);
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the html page of the rules to the given output.
+     *
+     * @param rules the rules
+     * @param out the output
+     */
+    public void write(Stream<ValidationRule> rules, Appendable out) {
+        append(out, "<html><head><meta charset=\"UTF-8\"/><style>");
+        append(out, css());
+        append(out, "</style></head><body><div style='width:1024px; margin-left:20px;'>");
+        writeOrdered(rules.iterator(), this::render, out, executor, window);
+        append(out, "</div></body></html>");
+    }
+
+    /**
+     * Returns the html fragment of a single rule: its readable with percentages, its exclusion bar and its tree.
+     *
+     * @param rule the rule
+     * @return the html fragment
+     */
+    public String render(ValidationRule rule) {
+        return render(rule, EvalCounts.METADATA);
+    }
+
+    /**
+     * Returns the html fragment of a single rule with the given evaluation counts.
+     *
+     * @param rule the rule
+     * @param counts the evaluation counts
+     * @return the html fragment
+     */
+    public String render(ValidationRule rule, EvalCounts counts) {
+        StringBuilder line = new StringBuilder();
+        new AstLinePercentVisitor(line, bundle, locale, counts).browse(rule.metadata(), 0);
+        StringBuilder sb = new StringBuilder();
+        AstHtmlVisitor visitor = new AstHtmlVisitor(sb, bundle, locale).withCounts(counts);
+        sb.append(escapeHtml4(line.toString().trim()));
+        sb.append(visitor.exclusionBar(rule, ExclusionBar.BIG));
+        visitor.browse(rule.metadata(), 0);
+        sb.append("<hr/>");
+        return sb.toString();
+    }
+
+    /**
+     * Renders the items on the executor and appends them in iteration order, keeping at most {@code window} items
+     * rendered or being rendered.
+     */
+    static <T> void writeOrdered(Iterator<T> items, Function<T, String> renderer, Appendable out, Executor executor,
+                    int window) {
+        Deque<CompletableFuture<String>> pending = new ArrayDeque<>(window);
+        while (items.hasNext()) {
+            T item = items.next();
+            pending.add(CompletableFuture.supplyAsync(() -> renderer.apply(item), executor));
+            if (pending.size() >= window) {
+                append(out, join(pending.poll()));
+            }
+        }
+        while (!pending.isEmpty()) {
+            append(out, join(pending.poll()));
+        }
+    }
+
+    private static String join(CompletableFuture<String> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static String css() {
+        try (InputStream css = AstHtmlReport.class.getResourceAsStream("rules.css")) {
+            if (css == null) {
+                return "";
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            for (int n = css.read(buffer); n > 0; n = css.read(buffer)) {
+                bytes.write(buffer, 0, n);
+            }
+            return new String(bytes.toByteArray(), UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
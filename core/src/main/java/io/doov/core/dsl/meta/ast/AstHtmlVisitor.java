@@ -44,6 +44,7 @@ public class AstHtmlVisitor extends AbstractAstVisitor {
     protected static final String CSS_CLASS_OL_NARY = "dsl-ol-nary";
 
     protected final OutputStream ops;
+    private final Appendable appendable;
     protected final ResourceProvider bundle;
     protected Locale locale;
     protected boolean closeSum = false;
@@ -54,11 +55,41 @@ public class AstHtmlVisitor extends AbstractAstVisitor {
     private boolean closeUn = false;
     private boolean insideSum = false;
     private boolean noExclusionNextLeaf = false;
+    private EvalCounts counts = EvalCounts.METADATA;
 
     public static String astToHtml(Metadata metadata, Locale locale) {
-        ByteArrayOutputStream ops = new ByteArrayOutputStream();
-        new AstHtmlVisitor(ops, BUNDLE, locale).browse(metadata, 0);
-        return new String(ops.toByteArray(), UTF_8);
+        StringBuilder sb = new StringBuilder();
+        astToHtml(metadata, locale, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Writes the html of the syntax tree to the given appendable, as the tree is browsed.
+     *
+     * @param metadata the syntax tree
+     * @param locale the locale
+     * @param out the output, a {@code Writer} or a {@code StringBuilder} for instance
+     */
+    public static void astToHtml(Metadata metadata, Locale locale, Appendable out) {
+        new AstHtmlVisitor(out, BUNDLE, locale).browse(metadata, 0);
+    }
+
+    /**
+     * Writes the html of the syntax tree in UTF-8 to the given stream, through a bounded buffer. The stream is
+     * flushed, not closed.
+     *
+     * @param metadata the syntax tree
+     * @param locale the locale
+     * @param ops the output stream
+     */
+    public static void astToHtml(Metadata metadata, Locale locale, OutputStream ops) {
+        BufferedOutputStream buffer = new BufferedOutputStream(ops);
+        new AstHtmlVisitor(buffer, BUNDLE, locale).browse(metadata, 0);
+        try {
+            buffer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     private static String beginElement(String elementType, String... classes) {
@@ -115,8 +146,8 @@ public class AstHtmlVisitor extends AbstractAstVisitor {
     }
 
     private String exclusionBar(PredicateMetadata metadata, ExclusionBar cssClass) {
-        final int nbTrue = metadata.trueEvalCount();
-        final int nbFalse = metadata.falseEvalCount();
+        final long nbTrue = counts.trueEvalCount(metadata);
+        final long nbFalse = counts.falseEvalCount(metadata);
         if (nbTrue == 0 && nbFalse == 0) {
             return formatExclusionBar(cssClass);
         }
@@ -153,10 +184,29 @@ public class AstHtmlVisitor extends AbstractAstVisitor {
 
     public AstHtmlVisitor(OutputStream ops, ResourceProvider bundle, Locale locale) {
         this.ops = ops;
+        this.appendable = null;
         this.bundle = bundle;
         this.locale = locale;
     }
 
+    public AstHtmlVisitor(Appendable appendable, ResourceProvider bundle, Locale locale) {
+        this.ops = null;
+        this.appendable = appendable;
+        this.bundle = bundle;
+        this.locale = locale;
+    }
+
+    /**
+     * Sets the evaluation counts rendered by the exclusion bars, the counters of the nodes by default.
+     *
+     * @param counts the evaluation counts
+     * @return this visitor
+     */
+    public AstHtmlVisitor withCounts(EvalCounts counts) {
+        this.counts = counts;
+        return this;
+    }
+
     // step when
 
     @Override
@@ -395,7 +445,11 @@ public class AstHtmlVisitor extends AbstractAstVisitor {
 
     protected void write(String s) {
         try {
-            ops.write(s.getBytes("UTF-8"));
+            if (ops != null) {
+                ops.write(s.getBytes(UTF_8));
+            } else {
+                appendable.append(s);
+            }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
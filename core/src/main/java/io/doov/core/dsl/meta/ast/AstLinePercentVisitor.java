@@ -19,10 +19,17 @@ import io.doov.core.dsl.meta.predicate.*;
 
 public class AstLinePercentVisitor extends AstLineVisitor {
 
-    private static final NumberFormat formatter = new DecimalFormat("###.#");
+    private final NumberFormat formatter = new DecimalFormat("###.#");
+    private final EvalCounts counts;
 
     public AstLinePercentVisitor(StringBuilder stringBuilder, ResourceProvider bundle, Locale locale) {
+        this(stringBuilder, bundle, locale, EvalCounts.METADATA);
+    }
+
+    public AstLinePercentVisitor(StringBuilder stringBuilder, ResourceProvider bundle, Locale locale,
+            EvalCounts counts) {
         super(stringBuilder, bundle, locale);
+        this.counts = counts;
     }
 
     @Override
@@ -59,8 +66,8 @@ public class AstLinePercentVisitor extends AstLineVisitor {
     }
 
     private String percentage(PredicateMetadata metadata) {
-        int t = metadata.trueEvalCount();
-        int f = metadata.falseEvalCount();
+        long t = counts.trueEvalCount(metadata);
+        long f = counts.falseEvalCount(metadata);
 
         if (f == 0 && t == 0) {
             return "[n/a]";
@@ -13,6 +13,9 @@
 package io.doov.core.dsl.meta.ast;
 
 import static io.doov.core.dsl.meta.i18n.ResourceBundleProvider.BUNDLE;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.Set;
@@ -34,6 +37,38 @@ public class AstVisitorUtils {
         return stringBuilder.toString();
     }
 
+    /**
+     * Appends the readable of the syntax tree to the given output. Text visitors edit the end of their buffer, so the
+     * tree is rendered in a buffer before being appended: render large registries rule by rule.
+     *
+     * @param metadata the syntax tree
+     * @param locale the locale
+     * @param out the output
+     */
+    public static void astToString(Metadata metadata, Locale locale, Appendable out) {
+        append(out, astToString(metadata, locale));
+    }
+
+    /**
+     * Appends the markdown of the syntax tree to the given output, see
+     * {@link #astToString(Metadata, Locale, Appendable)}.
+     *
+     * @param metadata the syntax tree
+     * @param locale the locale
+     * @param out the output
+     */
+    public static void astToMarkdown(Metadata metadata, Locale locale, Appendable out) {
+        append(out, astToMarkdown(metadata, locale));
+    }
+
+    static void append(Appendable out, CharSequence text) {
+        try {
+            out.append(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     public static Set<Metadata> collectMetadata(Metadata root) {
         HashSet<Metadata> metadatas = new HashSet<>();
         new MetadataVisitor() {
@@ -4,16 +4,24 @@
 package io.doov.core.dsl.meta.function;
 
 import static io.doov.core.dsl.meta.DefaultOperator.*;
+import static io.doov.core.dsl.meta.Element.leftParenthesis;
+import static io.doov.core.dsl.meta.Element.rightParenthesis;
 import static io.doov.core.dsl.meta.MetadataType.FIELD_PREDICATE;
 
 import java.util.Collection;
 
+import io.doov.core.dsl.lang.StepCondition;
 import io.doov.core.dsl.meta.Metadata;
 import io.doov.core.dsl.meta.MetadataType;
+import io.doov.core.dsl.meta.Operator;
 import io.doov.core.dsl.meta.predicate.LeafPredicateMetadata;
 
 public class IterableFunctionMetadata extends LeafPredicateMetadata<IterableFunctionMetadata> {
 
+    public IterableFunctionMetadata(MetadataType type) {
+        super(type);
+    }
+
     public IterableFunctionMetadata(Metadata metadata) {
         super(metadata);
     }
@@ -50,4 +58,35 @@ public class IterableFunctionMetadata extends LeafPredicateMetadata<IterableFunc
         return new IterableFunctionMetadata(metadata, FIELD_PREDICATE).operator(has_not_size).valueObject(size);
     }
 
+    // elements
+
+    public static IterableFunctionMetadata forAllMetadata(Metadata metadata, StepCondition condition) {
+        return elementsMetadata(metadata, for_all, condition);
+    }
+
+    public static IterableFunctionMetadata forAnyMetadata(Metadata metadata, StepCondition condition) {
+        return elementsMetadata(metadata, for_any, condition);
+    }
+
+    public static IterableFunctionMetadata countWhereMetadata(Metadata metadata, StepCondition condition) {
+        return elementsMetadata(metadata, count_where, condition);
+    }
+
+    private static IterableFunctionMetadata elementsMetadata(Metadata metadata, Operator operator,
+            StepCondition condition) {
+        final IterableFunctionMetadata exp = new IterableFunctionMetadata(metadata, FIELD_PREDICATE).operator(operator);
+        exp.elements().add(leftParenthesis());
+        exp.elements().addAll(condition.metadata().flatten());
+        exp.elements().add(rightParenthesis());
+        return exp;
+    }
+
+    public static IterableFunctionMetadata elementMetadata() {
+        return new IterableFunctionMetadata(FIELD_PREDICATE).operator(element);
+    }
+
+    public static IterableFunctionMetadata indexMetadata() {
+        return new IterableFunctionMetadata(FIELD_PREDICATE).operator(index);
+    }
+
 }
@@ -63,7 +63,7 @@ public class TemporalFunctionMetadata extends LeafPredicateMetadata<TemporalFunc
     }
 
     private TemporalFunctionMetadata temporalUnit(Object unit) {
-        return add(unit == null ? null : new Element(() -> unit.toString().toLowerCase(), TEMPORAL_UNIT));
+        return add(unit == null ? null : Element.value(unit.toString().toLowerCase(), TEMPORAL_UNIT));
     }
 
     // local date suppliers
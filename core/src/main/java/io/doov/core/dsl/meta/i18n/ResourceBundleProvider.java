@@ -4,49 +4,111 @@
 package io.doov.core.dsl.meta.i18n;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+import io.doov.core.dsl.meta.DefaultOperator;
+import io.doov.core.dsl.meta.MappingOperator;
 import io.doov.core.dsl.meta.Operator;
 
+/**
+ * Resource provider looking up the registered bundles, in registration order. Translations are kept in a table per
+ * locale, the operators of the DSL being computed when the table is created. The tables are dropped when a bundle is
+ * registered, and the {@link #generation() generation} is incremented so that caches of rendered texts can be dropped
+ * as well.
+ */
 public enum ResourceBundleProvider implements ResourceProvider {
 
     BUNDLE;
 
-    private final List<String> providers = new ArrayList<>();
+    private static final int MAX_CACHED_KEYS = 4096;
+
+    private final List<String> providers = new CopyOnWriteArrayList<>();
+    private volatile Map<Locale, Translations> translations = new ConcurrentHashMap<>();
+    private volatile int generation;
 
     ResourceBundleProvider() {
         register("io.doov.core.dsl.meta.i18n.DefaultResourceBundle");
     }
 
-    public void register(String bundleBaseName) {
+    public synchronized void register(String bundleBaseName) {
         if (!providers.contains(bundleBaseName)) {
             providers.add(bundleBaseName);
+            translations = new ConcurrentHashMap<>();
+            generation++;
         }
     }
 
+    /**
+     * Returns the number of bundles registered after the default one, texts rendered with a previous generation may
+     * be outdated.
+     *
+     * @return the generation
+     */
+    public int generation() {
+        return generation;
+    }
+
     @Override
     public String get(Operator operator, Locale locale) {
-        return providers.stream()
-                .map(name -> getString(operator.name(), locale, name))
-                .filter(Objects::nonNull)
-                .findFirst()
-                .orElse(operator.readable());
+        String translation = translations(locale).get(operator.name());
+        return translation != null ? translation : operator.readable();
     }
 
     @Override
     public String get(String key, Locale locale) {
-        return providers.stream()
-                .map(name -> getString(key, locale, name))
-                .filter(Objects::nonNull)
-                .findFirst()
-                .orElse(key);
+        String translation = translations(locale).get(key);
+        return translation != null ? translation : key;
     }
 
-    private String getString(String key, Locale locale, String name) {
-        try {
-            return ResourceBundle.getBundle(name, locale).getString(key);
-        } catch (MissingResourceException e) {
-            return null;
+    private Translations translations(Locale locale) {
+        return translations.computeIfAbsent(locale, l -> new Translations(providers, l));
+    }
+
+    /**
+     * Translations of a locale, missing keys are cached as well.
+     */
+    private static final class Translations {
+
+        private static final String MISSING = new String("");
+
+        private final List<ResourceBundle> bundles;
+        private final Map<String, String> values;
+
+        Translations(List<String> providers, Locale locale) {
+            this.bundles = new ArrayList<>(providers.size());
+            for (String name : providers) {
+                try {
+                    bundles.add(ResourceBundle.getBundle(name, locale));
+                } catch (MissingResourceException e) {
+                    // bundle not available for this locale
+                }
+            }
+            this.values = new ConcurrentHashMap<>();
+            Arrays.stream(DefaultOperator.values()).forEach(o -> get(o.name()));
+            Arrays.stream(MappingOperator.values()).forEach(o -> get(o.name()));
+        }
+
+        String get(String key) {
+            String value = values.get(key);
+            if (value == null) {
+                value = lookup(key);
+                if (values.size() < MAX_CACHED_KEYS) {
+                    values.put(key, value);
+                }
+            }
+            return value == MISSING ? null : value;
         }
+
+        private String lookup(String key) {
+            for (ResourceBundle bundle : bundles) {
+                if (bundle.containsKey(key)) {
+                    return bundle.getString(key);
+                }
+            }
+            return MISSING;
+        }
+
     }
 
 }
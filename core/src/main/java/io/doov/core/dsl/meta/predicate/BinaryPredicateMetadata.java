@@ -41,6 +41,10 @@ public class BinaryPredicateMetadata extends BinaryMetadata implements Predicate
         return evalFalse;
     }
 
+    public static BinaryPredicateMetadata binaryMetadata(Metadata left, Operator operator, Metadata right) {
+        return new BinaryPredicateMetadata(left, operator, right);
+    }
+
     public static BinaryPredicateMetadata andMetadata(Metadata left, Metadata right) {
         return new BinaryPredicateMetadata(left, and, right);
     }
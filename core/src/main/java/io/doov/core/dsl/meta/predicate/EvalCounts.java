@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.meta.predicate;
+
+/**
+ * Evaluation counts of predicate nodes, rendered by the percentage views. By default the counts are the counters of
+ * the nodes themselves, see {@link #METADATA}.
+ */
+public interface EvalCounts {
+
+    /**
+     * Counts read from the counters of the nodes.
+     */
+    EvalCounts METADATA = new EvalCounts() {
+
+        @Override
+        public long trueEvalCount(PredicateMetadata metadata) {
+            return metadata.trueEvalCount();
+        }
+
+        @Override
+        public long falseEvalCount(PredicateMetadata metadata) {
+            return metadata.falseEvalCount();
+        }
+
+    };
+
+    /**
+     * @param metadata the node
+     * @return the number of evaluations of the node to true
+     */
+    long trueEvalCount(PredicateMetadata metadata);
+
+    /**
+     * @param metadata the node
+     * @return the number of evaluations of the node to false
+     */
+    long falseEvalCount(PredicateMetadata metadata);
+
+}
@@ -34,20 +34,20 @@ public class LeafPredicateMetadata<M extends LeafPredicateMetadata<M>> extends L
     private final AtomicInteger evalTrue = new AtomicInteger();
     private final AtomicInteger evalFalse = new AtomicInteger();
 
-    private LeafPredicateMetadata(Deque<Element> elements, MetadataType type) {
+    private LeafPredicateMetadata(List<Element> elements, MetadataType type) {
         super(elements, type);
     }
 
     public LeafPredicateMetadata(MetadataType type) {
-        this(new ArrayDeque<>(), type);
+        super(type);
     }
 
     public LeafPredicateMetadata(Metadata metadata) {
-        this(new ArrayDeque<>(metadata.flatten()), metadata.type());
+        super(metadata.flatten(), metadata.type());
     }
 
     public LeafPredicateMetadata(Metadata metadata, MetadataType type) {
-        this(new ArrayDeque<>(metadata.flatten()), type);
+        super(metadata.flatten(), type);
     }
 
     @Override
@@ -63,7 +63,8 @@ public class LeafPredicateMetadata<M extends LeafPredicateMetadata<M>> extends L
     @Override
     public LeafPredicateMetadata<M> merge(LeafMetadata<?> other) {
         removeDuplicate(elements(), other.elements());
-        final Deque<Element> merge = new ArrayDeque<>(elements());
+        final List<Element> merge = new ArrayList<>(elements().size() + other.elements().size());
+        merge.addAll(elements());
         merge.addAll(other.elements());
         return new LeafPredicateMetadata<M>(merge, mergeType(type(), other.type()));
     }
@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.*;
+
+import io.doov.core.dsl.meta.Metadata;
+
+/**
+ * Default {@link RuleMetrics}: a {@link RuleStats} by rule id, optionally exported as MXBeans named
+ * {@code <domain>:type=RuleMetrics,rule=<rule id>}.
+ * <p>
+ * Rules with the same readable share the same id, and so the same statistics. The statistics of a rule are cached by
+ * rule instance with weak keys, so that the metrics do not retain the rules that are no longer used.
+ */
+public class DefaultRuleMetrics implements RuleMetrics {
+
+    public static final String DEFAULT_DOMAIN = "io.doov";
+
+    private final Map<Object, RuleStats> byRule = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Metadata> released = new ReferenceQueue<>();
+    private final Map<String, RuleStats> byId = new ConcurrentHashMap<>();
+    private final MBeanServer server;
+    private final String domain;
+
+    /**
+     * Creates metrics that are not exported.
+     */
+    public DefaultRuleMetrics() {
+        this(null, null);
+    }
+
+    /**
+     * Creates metrics exported to the given server.
+     *
+     * @param server the MBean server, null to not export the metrics
+     * @param domain the domain of the MBean names
+     */
+    public DefaultRuleMetrics(MBeanServer server, String domain) {
+        this.server = server;
+        this.domain = domain;
+    }
+
+    /**
+     * @return metrics exported to the platform MBean server in the {@link #DEFAULT_DOMAIN} domain
+     */
+    public static DefaultRuleMetrics withJmx() {
+        return new DefaultRuleMetrics(ManagementFactory.getPlatformMBeanServer(), DEFAULT_DOMAIN);
+    }
+
+    @Override
+    public void registered(Metadata rule) {
+        stats(rule);
+    }
+
+    @Override
+    public void record(Metadata rule, long nanos, boolean success) {
+        stats(rule).record(nanos, success);
+    }
+
+    /**
+     * Returns the statistics of the given rule, created on the first call.
+     *
+     * @param rule the rule metadata
+     * @return the statistics
+     */
+    public RuleStats stats(Metadata rule) {
+        RuleStats stats = byRule.get(new RuleLookup(rule));
+        if (stats == null) {
+            expunge();
+            stats = byRule.computeIfAbsent(new RuleKey(rule, released), r -> stats(RuleMetrics.ruleId(rule), rule));
+        }
+        return stats;
+    }
+
+    /**
+     * @return the number of rule instances in the cache, once the released rules are removed
+     */
+    int cachedRules() {
+        expunge();
+        return byRule.size();
+    }
+
+    private void expunge() {
+        for (Reference<?> key = released.poll(); key != null; key = released.poll()) {
+            byRule.remove(key);
+        }
+    }
+
+    private RuleStats stats(String ruleId, Metadata rule) {
+        RuleStats stats = byId.get(ruleId);
+        if (stats != null) {
+            return stats;
+        }
+        RuleStats created = new RuleStats(ruleId, rule);
+        stats = byId.putIfAbsent(ruleId, created);
+        if (stats != null) {
+            return stats;
+        }
+        if (server != null) {
+            try {
+                server.registerMBean(created, objectName(ruleId));
+            } catch (InstanceAlreadyExistsException e) {
+                // exported by other metrics of the same domain
+            } catch (JMException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return created;
+    }
+
+    /**
+     * @return the statistics of the rules, by rule id
+     */
+    public Map<String, RuleStats> stats() {
+        return Collections.unmodifiableMap(byId);
+    }
+
+    /**
+     * Unregisters the exported MBeans.
+     */
+    public void unregister() {
+        if (server == null) {
+            return;
+        }
+        for (String ruleId : byId.keySet()) {
+            try {
+                server.unregisterMBean(objectName(ruleId));
+            } catch (InstanceNotFoundException e) {
+                // not exported by these metrics
+            } catch (JMException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Weak key of a rule instance, compared by identity.
+     */
+    private static final class RuleKey extends WeakReference<Metadata> {
+
+        private final int hash;
+
+        RuleKey(Metadata rule, ReferenceQueue<Metadata> queue) {
+            super(rule, queue);
+            this.hash = System.identityHashCode(rule);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            final Metadata rule = get();
+            return rule != null && (obj instanceof RuleKey && ((RuleKey) obj).get() == rule
+                            || obj instanceof RuleLookup && ((RuleLookup) obj).rule == rule);
+        }
+
+    }
+
+    /**
+     * Key used to look up a rule instance without allocating a reference.
+     */
+    private static final class RuleLookup {
+
+        private final Metadata rule;
+
+        RuleLookup(Metadata rule) {
+            this.rule = rule;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(rule);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof RuleKey ? ((RuleKey) obj).get() == rule
+                            : obj instanceof RuleLookup && ((RuleLookup) obj).rule == rule;
+        }
+
+    }
+
+    /**
+     * Returns the name of the MBean of the given rule id.
+     *
+     * @param ruleId the rule id
+     * @return the object name
+     */
+    public ObjectName objectName(String ruleId) {
+        try {
+            return new ObjectName(domain + ":type=RuleMetrics,rule=" + ruleId);
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.metrics;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Uniform sample of at most {@code capacity} example ids among all the ids added, merged with the sample of another
+ * reservoir in proportion of the number of ids each reservoir has seen.
+ */
+final class ExampleReservoir implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String[] items;
+    private int size;
+    private long seen;
+
+    ExampleReservoir(int capacity) {
+        this.items = new String[capacity];
+    }
+
+    void add(String id) {
+        seen++;
+        if (size < items.length) {
+            items[size++] = id;
+        } else {
+            final long index = ThreadLocalRandom.current().nextLong(seen);
+            if (index < items.length) {
+                items[(int) index] = id;
+            }
+        }
+    }
+
+    /**
+     * Merges the given reservoir in this one: each example is kept with a probability proportional to the number of
+     * ids it stands for.
+     */
+    void merge(ExampleReservoir other) {
+        if (other.size == 0) {
+            seen += other.seen;
+            return;
+        }
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final List<Map.Entry<Double, String>> keyed = new ArrayList<>(size + other.size);
+        for (ExampleReservoir reservoir : Arrays.asList(this, other)) {
+            final double weight = (double) reservoir.seen / Math.max(reservoir.size, 1);
+            for (int i = 0; i < reservoir.size; i++) {
+                keyed.add(new AbstractMap.SimpleEntry<>(Math.pow(random.nextDouble(), 1 / weight),
+                        reservoir.items[i]));
+            }
+        }
+        keyed.sort(Map.Entry.<Double, String> comparingByKey().reversed());
+        size = Math.min(items.length, keyed.size());
+        for (int i = 0; i < size; i++) {
+            items[i] = keyed.get(i).getValue();
+        }
+        seen += other.seen;
+    }
+
+    List<String> examples() {
+        return Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(items, size)));
+    }
+
+    long seen() {
+        return seen;
+    }
+
+}
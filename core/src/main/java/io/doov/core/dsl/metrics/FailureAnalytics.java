@@ -0,0 +1,309 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.metrics;
+
+import static io.doov.core.dsl.meta.i18n.ResourceBundleProvider.BUNDLE;
+
+import java.io.Serializable;
+import java.util.*;
+
+import io.doov.core.dsl.lang.Context;
+import io.doov.core.dsl.lang.Result;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.meta.Metadata;
+import io.doov.core.dsl.meta.ast.AstHtmlReport;
+import io.doov.core.dsl.meta.ast.AstLinePercentVisitor;
+import io.doov.core.dsl.meta.predicate.EvalCounts;
+import io.doov.core.dsl.meta.predicate.LeafPredicateMetadata;
+import io.doov.core.dsl.meta.predicate.PredicateMetadata;
+
+/**
+ * Streaming aggregate of the evaluations of rules, with constant memory whatever the number of evaluations.
+ * <p>
+ * For each rule, the predicate nodes are indexed by their ordinal in the syntax tree, and the aggregate keeps the
+ * number of evaluations of each node to true and to false. For the leaf predicates that are false in a failed
+ * evaluation, it keeps the number of failures and a bounded sample of the model ids, see
+ * {@link #topFailures(ValidationRule, int)}.
+ * <p>
+ * An aggregate is not thread safe: each thread aggregates its own evaluations, and the aggregates are merged with
+ * {@link #merge(FailureAnalytics)}. Aggregates are serializable, rules being identified by
+ * {@link RuleMetrics#ruleId(Metadata)}, so that the aggregates of several processes can be merged too.
+ */
+public final class FailureAnalytics implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int examples;
+    private final Map<String, RuleFailures> rules = new HashMap<>();
+    private transient Map<Metadata, RuleFailures> byRule;
+
+    /**
+     * @param examples the maximum number of example ids kept by leaf predicate
+     */
+    public FailureAnalytics(int examples) {
+        if (examples < 0) {
+            throw new IllegalArgumentException("number of examples must not be negative: " + examples);
+        }
+        this.examples = examples;
+    }
+
+    /**
+     * Aggregates the given evaluation. The context of the result must be traced: a result of an untraced evaluation
+     * is re-run to get its context.
+     *
+     * @param rule the evaluated rule
+     * @param result the result of the evaluation
+     * @param modelId the id of the evaluated model, kept as a string
+     */
+    public void accept(ValidationRule rule, Result result, Object modelId) {
+        ruleFailures(rule).accept(result, modelId);
+    }
+
+    /**
+     * Merges the given aggregate in this one.
+     *
+     * @param other the other aggregate
+     * @return this aggregate
+     * @throws IllegalArgumentException if the aggregates of a rule do not have the same nodes
+     */
+    public FailureAnalytics merge(FailureAnalytics other) {
+        for (RuleFailures failures : other.rules.values()) {
+            RuleFailures current = rules.get(failures.ruleId);
+            if (current == null) {
+                rules.put(failures.ruleId, failures.copy(examples));
+            } else {
+                current.merge(failures);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @param rule the rule
+     * @return the number of aggregated evaluations of the rule
+     */
+    public long evaluations(ValidationRule rule) {
+        final RuleFailures failures = rules.get(RuleMetrics.ruleId(rule.metadata()));
+        return failures == null ? 0 : failures.evaluations;
+    }
+
+    /**
+     * @param rule the rule
+     * @return the number of aggregated failed evaluations of the rule
+     */
+    public long failures(ValidationRule rule) {
+        final RuleFailures failures = rules.get(RuleMetrics.ruleId(rule.metadata()));
+        return failures == null ? 0 : failures.failures;
+    }
+
+    /**
+     * Returns the leaf predicates of the rule that are the most often false in failed evaluations, with their example
+     * model ids.
+     *
+     * @param rule the rule
+     * @param k the maximum number of predicates
+     * @return the predicates, by decreasing number of failures
+     */
+    public List<NodeFailures> topFailures(ValidationRule rule, int k) {
+        return ruleFailures(rule).top(k);
+    }
+
+    /**
+     * Returns the evaluation counts of the nodes of the given rule.
+     *
+     * @param rule the rule
+     * @return the counts
+     */
+    public EvalCounts counts(ValidationRule rule) {
+        return ruleFailures(rule);
+    }
+
+    /**
+     * Returns the readable of the rule with the aggregated percentages of evaluations to true, see
+     * {@link AstLinePercentVisitor}.
+     *
+     * @param rule the rule
+     * @param locale the locale
+     * @return the readable
+     */
+    public String readable(ValidationRule rule, Locale locale) {
+        final StringBuilder sb = new StringBuilder();
+        new AstLinePercentVisitor(sb, BUNDLE, locale, counts(rule)).browse(rule.metadata(), 0);
+        return sb.toString().trim();
+    }
+
+    /**
+     * Returns the html fragment of the rule with the aggregated percentages, see {@link AstHtmlReport}.
+     *
+     * @param rule the rule
+     * @param locale the locale
+     * @return the html fragment
+     */
+    public String html(ValidationRule rule, Locale locale) {
+        return new AstHtmlReport(locale).render(rule, counts(rule));
+    }
+
+    private RuleFailures ruleFailures(ValidationRule rule) {
+        if (byRule == null) {
+            byRule = new IdentityHashMap<>();
+        }
+        final Metadata metadata = rule.metadata();
+        RuleFailures failures = byRule.get(metadata);
+        if (failures == null) {
+            final String ruleId = RuleMetrics.ruleId(metadata);
+            failures = rules.get(ruleId);
+            if (failures == null) {
+                failures = new RuleFailures(ruleId, metadata, examples);
+                rules.put(ruleId, failures);
+            } else {
+                failures.bind(metadata);
+            }
+            byRule.put(metadata, failures);
+        }
+        return failures;
+    }
+
+    private static final class RuleFailures implements EvalCounts, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String ruleId;
+        private final int examples;
+        private final long[] trueCounts;
+        private final long[] falseCounts;
+        private final long[] failureCounts;
+        private final ExampleReservoir[] reservoirs;
+        private long evaluations;
+        private long failures;
+        private transient Metadata[] nodes;
+        private transient Map<Metadata, Integer> ordinals;
+
+        RuleFailures(String ruleId, Metadata rule, int examples) {
+            this(ruleId, index(rule).size(), examples);
+            bind(rule);
+        }
+
+        private RuleFailures(String ruleId, int size, int examples) {
+            this.ruleId = ruleId;
+            this.examples = examples;
+            this.trueCounts = new long[size];
+            this.falseCounts = new long[size];
+            this.failureCounts = new long[size];
+            this.reservoirs = new ExampleReservoir[size];
+        }
+
+        private static Map<Metadata, Integer> index(Metadata rule) {
+            final Map<Metadata, Integer> ordinals = new IdentityHashMap<>();
+            index(rule, ordinals);
+            return ordinals;
+        }
+
+        private static void index(Metadata metadata, Map<Metadata, Integer> ordinals) {
+            if (metadata instanceof PredicateMetadata && !ordinals.containsKey(metadata)) {
+                ordinals.put(metadata, ordinals.size());
+            }
+            metadata.children().forEach(child -> index(child, ordinals));
+        }
+
+        void bind(Metadata rule) {
+            final Map<Metadata, Integer> index = index(rule);
+            if (index.size() != trueCounts.length) {
+                throw new IllegalArgumentException("rule " + ruleId + " does not have " + trueCounts.length
+                        + " predicate nodes");
+            }
+            nodes = new Metadata[index.size()];
+            index.forEach((node, ordinal) -> nodes[ordinal] = node);
+            ordinals = index;
+        }
+
+        void accept(Result result, Object modelId) {
+            evaluations++;
+            final boolean failed = !result.value();
+            if (failed) {
+                failures++;
+            }
+            final Context context = result.getContext();
+            for (Metadata metadata : context.getEvalTrue()) {
+                final Integer ordinal = ordinals.get(metadata);
+                if (ordinal != null) {
+                    trueCounts[ordinal]++;
+                }
+            }
+            for (Metadata metadata : context.getEvalFalse()) {
+                final Integer ordinal = ordinals.get(metadata);
+                if (ordinal == null) {
+                    continue;
+                }
+                falseCounts[ordinal]++;
+                if (failed && metadata instanceof LeafPredicateMetadata) {
+                    failureCounts[ordinal]++;
+                    if (examples > 0) {
+                        reservoir(ordinal).add(String.valueOf(modelId));
+                    }
+                }
+            }
+        }
+
+        private ExampleReservoir reservoir(int ordinal) {
+            if (reservoirs[ordinal] == null) {
+                reservoirs[ordinal] = new ExampleReservoir(examples);
+            }
+            return reservoirs[ordinal];
+        }
+
+        void merge(RuleFailures other) {
+            if (other.trueCounts.length != trueCounts.length) {
+                throw new IllegalArgumentException("rule " + ruleId + " does not have " + trueCounts.length
+                        + " predicate nodes");
+            }
+            evaluations += other.evaluations;
+            failures += other.failures;
+            for (int i = 0; i < trueCounts.length; i++) {
+                trueCounts[i] += other.trueCounts[i];
+                falseCounts[i] += other.falseCounts[i];
+                failureCounts[i] += other.failureCounts[i];
+                if (other.reservoirs[i] != null) {
+                    reservoir(i).merge(other.reservoirs[i]);
+                }
+            }
+        }
+
+        RuleFailures copy(int examples) {
+            final RuleFailures copy = new RuleFailures(ruleId, trueCounts.length, examples);
+            copy.merge(this);
+            return copy;
+        }
+
+        List<NodeFailures> top(int k) {
+            final List<NodeFailures> top = new ArrayList<>();
+            for (int i = 0; i < nodes.length; i++) {
+                if (failureCounts[i] > 0) {
+                    top.add(new NodeFailures(nodes[i], failureCounts[i],
+                            reservoirs[i] == null ? Collections.emptyList() : reservoirs[i].examples()));
+                }
+            }
+            top.sort(Comparator.comparingLong(NodeFailures::failures).reversed());
+            return top.size() > k ? top.subList(0, k) : top;
+        }
+
+        private int ordinal(PredicateMetadata metadata) {
+            final Integer ordinal = ordinals.get(metadata);
+            return ordinal == null ? -1 : ordinal;
+        }
+
+        @Override
+        public long trueEvalCount(PredicateMetadata metadata) {
+            final int ordinal = ordinal(metadata);
+            return ordinal < 0 ? 0 : trueCounts[ordinal];
+        }
+
+        @Override
+        public long falseEvalCount(PredicateMetadata metadata) {
+            final int ordinal = ordinal(metadata);
+            return ordinal < 0 ? 0 : falseCounts[ordinal];
+        }
+
+    }
+
+}
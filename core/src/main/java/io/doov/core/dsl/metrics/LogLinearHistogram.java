@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent histogram of positive long values, typically durations in nanoseconds.
+ * <p>
+ * Values are counted in buckets that split each power of two in 8 linear sub-buckets, so that a recorded value is
+ * known within 12.5% whatever its magnitude. Recording a value is a few shifts and an atomic increment, and the
+ * histogram has a fixed size of 488 counters.
+ */
+public final class LogLinearHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a value, negative values are recorded as zero.
+     *
+     * @param value the value
+     */
+    public void record(long value) {
+        final long v = Math.max(value, 0L);
+        counts.incrementAndGet(index(v));
+        count.increment();
+        sum.add(v);
+        if (v > max.get()) {
+            max.accumulateAndGet(v, Math::max);
+        }
+    }
+
+    /**
+     * @return the number of recorded values
+     */
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * @return the sum of the recorded values
+     */
+    public long sum() {
+        return sum.sum();
+    }
+
+    /**
+     * @return the largest recorded value
+     */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * @return the mean of the recorded values, 0 if there are none
+     */
+    public double mean() {
+        final long n = count();
+        return n == 0 ? 0d : (double) sum() / n;
+    }
+
+    /**
+     * Returns the value at the given percentile: the upper bound of the bucket that contains it, at most the largest
+     * recorded value.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the value, 0 if there are no recorded values
+     */
+    public long percentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+        }
+        long total = 0;
+        final long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0L;
+        }
+        final long rank = Math.max(1L, (long) Math.ceil(percentile / 100d * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max());
+            }
+        }
+        return max();
+    }
+
+    /**
+     * Clears the recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0L);
+        }
+        count.reset();
+        sum.reset();
+        max.set(0L);
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final int group = index / SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + index % SUB_BUCKETS) << (group - 1);
+    }
+
+    static long upperBound(int index) {
+        return index == BUCKETS - 1 ? Long.MAX_VALUE : lowerBound(index + 1) - 1;
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the installed {@link RuleMetrics}. Rules read it on each execution, a single volatile read when no metrics
+ * are installed.
+ * <p>
+ * Recording can be suspended for the calling thread with {@link #suspend(Runnable)}, which also keeps the node
+ * statistics unchanged.
+ */
+public final class Metrics {
+
+    private static final ThreadLocal<Boolean> SUSPENDED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    private static final AtomicInteger SUSPENSIONS = new AtomicInteger();
+    private static volatile RuleMetrics metrics;
+
+    private Metrics() {
+    }
+
+    /**
+     * Installs the given metrics, replacing the previous ones.
+     *
+     * @param ruleMetrics the metrics
+     */
+    public static void install(RuleMetrics ruleMetrics) {
+        metrics = ruleMetrics;
+    }
+
+    /**
+     * Removes the installed metrics.
+     */
+    public static void uninstall() {
+        metrics = null;
+    }
+
+    /**
+     * Returns the installed metrics.
+     *
+     * @return the metrics, null if there are none or if they are suspended for the calling thread
+     */
+    public static RuleMetrics current() {
+        RuleMetrics current = metrics;
+        return current == null || !isSuspended() ? current : null;
+    }
+
+    /**
+     * Runs the given action in the calling thread without recording the executions, neither in the installed metrics
+     * nor in the node statistics, like the warm-up of a registry.
+     *
+     * @param action the action
+     */
+    public static void suspend(Runnable action) {
+        if (SUSPENDED.get()) {
+            action.run();
+            return;
+        }
+        SUSPENDED.set(Boolean.TRUE);
+        SUSPENSIONS.incrementAndGet();
+        try {
+            action.run();
+        } finally {
+            SUSPENSIONS.decrementAndGet();
+            SUSPENDED.remove();
+        }
+    }
+
+    /**
+     * Returns true if the recording is suspended for the calling thread, a single volatile read when no thread is
+     * suspended.
+     *
+     * @return true if suspended
+     */
+    public static boolean isSuspended() {
+        return SUSPENSIONS.get() > 0 && SUSPENDED.get();
+    }
+
+}
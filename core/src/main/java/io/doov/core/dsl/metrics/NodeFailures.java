@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.metrics;
+
+import java.util.List;
+
+import io.doov.core.dsl.meta.Metadata;
+
+/**
+ * Failures of a leaf predicate of a rule, see
+ * {@link FailureAnalytics#topFailures(io.doov.core.dsl.lang.ValidationRule, int)}.
+ */
+public final class NodeFailures {
+
+    private final Metadata node;
+    private final long failures;
+    private final List<String> examples;
+
+    NodeFailures(Metadata node, long failures, List<String> examples) {
+        this.node = node;
+        this.failures = failures;
+        this.examples = examples;
+    }
+
+    /**
+     * @return the leaf predicate
+     */
+    public Metadata node() {
+        return node;
+    }
+
+    /**
+     * @return the number of failed evaluations of the rule where the predicate was false
+     */
+    public long failures() {
+        return failures;
+    }
+
+    /**
+     * @return a sample of the ids of the models of these failures
+     */
+    public List<String> examples() {
+        return examples;
+    }
+
+    @Override
+    public String toString() {
+        return node.readable() + " : " + failures + " " + examples;
+    }
+
+}
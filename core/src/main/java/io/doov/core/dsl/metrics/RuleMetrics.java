@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.metrics;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.Locale;
+
+import io.doov.core.dsl.meta.Metadata;
+
+/**
+ * Receives the executions of the rules, installed with {@link Metrics#install(RuleMetrics)}.
+ * <p>
+ * Validation rules, conditional mapping rules and mapping registries report each execution with its duration. When
+ * no metrics are installed, the executions are not timed at all.
+ */
+public interface RuleMetrics {
+
+    /**
+     * Called when a rule is registered in a {@code DefaultRuleRegistry}, before its first execution.
+     *
+     * @param rule the rule metadata
+     */
+    default void registered(Metadata rule) {
+    }
+
+    /**
+     * Records an execution of a rule. The outcome is the result of a validation rule, whether the condition held for
+     * a conditional mapping rule, and whether all the mapping rules validated for a mapping registry.
+     *
+     * @param rule the rule metadata
+     * @param nanos the execution duration in nanoseconds
+     * @param success the outcome of the execution
+     */
+    void record(Metadata rule, long nanos, boolean success);
+
+    /**
+     * Returns an identifier of the given rule that is stable across executions of the program: the 64 bits FNV-1a
+     * hash of its readable in the root locale, in hexadecimal.
+     *
+     * @param rule the rule metadata
+     * @return the rule id
+     */
+    static String ruleId(Metadata rule) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : rule.readable(Locale.ROOT).getBytes(UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return String.format("%016x", hash);
+    }
+
+}
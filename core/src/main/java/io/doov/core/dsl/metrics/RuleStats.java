@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.doov.core.dsl.meta.Metadata;
+
+/**
+ * Executions of a rule: the latency histogram, the number of failed executions and the throughput since the
+ * creation or the last reset.
+ */
+public final class RuleStats implements RuleStatsMXBean {
+
+    private final String ruleId;
+    private final String rule;
+    private final LogLinearHistogram latencies = new LogLinearHistogram();
+    private final LongAdder failures = new LongAdder();
+    private volatile long start = System.nanoTime();
+
+    RuleStats(String ruleId, Metadata rule) {
+        this.ruleId = ruleId;
+        this.rule = rule.readable(Locale.ROOT);
+    }
+
+    void record(long nanos, boolean success) {
+        latencies.record(nanos);
+        if (!success) {
+            failures.increment();
+        }
+    }
+
+    /**
+     * @return the latency histogram, in nanoseconds
+     */
+    public LogLinearHistogram latencies() {
+        return latencies;
+    }
+
+    @Override
+    public String getRuleId() {
+        return ruleId;
+    }
+
+    @Override
+    public String getRule() {
+        return rule;
+    }
+
+    @Override
+    public long getCount() {
+        return latencies.count();
+    }
+
+    @Override
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * @return the number of executions per second
+     */
+    @Override
+    public double getThroughput() {
+        final long elapsed = System.nanoTime() - start;
+        return elapsed <= 0 ? 0d : getCount() * 1e9d / elapsed;
+    }
+
+    @Override
+    public double getMeanNanos() {
+        return latencies.mean();
+    }
+
+    @Override
+    public long getP50Nanos() {
+        return latencies.percentile(50);
+    }
+
+    @Override
+    public long getP90Nanos() {
+        return latencies.percentile(90);
+    }
+
+    @Override
+    public long getP99Nanos() {
+        return latencies.percentile(99);
+    }
+
+    @Override
+    public long getMaxNanos() {
+        return latencies.max();
+    }
+
+    @Override
+    public void reset() {
+        latencies.reset();
+        failures.reset();
+        start = System.nanoTime();
+    }
+
+}
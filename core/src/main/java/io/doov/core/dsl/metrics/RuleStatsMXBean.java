@@ -0,0 +1,33 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.metrics;
+
+/**
+ * JMX view of the {@link RuleStats} of a rule.
+ */
+public interface RuleStatsMXBean {
+
+    String getRuleId();
+
+    String getRule();
+
+    long getCount();
+
+    long getFailures();
+
+    double getThroughput();
+
+    double getMeanNanos();
+
+    long getP50Nanos();
+
+    long getP90Nanos();
+
+    long getP99Nanos();
+
+    long getMaxNanos();
+
+    void reset();
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Rule execution metrics.
+ */
+package io.doov.core.dsl.metrics;
@@ -17,6 +17,7 @@ public final class GenericModel implements FieldModel {
     private final Map<FieldId, Object> valueMap;
 
     private final TypeAdapterRegistry adapterRegistry;
+    private FieldInfoIndex index;
 
     public GenericModel() {
         this(TypeAdapters.INSTANCE);
@@ -64,6 +65,14 @@ public final class GenericModel implements FieldModel {
         return new ArrayList<>(fields);
     }
 
+    @Override
+    public FieldInfoIndex fieldInfoIndex() {
+        if (index == null) {
+            index = FieldInfoIndex.of(getFieldInfos());
+        }
+        return index;
+    }
+
     @Override
     public TypeAdapterRegistry getTypeAdapterRegistry() {
         return adapterRegistry;
@@ -73,6 +82,7 @@ public final class GenericModel implements FieldModel {
     private <T> RuntimeField<GenericModel, T> runtimeField(T value, String readable, Class<?>... genericTypes) {
         FieldId fieldId = () -> readable;
         this.set(fieldId, value);
+        this.index = null;
         return from(GenericModel.class, fieldId)
                 .readable(readable)
                 .field(o -> o.get(fieldId), (o, v) -> o.set(fieldId, v),
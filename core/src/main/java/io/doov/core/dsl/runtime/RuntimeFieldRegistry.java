@@ -8,6 +8,7 @@ import java.util.stream.Stream;
 
 import io.doov.core.FieldId;
 import io.doov.core.FieldInfo;
+import io.doov.core.FieldInfoIndex;
 
 /**
  * Runtime field registry optimized for searching {@link RuntimeField}s via Enum {@link FieldId}s.
@@ -21,6 +22,7 @@ public class RuntimeFieldRegistry<M> {
     private final List<Class<?>> fieldIdTypes;
     private final List<EnumMap<?, RuntimeField<M, Object>>> enumFieldMaps;
     private final Map<FieldId, RuntimeField<M, Object>> nonEnumFieldMap;
+    private volatile FieldInfoIndex index;
 
     @SuppressWarnings("unchecked")
     public RuntimeFieldRegistry(List<RuntimeField<M, Object>> runtimeFieldList) {
@@ -49,6 +51,20 @@ public class RuntimeFieldRegistry<M> {
         return (List) runtimeFields;
     }
 
+    /**
+     * Returns the index of the field infos, built on the first call and shared by the models of this registry.
+     *
+     * @return the field info index
+     */
+    public FieldInfoIndex fieldInfoIndex() {
+        FieldInfoIndex fieldInfoIndex = index;
+        if (fieldInfoIndex == null) {
+            fieldInfoIndex = FieldInfoIndex.of(fieldInfos());
+            index = fieldInfoIndex;
+        }
+        return fieldInfoIndex;
+    }
+
     public List<RuntimeField<M, Object>> runtimeFields() {
         return runtimeFields;
     }
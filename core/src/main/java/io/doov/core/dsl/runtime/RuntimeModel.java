@@ -92,6 +92,11 @@ public class RuntimeModel<M> implements FieldModel {
         return fieldRegistry.fieldInfos();
     }
 
+    @Override
+    public FieldInfoIndex fieldInfoIndex() {
+        return fieldRegistry.fieldInfoIndex();
+    }
+
     private static class SupplierEntry<M> implements Map.Entry<FieldId, Object> {
 
         final RuntimeField<M, Object> runtimeField;
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.time;
+
+import java.time.*;
+import java.util.function.Supplier;
+
+/**
+ * Snapshot of a clock, read once when the snapshot is created. The temporal functions of {@link LocalDateSuppliers}
+ * read today's date from the snapshot of the evaluation context, so that all the rules of an evaluation, or of a
+ * batch of evaluations sharing the snapshot, see the same date whatever the thread they run on.
+ */
+public final class EvaluationClock {
+
+    private static final ThreadLocal<EvaluationClock> CURRENT = new ThreadLocal<>();
+
+    private final Clock clock;
+    private final LocalDateTime now;
+    private final LocalDate today;
+
+    private EvaluationClock(Clock clock) {
+        this.clock = clock;
+        this.now = LocalDateTime.now(clock);
+        this.today = now.toLocalDate();
+    }
+
+    /**
+     * Returns a snapshot of the given clock.
+     *
+     * @param clock the clock
+     * @return the snapshot
+     */
+    public static EvaluationClock of(Clock clock) {
+        return new EvaluationClock(clock);
+    }
+
+    /**
+     * Returns the snapshot of the enclosing {@link #call(Supplier)} in the calling thread, or else a snapshot of the
+     * clock of {@link LocalDateSuppliers#getClock()}.
+     *
+     * @return the snapshot
+     */
+    public static EvaluationClock now() {
+        final EvaluationClock current = CURRENT.get();
+        return current != null ? current : new EvaluationClock(LocalDateSuppliers.getClock());
+    }
+
+    /**
+     * Calls the given action with this snapshot returned by {@link #now()} in the calling thread.
+     *
+     * @param action the action
+     * @param <T> the type of the result
+     * @return the result of the action
+     */
+    public <T> T call(Supplier<T> action) {
+        final EvaluationClock previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @return the clock of the snapshot
+     */
+    public Clock clock() {
+        return clock;
+    }
+
+    /**
+     * @return the date time of the snapshot
+     */
+    public LocalDateTime dateTime() {
+        return now;
+    }
+
+    /**
+     * @return the date of the snapshot
+     */
+    public LocalDate today() {
+        return today;
+    }
+
+}
@@ -27,7 +27,12 @@ import io.doov.core.dsl.impl.time.LocalDateFunction;
 import io.doov.core.dsl.impl.time.TemporalFunction;
 
 /**
- * Common and useful local date suppliers. You can mock the clock by using {@link #setClock(Clock)}.
+ * Common and useful local date suppliers.
+ * <p>
+ * Today's date is read from the {@link EvaluationClock} of the evaluation context, which is a snapshot of
+ * {@link #getClock()} taken on the first temporal function of an evaluation, unless the context is created with a
+ * snapshot, see {@link io.doov.core.dsl.lang.ValidationRule#executeAt(io.doov.core.dsl.DslModel, EvaluationClock)}.
+ * You can mock the clock of the current thread by using {@link #setClock(Clock)}.
  */
 public class LocalDateSuppliers {
 
@@ -88,7 +93,8 @@ public class LocalDateSuppliers {
      * @return the temporal condition
      */
     public static TemporalFunction<LocalDate> today() {
-        return new LocalDateFunction(todayMetadata(), (model, context) -> Optional.of(LocalDate.now(getClock())));
+        return new LocalDateFunction(todayMetadata(),
+                        (model, context) -> Optional.of(context.getEvaluationClock().today()));
     }
 
     /**
@@ -100,7 +106,8 @@ public class LocalDateSuppliers {
      */
     public static TemporalFunction<LocalDate> todayPlus(int amountToAdd, TemporalUnit unit) {
         return new LocalDateFunction(todayPlusMetadata(amountToAdd, unit),
-                        (model, context) -> Optional.of(LocalDate.now(getClock()).plus(amountToAdd, unit)));
+                        (model, context) -> Optional.of(
+                                        context.getEvaluationClock().today().plus(amountToAdd, unit)));
     }
 
     /**
@@ -132,7 +139,8 @@ public class LocalDateSuppliers {
      */
     public static TemporalFunction<LocalDate> todayMinus(int amountToSubstract, TemporalUnit unit) {
         return new LocalDateFunction(todayMinusMetadata(amountToSubstract, unit),
-                        (model, context) -> Optional.of(LocalDate.now(getClock()).minus(amountToSubstract, unit)));
+                        (model, context) -> Optional.of(
+                                        context.getEvaluationClock().today().minus(amountToSubstract, unit)));
     }
 
     /**
@@ -162,7 +170,7 @@ public class LocalDateSuppliers {
      */
     public static TemporalFunction<LocalDate> firstDayOfThisMonth() {
         return new LocalDateFunction(firstDayOfThisMonthMetadata(),
-                        (model, context) -> Optional.of(LocalDate.now(getClock()).with(firstDayOfMonth())));
+                        (model, context) -> Optional.of(context.getEvaluationClock().today().with(firstDayOfMonth())));
     }
 
     /**
@@ -172,7 +180,7 @@ public class LocalDateSuppliers {
      */
     public static TemporalFunction<LocalDate> firstDayOfThisYear() {
         return new LocalDateFunction(firstDayOfThisYearMetadata(),
-                        (model, context) -> Optional.of(LocalDate.now(getClock()).with(firstDayOfYear())));
+                        (model, context) -> Optional.of(context.getEvaluationClock().today().with(firstDayOfYear())));
     }
 
     /**
@@ -182,7 +190,7 @@ public class LocalDateSuppliers {
      */
     public static TemporalFunction<LocalDate> lastDayOfThisMonth() {
         return new LocalDateFunction(lastDayOfThisMonthMetadata(),
-                        (model, context) -> Optional.of(LocalDate.now(getClock()).with(lastDayOfMonth())));
+                        (model, context) -> Optional.of(context.getEvaluationClock().today().with(lastDayOfMonth())));
     }
 
     /**
@@ -192,7 +200,7 @@ public class LocalDateSuppliers {
      */
     public static TemporalFunction<LocalDate> lastDayOfThisYear() {
         return new LocalDateFunction(lastDayOfThisYearMetadata(),
-                        (model, context) -> Optional.of(LocalDate.now(getClock()).with(lastDayOfYear())));
+                        (model, context) -> Optional.of(context.getEvaluationClock().today().with(lastDayOfYear())));
     }
 
     /**
@@ -5,6 +5,9 @@ package io.doov.core.serial;
 
 import java.util.stream.Stream;
 
+import io.doov.core.FieldInfo;
+import io.doov.core.FieldInfoIndex;
+
 /**
  * Registry for type adapters.
  * The getAsString/setAsString will call Type adapters in the order returned by this registry.
@@ -17,4 +20,26 @@ public interface TypeAdapterRegistry {
      * @return the stream of type adapters
      */
     Stream<TypeAdapter> stream();
+
+    /**
+     * Returns the first type adapter accepting the given field
+     *
+     * @param info the field info
+     * @return the type adapter, or null when none accepts the field
+     */
+    default TypeAdapter adapter(FieldInfo info) {
+        return stream().filter(a -> a.accept(info)).findFirst().orElse(null);
+    }
+
+    /**
+     * Returns the first type adapter accepting the field at the given ordinal of the index, cached by the index
+     *
+     * @param index the field info index
+     * @param ordinal the ordinal of the field
+     * @return the type adapter, or null when none accepts the field
+     * @see FieldInfoIndex#adapter(TypeAdapterRegistry, int)
+     */
+    default TypeAdapter adapter(FieldInfoIndex index, int ordinal) {
+        return index.adapter(this, ordinal);
+    }
 }
@@ -26,8 +26,9 @@ public class CodeValuableEnumTypeAdapter implements TypeAdapter {
     @Override
     public Object fromString(FieldInfo info, String value) {
         if (info.isCodeLookup()) {
-            final CodeLookup<?> codeLookup = (CodeLookup<?>) info.type().getEnumConstants()[0];
-            return codeLookup.parseCode(value);
+            @SuppressWarnings("unchecked")
+            final CodeLookup<?> codeLookup = CodeValuable.Helper.lookup((Class<CodeLookup<?>>) info.type());
+            return codeLookup == null ? null : codeLookup.parseCode(value);
         } // else isCodeValuable
         @SuppressWarnings("unchecked")
         final Class<? extends CodeValuable> codeValuableType = (Class<? extends CodeValuable>) info.type();
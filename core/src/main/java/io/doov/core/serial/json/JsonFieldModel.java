@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.serial.json;
+
+import static io.doov.core.serial.json.JsonIndex.NOT_FOUND;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.*;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Map.Entry;
+import java.util.stream.Stream;
+
+import io.doov.core.*;
+import io.doov.core.dsl.field.DefaultFieldInfo;
+import io.doov.core.serial.TypeAdapter;
+import io.doov.core.serial.TypeAdapterRegistry;
+import io.doov.core.serial.TypeAdapters;
+
+/**
+ * {@code FieldModel} implementation reading its values from a JSON document kept as bytes.
+ * <p>
+ * Each {@code FieldId} is mapped to a {@link JsonPath}. The document is indexed lazily while paths are resolved, and
+ * a value is only parsed the first time it is read with {@link #get(FieldId)}, using the {@code TypeAdapter} of the
+ * field. JSON arrays are read as lists, converting elements with the first generic type of the field. Values set on
+ * the model are kept in memory, the JSON document is never modified.
+ */
+public class JsonFieldModel implements FieldModel {
+
+    private final JsonIndex index;
+    private final List<FieldInfo> fieldInfos;
+    private final Map<FieldId, JsonPath> paths;
+    private final TypeAdapterRegistry typeAdapterRegistry;
+    private final Map<FieldId, Object> values;
+    private final Map<FieldId, TypeAdapter> adapters;
+    private FieldInfoIndex fieldInfoIndex;
+
+    public JsonFieldModel(byte[] json, List<FieldInfo> fieldInfos, Map<FieldId, JsonPath> paths) {
+        this(json, fieldInfos, paths, TypeAdapters.INSTANCE);
+    }
+
+    public JsonFieldModel(String json, List<FieldInfo> fieldInfos, Map<FieldId, JsonPath> paths) {
+        this(json.getBytes(UTF_8), fieldInfos, paths, TypeAdapters.INSTANCE);
+    }
+
+    public JsonFieldModel(byte[] json, List<FieldInfo> fieldInfos, Map<FieldId, JsonPath> paths,
+                    TypeAdapterRegistry typeAdapterRegistry) {
+        this.index = new JsonIndex(json);
+        this.fieldInfos = fieldInfos;
+        this.paths = paths;
+        this.typeAdapterRegistry = typeAdapterRegistry;
+        this.values = new HashMap<>();
+        this.adapters = new HashMap<>();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(FieldId fieldId) {
+        if (values.containsKey(fieldId)) {
+            return (T) values.get(fieldId);
+        }
+        Object value = read(fieldId);
+        values.put(fieldId, value);
+        return (T) value;
+    }
+
+    @Override
+    public <T> void set(FieldId fieldId, T value) {
+        values.put(fieldId, value);
+        FieldInfo info = info(fieldId);
+        if (info != null) {
+            Arrays.stream(info.siblings()).forEach(s -> values.put(s, value));
+        }
+    }
+
+    private Object read(FieldId fieldId) {
+        JsonPath path = paths.get(fieldId);
+        if (path == null) {
+            return null;
+        }
+        int pos = index.resolve(path);
+        if (pos == NOT_FOUND || index.isNull(pos)) {
+            return null;
+        }
+        FieldInfo info = info(fieldId);
+        if (info == null) {
+            return index.text(pos);
+        }
+        if (index.isArray(pos)) {
+            FieldInfo elementInfo = elementInfo(info);
+            List<Object> list = new ArrayList<>();
+            for (int element : index.elements(pos)) {
+                list.add(index.isNull(element) ? null : convert(elementInfo, index.text(element)));
+            }
+            return list;
+        }
+        return convert(info, index.text(pos));
+    }
+
+    private Object convert(FieldInfo info, String text) {
+        TypeAdapter adapter = adapters.computeIfAbsent(info.id(), id -> typeAdapterRegistry.stream()
+                        .filter(a -> a.accept(info)).findFirst().orElse(null));
+        return adapter == null ? text : adapter.fromString(info, text);
+    }
+
+    private static FieldInfo elementInfo(FieldInfo info) {
+        Class<?> type = info.genericTypes().length > 0 ? info.genericTypes()[0] : String.class;
+        return new DefaultFieldInfo<>(new ElementId(info.id()), info.readable(), type, info.isTransient(),
+                        CodeValuable.class.isAssignableFrom(type), CodeLookup.class.isAssignableFrom(type),
+                        new Class<?>[] {});
+    }
+
+    @Override
+    public List<FieldInfo> getFieldInfos() {
+        return fieldInfos;
+    }
+
+    @Override
+    public FieldInfoIndex fieldInfoIndex() {
+        if (fieldInfoIndex == null) {
+            fieldInfoIndex = FieldInfoIndex.of(fieldInfos);
+        }
+        return fieldInfoIndex;
+    }
+
+    @Override
+    public TypeAdapterRegistry getTypeAdapterRegistry() {
+        return typeAdapterRegistry;
+    }
+
+    @Override
+    public Iterator<Entry<FieldId, Object>> iterator() {
+        return stream().iterator();
+    }
+
+    @Override
+    public Spliterator<Entry<FieldId, Object>> spliterator() {
+        return stream().spliterator();
+    }
+
+    @Override
+    public Stream<Entry<FieldId, Object>> stream() {
+        return fieldInfos.stream().map(info -> new SimpleImmutableEntry<>(info.id(), get(info.id())));
+    }
+
+    @Override
+    public Stream<Entry<FieldId, Object>> parallelStream() {
+        // values are parsed on first access, entries are materialized before going parallel
+        List<Entry<FieldId, Object>> entries = new ArrayList<>(fieldInfos.size());
+        stream().forEach(entries::add);
+        return entries.parallelStream();
+    }
+
+    /**
+     * Id of the elements of an iterable field, only used for type adapter lookup
+     */
+    private static final class ElementId implements FieldId {
+
+        private final FieldId fieldId;
+
+        ElementId(FieldId fieldId) {
+            this.fieldId = fieldId;
+        }
+
+        @Override
+        public String code() {
+            return fieldId.code() + "[]";
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ElementId && ((ElementId) o).fieldId.equals(fieldId);
+        }
+
+        @Override
+        public int hashCode() {
+            return fieldId.hashCode() * 31;
+        }
+
+    }
+
+}
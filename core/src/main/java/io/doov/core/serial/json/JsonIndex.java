@@ -0,0 +1,267 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.serial.json;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.*;
+
+/**
+ * Minimal JSON reader over a UTF-8 byte buffer. The document is never fully parsed: objects and arrays are indexed
+ * the first time a path goes through them, and only the offsets of their members are kept.
+ */
+final class JsonIndex {
+
+    static final int NOT_FOUND = -1;
+
+    private final byte[] json;
+    private final int length;
+    private final Map<Integer, Map<String, Integer>> objects;
+    private final Map<Integer, int[]> arrays;
+
+    JsonIndex(byte[] json) {
+        this.json = json;
+        this.length = json.length;
+        this.objects = new HashMap<>();
+        this.arrays = new HashMap<>();
+    }
+
+    /**
+     * Returns the offset of the value at the given path, or {@link #NOT_FOUND}
+     */
+    int resolve(JsonPath path) {
+        int pos = skipWhitespace(0);
+        for (int i = 0; i < path.size() && pos != NOT_FOUND; i++) {
+            if (path.isIndex(i)) {
+                pos = json[pos] == '[' ? element(pos, path.index(i)) : NOT_FOUND;
+            } else {
+                pos = json[pos] == '{' ? member(pos, path.name(i)) : NOT_FOUND;
+            }
+        }
+        return pos;
+    }
+
+    boolean isNull(int pos) {
+        return json[pos] == 'n';
+    }
+
+    boolean isString(int pos) {
+        return json[pos] == '"';
+    }
+
+    boolean isArray(int pos) {
+        return json[pos] == '[';
+    }
+
+    /**
+     * Returns the array element offsets of the array starting at the given offset
+     */
+    int[] elements(int pos) {
+        int[] elements = arrays.get(pos);
+        if (elements == null) {
+            elements = indexArray(pos);
+            arrays.put(pos, elements);
+        }
+        return elements;
+    }
+
+    /**
+     * Returns the text of the scalar value at the given offset: unescaped content for strings, literal for numbers
+     * and booleans, null for the null literal
+     */
+    String text(int pos) {
+        if (isNull(pos)) {
+            return null;
+        }
+        if (isString(pos)) {
+            return readString(pos);
+        }
+        if (json[pos] == '{' || json[pos] == '[') {
+            throw new IllegalStateException("json value at " + pos + " is not a scalar");
+        }
+        return new String(json, pos, skipValue(pos) - pos, UTF_8);
+    }
+
+    private int member(int objectPos, String name) {
+        Map<String, Integer> members = objects.get(objectPos);
+        if (members == null) {
+            members = indexObject(objectPos);
+            objects.put(objectPos, members);
+        }
+        Integer pos = members.get(name);
+        return pos == null ? NOT_FOUND : pos;
+    }
+
+    private int element(int arrayPos, int index) {
+        int[] elements = elements(arrayPos);
+        return index >= 0 && index < elements.length ? elements[index] : NOT_FOUND;
+    }
+
+    private Map<String, Integer> indexObject(int pos) {
+        final Map<String, Integer> members = new HashMap<>();
+        pos = skipWhitespace(pos + 1);
+        while (json[pos] != '}') {
+            expect(pos, '"');
+            String name = readString(pos);
+            pos = skipWhitespace(skipString(pos));
+            expect(pos, ':');
+            pos = skipWhitespace(pos + 1);
+            members.put(name, pos);
+            pos = skipWhitespace(skipValue(pos));
+            if (json[pos] == ',') {
+                pos = skipWhitespace(pos + 1);
+            } else {
+                expect(pos, '}');
+            }
+        }
+        return members;
+    }
+
+    private int[] indexArray(int pos) {
+        int[] elements = new int[8];
+        int size = 0;
+        pos = skipWhitespace(pos + 1);
+        while (json[pos] != ']') {
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, size * 2);
+            }
+            elements[size++] = pos;
+            pos = skipWhitespace(skipValue(pos));
+            if (json[pos] == ',') {
+                pos = skipWhitespace(pos + 1);
+            } else {
+                expect(pos, ']');
+            }
+        }
+        return Arrays.copyOf(elements, size);
+    }
+
+    private int skipValue(int pos) {
+        switch (json[pos]) {
+            case '"':
+                return skipString(pos);
+            case '{':
+            case '[':
+                return skipContainer(pos);
+            default:
+                while (pos < length && !isDelimiter(json[pos])) {
+                    pos++;
+                }
+                return pos;
+        }
+    }
+
+    private int skipContainer(int pos) {
+        int depth = 0;
+        do {
+            byte b = json[pos];
+            if (b == '"') {
+                pos = skipString(pos);
+                continue;
+            }
+            if (b == '{' || b == '[') {
+                depth++;
+            } else if (b == '}' || b == ']') {
+                depth--;
+            }
+            pos++;
+        } while (depth > 0 && pos < length);
+        if (depth > 0) {
+            throw new IllegalStateException("unterminated json container");
+        }
+        return pos;
+    }
+
+    private int skipString(int pos) {
+        pos++;
+        while (pos < length) {
+            byte b = json[pos];
+            if (b == '\\') {
+                pos += 2;
+            } else if (b == '"') {
+                return pos + 1;
+            } else {
+                pos++;
+            }
+        }
+        throw new IllegalStateException("unterminated json string");
+    }
+
+    private String readString(int pos) {
+        int start = pos + 1;
+        int end = skipString(pos) - 1;
+        boolean escaped = false;
+        for (int i = start; i < end; i++) {
+            if (json[i] == '\\') {
+                escaped = true;
+                break;
+            }
+        }
+        if (!escaped) {
+            return new String(json, start, end - start, UTF_8);
+        }
+        return unescape(new String(json, start, end - start, UTF_8));
+    }
+
+    private static String unescape(String value) {
+        final StringBuilder buffer = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != '\\') {
+                buffer.append(c);
+                continue;
+            }
+            char next = value.charAt(++i);
+            switch (next) {
+                case 'b':
+                    buffer.append('\b');
+                    break;
+                case 'f':
+                    buffer.append('\f');
+                    break;
+                case 'n':
+                    buffer.append('\n');
+                    break;
+                case 'r':
+                    buffer.append('\r');
+                    break;
+                case 't':
+                    buffer.append('\t');
+                    break;
+                case 'u':
+                    buffer.append((char) Integer.parseInt(value.substring(i + 1, i + 5), 16));
+                    i += 4;
+                    break;
+                default:
+                    buffer.append(next);
+            }
+        }
+        return buffer.toString();
+    }
+
+    private int skipWhitespace(int pos) {
+        while (pos < length && isWhitespace(json[pos])) {
+            pos++;
+        }
+        if (pos >= length) {
+            throw new IllegalStateException("unexpected end of json document");
+        }
+        return pos;
+    }
+
+    private void expect(int pos, char c) {
+        if (json[pos] != c) {
+            throw new IllegalStateException("expected '" + c + "' at " + pos + " but found '" + (char) json[pos] + "'");
+        }
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    private static boolean isDelimiter(byte b) {
+        return b == ',' || b == '}' || b == ']' || isWhitespace(b);
+    }
+
+}
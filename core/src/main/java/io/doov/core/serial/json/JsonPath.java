@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.serial.json;
+
+import java.util.*;
+
+/**
+ * Location of a value in a JSON document, made of object member names and array indexes.
+ * <p>
+ * Paths are written with dots between member names and brackets for array indexes, following the bean path of the
+ * field, e.g. {@code user.firstName} or {@code account.favoriteWebsites[2].url}.
+ */
+public final class JsonPath {
+
+    private final Object[] segments;
+
+    private JsonPath(Object[] segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * Parses the given dotted path
+     *
+     * @param path the path, e.g. {@code user.friends[1].name}
+     * @return the json path
+     */
+    public static JsonPath parse(String path) {
+        Objects.requireNonNull(path);
+        final List<Object> segments = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= path.length(); i++) {
+            char c = i < path.length() ? path.charAt(i) : '.';
+            if (c == '.' || c == '[') {
+                if (i > start) {
+                    segments.add(path.substring(start, i));
+                }
+                if (c == '[') {
+                    int end = path.indexOf(']', i);
+                    if (end < 0) {
+                        throw new IllegalArgumentException("unclosed index in json path " + path);
+                    }
+                    segments.add(Integer.parseInt(path.substring(i + 1, end)));
+                    i = end;
+                }
+                start = i + 1;
+            }
+        }
+        if (segments.isEmpty()) {
+            throw new IllegalArgumentException("empty json path " + path);
+        }
+        return new JsonPath(segments.toArray());
+    }
+
+    /**
+     * Returns the path made of the given member names
+     *
+     * @param names the member names
+     * @return the json path
+     */
+    public static JsonPath of(String... names) {
+        return new JsonPath(Arrays.copyOf(names, names.length, Object[].class));
+    }
+
+    int size() {
+        return segments.length;
+    }
+
+    boolean isIndex(int segment) {
+        return segments[segment] instanceof Integer;
+    }
+
+    String name(int segment) {
+        return (String) segments[segment];
+    }
+
+    int index(int segment) {
+        return (Integer) segments[segment];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof JsonPath && Arrays.equals(segments, ((JsonPath) o).segments);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(segments);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder buffer = new StringBuilder();
+        for (Object segment : segments) {
+            if (segment instanceof Integer) {
+                buffer.append('[').append(segment).append(']');
+            } else {
+                if (buffer.length() > 0) {
+                    buffer.append('.');
+                }
+                buffer.append(segment);
+            }
+        }
+        return buffer.toString();
+    }
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Lazy {@link io.doov.core.FieldModel} implementation over JSON documents.
+ */
+package io.doov.core.serial.json;
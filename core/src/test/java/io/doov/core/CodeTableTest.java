@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core;
+
+import static io.doov.core.dsl.field.FieldInfoBuilder.fieldInfo;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.serial.adapter.CodeValuableEnumTypeAdapter;
+
+/**
+ * @see CodeTable
+ */
+public class CodeTableTest {
+
+    private enum Color implements CodeValuable {
+        RED("R"), GREEN("G") {
+            @Override
+            public String toString() {
+                return "green";
+            }
+        }, LIGHT_GREEN("G");
+
+        private final String code;
+
+        Color(String code) {
+            this.code = code;
+        }
+
+        @Override
+        public String getCode() {
+            return code;
+        }
+    }
+
+    private enum Size implements CodeLookup<Size> {
+        SMALL, LARGE;
+    }
+
+    private enum Shape implements CodeLookup<Shape> {
+        SQUARE, CIRCLE;
+
+        @Override
+        public Shape parseCode(String code) {
+            return code.startsWith("c") ? CIRCLE : SQUARE;
+        }
+    }
+
+    @Test
+    void parse_code_valuable() {
+        assertThat(CodeValuable.Helper.parseCode(Color.class, "R", null)).isEqualTo(Color.RED);
+        assertThat(CodeValuable.Helper.parseCode(Color.class, "G", null)).isEqualTo(Color.GREEN);
+        assertThat(CodeValuable.Helper.parseCode(Color.class, "B", Color.RED)).isEqualTo(Color.RED);
+        assertThat(CodeValuable.Helper.parseCode(Color.class, null, null)).isNull();
+    }
+
+    @Test
+    void parse_code_lookup() {
+        assertThat(Size.SMALL.parseCode("LARGE")).isEqualTo(Size.LARGE);
+        assertThat(Size.SMALL.parseCode("MEDIUM")).isNull();
+        assertThat(Size.SMALL.stream()).containsExactly(Size.SMALL, Size.LARGE);
+        assertThat(Color.GREEN.getClass()).isNotEqualTo(Color.class);
+    }
+
+    @Test
+    void type_adapter() {
+        CodeValuableEnumTypeAdapter adapter = new CodeValuableEnumTypeAdapter();
+        FieldInfo color = fieldInfo().fieldId(() -> "COLOR").type(Color.class).codeValuable(true).build();
+        FieldInfo size = fieldInfo().fieldId(() -> "SIZE").type(Size.class).codeLookup(true).build();
+        FieldInfo shape = fieldInfo().fieldId(() -> "SHAPE").type(Shape.class).codeLookup(true).build();
+
+        assertThat(adapter.fromString(color, "G")).isEqualTo(Color.GREEN);
+        assertThat(adapter.fromString(size, "SMALL")).isEqualTo(Size.SMALL);
+        assertThat(adapter.fromString(shape, "circle")).isEqualTo(Shape.CIRCLE);
+    }
+
+}
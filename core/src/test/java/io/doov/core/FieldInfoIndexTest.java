@@ -0,0 +1,210 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core;
+
+import static io.doov.core.dsl.field.FieldInfoBuilder.fieldInfo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.dsl.runtime.GenericModel;
+import io.doov.core.dsl.runtime.RuntimeFieldRegistry;
+import io.doov.core.dsl.runtime.RuntimeModel;
+import io.doov.core.serial.TypeAdapters;
+
+/**
+ * @see FieldInfoIndex
+ */
+public class FieldInfoIndexTest {
+
+    enum EnumFieldId implements FieldId {
+        DATE, NAME, OTHER_NAME, MISSING;
+
+        @Override
+        public String code() {
+            return name();
+        }
+    }
+
+    enum Tag implements TagId {
+        ID, USER
+    }
+
+    enum TaggedFieldId implements FieldId {
+        LOGIN(Tag.ID, Tag.USER), EMAIL(Tag.USER), DATE;
+
+        private final List<TagId> tags;
+
+        TaggedFieldId(TagId... tags) {
+            this.tags = Arrays.asList(tags);
+        }
+
+        @Override
+        public String code() {
+            return name();
+        }
+
+        @Override
+        public List<TagId> tags() {
+            return tags;
+        }
+    }
+
+    private static List<FieldInfo> taggedInfos() {
+        List<FieldInfo> infos = new ArrayList<>();
+        fieldInfo().fieldId(TaggedFieldId.LOGIN).type(String.class).build(infos);
+        fieldInfo().fieldId(TaggedFieldId.DATE).type(LocalDate.class).build(infos);
+        fieldInfo().fieldId(TaggedFieldId.EMAIL).type(String.class).build(infos);
+        return infos;
+    }
+
+    private static List<FieldInfo> enumInfos() {
+        List<FieldInfo> infos = new ArrayList<>();
+        fieldInfo().fieldId(EnumFieldId.NAME).type(String.class).siblings(EnumFieldId.OTHER_NAME).build(infos);
+        fieldInfo().fieldId(EnumFieldId.OTHER_NAME).type(String.class).build(infos);
+        fieldInfo().fieldId(EnumFieldId.DATE).type(LocalDate.class).build(infos);
+        return infos;
+    }
+
+    @Test
+    void enum_ordinals() {
+        FieldInfoIndex index = FieldInfoIndex.of(enumInfos());
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.ordinal(EnumFieldId.NAME)).isEqualTo(0);
+        assertThat(index.ordinal(EnumFieldId.DATE)).isEqualTo(2);
+        assertThat(index.ordinal(EnumFieldId.MISSING)).isEqualTo(-1);
+        assertThat(index.ordinal(() -> "NAME")).isEqualTo(-1);
+        assertThat(index.type(2)).isEqualTo(LocalDate.class);
+        assertThat(index.siblings(0)).containsExactly(1);
+        assertThat(index.siblings(1)).isEmpty();
+        assertThat(index.info(EnumFieldId.OTHER_NAME).id()).isEqualTo(EnumFieldId.OTHER_NAME);
+        assertThat(index.info(EnumFieldId.MISSING)).isNull();
+        assertThrows(IllegalArgumentException.class, () -> index.checkedOrdinal(EnumFieldId.MISSING));
+    }
+
+    @Test
+    void hash_ordinals() {
+        FieldId a = () -> "A";
+        FieldId b = () -> "B";
+        List<FieldInfo> infos = new ArrayList<>();
+        fieldInfo().fieldId(a).type(Integer.class).build(infos);
+        fieldInfo().fieldId(b).type(Integer.class).siblings(a).build(infos);
+        FieldInfoIndex index = FieldInfoIndex.of(infos);
+
+        assertThat(index.ordinal(b)).isEqualTo(1);
+        assertThat(index.contains(() -> "A")).isFalse();
+        assertThat(index.siblings(1)).containsExactly(0);
+    }
+
+    @Test
+    void cached_type_adapters() {
+        FieldInfoIndex index = FieldInfoIndex.of(enumInfos());
+
+        assertThat(index.adapter(TypeAdapters.INSTANCE, 2)).isSameAs(index.adapter(TypeAdapters.INSTANCE, 2));
+        assertThat(index.adapter(TypeAdapters.INSTANCE, 2).accept(index.info(2))).isTrue();
+    }
+
+    @Test
+    void base_field_model_uses_index() {
+        BaseFieldModel model = new BaseFieldModel(enumInfos());
+
+        model.set(EnumFieldId.NAME, "value");
+        model.setAsString(EnumFieldId.DATE, "2018-01-01");
+
+        assertThat(model.<String> get(EnumFieldId.OTHER_NAME)).isEqualTo("value");
+        assertThat(model.<LocalDate> get(EnumFieldId.DATE)).isEqualTo(LocalDate.of(2018, 1, 1));
+        assertThat(model.info(EnumFieldId.DATE).type()).isEqualTo(LocalDate.class);
+        assertThat(model.fieldInfoIndex()).isSameAs(model.fieldInfoIndex());
+        assertThat(new BaseFieldModel(model).fieldInfoIndex()).isSameAs(model.fieldInfoIndex());
+    }
+
+    @Test
+    void tag_masks() {
+        FieldInfoIndex index = FieldInfoIndex.of(taggedInfos());
+
+        assertThat(index.tagMask(Tag.ID)).isNotZero();
+        assertThat(index.tagMask(Tag.ID) & index.tagMask(Tag.USER)).isZero();
+        assertThat(index.tagMask(0)).isEqualTo(index.tagMask(Tag.ID) | index.tagMask(Tag.USER));
+        assertThat(index.tagMask(1)).isZero();
+        assertThat(index.hasTag(2, Tag.USER)).isTrue();
+        assertThat(index.hasTag(2, Tag.ID)).isFalse();
+        assertThat(index.hasAnyTag(2, index.tagMask(Tag.ID) | index.tagMask(Tag.USER))).isTrue();
+        assertThat(index.tagged(Tag.USER).toArray()).containsExactly(0, 2);
+        assertThat(index.tagged(Tag.ID).toArray()).containsExactly(0);
+        index.tagged(Tag.USER).toArray()[0] = 1;
+        assertThat(index.tagged(Tag.USER).toArray()).containsExactly(0, 2);
+        assertThat(FieldInfoIndex.of(enumInfos()).tagged(Tag.ID).toArray()).isEmpty();
+    }
+
+    @Test
+    void tag_bits_overflow() {
+        List<FieldInfo> infos = new ArrayList<>();
+        List<TagId> tags = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            TagId tag = new TagId() {
+            };
+            tags.add(tag);
+            String code = "F" + i;
+            List<TagId> fieldTags = Collections.singletonList(tag);
+            FieldId id = new FieldId() {
+
+                @Override
+                public String code() {
+                    return code;
+                }
+
+                @Override
+                public List<TagId> tags() {
+                    return fieldTags;
+                }
+            };
+            fieldInfo().fieldId(id).type(String.class).build(infos);
+        }
+        FieldInfoIndex index = FieldInfoIndex.of(infos);
+
+        assertThat(index.tagMask(tags.get(63))).isEqualTo(1L << 63);
+        assertThat(index.tagMask(tags.get(64))).isZero();
+        assertThat(index.hasTag(64, tags.get(64))).isTrue();
+        assertThat(index.hasTag(65, tags.get(64))).isFalse();
+        assertThat(index.tagged(tags.get(69)).toArray()).containsExactly(69);
+    }
+
+    @Test
+    void clear_and_stream_tagged_fields() {
+        BaseFieldModel model = new BaseFieldModel(taggedInfos());
+        model.set(TaggedFieldId.LOGIN, "login");
+        model.set(TaggedFieldId.EMAIL, "email");
+        model.set(TaggedFieldId.DATE, LocalDate.of(2018, 1, 1));
+
+        assertThat(model.stream(Tag.USER).map(Map.Entry::getValue)).containsExactly("login", "email");
+
+        model.clear(Tag.ID);
+
+        assertThat(model.<String> get(TaggedFieldId.LOGIN)).isNull();
+        assertThat(model.<String> get(TaggedFieldId.EMAIL)).isEqualTo("email");
+        assertThat(model.<LocalDate> get(TaggedFieldId.DATE)).isEqualTo(LocalDate.of(2018, 1, 1));
+    }
+
+    @Test
+    void model_indexes_are_cached() {
+        GenericModel generic = new GenericModel();
+        generic.intField(1, "A");
+        FieldInfoIndex index = generic.fieldInfoIndex();
+
+        assertThat(generic.fieldInfoIndex()).isSameAs(index);
+        generic.intField(2, "B");
+        assertThat(generic.fieldInfoIndex()).isNotSameAs(index);
+        assertThat(generic.fieldInfoIndex().size()).isEqualTo(2);
+
+        RuntimeFieldRegistry<Object> registry = new RuntimeFieldRegistry<>(Collections.emptyList());
+        assertThat(new RuntimeModel<>(registry, new Object()).fieldInfoIndex())
+                        .isSameAs(new RuntimeModel<>(registry, new Object()).fieldInfoIndex());
+    }
+
+}
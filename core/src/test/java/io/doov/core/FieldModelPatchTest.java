@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core;
+
+import static io.doov.core.dsl.field.FieldInfoBuilder.fieldInfo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.serial.*;
+
+/**
+ * @see FieldModelPatch
+ * @see FieldModels#diff(FieldModel, FieldModel)
+ */
+public class FieldModelPatchTest {
+
+    private final List<FieldInfo> infos = new ArrayList<>();
+    private final FieldId name = () -> "NAME";
+    private final FieldId age = () -> "AGE";
+    private final FieldId birthDate = () -> "BIRTH_DATE";
+    private final FieldId email = () -> "EMAIL";
+
+    {
+        fieldInfo().fieldId(name).type(String.class).build(infos);
+        fieldInfo().fieldId(age).type(Integer.class).build(infos);
+        fieldInfo().fieldId(birthDate).type(LocalDate.class).build(infos);
+        fieldInfo().fieldId(email).type(String.class).build(infos);
+    }
+
+    private FieldModel before() {
+        FieldModel model = new BaseFieldModel(infos);
+        model.set(name, "John");
+        model.set(age, 37);
+        model.set(email, "john@doov.io");
+        return model;
+    }
+
+    private FieldModel after() {
+        FieldModel model = before();
+        model.set(age, 38);
+        model.set(birthDate, LocalDate.of(1980, 8, 1));
+        model.set(email, null);
+        return model;
+    }
+
+    @Test
+    void diff_changed_fields() {
+        FieldModelPatch patch = FieldModels.diff(before(), after());
+
+        assertThat(patch.fieldIds()).containsExactly(age, birthDate, email);
+        assertThat(patch.ordinal(0)).isEqualTo(1);
+        assertThat(patch.oldValue(0)).isEqualTo(37);
+        assertThat(patch.newValue(0)).isEqualTo(38);
+        assertThat(patch.oldValue(1)).isNull();
+        assertThat(patch.newValue(2)).isNull();
+        assertThat(FieldModels.diff(before(), before()).isEmpty()).isTrue();
+    }
+
+    @Test
+    void apply_patch() {
+        FieldModel model = FieldModels.apply(before(), FieldModels.diff(before(), after()));
+        assertThat(FieldModels.diff(model, after()).isEmpty()).isTrue();
+    }
+
+    @Test
+    void diff_persistent_versions() {
+        PersistentFieldModel v1 = PersistentFieldModel.of(before());
+        PersistentFieldModel v2 = v1.with(age, 38).with(name, "John");
+        FieldModelPatch patch = FieldModels.diff(v1, v2);
+
+        assertThat(patch.fieldIds()).containsExactly(age);
+        assertThat(FieldModels.diff(v2, v1.with(patch)).isEmpty()).isTrue();
+    }
+
+    @Test
+    void encode_and_decode() {
+        FieldModelPatch patch = FieldModels.diff(before(), after());
+        byte[] bytes = patch.encode(TypeAdapters.INSTANCE);
+        FieldModelPatch decoded = FieldModelPatch.decode(bytes, infos, TypeAdapters.INSTANCE);
+
+        assertThat(decoded.fieldIds()).isEqualTo(patch.fieldIds());
+        for (int i = 0; i < patch.size(); i++) {
+            assertThat(decoded.oldValue(i)).isEqualTo(patch.oldValue(i));
+            assertThat(decoded.newValue(i)).isEqualTo(patch.newValue(i));
+        }
+        assertThrows(IllegalArgumentException.class,
+                        () -> FieldModelPatch.decode(bytes, infos.subList(0, 2), TypeAdapters.INSTANCE));
+    }
+
+    @Test
+    void encode_and_decode_long_values() {
+        StringBuilder longName = new StringBuilder();
+        while (longName.length() <= 70_000) {
+            longName.append("Jöhn ");
+        }
+        FieldModel after = before();
+        after.set(name, longName.toString());
+        byte[] bytes = FieldModels.diff(before(), after).encode(TypeAdapters.INSTANCE);
+
+        assertThat(FieldModelPatch.decode(bytes, infos, TypeAdapters.INSTANCE).newValue(0))
+                        .isEqualTo(longName.toString());
+    }
+
+    @Test
+    void decode_rejects_malformed_patches() {
+        byte[] bytes = FieldModels.diff(before(), after()).encode(TypeAdapters.INSTANCE);
+        // magic, version, field count, patch size, then the ordinal of the first field
+        assertThat(bytes[4]).isEqualTo((byte) 1);
+
+        byte[] negativeOrdinal = new byte[bytes.length + 4];
+        System.arraycopy(bytes, 0, negativeOrdinal, 0, 4);
+        System.arraycopy(new byte[] { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F }, 0,
+                        negativeOrdinal, 4, 5);
+        System.arraycopy(bytes, 5, negativeOrdinal, 9, bytes.length - 5);
+        assertThrows(IllegalArgumentException.class,
+                        () -> FieldModelPatch.decode(negativeOrdinal, infos, TypeAdapters.INSTANCE));
+
+        // the first value length follows the ordinal and the flags
+        assertThat(bytes[6]).isEqualTo((byte) 2);
+        for (byte[] length : new byte[][] { { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F },
+                        { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07 } }) {
+            byte[] malformed = new byte[bytes.length + 4];
+            System.arraycopy(bytes, 0, malformed, 0, 6);
+            System.arraycopy(length, 0, malformed, 6, 5);
+            System.arraycopy(bytes, 7, malformed, 11, bytes.length - 7);
+            assertThrows(IllegalArgumentException.class,
+                            () -> FieldModelPatch.decode(malformed, infos, TypeAdapters.INSTANCE));
+        }
+    }
+
+    @Test
+    void encode_and_decode_with_the_adapter_of_the_field() {
+        TypeAdapter valueOnly = new TypeAdapter() {
+            @Override
+            public boolean accept(FieldInfo info) {
+                return false;
+            }
+
+            @Override
+            public boolean accept(Object value) {
+                return true;
+            }
+
+            @Override
+            public String toString(Object value) {
+                return "?";
+            }
+
+            @Override
+            public Object fromString(FieldInfo info, String value) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        TypeAdapterRegistry registry = () -> Stream.concat(Stream.of(valueOnly), TypeAdapters.INSTANCE.stream());
+        FieldModelPatch patch = FieldModels.diff(before(), after());
+        FieldModelPatch decoded = FieldModelPatch.decode(patch.encode(registry), infos, registry);
+
+        assertThat(decoded.newValue(0)).isEqualTo(38);
+        assertThat(decoded.newValue(1)).isEqualTo(LocalDate.of(1980, 8, 1));
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core;
+
+import static io.doov.core.dsl.field.FieldInfoBuilder.fieldInfo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @see PersistentFieldModel
+ * @see VersionedFieldModel
+ */
+public class PersistentFieldModelTest {
+
+    private static final int FIELD_COUNT = 2000;
+
+    private final List<FieldInfo> infos = new ArrayList<>();
+    private final FieldId[] ids = new FieldId[FIELD_COUNT];
+    private final FieldId sibling1 = () -> "SIBLING_1";
+    private final FieldId sibling2 = () -> "SIBLING_2";
+
+    {
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            String code = "FIELD_" + i;
+            ids[i] = () -> code;
+            fieldInfo().fieldId(ids[i]).type(Integer.class).build(infos);
+        }
+        fieldInfo().fieldId(sibling1).type(String.class).siblings(sibling2).build(infos);
+        fieldInfo().fieldId(sibling2).type(String.class).siblings(sibling1).build(infos);
+    }
+
+    @Test
+    void with_leaves_previous_version_unchanged() {
+        PersistentFieldModel v0 = new PersistentFieldModel(infos);
+        PersistentFieldModel v1 = v0.with(ids[0], 1).with(ids[1999], 1999);
+        PersistentFieldModel v2 = v1.with(ids[0], 2);
+
+        assertThat(v0.<Integer> get(ids[0])).isNull();
+        assertThat(v1.<Integer> get(ids[0])).isEqualTo(1);
+        assertThat(v2.<Integer> get(ids[0])).isEqualTo(2);
+        assertThat(v2.<Integer> get(ids[1999])).isEqualTo(1999);
+        assertThat(v2.<Integer> get(ids[1000])).isNull();
+        assertThat(v2.stream().filter(e -> e.getValue() != null).count()).isEqualTo(2);
+    }
+
+    @Test
+    void with_sets_siblings() {
+        PersistentFieldModel model = new PersistentFieldModel(infos).with(sibling1, "value");
+        assertThat(model.<String> get(sibling2)).isEqualTo("value");
+    }
+
+    @Test
+    void builder_and_copy() {
+        PersistentFieldModel.Builder builder = new PersistentFieldModel(infos).builder();
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            builder.set(ids[i], i);
+        }
+        PersistentFieldModel model = builder.build();
+        PersistentFieldModel copy = PersistentFieldModel.of(new ConcurrentFieldModel(new VersionedFieldModel(model)));
+
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            assertThat(copy.<Integer> get(ids[i])).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void writable_model_over_snapshot() {
+        PersistentFieldModel snapshot = new PersistentFieldModel(infos).with(ids[0], 0);
+        VersionedFieldModel model = new VersionedFieldModel(snapshot);
+        model.set(ids[0], 1);
+
+        assertThat(model.<Integer> get(ids[0])).isEqualTo(1);
+        assertThat(snapshot.<Integer> get(ids[0])).isEqualTo(0);
+        assertThat(PersistentFieldModel.of(model)).isSameAs(model.snapshot());
+    }
+
+    @Test
+    void unknown_fields() {
+        PersistentFieldModel model = new PersistentFieldModel(infos);
+        assertThrows(IllegalArgumentException.class, () -> model.with(() -> "UNKNOWN", 0));
+        assertThat(model.<Integer> get(() -> "UNKNOWN")).isNull();
+    }
+
+    @Test
+    void snapshots_are_consistent_under_concurrent_writes() throws Exception {
+        VersionedFieldModel model = new VersionedFieldModel(infos);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 1; i <= 1000; i++) {
+                    int value = i;
+                    model.update(builder -> builder.set(ids[0], value).set(ids[1999], value));
+                }
+            });
+            Future<?> reader = executor.submit(() -> {
+                while (!writer.isDone()) {
+                    PersistentFieldModel snapshot = model.snapshot();
+                    assertThat(snapshot.<Integer> get(ids[0])).isEqualTo(snapshot.<Integer> get(ids[1999]));
+                }
+            });
+            writer.get(10, TimeUnit.SECONDS);
+            reader.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(model.<Integer> get(ids[0])).isEqualTo(1000);
+    }
+
+}
@@ -98,6 +98,51 @@ public class IterableConditionTest {
         assertThat(result.getFailureCause(LOCALE)).isEqualTo("A has not size 2");
     }
 
+    @Test
+    void forAll() {
+        rule = when(A.forAll(e -> e.mapToInt(String::length).greaterOrEquals(1))).validate();
+        result = rule.executeOn(model);
+        assertThat(result.value()).isTrue();
+
+        rule = when(A.forAll(e -> e.eq("a"))).validate();
+        result = rule.executeOn(model);
+        reduce = result.reduce(FAILURE);
+
+        assertFalse(result.value());
+        assertThat(rule.readable(LOCALE)).isEqualTo("rule when A for all ( element = 'a' ) validate");
+        assertThat(result.getFailureCause(LOCALE)).isEqualTo("A for all ( element = 'a' )");
+        assertThat(result.getContext().getEvalFalse()).containsExactly(rule.getStepWhen().stepCondition().metadata());
+    }
+
+    @Test
+    void forAny() {
+        rule = when(A.forAny(e -> e.eq("aa").and(e.index().eq(1)))).validate();
+        result = rule.executeOn(model);
+        assertThat(result.value()).isTrue();
+
+        rule = when(B.forAny(e -> e.isNotNull())).validate();
+        result = rule.executeOn(model);
+        reduce = result.reduce(FAILURE);
+
+        assertFalse(result.value());
+        assertThat(rule.readable(LOCALE)).isEqualTo("rule when B for any ( element is not null ) validate");
+    }
+
+    @Test
+    void countWhere() {
+        rule = when(A.countWhere(e -> e.index().greaterOrEquals(0)).eq(2)).validate();
+        result = rule.executeOn(model);
+        assertThat(result.value()).isTrue();
+
+        rule = when(A.countWhere(e -> e.eq("a")).greaterThan(1)).validate();
+        result = rule.executeOn(model);
+        reduce = result.reduce(FAILURE);
+
+        assertFalse(result.value());
+        assertThat(rule.readable(LOCALE)).isEqualTo("rule when A count where ( element = 'a' ) > 1 validate");
+        assertThat(rule.readable(Locale.FRANCE)).isEqualTo("r\u00e8gle lorsque A nombre de ( \u00e9l\u00e9ment = 'a' ) > 1 valider");
+    }
+
     @AfterEach
     void afterEach() {
         System.out.println(rule + " -> " + reduce);
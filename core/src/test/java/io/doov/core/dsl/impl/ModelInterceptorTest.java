@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.*;
+import io.doov.core.dsl.field.types.IntegerFieldInfo;
+import io.doov.core.dsl.field.types.LongFieldInfo;
+import io.doov.core.dsl.runtime.GenericModel;
+import io.doov.core.serial.TypeAdapterRegistry;
+
+/**
+ * @see ModelInterceptor
+ */
+public class ModelInterceptorTest {
+
+    private static final int READS = 10_000;
+
+    private final PrimitiveModel model = new PrimitiveModel();
+    private final IntegerFieldInfo a = model.generic.intField(1_000_000, "A");
+    private final LongFieldInfo b = model.generic.longField(1_000_000L, "B");
+
+    @Test
+    public void should_add_traced_primitive_values() {
+        DefaultContext context = new DefaultContext(null);
+        ModelInterceptor interceptor = new ModelInterceptor(model, context);
+
+        assertThat(interceptor.isNull(a.id())).isFalse();
+        assertThat(interceptor.getInt(a.id())).isEqualTo(1_000_000);
+        assertThat(interceptor.getLong(b.id())).isEqualTo(1_000_000L);
+        assertThat(context.getEvalValue(a.id())).isEqualTo(1_000_000);
+        assertThat(context.getEvalValue(b.id())).isEqualTo(1_000_000L);
+    }
+
+    @Test
+    public void should_not_box_untraced_primitive_reads() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        boolean enabled = threads.isThreadAllocatedMemoryEnabled();
+        threads.setThreadAllocatedMemoryEnabled(true);
+        try {
+            ModelInterceptor interceptor = new ModelInterceptor(model, new UntracedContext());
+            long sum = read(interceptor);
+            long start = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            sum += read(interceptor);
+            long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - start;
+            assertThat(sum).isEqualTo(2 * READS * 3_000_000L);
+            // boxing would allocate at least 16 bytes by read
+            assertThat(allocated).isLessThan(READS);
+        } finally {
+            threads.setThreadAllocatedMemoryEnabled(enabled);
+        }
+    }
+
+    private long read(ModelInterceptor interceptor) {
+        long sum = 0;
+        for (int i = 0; i < READS; i++) {
+            if (!interceptor.isNull(a.id())) {
+                sum += interceptor.getInt(a.id()) + interceptor.getLong(b.id()) + (long) interceptor.getDouble(a.id());
+            }
+        }
+        return sum;
+    }
+
+    private static final class PrimitiveModel implements PrimitiveFieldModel {
+
+        private final GenericModel generic = new GenericModel();
+        private final int intValue = 1_000_000;
+        private final long longValue = 1_000_000L;
+
+        @Override
+        public boolean isNull(FieldId fieldId) {
+            return false;
+        }
+
+        @Override
+        public int getInt(FieldId fieldId) {
+            return intValue;
+        }
+
+        @Override
+        public long getLong(FieldId fieldId) {
+            return longValue;
+        }
+
+        @Override
+        public double getDouble(FieldId fieldId) {
+            return intValue;
+        }
+
+        @Override
+        public <T> T get(FieldId fieldId) {
+            return generic.get(fieldId);
+        }
+
+        @Override
+        public <T> void set(FieldId fieldId, T value) {
+            generic.set(fieldId, value);
+        }
+
+        @Override
+        public Iterator<Map.Entry<FieldId, Object>> iterator() {
+            return generic.iterator();
+        }
+
+        @Override
+        public Stream<Map.Entry<FieldId, Object>> stream() {
+            return generic.stream();
+        }
+
+        @Override
+        public Spliterator<Map.Entry<FieldId, Object>> spliterator() {
+            return generic.spliterator();
+        }
+
+        @Override
+        public Stream<Map.Entry<FieldId, Object>> parallelStream() {
+            return generic.parallelStream();
+        }
+
+        @Override
+        public List<FieldInfo> getFieldInfos() {
+            return generic.getFieldInfos();
+        }
+
+        @Override
+        public TypeAdapterRegistry getTypeAdapterRegistry() {
+            return generic.getTypeAdapterRegistry();
+        }
+
+    }
+
+}
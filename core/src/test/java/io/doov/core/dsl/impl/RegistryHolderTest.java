@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import static io.doov.core.dsl.DOOV.when;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.dsl.DslModel;
+import io.doov.core.dsl.field.types.IntegerFieldInfo;
+import io.doov.core.dsl.lang.RuleRegistry;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.meta.predicate.PredicateMetadata;
+import io.doov.core.dsl.metrics.Metrics;
+import io.doov.core.dsl.runtime.GenericModel;
+
+/**
+ * @see RegistryHolder
+ */
+public class RegistryHolderTest {
+
+    private final GenericModel model = new GenericModel();
+    private final IntegerFieldInfo a = model.intField(1, "A");
+    private final AtomicInteger evaluations = new AtomicInteger();
+
+    private RuleRegistry registry() {
+        RuleRegistry registry = new DefaultRuleRegistry();
+        Predicate<Integer> counting = value -> evaluations.incrementAndGet() > 0;
+        when(a.anyMatch(counting)).validate().registerOn(registry);
+        return registry;
+    }
+
+    @Test
+    public void should_warm_up_before_swap() {
+        ModelSample<DslModel> sample = new ModelSample<>(4, 1);
+        RuleRegistry initial = registry();
+        RuleRegistry next = registry();
+        RegistryHolder<RuleRegistry, DslModel> holder = RegistryHolder.rules(initial, sample);
+        holder.capture(model);
+        holder.capture(model);
+
+        assertThat(holder.swap(next, 3)).isSameAs(initial);
+        assertThat(holder.get()).isSameAs(next);
+        assertThat(evaluations.get()).isEqualTo(6);
+    }
+
+    @Test
+    public void should_not_record_warm_up() {
+        AtomicInteger recorded = new AtomicInteger();
+        ModelSample<DslModel> sample = new ModelSample<>(1, 1);
+        RuleRegistry next = registry();
+        RegistryHolder<RuleRegistry, DslModel> holder = RegistryHolder.rules(registry(), sample);
+        holder.capture(model);
+        Metrics.install((rule, nanos, success) -> recorded.incrementAndGet());
+        try {
+            holder.swap(next, 2);
+            ValidationRule rule = next.stream().findFirst().get();
+            PredicateMetadata metadata = (PredicateMetadata) rule.getStepWhen().stepCondition().metadata();
+
+            assertThat(evaluations.get()).isEqualTo(2);
+            assertThat(recorded.get()).isZero();
+            assertThat(metadata.trueEvalCount()).isZero();
+            assertThat(Metrics.isSuspended()).isFalse();
+
+            rule.executeOn(model);
+            assertThat(recorded.get()).isEqualTo(1);
+            assertThat(metadata.trueEvalCount()).isEqualTo(1);
+        } finally {
+            Metrics.uninstall();
+        }
+    }
+
+    @Test
+    public void should_keep_current_during_warm_up() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ModelSample<String> sample = new ModelSample<>(1, 1);
+        sample.capture("model");
+        RegistryHolder<String, String> holder = new RegistryHolder<>("v1", sample, (registry, model) -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CompletableFuture<String> swap = holder.swapAsync("v2", 1, executor);
+            started.await();
+            assertThat(holder.get()).isEqualTo("v1");
+            release.countDown();
+            assertThat(swap.get(10, TimeUnit.SECONDS)).isEqualTo("v1");
+            assertThat(holder.get()).isEqualTo("v2");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void should_not_swap_failed_warm_up() {
+        ModelSample<String> sample = new ModelSample<>(1, 1);
+        sample.capture("model");
+        RegistryHolder<String, String> holder = new RegistryHolder<>("v1", sample, (registry, model) -> {
+            throw new IllegalStateException(registry);
+        });
+
+        assertThatThrownBy(() -> holder.swap("v2", 1)).isInstanceOf(IllegalStateException.class);
+        assertThat(holder.get()).isEqualTo("v1");
+    }
+
+    @Test
+    public void should_sample_recent_models() {
+        ModelSample<Integer> sample = new ModelSample<>(2, 1);
+        assertThat(sample.models()).isEmpty();
+        sample.capture(1);
+        sample.capture(2);
+        sample.capture(3);
+        assertThat(sample.models()).containsExactlyInAnyOrder(2, 3);
+        assertThatThrownBy(() -> new ModelSample<>(0, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import static io.doov.core.dsl.DOOV.count;
+import static io.doov.core.dsl.DOOV.matchAll;
+import static io.doov.core.dsl.DOOV.when;
+import static io.doov.core.dsl.field.FieldInfoBuilder.fieldInfo;
+import static io.doov.core.dsl.meta.ElementType.FIELD;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.*;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.FieldId;
+import io.doov.core.dsl.DslField;
+import io.doov.core.dsl.field.types.IntegerFieldInfo;
+import io.doov.core.dsl.field.types.StringFieldInfo;
+import io.doov.core.dsl.lang.RuleRegistry;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.runtime.GenericModel;
+
+/**
+ * @see RuleImage
+ */
+public class RuleImageTest {
+
+    public static class Rules {
+
+        static final GenericModel MODEL = new GenericModel();
+        static final IntegerFieldInfo A = MODEL.intField(1, "A");
+        static final StringFieldInfo B = MODEL.stringField("value", "B");
+
+        public static final ValidationRule BINARY = when(A.eq(1).and(B.contains("zz").not())).validate();
+        public static final ValidationRule NARY = when(matchAll(A.greaterThan(0), B.isNotNull())).validate();
+        public static final ValidationRule COUNT = when(count(A.eq(1), B.startsWith("v")).greaterOrEquals(2))
+                        .validate();
+        public static final ValidationRule LENGTH = when(B.length().lesserThan(3)).validate();
+
+    }
+
+    public static class LargeRules {
+
+        static final List<String> VALUES = IntStream.range(0, 10_000).mapToObj(i -> "value " + i)
+                        .collect(Collectors.toList());
+
+        public static final ValidationRule ANY_MATCH = when(Rules.B.anyMatch(VALUES)).validate();
+
+    }
+
+    public static final AtomicInteger INITIALIZED = new AtomicInteger();
+
+    public enum Ids implements FieldId {
+        X;
+
+        @Override
+        public String code() {
+            return name();
+        }
+    }
+
+    public static class Holder {
+
+        static {
+            INITIALIZED.incrementAndGet();
+        }
+
+        static final IntegerFieldInfo X = new IntegerFieldInfo(
+                        fieldInfo().fieldId(Ids.X).readable("x").type(Integer.class).build());
+
+        public static final ValidationRule FIRST = when(X.eq(1)).validate();
+        public static final ValidationRule SECOND = when(X.eq(2)).validate();
+
+    }
+
+    private static RuleRegistry image() {
+        return image(Rules.class, Thread.currentThread().getContextClassLoader());
+    }
+
+    private static RuleRegistry image(Class<?> ruleClass, ClassLoader classLoader) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RuleImage.write(singletonList(ruleClass), out);
+        return RuleImage.read(new ByteArrayInputStream(out.toByteArray()), classLoader);
+    }
+
+    private static List<FieldId> fieldIds(ValidationRule rule) {
+        return rule.metadata().flatten().stream().filter(e -> e.getType() == FIELD)
+                        .map(e -> ((DslField<?>) e.getReadable()).id()).collect(Collectors.toList());
+    }
+
+    @Test
+    void image_renders_like_the_rules() {
+        List<ValidationRule> rules = image().stream().collect(Collectors.toList());
+
+        assertThat(rules).hasSize(4);
+        assertThat(rules.get(0).readable(Locale.US)).isEqualTo(Rules.BINARY.readable(Locale.US));
+        assertThat(rules.get(0).readable(Locale.FRANCE)).isEqualTo(Rules.BINARY.readable(Locale.FRANCE));
+        assertThat(rules.get(1).readable(Locale.US)).isEqualTo(Rules.NARY.readable(Locale.US));
+        assertThat(rules.get(2).readable(Locale.US)).isEqualTo(Rules.COUNT.readable(Locale.US));
+        assertThat(rules.get(3).readable(Locale.US)).isEqualTo(Rules.LENGTH.readable(Locale.US));
+        assertThat(rules.get(0).metadata()).isNotSameAs(Rules.BINARY.metadata());
+    }
+
+    @Test
+    void rule_is_materialized_on_execution() {
+        ValidationRule rule = image().stream().findFirst().get();
+
+        assertThat(rule.executeOn(Rules.MODEL).value()).isTrue();
+        assertThat(rule.metadata()).isSameAs(Rules.BINARY.metadata());
+        assertThat(rule.getStepWhen()).isSameAs(Rules.BINARY.getStepWhen());
+    }
+
+    @Test
+    void fields_are_decoded_with_their_id() {
+        List<ValidationRule> rules = image().stream().collect(Collectors.toList());
+
+        assertThat(fieldIds(rules.get(0))).extracting(FieldId::code).containsExactly("A", "B");
+        assertThat(fieldIds(image(Holder.class, getClass().getClassLoader()).stream().findFirst().get()))
+                        .containsExactly(Ids.X);
+    }
+
+    @Test
+    void holder_class_is_initialized_once_on_first_execution() {
+        List<ValidationRule> rules = image(Holder.class, new IsolatingClassLoader(Holder.class))
+                        .stream().collect(Collectors.toList());
+        int initialized = INITIALIZED.get();
+
+        assertThat(rules.get(1).readable(Locale.US)).isEqualTo(Holder.SECOND.readable(Locale.US));
+        assertThat(INITIALIZED.get()).isEqualTo(initialized);
+        assertThat(rules.get(0).executeOn(new GenericModel()).value()).isFalse();
+        assertThat(INITIALIZED.get()).isEqualTo(initialized + 1);
+        assertThat(rules.get(1).executeOn(new GenericModel()).value()).isFalse();
+        assertThat(INITIALIZED.get()).isEqualTo(initialized + 1);
+    }
+
+    @Test
+    void image_renders_values_longer_than_64_kb() {
+        ValidationRule rule = image(LargeRules.class, getClass().getClassLoader()).stream().findFirst().get();
+
+        assertThat(LargeRules.ANY_MATCH.readable(Locale.US).length()).isGreaterThan(65_535);
+        assertThat(rule.readable(Locale.US)).isEqualTo(LargeRules.ANY_MATCH.readable(Locale.US));
+    }
+
+    @Test
+    void rule_must_be_a_static_field() {
+        DefaultRuleRegistry registry = new DefaultRuleRegistry();
+        registry.register(when(Rules.A.eq(2)).validate());
+
+        assertThatThrownBy(() -> RuleImage.write(registry, singletonList(Rules.class), new ByteArrayOutputStream()))
+                        .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RuleImage.read(new ByteArrayInputStream(new byte[] { 1, 2 })))
+                        .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Loads its own copy of a class, to observe its initialization.
+     */
+    private static final class IsolatingClassLoader extends ClassLoader {
+
+        private final String isolated;
+
+        IsolatingClassLoader(Class<?> isolated) {
+            super(isolated.getClassLoader());
+            this.isolated = isolated.getName();
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(isolated)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded == null) {
+                    byte[] bytes = bytes(name.replace('.', '/') + ".class");
+                    loaded = defineClass(name, bytes, 0, bytes.length);
+                }
+                return loaded;
+            }
+        }
+
+        private byte[] bytes(String resource) throws ClassNotFoundException {
+            try (InputStream in = getParent().getResourceAsStream(resource)) {
+                if (in == null) {
+                    throw new ClassNotFoundException(resource);
+                }
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                    out.write(buffer, 0, read);
+                }
+                return out.toByteArray();
+            } catch (IOException e) {
+                throw new ClassNotFoundException(resource, e);
+            }
+        }
+
+    }
+
+}
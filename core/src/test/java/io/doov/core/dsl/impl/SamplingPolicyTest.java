@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.impl;
+
+import static io.doov.core.dsl.DOOV.when;
+import static io.doov.core.dsl.impl.SamplingPolicy.traceAll;
+import static io.doov.core.dsl.impl.SamplingPolicy.traceNone;
+import static io.doov.core.dsl.impl.SamplingPolicy.traceOneIn;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.dsl.field.types.IntegerFieldInfo;
+import io.doov.core.dsl.field.types.StringFieldInfo;
+import io.doov.core.dsl.lang.Result;
+import io.doov.core.dsl.lang.RuleRegistry;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.meta.predicate.PredicateMetadata;
+import io.doov.core.dsl.runtime.GenericModel;
+
+/**
+ * @see SamplingPolicy
+ */
+public class SamplingPolicyTest {
+
+    private final GenericModel model = new GenericModel();
+    private final IntegerFieldInfo a = model.intField(1, "A");
+    private final StringFieldInfo b = model.stringField("value", "B");
+
+    private static int evaluations(ValidationRule rule) {
+        PredicateMetadata metadata = (PredicateMetadata) rule.getStepWhen().stepCondition().metadata();
+        return metadata.evalTrue().get() + metadata.evalFalse().get();
+    }
+
+    @Test
+    public void should_not_trace_untraced_evaluations() {
+        ValidationRule rule = when(a.eq(1).and(b.startsWith("x"))).validate();
+
+        Result result = traceNone().execute(rule, model);
+
+        assertThat(result.value()).isFalse();
+        assertThat(evaluations(rule)).isZero();
+        assertThat(result.getFailureCause(Locale.US)).isEqualTo("B starts with 'x'");
+        assertThat(result.getContext().getEvalFalse()).isNotEmpty();
+        assertThat(evaluations(rule)).isZero();
+    }
+
+    @Test
+    public void should_trace_sampled_evaluations() {
+        ValidationRule rule = when(a.eq(1)).validate();
+
+        Result result = traceAll().execute(rule, model);
+
+        assertThat(result.value()).isTrue();
+        assertThat(evaluations(rule)).isEqualTo(1);
+        assertThat(result.getContext().getEvalTrue()).isNotEmpty();
+        assertThat(result.getFailureCause()).isNull();
+    }
+
+    @Test
+    public void should_explain_with_the_short_circuit_of_the_rule() {
+        ValidationRule rule = when(a.eq(2).and(b.startsWith("x"))).validate().withShortCircuit(false);
+
+        assertThat(traceNone().execute(rule, model).getFailureCause(Locale.US))
+                        .isEqualTo(traceAll().execute(rule, model).getFailureCause(Locale.US));
+        assertThat(traceNone().execute(rule, model).getContext().getEvalFalse()).hasSize(3);
+    }
+
+    @Test
+    public void should_execute_registries() {
+        RuleRegistry registry = new DefaultRuleRegistry();
+        when(a.eq(1)).validate().registerOn(registry);
+        when(b.isNull()).validate().registerOn(registry);
+
+        for (List<Result> results : asList(traceNone().execute(registry, model),
+                        traceAll().execute(registry, model))) {
+            assertThat(results).extracting(Result::value).containsExactly(true, false);
+            assertThat(results.get(1).getFailureCause(Locale.US)).isEqualTo("B is null");
+        }
+    }
+
+    @Test
+    public void should_sample_one_in_n() {
+        SamplingPolicy policy = traceOneIn(4);
+        long sampled = IntStream.range(0, 10000).filter(i -> policy.sample()).count();
+        assertThat(sampled).isBetween(2000L, 3000L);
+        assertThat(traceOneIn(1)).isSameAs(traceAll());
+        assertThatThrownBy(() -> traceOneIn(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
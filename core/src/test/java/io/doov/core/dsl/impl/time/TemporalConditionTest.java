@@ -10,16 +10,19 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 
 import java.time.LocalDate;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
+import io.doov.core.dsl.DslModel;
 import io.doov.core.dsl.field.types.LocalDateFieldInfo;
-import io.doov.core.dsl.lang.Result;
-import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.impl.DefaultContext;
+import io.doov.core.dsl.lang.*;
 import io.doov.core.dsl.meta.Metadata;
 import io.doov.core.dsl.runtime.GenericModel;
+import io.doov.core.dsl.time.EvaluationClock;
 import io.doov.core.dsl.time.LocalDateSuppliers;
 
 /**
@@ -227,6 +230,73 @@ public class TemporalConditionTest {
         assertThat(result.getFailureCause(LOCALE)).isEqualTo("A after or equals '2100-01-01'");
     }
 
+    @Test
+    void today_evaluation_clock() throws Exception {
+        LocalDate date = LocalDate.of(2000, 1, 1);
+        EvaluationClock clock = EvaluationClock.of(LocalDateSuppliers.createClockFrom(date));
+        GenericModel model = new GenericModel();
+        LocalDateFieldInfo C = model.localDateField(date, "C");
+        rule = when(C.eq(LocalDateSuppliers.today()).and(C.before(LocalDateSuppliers.todayPlusDays(1)))).validate();
+
+        assertThat(rule.executeOn(model).value()).isFalse();
+        assertThat(rule.executeAt(model, clock).value()).isTrue();
+        assertThat(CompletableFuture.supplyAsync(() -> rule.executeAt(model, clock).value()).get()).isTrue();
+
+        LocalDateSuppliers.setClock(clock.clock());
+        try {
+            DefaultContext context = new DefaultContext(rule.metadata());
+            assertThat(context.getEvaluationClock().today()).isEqualTo(date);
+            assertThat(context.getEvaluationClock()).isSameAs(context.getEvaluationClock());
+            assertThat(rule.executeOn(model, context).value()).isTrue();
+        } finally {
+            LocalDateSuppliers.setDefaultClock();
+        }
+    }
+
+    @Test
+    void default_evaluation_clock_execution() {
+        LocalDate date = LocalDate.of(2000, 1, 1);
+        EvaluationClock clock = EvaluationClock.of(LocalDateSuppliers.createClockFrom(date));
+        GenericModel model = new GenericModel();
+        LocalDateFieldInfo C = model.localDateField(date, "C");
+        ValidationRule delegate = when(C.eq(LocalDateSuppliers.today())).validate();
+        rule = new ValidationRule() {
+            @Override
+            public Metadata metadata() {
+                return delegate.metadata();
+            }
+
+            @Override
+            public StepWhen getStepWhen() {
+                return delegate.getStepWhen();
+            }
+
+            @Override
+            public ValidationRule withShortCircuit(boolean shortCircuit) {
+                return this;
+            }
+
+            @Override
+            public Result executeOn(DslModel model) {
+                return delegate.executeOn(model);
+            }
+
+            @Override
+            public Result executeOn(DslModel model, Context context) {
+                return delegate.executeOn(model, context);
+            }
+
+            @Override
+            public ValidationRule registerOn(RuleRegistry registry) {
+                return this;
+            }
+        };
+
+        assertThat(rule.executeOn(model).value()).isFalse();
+        assertThat(rule.executeAt(model, clock).value()).isTrue();
+        assertThat(rule.executeOn(model).value()).isFalse();
+    }
+
     @AfterEach
     void afterEach() {
         System.out.println(rule + " -> " + reduce);
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.meta;
+
+import static io.doov.core.dsl.meta.DefaultOperator.equals;
+import static io.doov.core.dsl.meta.ElementType.VALUE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.dsl.field.types.IntegerFieldInfo;
+import io.doov.core.dsl.runtime.GenericModel;
+
+/**
+ * @see Element
+ * @see ElementDeque
+ */
+public class ElementTest {
+
+    @Test
+    void operator_and_field_elements_are_interned() {
+        IntegerFieldInfo field = new GenericModel().intField(1, "A");
+
+        assertThat(Element.operator(equals)).isSameAs(Element.operator(equals));
+        assertThat(Element.field(field)).isSameAs(Element.field(field));
+        assertThat(Element.field(field).getReadable()).isSameAs(field);
+    }
+
+    @Test
+    void values_are_rendered_when_read() {
+        List<Object> values = new ArrayList<>(Arrays.asList(1, "b"));
+        Element element = Element.values(values);
+        values.add(3);
+
+        assertThat(element.readable()).isEqualTo(" : 1, b, 3");
+        assertThat(Element.value(null, VALUE).readable()).isEqualTo("null");
+        assertThat(Element.value(42, VALUE).getReadable().readable()).isEqualTo("42");
+        assertThat(Element.supplied(() -> 1).isDynamic()).isTrue();
+    }
+
+    @Test
+    void deque_operations() {
+        Element a = Element.value("a", VALUE);
+        Element b = Element.value("b", VALUE);
+        Element c = Element.value("c", VALUE);
+        Deque<Element> deque = new ElementDeque();
+        deque.add(b);
+        deque.addFirst(a);
+        deque.addLast(c);
+        deque.add(a);
+
+        assertThat(deque).containsExactly(a, b, c, a);
+        assertThat(deque.getFirst()).isSameAs(a);
+        assertThat(deque.peekLast()).isSameAs(a);
+        assertThat(deque.removeLastOccurrence(a)).isTrue();
+        assertThat(deque.pop()).isSameAs(a);
+        assertThat(deque).containsExactly(b, c);
+
+        Iterator<Element> iterator = deque.descendingIterator();
+        assertThat(iterator.next()).isSameAs(c);
+        iterator.remove();
+        assertThat(deque).containsExactly(b);
+        deque.clear();
+        assertThat(deque.pollFirst()).isNull();
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.meta;
+
+import static io.doov.core.dsl.DOOV.when;
+import static io.doov.core.dsl.meta.i18n.ResourceBundleProvider.BUNDLE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ListResourceBundle;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.dsl.field.types.IntegerFieldInfo;
+import io.doov.core.dsl.field.types.LocalDateFieldInfo;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.runtime.GenericModel;
+
+/**
+ * @see AbstractMetadata#readable(Locale)
+ */
+public class ReadableCacheTest {
+
+    public static class Bundle extends ListResourceBundle {
+
+        @Override
+        protected Object[][] getContents() {
+            return new Object[][] { { "READABLE_CACHE_FIELD", "translated field" } };
+        }
+
+    }
+
+    private GenericModel model;
+    private IntegerFieldInfo A;
+    private IntegerFieldInfo B;
+    private LocalDateFieldInfo D;
+
+    @BeforeEach
+    void beforeEach() {
+        model = new GenericModel();
+        A = model.intField(1, "A");
+        B = model.intField(2, "B");
+        D = model.localDateField(LocalDate.of(2018, 6, 1), "D");
+    }
+
+    @Test
+    void static_rule_readable_is_cached_per_locale() {
+        ValidationRule rule = when(A.eq(1).and(B.greaterThan(1))).validate();
+
+        assertThat(rule.readable(Locale.US)).isEqualTo("rule when (A = 1 and B > 1) validate");
+        assertThat(rule.readable(Locale.US)).isSameAs(rule.readable(Locale.US));
+        assertThat(rule.readable(Locale.FRANCE)).isEqualTo("règle lorsque (A = 1 et B > 1) valider");
+    }
+
+    @Test
+    void dynamic_rule_readable_is_not_cached() {
+        AtomicReference<LocalDate> today = new AtomicReference<>(LocalDate.of(2018, 1, 1));
+        ValidationRule rule = when(A.eq(1).and(D.after(today::get))).validate();
+
+        assertThat(rule.readable(Locale.US)).isEqualTo("rule when (A = 1 and D after 2018-01-01) validate");
+        today.set(LocalDate.of(2019, 1, 1));
+        assertThat(rule.readable(Locale.US)).isEqualTo("rule when (A = 1 and D after 2019-01-01) validate");
+    }
+
+    @Test
+    void readable_cache_is_dropped_when_a_bundle_is_registered() {
+        IntegerFieldInfo field = model.intField(1, "READABLE_CACHE_FIELD");
+        ValidationRule rule = when(field.eq(1)).validate();
+
+        assertThat(rule.readable(Locale.US)).isEqualTo("rule when READABLE_CACHE_FIELD = 1 validate");
+        BUNDLE.register(Bundle.class.getName());
+        assertThat(rule.readable(Locale.US)).isEqualTo("rule when translated field = 1 validate");
+    }
+
+}
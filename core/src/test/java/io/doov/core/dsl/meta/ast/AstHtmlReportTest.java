@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.meta.ast;
+
+import static io.doov.core.dsl.DOOV.when;
+import static io.doov.core.dsl.meta.i18n.ResourceBundleProvider.BUNDLE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.dsl.field.types.IntegerFieldInfo;
+import io.doov.core.dsl.impl.DefaultRuleRegistry;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.runtime.GenericModel;
+
+/**
+ * @see AstHtmlReport
+ */
+public class AstHtmlReportTest {
+
+    private static final Locale LOCALE = Locale.US;
+
+    @Test
+    void report_rules_in_registry_order() {
+        GenericModel model = new GenericModel();
+        IntegerFieldInfo A = model.intField(1, "A");
+        DefaultRuleRegistry registry = new DefaultRuleRegistry();
+        for (int i = 0; i < 200; i++) {
+            ValidationRule rule = when(A.eq(i)).validate();
+            rule.executeOn(model);
+            registry.register(rule);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        ByteArrayOutputStream ops = new ByteArrayOutputStream();
+        try {
+            new AstHtmlReport(BUNDLE, LOCALE, executor, 8).write(registry, ops);
+        } finally {
+            executor.shutdown();
+        }
+        String html = new String(ops.toByteArray(), UTF_8);
+
+        assertThat(html).startsWith("<html>").endsWith("</html>");
+        assertThat(html).contains("rule [100] when [100]A = 1 validate").contains("rule [0] when [0]A = 2 validate");
+        int previous = -1;
+        for (int i = 0; i < 200; i++) {
+            int index = html.indexOf("A = " + i + " validate<");
+            assertThat(index).isGreaterThan(previous);
+            previous = index;
+        }
+    }
+
+    @Test
+    void html_to_appendable_and_stream() {
+        GenericModel model = new GenericModel();
+        IntegerFieldInfo A = model.intField(1, "A");
+        ValidationRule rule = when(A.eq(1).and(A.lesserThan(3))).validate();
+        rule.executeOn(model);
+
+        String html = AstHtmlVisitor.astToHtml(rule.metadata(), LOCALE);
+        StringWriter writer = new StringWriter();
+        AstHtmlVisitor.astToHtml(rule.metadata(), LOCALE, writer);
+        ByteArrayOutputStream ops = new ByteArrayOutputStream();
+        AstHtmlVisitor.astToHtml(rule.metadata(), LOCALE, ops);
+
+        assertThat(writer.toString()).isEqualTo(html);
+        assertThat(new String(ops.toByteArray(), UTF_8)).isEqualTo(html);
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.metrics;
+
+import static io.doov.core.dsl.DOOV.when;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.*;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.dsl.field.types.IntegerFieldInfo;
+import io.doov.core.dsl.field.types.StringFieldInfo;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.meta.predicate.PredicateMetadata;
+import io.doov.core.dsl.runtime.GenericModel;
+
+/**
+ * @see FailureAnalytics
+ */
+public class FailureAnalyticsTest {
+
+    private final GenericModel model = new GenericModel();
+    private final IntegerFieldInfo a = model.intField(0, "A");
+    private final StringFieldInfo b = model.stringField("value", "B");
+    private final ValidationRule rule = when(a.greaterThan(0).and(b.startsWith("v"))).validate();
+
+    private FailureAnalytics aggregate(int from, int to) {
+        FailureAnalytics analytics = new FailureAnalytics(3);
+        for (int i = from; i < to; i++) {
+            // A fails for one model in 4, B for one model in 2
+            model.set(a.id(), i % 4 == 0 ? 0 : 1);
+            model.set(b.id(), i % 2 == 0 ? "value" : "other");
+            analytics.accept(rule, rule.withShortCircuit(false).executeOn(model), i);
+        }
+        return analytics;
+    }
+
+    private static FailureAnalytics serialize(FailureAnalytics analytics) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(analytics);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (FailureAnalytics) in.readObject();
+        }
+    }
+
+    @Test
+    public void should_rank_failing_leaves() {
+        FailureAnalytics analytics = aggregate(0, 100);
+
+        assertThat(analytics.evaluations(rule)).isEqualTo(100);
+        assertThat(analytics.failures(rule)).isEqualTo(75);
+        List<NodeFailures> top = analytics.topFailures(rule, 20);
+        assertThat(top).extracting(n -> n.node().readable(Locale.US))
+                        .containsExactly("B starts with 'v'", "A > 0");
+        assertThat(top).extracting(NodeFailures::failures).containsExactly(50L, 25L);
+        assertThat(top.get(0).examples()).hasSize(3).allMatch(id -> Integer.parseInt(id) % 2 == 1);
+        assertThat(analytics.topFailures(rule, 1)).hasSize(1);
+    }
+
+    @Test
+    public void should_merge_serialized_partials() throws Exception {
+        FailureAnalytics merged = serialize(aggregate(0, 40)).merge(serialize(aggregate(40, 100)));
+        FailureAnalytics whole = aggregate(0, 100);
+
+        assertThat(merged.evaluations(rule)).isEqualTo(100);
+        assertThat(merged.topFailures(rule, 20)).extracting(NodeFailures::failures)
+                        .isEqualTo(whole.topFailures(rule, 20).stream().map(NodeFailures::failures).collect(toList()));
+        assertThat(merged.topFailures(rule, 20).get(1).examples()).hasSize(3)
+                        .allMatch(id -> Integer.parseInt(id) % 4 == 0);
+        assertThat(merged.readable(rule, Locale.US)).isEqualTo(whole.readable(rule, Locale.US));
+    }
+
+    @Test
+    public void should_render_aggregated_percentages() {
+        FailureAnalytics analytics = aggregate(0, 100);
+
+        assertThat(analytics.readable(rule, Locale.US))
+                        .isEqualTo("rule [25] when (A > 0 and B starts with 'v') validate");
+        PredicateMetadata leaf = (PredicateMetadata) analytics.topFailures(rule, 1).get(0).node();
+        assertThat(analytics.counts(rule).trueEvalCount(leaf)).isEqualTo(50);
+        assertThat(analytics.counts(rule).falseEvalCount(leaf)).isEqualTo(50);
+        assertThat(analytics.html(rule, Locale.US)).contains("25 %");
+        assertThat(new FailureAnalytics(0).readable(rule, Locale.US)).contains("[n/a]");
+    }
+
+}
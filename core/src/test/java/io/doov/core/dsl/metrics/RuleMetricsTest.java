@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.dsl.metrics;
+
+import static io.doov.core.dsl.DOOV.map;
+import static io.doov.core.dsl.DOOV.when;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.dsl.field.types.IntegerFieldInfo;
+import io.doov.core.dsl.impl.DefaultRuleRegistry;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.mapping.MappingRegistry;
+import io.doov.core.dsl.meta.Metadata;
+import io.doov.core.dsl.runtime.GenericModel;
+
+/**
+ * @see DefaultRuleMetrics
+ * @see LogLinearHistogram
+ */
+public class RuleMetricsTest {
+
+    private final GenericModel model = new GenericModel();
+    private final IntegerFieldInfo a = model.intField(1, "A");
+
+    @AfterEach
+    public void after() {
+        Metrics.uninstall();
+    }
+
+    @Test
+    public void should_bound_histogram_buckets() {
+        for (long value : new long[] { 0, 1, 7, 8, 9, 15, 16, 1000, 123456789, Long.MAX_VALUE }) {
+            int index = LogLinearHistogram.index(value);
+            assertThat(LogLinearHistogram.lowerBound(index)).isLessThanOrEqualTo(value);
+            assertThat(LogLinearHistogram.upperBound(index)).isGreaterThanOrEqualTo(value);
+        }
+        assertThat(LogLinearHistogram.index(Long.MAX_VALUE)).isEqualTo(487);
+    }
+
+    @Test
+    public void should_compute_percentiles() {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        assertThat(histogram.count()).isEqualTo(1000);
+        assertThat(histogram.mean()).isEqualTo(500.5d);
+        assertThat(histogram.max()).isEqualTo(1000);
+        assertThat(histogram.percentile(50)).isBetween(500L, 563L);
+        assertThat(histogram.percentile(99)).isBetween(990L, 1000L);
+        assertThat(histogram.percentile(100)).isEqualTo(1000);
+        assertThatThrownBy(() -> histogram.percentile(101)).isInstanceOf(IllegalArgumentException.class);
+
+        histogram.reset();
+        assertThat(histogram.count()).isZero();
+        assertThat(histogram.percentile(50)).isZero();
+    }
+
+    @Test
+    public void should_record_rule_executions() {
+        ValidationRule rule = when(a.eq(1)).validate();
+        DefaultRuleMetrics metrics = new DefaultRuleMetrics();
+        Metrics.install(metrics);
+
+        rule.executeOn(model);
+        model.set(a.id(), 2);
+        rule.executeOn(model);
+        rule.executeOn(model);
+
+        RuleStats stats = metrics.stats(rule.metadata());
+        assertThat(stats.getCount()).isEqualTo(3);
+        assertThat(stats.getFailures()).isEqualTo(2);
+        assertThat(stats.getMaxNanos()).isPositive();
+        assertThat(stats.getThroughput()).isPositive();
+        assertThat(metrics.stats()).containsOnlyKeys(stats.getRuleId());
+
+        Metrics.uninstall();
+        rule.executeOn(model);
+        assertThat(stats.getCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void should_identify_rules_by_readable() {
+        ValidationRule rule = when(a.eq(1)).validate();
+        ValidationRule same = when(a.eq(1)).validate();
+        ValidationRule other = when(a.eq(2)).validate();
+        assertThat(RuleMetrics.ruleId(rule.metadata())).isEqualTo(RuleMetrics.ruleId(same.metadata()))
+                        .isNotEqualTo(RuleMetrics.ruleId(other.metadata()))
+                        .hasSize(16);
+
+        DefaultRuleMetrics metrics = new DefaultRuleMetrics();
+        assertThat(metrics.stats(rule.metadata())).isSameAs(metrics.stats(same.metadata()));
+    }
+
+    @Test
+    public void should_not_retain_rules() throws InterruptedException {
+        DefaultRuleMetrics metrics = new DefaultRuleMetrics();
+        Metrics.install(metrics);
+        ValidationRule rule = when(a.eq(1)).validate();
+        rule.executeOn(model);
+        RuleStats stats = metrics.stats(rule.metadata());
+        WeakReference<Metadata> released = new WeakReference<>(rule.metadata());
+        assertThat(metrics.cachedRules()).isEqualTo(1);
+
+        rule = null;
+        for (int i = 0; i < 100 && metrics.cachedRules() > 0; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertThat(released.get()).isNull();
+        assertThat(metrics.cachedRules()).isZero();
+        assertThat(metrics.stats()).containsValue(stats);
+        assertThat(stats.getRule()).isEqualTo("rule when A = 1 validate");
+    }
+
+    @Test
+    public void should_record_mapping_outcome() {
+        GenericModel out = new GenericModel();
+        IntegerFieldInfo b = out.intField(0, "B");
+        MappingRegistry mappings = MappingRegistry.mappings(map(a).to(b));
+        DefaultRuleMetrics metrics = new DefaultRuleMetrics();
+        Metrics.install(metrics);
+
+        mappings.validateAndExecute(model, out);
+        mappings.validateAndExecute(new GenericModel(), out);
+
+        RuleStats stats = metrics.stats(mappings.metadata());
+        assertThat(stats.getCount()).isEqualTo(2);
+        assertThat(stats.getFailures()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_export_registered_rules() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        DefaultRuleMetrics metrics = new DefaultRuleMetrics(server, "io.doov.test");
+        Metrics.install(metrics);
+        ValidationRule rule = when(a.greaterThan(0)).validate();
+        new DefaultRuleRegistry().register(rule);
+        rule.executeOn(model);
+
+        ObjectName name = metrics.objectName(RuleMetrics.ruleId(rule.metadata()));
+        try {
+            assertThat(server.isRegistered(name)).isTrue();
+            assertThat(server.getAttribute(name, "Count")).isEqualTo(1L);
+            assertThat(server.getAttribute(name, "Failures")).isEqualTo(0L);
+        } finally {
+            metrics.unregister();
+        }
+        assertThat(server.isRegistered(name)).isFalse();
+    }
+
+}
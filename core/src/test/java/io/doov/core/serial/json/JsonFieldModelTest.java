@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.core.serial.json;
+
+import static io.doov.core.dsl.DOOV.when;
+import static io.doov.core.dsl.field.FieldInfoBuilder.fieldInfo;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.FieldId;
+import io.doov.core.FieldInfo;
+import io.doov.core.dsl.field.types.IntegerFieldInfo;
+import io.doov.core.dsl.field.types.StringFieldInfo;
+
+/**
+ * @see JsonFieldModel
+ */
+public class JsonFieldModelTest {
+
+    private static final String JSON = "{\n" +
+                    "  \"user\": { \"firstName\": \"Jo\\\"hn\", \"birthDate\": \"1980-08-01\", \"age\": 38 },\n" +
+                    "  \"account\": { \"email\": null, \"premium\": true,\n" +
+                    "    \"websites\": [ { \"url\": \"a.com\" }, { \"url\": \"b.fr\" } ],\n" +
+                    "    \"tags\": [ 1, 2, 3 ] }\n" +
+                    "}";
+
+    private enum Id implements FieldId {
+        FIRST_NAME, BIRTH_DATE, AGE, EMAIL, PREMIUM, WEBSITE_2, TAGS, MISSING;
+
+        @Override
+        public String code() {
+            return name();
+        }
+    }
+
+    private final List<FieldInfo> infos = new ArrayList<>();
+    private final FieldInfo firstName = fieldInfo().fieldId(Id.FIRST_NAME).type(String.class).build(infos);
+    private final FieldInfo birthDate = fieldInfo().fieldId(Id.BIRTH_DATE).type(LocalDate.class).build(infos);
+    private final FieldInfo age = fieldInfo().fieldId(Id.AGE).type(Integer.class).readable("age").build(infos);
+    private final FieldInfo email = fieldInfo().fieldId(Id.EMAIL).type(String.class).build(infos);
+    private final FieldInfo premium = fieldInfo().fieldId(Id.PREMIUM).type(Boolean.class).build(infos);
+    private final FieldInfo website = fieldInfo().fieldId(Id.WEBSITE_2).type(String.class).readable("site")
+                    .build(infos);
+    private final FieldInfo tags = fieldInfo().fieldId(Id.TAGS).type(List.class).genericTypes(Integer.class)
+                    .build(infos);
+    private final FieldInfo missing = fieldInfo().fieldId(Id.MISSING).type(String.class).build(infos);
+
+    private final Map<FieldId, JsonPath> paths = new HashMap<>();
+
+    {
+        paths.put(Id.FIRST_NAME, JsonPath.parse("user.firstName"));
+        paths.put(Id.BIRTH_DATE, JsonPath.parse("user.birthDate"));
+        paths.put(Id.AGE, JsonPath.of("user", "age"));
+        paths.put(Id.EMAIL, JsonPath.parse("account.email"));
+        paths.put(Id.PREMIUM, JsonPath.parse("account.premium"));
+        paths.put(Id.WEBSITE_2, JsonPath.parse("account.websites[1].url"));
+        paths.put(Id.TAGS, JsonPath.parse("account.tags"));
+        paths.put(Id.MISSING, JsonPath.parse("account.websites[5].url"));
+    }
+
+    private final JsonFieldModel model = new JsonFieldModel(JSON, infos, paths);
+
+    @Test
+    void index_is_cached() {
+        assertThat(model.fieldInfoIndex()).isSameAs(model.fieldInfoIndex());
+        assertThat(model.fieldInfoIndex().size()).isEqualTo(infos.size());
+    }
+
+    @Test
+    void get_typed_values() {
+        assertThat(model.<String> get(Id.FIRST_NAME)).isEqualTo("Jo\"hn");
+        assertThat(model.<LocalDate> get(Id.BIRTH_DATE)).isEqualTo(LocalDate.of(1980, 8, 1));
+        assertThat(model.<Integer> get(Id.AGE)).isEqualTo(38);
+        assertThat(model.<String> get(Id.EMAIL)).isNull();
+        assertThat(model.<Boolean> get(Id.PREMIUM)).isTrue();
+        assertThat(model.<String> get(Id.WEBSITE_2)).isEqualTo("b.fr");
+        assertThat(model.<List<Integer>> get(Id.TAGS)).containsExactly(1, 2, 3);
+        assertThat(model.<String> get(Id.MISSING)).isNull();
+    }
+
+    @Test
+    void set_overrides_json_value() {
+        model.set(Id.AGE, 40);
+        assertThat(model.<Integer> get(Id.AGE)).isEqualTo(40);
+        assertThat(model.<String> get(Id.FIRST_NAME)).isEqualTo("Jo\"hn");
+    }
+
+    @Test
+    void stream_all_fields() {
+        assertThat(model.stream().filter(e -> e.getValue() != null).count()).isEqualTo(6);
+    }
+
+    @Test
+    void validate_json_model() {
+        assertThat(when(new IntegerFieldInfo(age).greaterThan(18)
+                        .and(new StringFieldInfo(website).endsWith(".fr"))).validate()
+                        .executeOn(model).value()).isTrue();
+    }
+
+    @Test
+    void parse_path() {
+        assertThat(JsonPath.parse("a.b[2].c").toString()).isEqualTo("a.b[2].c");
+        assertThat(JsonPath.parse("a.b[2].c")).isEqualTo(JsonPath.parse("a.b[2].c"));
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.js.ast;
+
+import static io.doov.core.dsl.meta.DefaultOperator.count;
+import static io.doov.core.dsl.meta.DefaultOperator.sum;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Stream;
+
+import io.doov.core.dsl.lang.RuleRegistry;
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.meta.*;
+import io.doov.core.dsl.meta.i18n.ResourceProvider;
+import io.doov.core.dsl.meta.predicate.NaryPredicateMetadata;
+
+/**
+ * Translates a set of rules to a single javascript module.
+ * <p>
+ * The module declares the helper functions once, one accessor function per distinct field, and each rule as a
+ * function of the field values. Its {@code validate(model)} function reads every field once, then evaluates the
+ * rules in order and returns their results as an array of booleans. Fields are read null-safely from the model
+ * object, for example {@code account.email} is read as {@code model["account"]["email"]}.
+ */
+public class AstJavascriptBundle {
+
+    private static final String HELPERS = ""
+                    + "function read(m,p){for(var i=0;i<p.length&&m!=null;i++){m=m[p[i]];}return m;}\n"
+                    + "function count(v){var n=0;for(var i=0;i<v.length;i++){if(v[i]){n++;}}return n;}\n"
+                    + "function sum(v){var s=0;for(var i=0;i<v.length;i++){s+=v[i];}return s;}\n";
+
+    private final String name;
+    private final ResourceProvider bundle;
+    private final Locale locale;
+
+    public AstJavascriptBundle(String name, ResourceProvider bundle, Locale locale) {
+        this.name = name;
+        this.bundle = bundle;
+        this.locale = locale;
+    }
+
+    public void write(RuleRegistry registry, OutputStream ops) {
+        write(registry.stream(), ops);
+    }
+
+    public void write(Stream<ValidationRule> rules, OutputStream ops) {
+        Map<String, Integer> fields = new LinkedHashMap<>();
+        List<String> functions = new ArrayList<>();
+        rules.forEach(rule -> {
+            ByteArrayOutputStream function = new ByteArrayOutputStream();
+            new BundleRuleVisitor(function, fields).browse(rule.metadata(), 0);
+            functions.add(new String(function.toByteArray(), StandardCharsets.UTF_8));
+        });
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(ops, StandardCharsets.UTF_8));
+            writer.write("var " + name + " = (function(){\n");
+            writer.write(HELPERS);
+            for (Map.Entry<String, Integer> field : fields.entrySet()) {
+                writer.write("function f" + field.getValue() + "(m){return read(m," + path(field.getKey()) + ");}\n");
+            }
+            writer.write("var rules = [\n");
+            for (int i = 0; i < functions.size(); i++) {
+                writer.write(functions.get(i));
+                writer.write(i < functions.size() - 1 ? ",\n" : "\n");
+            }
+            writer.write("];\n");
+            writer.write("function validate(m){var f=[");
+            for (int i = 0; i < fields.size(); i++) {
+                writer.write((i > 0 ? "," : "") + "f" + i + "(m)");
+            }
+            writer.write("];var r=[];for(var i=0;i<rules.length;i++){r.push(rules[i](f));}return r;}\n");
+            writer.write("return {size: rules.length, validate: validate};\n");
+            writer.write("})();\n");
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String path(String field) {
+        StringBuilder path = new StringBuilder("[");
+        for (String property : field.split("\\.")) {
+            path.append(path.length() > 1 ? "," : "").append('"')
+                            .append(property.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+        }
+        return path.append(']').toString();
+    }
+
+    /**
+     * Translates one rule to a function of the hoisted field values
+     */
+    private class BundleRuleVisitor extends AstJavascriptVisitor {
+
+        private final Map<String, Integer> fields;
+
+        BundleRuleVisitor(OutputStream ops, Map<String, Integer> fields) {
+            super(ops, AstJavascriptBundle.this.bundle, AstJavascriptBundle.this.locale);
+            this.fields = fields;
+        }
+
+        @Override
+        protected String format(Element element) {
+            if (element.getType() != ElementType.FIELD) {
+                return super.format(element);
+            }
+            return "f[" + fields.computeIfAbsent(element.toString(), field -> fields.size()) + "]";
+        }
+
+        @Override
+        public void startWhen(WhenMetadata metadata, int depth) {
+            write("function(f){return !!(");
+        }
+
+        @Override
+        public void endWhen(WhenMetadata metadata, int depth) {
+            closeParentheses();
+            write(");}");
+        }
+
+        @Override
+        public void startNary(NaryPredicateMetadata metadata, int depth) {
+            if (metadata.getOperator() == count || metadata.getOperator() == sum) {
+                write(metadata.getOperator() == count ? "count([" : "sum([");
+            } else {
+                super.startNary(metadata, depth);
+            }
+        }
+
+        @Override
+        public void endNary(NaryPredicateMetadata metadata, int depth) {
+            if (metadata.getOperator() == count || metadata.getOperator() == sum) {
+                write("])");
+            } else {
+                super.endNary(metadata, depth);
+            }
+        }
+
+    }
+
+}
@@ -161,10 +161,7 @@ public class AstJavascriptVisitor extends AbstractAstVisitor {
             }
         });
         manageStack(stack);
-        while (parenthese_depth > 0) {
-            write(")");
-            parenthese_depth--;
-        }
+        closeParentheses();
     }
 
     @Override
@@ -189,7 +186,7 @@ public class AstJavascriptVisitor extends AbstractAstVisitor {
             Element e = stack.pollFirst();
             switch (e.getType()) {
                 case FIELD:
-                    write(e.toString());
+                    write(format(e));
                     break;
                 case OPERATOR:
                     manageOperator((DefaultOperator) e.getReadable(), stack);
@@ -251,13 +248,13 @@ public class AstJavascriptVisitor extends AbstractAstVisitor {
             case as_a_number:
                 if (stack.size() > 0) {
                     write("parseInt(");
-                    write(stack.pollFirst().toString());
+                    write(format(stack.pollFirst()));
                     write(")");
                 }
                 break;
             case as_string:
                 if (stack.size() > 0) {
-                    write("String(" + stack.pollFirst().toString() + ")");
+                    write("String(" + format(stack.pollFirst()) + ")");
                 }
                 break;
             case not:
@@ -280,9 +277,9 @@ public class AstJavascriptVisitor extends AbstractAstVisitor {
             case not_equals:
                 write(" !== ");
                 if (stack != null) {
-                    write(stack.pollFirst().toString());
+                    write(format(stack.pollFirst()));
                 } else if (stack != null) {
-                    write(stack.pollFirst().toString());
+                    write(format(stack.pollFirst()));
                 }
                 break;
             case is_null:
@@ -292,21 +289,21 @@ public class AstJavascriptVisitor extends AbstractAstVisitor {
                 write(" !== ( null || undefined || \"\" ) ");
                 break;
             case minus:
-                write(".subtract(" + stack.pollFirst().toString() + "," +
-                        "\'" + stack.pollFirst().toString() + "\')");
+                write(".subtract(" + format(stack.pollFirst()) + "," +
+                        "\'" + format(stack.pollFirst()) + "\')");
                 break;
             case plus:
-                write(".add(" + stack.pollFirst() + "," +
-                        "\'" + stack.pollFirst().toString() + "\')");
+                write(".add(" + format(stack.pollFirst()) + "," +
+                        "\'" + format(stack.pollFirst()) + "\')");
                 break;
             case after:
-                write("moment(" + stack.pollFirst().toString() + "" +
-                        ").isAfter(moment(" + stack.pollFirst().toString() + ")");
+                write("moment(" + format(stack.pollFirst()) + "" +
+                        ").isAfter(moment(" + format(stack.pollFirst()) + ")");
                 parenthese_depth++;
                 break;
             case after_or_equals:
-                write("moment(" + stack.pollFirst().toString() + "" +
-                        ").isSameOrAfter(moment(" + stack.pollFirst().toString() + ")");
+                write("moment(" + format(stack.pollFirst()) + "" +
+                        ").isSameOrAfter(moment(" + format(stack.pollFirst()) + ")");
                 parenthese_depth++;
                 break;
             case age_at:
@@ -323,13 +320,13 @@ public class AstJavascriptVisitor extends AbstractAstVisitor {
                 write(", \'years\')))");
                 break;
             case before:
-                write("moment(" + stack.pollFirst().toString() + "" +
-                        ").isBefore(" + stack.pollFirst().toString());
+                write("moment(" + format(stack.pollFirst()) + "" +
+                        ").isBefore(" + format(stack.pollFirst()));
                 parenthese_depth++;
                 break;
             case before_or_equals:
-                write("moment(" + stack.pollFirst().toString() + "" +
-                        ").isSameOrBefore(" + stack.pollFirst().toString());
+                write("moment(" + format(stack.pollFirst()) + "" +
+                        ").isSameOrBefore(" + format(stack.pollFirst()));
                 parenthese_depth++;
                 break;
             case matches:
@@ -340,7 +337,7 @@ public class AstJavascriptVisitor extends AbstractAstVisitor {
                 break;
             case contains:
                 write(".contains(\'");
-                write(stack.pollFirst().toString());
+                write(format(stack.pollFirst()));
                 write("\')");
                 break;
             case starts_with:
@@ -358,13 +355,13 @@ public class AstJavascriptVisitor extends AbstractAstVisitor {
             case greater_than:
                 write(" > ");
                 if (stack != null && stack.size() > 0) {
-                    write(stack.pollFirst().toString());
+                    write(format(stack.pollFirst()));
                 }
                 break;
             case greater_or_equals:
                 write(" >= ");
                 if (stack != null && stack.size() > 0) {
-                    write(stack.pollFirst().toString());
+                    write(format(stack.pollFirst()));
                 }
                 break;
             case is:
@@ -373,13 +370,13 @@ public class AstJavascriptVisitor extends AbstractAstVisitor {
             case lesser_than:
                 write(" < ");
                 if (stack != null && stack.size() > 0) {
-                    write(stack.pollFirst().toString());
+                    write(format(stack.pollFirst()));
                 }
                 break;
             case lesser_or_equals:
                 write(" <= ");
                 if (stack != null && stack.size() > 0) {
-                    write(stack.pollFirst().toString());
+                    write(format(stack.pollFirst()));
                 }
                 break;
             case has_not_size:
@@ -484,11 +481,28 @@ public class AstJavascriptVisitor extends AbstractAstVisitor {
 
     @Override
     public void endWhen(WhenMetadata metadata, int depth) {
+        closeParentheses();
+        write("){ true;}else{ false;}\n");
+    }
+
+    /**
+     * Closes the parenthesis left open by the operators translated so far
+     */
+    protected void closeParentheses() {
         while (parenthese_depth > 0) {
             write(")");                 //closing parenthesis
             parenthese_depth--;
         }
-        write("){ true;}else{ false;}\n");
+    }
+
+    /**
+     * Returns the javascript of a field or value element
+     *
+     * @param element the element to translate
+     * @return the javascript expression
+     */
+    protected String format(Element element) {
+        return element.toString();
     }
 
     /**
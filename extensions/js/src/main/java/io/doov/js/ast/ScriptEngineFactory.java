@@ -3,27 +3,35 @@ package io.doov.js.ast;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 
+/**
+ * Creates nashorn engines with moment.js loaded. Use a {@link ScriptEnginePool} to evaluate many scripts, it
+ * compiles moment.js and the scripts only once.
+ */
 public class ScriptEngineFactory {
 
     private static final String MOMENT_JS_SRC = "/META-INF/resources/webjars/momentjs/2.10.3/min/moment.min.js";
-    private static final String ENGINE_NAME = "nashorn";
+    static final String ENGINE_NAME = "nashorn";
 
     public static ScriptEngine create() {
         ScriptEngineManager sem = new ScriptEngineManager();            // creation of an engine manager
         ScriptEngine engine = sem.getEngineByName(ENGINE_NAME);         // engine creation based on nashorn
-        try {
-            InputStream stream = ScriptEngineFactory.class.getResourceAsStream(MOMENT_JS_SRC);
-            InputStreamReader momentJS = new InputStreamReader(stream);
-            engine.eval(momentJS);                                      // evaluating moment.js
-        } catch (ScriptException se) {
+        try (Reader momentJs = momentJs()) {
+            engine.eval(momentJs);                                      // evaluating moment.js
+        } catch (ScriptException | IOException se) {
             se.printStackTrace();
         }
         return engine;
     }
 
-}
-
+    static Reader momentJs() {
+        InputStream stream = ScriptEngineFactory.class.getResourceAsStream(MOMENT_JS_SRC);
+        return new InputStreamReader(stream, StandardCharsets.UTF_8);
+    }
 
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.js.ast;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.script.*;
+
+import jdk.nashorn.api.scripting.JSObject;
+
+/**
+ * Pool of nashorn script contexts with moment.js loaded, to evaluate the javascript of many rules.
+ * <p>
+ * All the contexts share one engine: moment.js is compiled once and evaluated once in each context when it is
+ * created, and evaluated scripts are compiled once and kept in a least recently used cache keyed by their source. A
+ * context is borrowed for each call to {@link #eval(String...)}. Before it goes back to the pool, the globals declared
+ * by the call are reset to undefined, the globals it replaced and the moment locale are restored, and moment is
+ * frozen, so none of them leaks to the next call. Changes made to the standard built-in objects are not reverted.
+ * Calls block while all the contexts are borrowed.
+ */
+public class ScriptEnginePool {
+
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+
+    /**
+     * Freezes moment and snapshots the globals and the moment locale, returns the function that resets them to the
+     * snapshot. The declared globals cannot be deleted, they are set to undefined.
+     */
+    private static final String ISOLATION = "(function (global) {\n"
+            + "    Object.freeze(moment);\n"
+            + "    Object.freeze(moment.fn);\n"
+            + "    var names = Object.keys(global);\n"
+            + "    var values = names.map(function (name) { return global[name]; });\n"
+            + "    var locale = moment.locale();\n"
+            + "    return function () {\n"
+            + "        Object.keys(global).forEach(function (name) {\n"
+            + "            if (names.indexOf(name) < 0 && !delete global[name]) {\n"
+            + "                global[name] = undefined;\n"
+            + "            }\n"
+            + "        });\n"
+            + "        names.forEach(function (name, i) { global[name] = values[i]; });\n"
+            + "        moment.locale(locale);\n"
+            + "    };\n"
+            + "})(this);";
+
+    private final ScriptEngine engine;
+    private final Compilable compiler;
+    private final CompiledScript moment;
+    private final CompiledScript isolation;
+    private final Map<String, CompiledScript> scripts;
+    private final BlockingQueue<PooledContext> idle;
+    private final AtomicInteger created;
+    private final int size;
+
+    public ScriptEnginePool(int size) {
+        this(size, DEFAULT_CACHE_SIZE);
+    }
+
+    public ScriptEnginePool(int size, int cacheSize) {
+        if (size < 1) {
+            throw new IllegalArgumentException("pool size must be positive: " + size);
+        }
+        this.engine = new ScriptEngineManager().getEngineByName(ScriptEngineFactory.ENGINE_NAME);
+        this.compiler = (Compilable) engine;
+        try (Reader momentJs = ScriptEngineFactory.momentJs()) {
+            this.moment = compiler.compile(momentJs);
+        } catch (ScriptException e) {
+            throw new IllegalStateException("unable to compile moment.js", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            this.isolation = compiler.compile(ISOLATION);
+        } catch (ScriptException e) {
+            throw new IllegalStateException("unable to compile the global isolation", e);
+        }
+        this.scripts = Collections.synchronizedMap(new ScriptCache(cacheSize));
+        this.idle = new ArrayBlockingQueue<>(size);
+        this.created = new AtomicInteger();
+        this.size = size;
+    }
+
+    /**
+     * Returns the compiled script of the given source, from the cache if it was already compiled.
+     *
+     * @param script the javascript source
+     * @return the compiled script
+     * @throws ScriptException if the script does not compile
+     */
+    public CompiledScript compile(String script) throws ScriptException {
+        CompiledScript compiled = scripts.get(script);
+        if (compiled == null) {
+            compiled = compiler.compile(script);
+            scripts.put(script, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * Evaluates the given scripts in order in the same context, like the declaration of a model followed by the
+     * javascript of a rule.
+     *
+     * @param scripts the javascript sources
+     * @return the result of the last script
+     * @throws ScriptException if a script fails
+     */
+    public Object eval(String... scripts) throws ScriptException {
+        PooledContext context = borrow();
+        try {
+            Object result = null;
+            for (String script : scripts) {
+                result = compile(script).eval(context.context);
+            }
+            return result;
+        } finally {
+            release(context);
+        }
+    }
+
+    private PooledContext borrow() throws ScriptException {
+        PooledContext context = idle.poll();
+        if (context != null) {
+            return context;
+        }
+        if (created.getAndIncrement() < size) {
+            try {
+                return new PooledContext();
+            } catch (ScriptException | RuntimeException e) {
+                created.decrementAndGet();
+                throw e;
+            }
+        }
+        created.decrementAndGet();
+        try {
+            return idle.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for a script context", e);
+        }
+    }
+
+    private void release(PooledContext context) {
+        try {
+            context.reset();
+            idle.add(context);
+        } catch (RuntimeException e) {
+            // the context is dropped, a new one is created on demand
+            created.decrementAndGet();
+        }
+    }
+
+    private final class PooledContext {
+
+        private final ScriptContext context;
+        private final JSObject reset;
+
+        PooledContext() throws ScriptException {
+            this.context = new SimpleScriptContext();
+            context.setBindings(engine.createBindings(), ScriptContext.ENGINE_SCOPE);
+            moment.eval(context);
+            this.reset = (JSObject) isolation.eval(context);
+        }
+
+        void reset() {
+            reset.call(null);
+        }
+
+    }
+
+    private static final class ScriptCache extends LinkedHashMap<String, CompiledScript> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int cacheSize;
+
+        ScriptCache(int cacheSize) {
+            super(16, 0.75f, true);
+            this.cacheSize = cacheSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CompiledScript> eldest) {
+            return size() > cacheSize;
+        }
+
+    }
+
+}
@@ -27,20 +27,23 @@ class FieldCsvGen {
 
     public static void write(File output, Map<FieldId, VisitorPath> fieldPaths) {
         try (FileWriter writter = new FileWriter(output)) {
-            writter.write("Path;Id;Type\n");
-            for (VisitorPath path : fieldPaths.values()) {
-                writter.write(toCsv(path));
-            }
-            for (FieldId field : fieldsWithoutPath(fieldPaths.values())) {
-                writter.write("NO_PATH;");
-                writter.write(field.toString());
-                writter.write('\n');
-            }
+            writter.write(toCsv(fieldPaths));
         } catch (Exception e) {
             throw new RuntimeException(e.getMessage(), e);
         }
     }
 
+    public static String toCsv(Map<FieldId, VisitorPath> fieldPaths) {
+        final StringBuilder csv = new StringBuilder("Path;Id;Type\n");
+        for (VisitorPath path : fieldPaths.values()) {
+            csv.append(toCsv(path));
+        }
+        for (FieldId field : fieldsWithoutPath(fieldPaths.values())) {
+            csv.append("NO_PATH;").append(field).append('\n');
+        }
+        return csv.toString();
+    }
+
     private static String toCsv(VisitorPath path) {
         return path.getBaseClass().getSimpleName().toLowerCase() + "." + path.displayPath() + ';'
                 + path.getFieldId() + ';'
@@ -48,7 +51,7 @@ class FieldCsvGen {
     }
 
     private static Collection<FieldId> fieldsWithoutPath(Collection<VisitorPath> collected) {
-        final Set<FieldId> fields = new HashSet<>();
+        final Set<FieldId> fields = new LinkedHashSet<>();
         collected.forEach(path -> addAll(fields, path.getFieldId().getClass().getEnumConstants()));
         collected.forEach(path -> fields.remove(path.getFieldId()));
         return fields;
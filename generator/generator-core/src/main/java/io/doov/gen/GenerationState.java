@@ -0,0 +1,321 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.gen;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.function.Supplier;
+
+import com.google.common.io.ByteStreams;
+
+import io.doov.gen.processor.MacroProcessor;
+import io.doov.gen.processor.Templates;
+
+/**
+ * Fingerprints of the inputs and outputs of a code generation, stored in the output directory to make the next
+ * generation incremental.
+ * <p>
+ * The inputs are the generator configuration, the generator itself and the bytecode of the visited model classes,
+ * which includes their {@code @Path} annotations. When none of them changed and all the outputs are still there,
+ * {@link #isUpToDate(String, ClassLoader)} is true and the model does not need to be visited again. Otherwise each
+ * output is fingerprinted from its template and parameters, ignoring the generation date, and only the outputs whose
+ * fingerprint changed are rendered and written, in parallel. Outputs of the previous generation that are not
+ * generated anymore are deleted.
+ */
+public class GenerationState {
+
+    public static final String STATE_FILE = ".doov-generation";
+
+    private static final String CONFIGURATION = "configuration";
+    private static final String CLASS_PREFIX = "class.";
+    private static final String OUTPUT_PREFIX = "output.";
+    private static final String PROCESS_DATE = "process.date";
+
+    private static volatile String generator;
+
+    private final File directory;
+    private final Properties previous;
+    private final Properties current;
+    private final List<Output> outputs;
+
+    private GenerationState(File directory, Properties previous) {
+        this.directory = directory;
+        this.previous = previous;
+        this.current = new Properties();
+        this.outputs = new ArrayList<>();
+    }
+
+    /**
+     * Loads the state of the last generation in the given directory, empty if there is none.
+     *
+     * @param directory the output directory
+     * @return the generation state
+     */
+    public static GenerationState load(File directory) {
+        Properties previous = new Properties();
+        File stateFile = new File(directory, STATE_FILE);
+        if (stateFile.isFile()) {
+            try (Reader reader = new InputStreamReader(new FileInputStream(stateFile), UTF_8)) {
+                previous.load(reader);
+            } catch (IOException e) {
+                // the state is only a cache, a broken state means a full generation
+                previous.clear();
+            }
+        }
+        return new GenerationState(directory, previous);
+    }
+
+    /**
+     * Returns true if the configuration, the generator and the visited classes did not change since the last
+     * generation, and all its outputs still exist.
+     *
+     * @param configuration the generator configuration
+     * @param classLoader the class loader of the model classes
+     * @return true if the outputs are up to date
+     */
+    public boolean isUpToDate(String configuration, ClassLoader classLoader) {
+        if (previous.isEmpty() || !fingerprint(configuration).equals(previous.getProperty(CONFIGURATION))) {
+            return false;
+        }
+        for (String key : previous.stringPropertyNames()) {
+            String value = previous.getProperty(key);
+            if (key.startsWith(CLASS_PREFIX)) {
+                String className = key.substring(CLASS_PREFIX.length());
+                if (!value.equals(classFingerprint(className, classLoader))) {
+                    return false;
+                }
+            } else if (key.startsWith(OUTPUT_PREFIX)) {
+                if (!new File(directory, key.substring(OUTPUT_PREFIX.length())).isFile()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Records the inputs of this generation.
+     *
+     * @param configuration the generator configuration
+     * @param classes the visited classes
+     */
+    public void inputs(String configuration, Collection<Class<?>> classes) {
+        current.setProperty(CONFIGURATION, fingerprint(configuration));
+        for (Class<?> clazz : classes) {
+            if (clazz.getClassLoader() == null) {
+                continue;
+            }
+            String value = classFingerprint(clazz.getName(), clazz.getClassLoader());
+            if (value != null) {
+                current.setProperty(CLASS_PREFIX + clazz.getName(), value);
+            }
+        }
+    }
+
+    /**
+     * Adds an output rendered from a template.
+     *
+     * @param target the generated file
+     * @param template the template
+     * @param conf the template parameters
+     */
+    public void add(File target, String template, Map<String, ?> conf) {
+        StringBuilder content = new StringBuilder(template);
+        new TreeMap<>(conf).forEach((key, value) -> {
+            if (!PROCESS_DATE.equals(key)) {
+                content.append('\0').append(key).append('=').append(value);
+            }
+        });
+        outputs.add(new Output(target, fingerprint(content.toString()), template, conf, null));
+    }
+
+    /**
+     * Adds an output with its own fingerprint, written by the given supplier.
+     *
+     * @param target the generated file
+     * @param fingerprint the fingerprint of the content
+     * @param content the content supplier
+     */
+    public void add(File target, String fingerprint, Supplier<String> content) {
+        outputs.add(new Output(target, fingerprint(fingerprint), null, null, content));
+    }
+
+    /**
+     * Writes the outputs that changed since the last generation, deletes the outputs that are not generated anymore
+     * and saves the state.
+     *
+     * @return the written files
+     */
+    public List<File> generate() {
+        List<Output> changed = new ArrayList<>();
+        Set<String> generated = new HashSet<>();
+        for (Output output : outputs) {
+            String key = OUTPUT_PREFIX + relativePath(output.target);
+            generated.add(key);
+            current.setProperty(key, output.fingerprint);
+            if (!output.fingerprint.equals(previous.getProperty(key)) || !output.target.isFile()) {
+                changed.add(output);
+            }
+        }
+        List<String> templates = new ArrayList<>();
+        List<Map<String, ?>> confs = new ArrayList<>();
+        List<Output> rendered = new ArrayList<>();
+        for (Output output : changed) {
+            if (output.template != null) {
+                templates.add(output.template);
+                confs.add(output.conf);
+                rendered.add(output);
+            }
+        }
+        List<String> contents = MacroProcessor.replaceProperties(templates, confs);
+        List<File> written = new ArrayList<>();
+        try {
+            for (int i = 0; i < rendered.size(); i++) {
+                write(rendered.get(i).target, contents.get(i));
+                written.add(rendered.get(i).target);
+            }
+            for (Output output : changed) {
+                if (output.content != null) {
+                    write(output.target, output.content.get());
+                    written.add(output.target);
+                }
+            }
+            for (String key : previous.stringPropertyNames()) {
+                if (key.startsWith(OUTPUT_PREFIX) && !generated.contains(key)) {
+                    new File(directory, key.substring(OUTPUT_PREFIX.length())).delete();
+                }
+            }
+            directory.mkdirs();
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(new File(directory, STATE_FILE)),
+                    UTF_8)) {
+                current.store(writer, null);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return written;
+    }
+
+    /**
+     * Returns the classes read by the generation of the given paths: the base classes, and the declaring, parameter
+     * and return types of the path methods. The classes walked by the model visitor without finding a path are not
+     * part of them, see {@code Visitor#visitedClasses()}.
+     *
+     * @param paths the visited paths
+     * @return the visited classes
+     */
+    public static Set<Class<?>> visitedClasses(Collection<VisitorPath> paths) {
+        Set<Class<?>> classes = new LinkedHashSet<>();
+        for (VisitorPath path : paths) {
+            classes.add(path.getBaseClass());
+            List<Method> methods = new ArrayList<>(path.getPath());
+            methods.add(path.getGetMethod());
+            methods.add(path.getSetMethod());
+            for (Method method : methods) {
+                if (method == null) {
+                    continue;
+                }
+                classes.add(method.getDeclaringClass());
+                classes.add(method.getReturnType());
+                classes.addAll(Arrays.asList(method.getParameterTypes()));
+            }
+        }
+        return classes;
+    }
+
+    private void write(File target, String content) throws IOException {
+        target.getParentFile().mkdirs();
+        Files.write(target.toPath(), content.getBytes(UTF_8));
+    }
+
+    private String relativePath(File target) {
+        return directory.toPath().toAbsolutePath().relativize(target.toPath().toAbsolutePath()).toString()
+                .replace(File.separatorChar, '/');
+    }
+
+    private static String classFingerprint(String className, ClassLoader classLoader) {
+        try (InputStream stream = classLoader.getResourceAsStream(className.replace('.', '/') + ".class")) {
+            return stream == null ? null : fingerprint(ByteStreams.toByteArray(stream));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static String fingerprint(String value) {
+        return fingerprint((generator() + '\0' + value).getBytes(UTF_8));
+    }
+
+    private static String fingerprint(byte[] value) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(value));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Fingerprint of the generator: its templates and the classes that build the template parameters
+     */
+    private static String generator() {
+        String result = generator;
+        if (result == null) {
+            StringBuilder content = new StringBuilder();
+            for (Field field : Templates.class.getFields()) {
+                if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class) {
+                    try {
+                        content.append(field.get(null)).append('\0');
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            }
+            for (Class<?> clazz : Arrays.asList(ModelWrapperGen.class, FieldInfoGen.class, DslMethodsGen.class,
+                    FieldCsvGen.class, ModelVisitor.class, Visitor.class)) {
+                content.append(classFingerprint(clazz.getName(), clazz.getClassLoader())).append('\0');
+            }
+            result = fingerprint(content.toString().getBytes(UTF_8));
+            generator = result;
+        }
+        return result;
+    }
+
+    private static final class Output {
+
+        private final File target;
+        private final String fingerprint;
+        private final String template;
+        private final Map<String, ?> conf;
+        private final Supplier<String> content;
+
+        Output(File target, String fingerprint, String template, Map<String, ?> conf, Supplier<String> content) {
+            this.target = target;
+            this.fingerprint = fingerprint;
+            this.template = template;
+            this.conf = conf;
+            this.content = content;
+        }
+
+    }
+
+}
@@ -65,6 +65,7 @@ final class ModelVisitor {
         }
 
         log.debug("class " + clazz.getName());
+        visitor.visitClass(clazz);
         final BeanInfo beanInfo = Introspector.getBeanInfo(clazz);
         final PropertyDescriptor[] propertyDescriptors = beanInfo.getPropertyDescriptors();
         for (PropertyDescriptor desc : propertyDescriptors) {
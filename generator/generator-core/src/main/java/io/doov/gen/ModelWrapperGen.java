@@ -88,7 +88,7 @@ final class ModelWrapperGen {
         conf.put("field.id.name", fieldId.toString());
         conf.put("field.type", getterBoxingType(path, fieldId.position()));
         conf.put("target.model.class.name", modelClass.getSimpleName());
-        conf.put("null.check", nullCheck(path));
+        conf.put("null.check", nullCheck(path, "null"));
         conf.put("getter.path", getterPath(path));
         return MacroProcessor.replaceProperties(Templates.propertyLiteralSupplier, conf);
     }
@@ -125,6 +125,169 @@ final class ModelWrapperGen {
         }).collect(joining("\n\n"));
     }
 
+    static String mapPrimitiveGetter(Map<FieldId, VisitorPath> collected) {
+        final List<Class<?>> ints = asList(int.class, Integer.class, short.class, Short.class);
+        final List<Class<?>> longs = asList(long.class, Long.class);
+        final List<Class<?>> doubles = asList(double.class, Double.class, float.class, Float.class);
+        final List<Class<?>> booleans = asList(boolean.class, Boolean.class);
+        final List<Class<?>> all = new ArrayList<>();
+        asList(ints, longs, doubles, booleans).forEach(all::addAll);
+        return asList(primitiveGetMethod(collected, "boolean", "isNull", all, "true"),
+                primitiveGetMethod(collected, "int", "getInt", ints, "0"),
+                primitiveGetMethod(collected, "long", "getLong", longs, "0L"),
+                primitiveGetMethod(collected, "double", "getDouble", doubles, "0d"),
+                primitiveGetMethod(collected, "boolean", "getBoolean", booleans, "false"))
+                .stream().collect(joining("\n\n"));
+    }
+
+    private static String primitiveGetMethod(Map<FieldId, VisitorPath> collected, String primitiveType,
+            String methodName, List<Class<?>> types, String nullValue) {
+        final Map<FieldId, VisitorPath> primitives = collected.entrySet().stream()
+                .filter(e -> types.contains(getterType(e.getValue())))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        final String ifStatements = fieldTypes(primitives).stream().map(fieldType -> {
+            final Map<FieldId, VisitorPath> paths = filterByFieldType(primitives, fieldType);
+            final StringBuilder switchContent = new StringBuilder();
+            for (FieldId fieldId : sortFields(paths.keySet())) {
+                final VisitorPath path = paths.get(fieldId);
+                final Map<String, String> conf = new HashMap<>();
+                conf.put("field.id.name", fieldId.toString());
+                conf.put("null.value", nullValue);
+                conf.put("null.check", nullCheck(path, nullValue));
+                conf.put("return.statement", primitiveReturn(path, methodName, nullValue));
+                switchContent.append(MacroProcessor.replaceProperties(Templates.primitiveGetSwitchBlock, conf));
+            }
+            final Map<String, String> conf = new HashMap<>();
+            conf.put("field.id.type", fieldType.getName());
+            conf.put("switch.content", switchContent.toString());
+            return MacroProcessor.replaceProperties(Templates.primitiveGetIf, conf);
+        }).collect(joining());
+        final Map<String, String> conf = new HashMap<>();
+        conf.put("primitive.type", primitiveType);
+        conf.put("method.name", methodName);
+        conf.put("primitive.get.if", ifStatements);
+        return MacroProcessor.replaceProperties(Templates.primitiveGetMethod, conf);
+    }
+
+    private static String primitiveReturn(VisitorPath path, String methodName, String nullValue) {
+        final Class<?> type = getterType(path);
+        final String getter = "model." + getterPath(path);
+        if ("isNull".equals(methodName)) {
+            return type.isPrimitive() ? "return false;" : "return " + getter + " == null;";
+        }
+        if (type.isPrimitive()) {
+            return "return " + getter + ";";
+        }
+        final String value = Boolean.class.equals(type) ? "value != null && value"
+                : "value == null ? " + nullValue + " : value";
+        return "final " + type.getSimpleName() + " value = " + getter + ";\n"
+                + "                    return " + value + ";";
+    }
+
+    /**
+     * Returns the wrapper template parameters implementing {@link DirtyTrackingFieldModel}, empty values when the
+     * dirty tracking is disabled.
+     */
+    static Map<String, String> dirtyTracking(boolean enabled) {
+        final Map<String, String> conf = new HashMap<>();
+        conf.put("dirty.tracking.interface", enabled ? ", " + DirtyTrackingFieldModel.class.getName() : "");
+        conf.put("dirty.tracking.field",
+                enabled ? "\n    private final java.util.BitSet dirty = new java.util.BitSet();" : "");
+        conf.put("dirty.tracking.set", enabled ? "        markDirty(fieldId);\n" : "");
+        conf.put("dirty.tracking.methods", enabled ? Templates.dirtyTrackingMethods : "");
+        return conf;
+    }
+
+    static Map<String, String> copierCodes(String mapping) {
+        final Map<String, String> codes = new LinkedHashMap<>();
+        if (isNullOrEmpty(mapping)) {
+            return codes;
+        }
+        for (String entry : mapping.split(",")) {
+            final String[] codePair = entry.split("=");
+            if (codePair.length != 2) {
+                throw new IllegalArgumentException("invalid copy mapping " + entry + ", expected IN_CODE=OUT_CODE");
+            }
+            codes.put(codePair[0].trim(), codePair[1].trim());
+        }
+        return codes;
+    }
+
+    static Map<String, String> mapCopier(Map<FieldId, VisitorPath> in, Map<FieldId, VisitorPath> out,
+            Map<String, String> codes, Logger log) {
+        // corresponding fields by code, or by the mapping table, with the same type and a setter
+        final Map<String, FieldId> outByCode = out.keySet().stream()
+                .collect(Collectors.toMap(FieldId::code, f -> f, (f1, f2) -> f1));
+        final Map<FieldId, FieldId> pairs = new LinkedHashMap<>();
+        for (FieldId inFieldId : sortFields(in.keySet())) {
+            final String code = codes.getOrDefault(inFieldId.code(), inFieldId.code());
+            final FieldId outFieldId = outByCode.get(code);
+            if (outFieldId == null) {
+                continue;
+            }
+            final VisitorPath inPath = in.get(inFieldId);
+            final VisitorPath outPath = out.get(outFieldId);
+            final String inType = getterBoxingType(inPath, inFieldId.position());
+            if (!inType.equals(getterBoxingType(outPath, outFieldId.position()))) {
+                log.debug("skipping copy of " + inFieldId + " to " + outFieldId + ", types are different");
+            } else if (outPath.getSetMethod() == null) {
+                log.debug("skipping copy of " + inFieldId + " to " + outFieldId + ", no setter");
+            } else {
+                pairs.put(inFieldId, outFieldId);
+            }
+        }
+        final Map<FieldId, Integer> indexes = new HashMap<>();
+        final StringBuilder switchContent = new StringBuilder();
+        final StringBuilder copyAll = new StringBuilder();
+        final StringBuilder methods = new StringBuilder();
+        pairs.forEach((inFieldId, outFieldId) -> {
+            final int index = indexes.size();
+            indexes.put(inFieldId, index);
+            final VisitorPath inPath = in.get(inFieldId);
+            final VisitorPath outPath = out.get(outFieldId);
+            final Map<String, String> conf = new HashMap<>();
+            conf.put("index", String.valueOf(index));
+            conf.put("field.type", getterBoxingType(inPath, inFieldId.position()));
+            conf.put("null.check", nullCheck(inPath, "null"));
+            conf.put("getter.path", getterPath(inPath));
+            conf.put("lazy.init", lazyInit(outPath));
+            conf.put("setter.path", setterPath(outPath));
+            conf.put("param", setterBoxingChecker(outPath));
+            conf.put("in.model.class.name", inPath.getBaseClass().getCanonicalName());
+            conf.put("out.model.class.name", outPath.getBaseClass().getCanonicalName());
+            conf.put("out.field.id", outFieldId.getClass().getCanonicalName() + "." + outFieldId);
+            switchContent.append(MacroProcessor.replaceProperties(Templates.copierSwitchBlock, conf));
+            copyAll.append("        set").append(index).append("(outModel, get").append(index).append("(inModel));\n");
+            copyAll.append("        written(out, ").append(conf.get("out.field.id")).append(");\n");
+            methods.append(MacroProcessor.replaceProperties(Templates.copierFieldMethods, conf));
+        });
+        final String indexIf = fieldTypes(in.entrySet().stream().filter(e -> pairs.containsKey(e.getKey()))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue))).stream().map(fieldType -> {
+                    final StringBuilder indexContent = new StringBuilder();
+                    for (FieldId inFieldId : sortFields(pairs.keySet())) {
+                        if (!fieldType.isAssignableFrom(inFieldId.getClass())) {
+                            continue;
+                        }
+                        final FieldId outFieldId = pairs.get(inFieldId);
+                        final Map<String, String> conf = new HashMap<>();
+                        conf.put("field.id.name", inFieldId.toString());
+                        conf.put("out.field.id", outFieldId.getClass().getCanonicalName() + "." + outFieldId);
+                        conf.put("index", String.valueOf(indexes.get(inFieldId)));
+                        indexContent.append(MacroProcessor.replaceProperties(Templates.copierIndexBlock, conf));
+                    }
+                    final Map<String, String> conf = new HashMap<>();
+                    conf.put("field.id.type", fieldType.getName());
+                    conf.put("switch.content", indexContent.toString());
+                    return MacroProcessor.replaceProperties(Templates.copierIndexIf, conf);
+                }).collect(joining());
+        final Map<String, String> conf = new HashMap<>();
+        conf.put("copy.index.if", indexIf);
+        conf.put("copy.switch.content", switchContent.toString());
+        conf.put("copy.all", copyAll.toString());
+        conf.put("copy.methods", methods.toString());
+        return conf;
+    }
+
     private static List<Class<?>> fieldTypes(Map<FieldId, VisitorPath> collected) {
         return collected.keySet().stream()
                 .map(Object::getClass).distinct()
@@ -132,31 +295,33 @@ final class ModelWrapperGen {
                 .collect(toList());
     }
 
-    private static String nullCheck(VisitorPath path) {
+    private static String nullCheck(VisitorPath path, String nullValue) {
         final StringBuilder buffer = new StringBuilder();
         for (int i = 1; i < path.getPath().size(); i++) {
             final Method lastGetMethod = path.getPath().get(i - 1);
             final List<Method> subPaths = path.getPath().subList(0, i);
-            buffer.append(nullCheck(subPaths));
+            buffer.append(nullCheck(subPaths, nullValue));
             if (List.class.isAssignableFrom(lastGetMethod.getReturnType())) {
-                buffer.append(sizeCheck(subPaths, path.getFieldId()));
+                buffer.append(sizeCheck(subPaths, path.getFieldId(), nullValue));
             }
         }
         return buffer.toString();
     }
 
-    private static String nullCheck(List<Method> paths) {
+    private static String nullCheck(List<Method> paths, String nullValue) {
         final StringBuilder buffer = new StringBuilder();
         final Map<String, String> conf = new HashMap<>();
         conf.put("partial.path", VisitorPath.getterPath(paths));
+        conf.put("null.value", nullValue);
         buffer.append(MacroProcessor.replaceProperties(Templates.nullCheckBlock, conf));
         return buffer.toString();
     }
 
-    private static String sizeCheck(List<Method> paths, FieldId fieldId) {
+    private static String sizeCheck(List<Method> paths, FieldId fieldId, String nullValue) {
         final StringBuilder buffer = new StringBuilder();
         final Map<String, String> conf = new HashMap<>();
         conf.put("partial.path", VisitorPath.getterPath(paths));
+        conf.put("null.value", nullValue);
         conf.put("size", String.valueOf(fieldId.position()));
         conf.put("index", String.valueOf(fieldId.position() - 1));
         buffer.append(MacroProcessor.replaceProperties(Templates.sizeCheckBlock, conf));
@@ -450,10 +615,10 @@ final class ModelWrapperGen {
 
     private static String writeDefaultConstructors(String targetClassName, Class<?> modelClass) {
         StringBuilder buffer = new StringBuilder();
-        List<String> superCall = asList("fieldInfos()", "new " + modelClass.getSimpleName() + "()");
+        List<String> superCall = asList("index()", "new " + modelClass.getSimpleName() + "()");
         buffer.append(writeConstructor(targetClassName, Collections.emptyList(), superCall));
         List<String> parameters = Collections.singletonList(modelClass.getSimpleName() + " model");
-        superCall = asList("fieldInfos()", "model");
+        superCall = asList("index()", "model");
         buffer.append(writeConstructor(targetClassName, parameters, superCall));
         return buffer.toString();
     }
@@ -471,6 +636,8 @@ final class ModelWrapperGen {
                 modelParameterIndex = i;
             } else if (isFieldInfoListParameter(type)) {
                 superCall.add("fieldInfos()");
+            } else if (FieldInfoIndex.class.equals(type)) {
+                superCall.add("index()");
             } else {
                 parameterTypes.add(parameter.toString());
                 superCall.add(parameter.getName());
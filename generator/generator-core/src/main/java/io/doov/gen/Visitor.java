@@ -28,12 +28,26 @@ final class Visitor {
 
     private final Class<?> baseClass;
     private final List<VisitorPath> collected;
+    private final Set<Class<?>> visitedClasses = new LinkedHashSet<>();
 
     Visitor(Class<?> baseClass, List<VisitorPath> collected) {
         this.baseClass = baseClass;
         this.collected = collected;
     }
 
+    void visitClass(Class<?> clazz) {
+        visitedClasses.add(clazz);
+    }
+
+    /**
+     * Returns the classes walked by the model visitor, with or without paths, see {@link GenerationState}.
+     *
+     * @return the visited classes
+     */
+    Set<Class<?>> visitedClasses() {
+        return visitedClasses;
+    }
+
     void visit(List<PathAnnotation> fieldTarget, Method getMethod, Method setMethod,
                     List<Method> paths, boolean _transient) {
         fieldTarget.forEach(annotation -> {
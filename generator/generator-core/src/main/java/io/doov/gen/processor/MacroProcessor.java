@@ -17,6 +17,7 @@ package io.doov.gen.processor;
 
 import java.text.MessageFormat;
 import java.util.*;
+import java.util.stream.IntStream;
 
 /**
  * Substitution récursive de variables ${...} dans un template (à la script Ant).
@@ -29,8 +30,6 @@ public class MacroProcessor {
     private static final String STR_MORE_THAN_0_LEVEL_TO_EXPAND_1 =
             "There is more than {0} level to expand the property : ''{1}'')";
     private static final String STR_SYNTAX_ERROR_IN_0 = "Syntax error in property: ''{0}''";
-    private static final MessageFormat MORE_THAN_0_LEVEL_TO_EXPAND_1 =
-            new MessageFormat(STR_MORE_THAN_0_LEVEL_TO_EXPAND_1);
 
     private static String eval(Map<String, Object> conf, String key) {
         final String replacement = MacroProcessor.REF_PREFIX + key + MacroProcessor.REF_SUFFIX;
@@ -53,6 +52,24 @@ public class MacroProcessor {
                 0);
     }
 
+    /**
+     * Expands several templates in parallel, one per generated file. The result at index {@code i} is the expansion
+     * of {@code templates.get(i)} with {@code confs.get(i)}.
+     *
+     * @param templates the templates
+     * @param confs     the parameters of each template
+     * @return the macro-expanded values, in order
+     */
+    public static List<String> replaceProperties(List<String> templates, List<? extends Map<String, ?>> confs) {
+        if (templates.size() != confs.size()) {
+            throw new IllegalArgumentException(templates.size() + " templates for " + confs.size() + " confs");
+        }
+        String[] expanded = new String[templates.size()];
+        IntStream.range(0, expanded.length).parallel()
+                .forEach(i -> expanded[i] = replaceProperties(templates.get(i), confs.get(i)));
+        return Arrays.asList(expanded);
+    }
+
     /**
      * Macro-expand parameter references <code>${xx}</code>.<br> If a reference is not found, the value of {@code param}
      * is used if it is not null - otherwise referenc is not replaced.
@@ -93,8 +110,8 @@ public class MacroProcessor {
             propertyRefs.clear();
             return replacePropertiesRec(expandedValue, conf, fragments, propertyRefs, depth + 1);
         } else if (containProperty && depth > MAX_DEPTH) {
-            throw new PropertyParsingException(MORE_THAN_0_LEVEL_TO_EXPAND_1
-                    .format(new Object[] { MAX_DEPTH, expandedValue }));
+            throw new PropertyParsingException(MessageFormat.format(STR_MORE_THAN_0_LEVEL_TO_EXPAND_1,
+                    MAX_DEPTH, expandedValue));
         } else {
             return expandedValue;
         }
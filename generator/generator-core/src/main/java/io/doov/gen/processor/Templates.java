@@ -26,9 +26,21 @@ public class Templates {
     public static final String nullCheckBlock = template("NullCheckBlock.template");
     public static final String mapSetMethod = template("MapSetMethod.template");
     public static final String mapGetMethod = template("MapGetMethod.template");
+    public static final String primitiveGetMethod = template("PrimitiveGetMethod.template");
+    public static final String primitiveGetIf = template("PrimitiveGetIfStatement.template");
+    public static final String primitiveGetSwitchBlock = template("PrimitiveGetSwitchBlock.template");
     public static final String propertyLiteralConsumer = template("PropertyLiteralConsumer.template");
     public static final String propertyLiteralSupplier = template("PropertyLiteralSupplier.template");
     public static final String propertyIdEnum = template("PropertyIdEnum.template");
+    public static final String dirtyTrackingMethods = template("DirtyTrackingMethods.template");
+
+    // ModelCopier Templates
+    public static final String copierClass = template("CopierClass.template");
+    public static final String copierIndexIf = template("CopierIndexIfStatement.template");
+    public static final String copierIndexBlock = template("CopierIndexBlock.template");
+    public static final String copierSwitchBlock = template("CopierSwitchBlock.template");
+    public static final String copierFieldMethods = template("CopierFieldMethods.template");
+    public static final String copierRegistration = template("CopierRegistration.template");
 
     // FieldInfo Templates
     public static final String fieldInfoClass = template("FieldInfoClass.template");
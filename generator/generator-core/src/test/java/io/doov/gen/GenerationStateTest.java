@@ -0,0 +1,113 @@
+package io.doov.gen;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.helpers.NOPLogger;
+
+import io.doov.core.FieldId;
+
+import io.doov.gen.utils.Sample;
+
+class GenerationStateTest {
+
+    public static class Model {
+        public Pojo getPojo() {
+            return null;
+        }
+    }
+
+    public static class Pojo {
+        public String getName() {
+            return null;
+        }
+    }
+
+    private File directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("doov-generation").toFile();
+    }
+
+    private GenerationState generate(String configuration, String value, String date) {
+        GenerationState state = GenerationState.load(directory);
+        state.inputs(configuration, singletonList(Sample.class));
+        Map<String, String> conf = new HashMap<>();
+        conf.put("value", value);
+        conf.put("process.date", date);
+        state.add(new File(directory, "a/A.java"), "class A { ${value} }", conf);
+        state.add(new File(directory, "b/B.java"), "class B { }", singletonMap("process.date", date));
+        return state;
+    }
+
+    @Test
+    void should_write_only_changed_outputs() throws IOException {
+        assertThat(generate("conf", "int a;", "1").generate()).hasSize(2);
+        assertThat(new String(Files.readAllBytes(new File(directory, "a/A.java").toPath()), UTF_8))
+                .isEqualTo("class A { int a; }");
+
+        assertThat(generate("conf", "int a;", "2").generate()).isEmpty();
+        assertThat(generate("conf", "int b;", "3").generate())
+                .containsExactly(new File(directory, "a/A.java"));
+    }
+
+    @Test
+    void should_be_up_to_date_until_inputs_or_outputs_change() {
+        assertThat(GenerationState.load(directory).isUpToDate("conf", getClass().getClassLoader())).isFalse();
+        generate("conf", "int a;", "1").generate();
+
+        assertThat(GenerationState.load(directory).isUpToDate("conf", getClass().getClassLoader())).isTrue();
+        assertThat(GenerationState.load(directory).isUpToDate("other", getClass().getClassLoader())).isFalse();
+
+        new File(directory, "b/B.java").delete();
+        assertThat(GenerationState.load(directory).isUpToDate("conf", getClass().getClassLoader())).isFalse();
+    }
+
+    @Test
+    void should_delete_outputs_not_generated_anymore() {
+        generate("conf", "int a;", "1").generate();
+
+        GenerationState state = GenerationState.load(directory);
+        state.inputs("conf", singletonList(Sample.class));
+        state.add(new File(directory, "b/B.java"), "class B { }", new HashMap<>());
+        state.generate();
+
+        assertThat(new File(directory, "a/A.java")).doesNotExist();
+        assertThat(new File(directory, "b/B.java")).exists();
+    }
+
+    @Test
+    void should_fingerprint_visited_classes_without_paths() throws Exception {
+        Visitor visitor = new Visitor(Model.class, new ArrayList<>());
+        new ModelVisitor(NOPLogger.NOP_LOGGER).visitModel(Model.class, FieldId.class, visitor, "io.doov.gen");
+        assertThat(visitor.visitedClasses()).contains(Model.class, Pojo.class);
+
+        GenerationState state = GenerationState.load(directory);
+        state.inputs("conf", visitor.visitedClasses());
+        state.add(new File(directory, "a/A.java"), "class A { }", new HashMap<>());
+        state.generate();
+        ClassLoader classLoader = getClass().getClassLoader();
+        assertThat(GenerationState.load(directory).isUpToDate("conf", classLoader)).isTrue();
+
+        ClassLoader changed = new ClassLoader(classLoader) {
+            @Override
+            public InputStream getResourceAsStream(String name) {
+                return name.equals(Pojo.class.getName().replace('.', '/') + ".class")
+                        ? new ByteArrayInputStream(new byte[] { 1 }) : super.getResourceAsStream(name);
+            }
+        };
+        assertThat(GenerationState.load(directory).isUpToDate("conf", changed)).isFalse();
+    }
+
+}
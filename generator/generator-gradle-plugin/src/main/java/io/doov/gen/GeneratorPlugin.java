@@ -4,6 +4,7 @@ import org.gradle.api.*;
 import org.gradle.api.plugins.JavaPluginConvention;
 import org.gradle.api.tasks.SourceSet;
 import org.gradle.api.tasks.compile.JavaCompile;
+import org.gradle.jvm.tasks.Jar;
 
 public class GeneratorPlugin implements Plugin<Project> {
     @Override
@@ -36,12 +37,38 @@ public class GeneratorPlugin implements Plugin<Project> {
                 task.getWrapperPackage().set(modelMap.getWrapperPackage());
                 task.getFieldInfoPackage().set(modelMap.getFieldInfoPackage());
                 task.getDslEntrypointMethods().set(modelMap.getDslEntrypointMethods());
+                task.getDirtyTracking().set(modelMap.getDirtyTracking());
+                task.getCopyTargetClassProperty().set(modelMap.getCopyTargetClass());
+                task.getCopyTargetFieldClassProperty().set(modelMap.getCopyTargetFieldClass());
+                task.getCopyTargetPackageFilter().set(modelMap.getCopyTargetPackageFilter());
+                task.getCopyTargetWrapperPackage().set(modelMap.getCopyTargetWrapperPackage());
+                task.getCopyMapping().set(modelMap.getCopyMapping());
 
                 compileJava.dependsOn(task);
             });
 
         });
 
+        NamedDomainObjectContainer<RuleImageGenerator> images = target.container(RuleImageGenerator.class,
+                name -> new RuleImageGenerator(name, target));
+        target.getExtensions().add("doovRuleImage", images);
+
+        images.all(image -> {
+            RuleImageTask task = target.getTasks().create(image.getName(), RuleImageTask.class);
+            SourceSet main = javaPluginConvention.getSourceSets().getByName(SourceSet.MAIN_SOURCE_SET_NAME);
+
+            target.afterEvaluate(project -> {
+                task.setClasspath(main.getOutput().getClassesDirs()
+                        .plus(project.getConfigurations().getByName("compile")));
+                task.getOutputDirectory().set(image.getOutputDirectory());
+                task.getImageName().set(image.getImageName());
+                task.getRuleClasses().set(image.getRuleClasses());
+
+                task.dependsOn(compileJava);
+                target.getTasks().withType(Jar.class).getByName("jar").from(task);
+            });
+        });
+
     }
 
 }
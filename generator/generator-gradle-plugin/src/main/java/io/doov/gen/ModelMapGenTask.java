@@ -6,18 +6,16 @@ import static io.doov.gen.FieldInfoGen.constants;
 import static io.doov.gen.FieldInfoGen.createFieldInfos;
 import static io.doov.gen.ModelWrapperGen.*;
 import static io.doov.gen.utils.ClassUtils.transformPathToMethod;
-import static java.nio.file.Files.createDirectories;
 import static java.time.LocalDateTime.now;
 import static java.time.format.DateTimeFormatter.ofLocalizedDateTime;
 import static java.time.format.FormatStyle.SHORT;
 import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 
 import java.io.File;
-import java.io.IOException;
 import java.lang.reflect.Method;
 import java.net.*;
-import java.nio.charset.Charset;
 import java.util.*;
 
 import org.gradle.api.DefaultTask;
@@ -27,8 +25,6 @@ import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.*;
 import org.gradle.api.tasks.Optional;
 
-import com.google.common.io.Files;
-
 import io.doov.core.*;
 import io.doov.core.dsl.field.FieldTypeProvider;
 import io.doov.core.dsl.field.FieldTypes;
@@ -43,6 +39,7 @@ import io.doov.gen.processor.MacroProcessor;
 import io.doov.gen.processor.Templates;
 import io.doov.gen.utils.ClassUtils;
 
+@CacheableTask
 public class ModelMapGenTask extends DefaultTask {
 
     private FileCollection classpath;
@@ -60,6 +57,12 @@ public class ModelMapGenTask extends DefaultTask {
     private final Property<String> fieldInfoPackage;
     private final Property<String> dslModelPackage;
     private final Property<Boolean> dslEntrypointMethods;
+    private final Property<Boolean> dirtyTracking;
+    private final Property<String> copyTargetClassProperty;
+    private final Property<String> copyTargetFieldClassProperty;
+    private final Property<String> copyTargetPackageFilter;
+    private final Property<String> copyTargetWrapperPackage;
+    private final Property<String> copyMapping;
 
     public ModelMapGenTask() {
         this.outputDirectory = getProject().getObjects().property(File.class);
@@ -76,6 +79,12 @@ public class ModelMapGenTask extends DefaultTask {
         this.fieldInfoPackage = getProject().getObjects().property(String.class);
         this.dslModelPackage = getProject().getObjects().property(String.class);
         this.dslEntrypointMethods = getProject().getObjects().property(Boolean.class);
+        this.dirtyTracking = getProject().getObjects().property(Boolean.class);
+        this.copyTargetClassProperty = getProject().getObjects().property(String.class);
+        this.copyTargetFieldClassProperty = getProject().getObjects().property(String.class);
+        this.copyTargetPackageFilter = getProject().getObjects().property(String.class);
+        this.copyTargetWrapperPackage = getProject().getObjects().property(String.class);
+        this.copyMapping = getProject().getObjects().property(String.class);
     }
 
     @Classpath
@@ -166,6 +175,42 @@ public class ModelMapGenTask extends DefaultTask {
         return dslEntrypointMethods;
     }
 
+    @Input
+    @Optional
+    public Property<Boolean> getDirtyTracking() {
+        return dirtyTracking;
+    }
+
+    @Input
+    @Optional
+    public Property<String> getCopyTargetClassProperty() {
+        return copyTargetClassProperty;
+    }
+
+    @Input
+    @Optional
+    public Property<String> getCopyTargetFieldClassProperty() {
+        return copyTargetFieldClassProperty;
+    }
+
+    @Input
+    @Optional
+    public Property<String> getCopyTargetPackageFilter() {
+        return copyTargetPackageFilter;
+    }
+
+    @Input
+    @Optional
+    public Property<String> getCopyTargetWrapperPackage() {
+        return copyTargetWrapperPackage;
+    }
+
+    @Input
+    @Optional
+    public Property<String> getCopyMapping() {
+        return copyMapping;
+    }
+
     @TaskAction
     public void action() {
         final URLClassLoader classLoader;
@@ -183,6 +228,12 @@ public class ModelMapGenTask extends DefaultTask {
         } catch (Exception e) {
             throw new GradleException("Unable to load", e);
         }
+        final GenerationState state = GenerationState.load(outputDirectory.get());
+        final String configuration = configuration();
+        if (state.isUpToDate(configuration, classLoader)) {
+            getLogger().info("model classes did not change, skipping generation");
+            return;
+        }
         try {
             List<FieldPath> fieldPaths = fieldPathProviderProperty.isPresent() ?
                     loadClassWithType(this.fieldPathProviderProperty, FieldPathProvider.class, null, classLoader)
@@ -197,22 +248,26 @@ public class ModelMapGenTask extends DefaultTask {
             FieldTypeProvider typeProvider = loadClassWithType(fieldInfoTypesProperty,
                     FieldTypeProvider.class, FieldTypes.class, classLoader).newInstance();
 
-            cleanOutputDirectories();
-            generateModels(fieldClazz, modelClazz, baseClazz, typeAdapterClazz, typeProvider, fieldPaths);
+            generateModels(state, configuration, fieldClazz, modelClazz, baseClazz, typeAdapterClazz, typeProvider,
+                    fieldPaths);
         } catch (Exception e) {
             throw new GradleException(e.getMessage(), e);
         }
     }
 
-    private void cleanOutputDirectories() {
-        outputResourceDirectory.map(File::delete).getOrNull();
-        outputDirectory.map(File::delete).getOrNull();
+    private String configuration() {
+        List<Property<?>> properties = asList(outputResourceDirectory, sourceClassProperty, fieldClassProperty,
+                packageFilter, fieldPathProviderProperty, baseClassProperty, typeAdaptersProperty,
+                fieldInfoTypesProperty, enumFieldInfo, wrapperPackage, fieldInfoPackage, dslModelPackage,
+                dslEntrypointMethods, dirtyTracking, copyTargetClassProperty, copyTargetFieldClassProperty,
+                copyTargetPackageFilter, copyTargetWrapperPackage, copyMapping);
+        return properties.stream().map(p -> String.valueOf(p.getOrNull())).collect(joining(";"));
     }
 
     private <T> Class<? extends T> loadClassWithType(Property<String> className,
             Class<T> type,
             Class<? extends T> defaultClass,
-            URLClassLoader classLoader) throws ClassNotFoundException {
+            ClassLoader classLoader) throws ClassNotFoundException {
         Class<? extends T> classToLoad = defaultClass;
         if (className.isPresent()) {
             Class<?> loadedClass = Class.forName(className.get(), true, classLoader);
@@ -224,27 +279,57 @@ public class ModelMapGenTask extends DefaultTask {
         return classToLoad;
     }
 
-    private void generateModels(Class<? extends FieldId> fieldClazz,
+    private void generateModels(GenerationState state,
+            String configuration,
+            Class<? extends FieldId> fieldClazz,
             Class<?> modelClazz,
             Class<? extends FieldModel> baseClazz,
             Class<? extends TypeAdapterRegistry> typeAdapterClazz,
             FieldTypeProvider typeProvider,
             List<FieldPath> fieldPaths) {
         try {
+            final Set<Class<?>> visitedClasses = new LinkedHashSet<>();
             final List<VisitorPath> collected;
             if (fieldPaths.isEmpty()) {
-                collected = process(modelClazz, packageFilter.get(), fieldClazz);
+                collected = process(modelClazz, packageFilter.get(), fieldClazz, visitedClasses);
             } else {
                 collected = fieldPaths.stream().map(this::createVisitorPath).collect(toList());
             }
             final Map<FieldId, VisitorPath> fieldPathMap = validatePath(collected, getLogger());
             final Map<FieldId, GeneratorFieldInfo> fieldInfoMap = createFieldInfos(fieldPathMap);
-            Runnable generateCsv = () -> generateCsv(fieldPathMap, modelClazz);
-            Runnable generateWrapper = () -> generateWrapper(fieldPathMap, modelClazz, fieldClazz, baseClazz, typeAdapterClazz);
-            Runnable generateFieldInfo = () -> generateFieldInfo(fieldInfoMap, fieldClazz);
-            Runnable generateDslFields = () -> generateDslFields(fieldInfoMap, modelClazz, fieldClazz, baseClazz, typeProvider);
-            asList(generateWrapper, generateCsv, generateFieldInfo, generateDslFields).parallelStream()
-                    .forEach(Runnable::run);
+            final Set<Class<?>> classes = GenerationState.visitedClasses(fieldPathMap.values());
+            classes.addAll(asList(modelClazz, fieldClazz, baseClazz, typeAdapterClazz, typeProvider.getClass()));
+            if (fieldPathProviderProperty.isPresent()) {
+                classes.add(Class.forName(fieldPathProviderProperty.get(), false, modelClazz.getClassLoader()));
+            }
+            final String copierClassName;
+            if (copyTargetClassProperty.isPresent()) {
+                final Class<?> targetClazz = Class.forName(copyTargetClassProperty.get(), true,
+                        modelClazz.getClassLoader());
+                final Class<? extends FieldId> targetFieldClazz = loadClassWithType(copyTargetFieldClassProperty,
+                        FieldId.class, fieldClazz, modelClazz.getClassLoader());
+                final Map<FieldId, VisitorPath> targetPathMap;
+                if (targetClazz.equals(modelClazz) && targetFieldClazz.equals(fieldClazz)) {
+                    targetPathMap = fieldPathMap;
+                } else {
+                    targetPathMap = validatePath(process(targetClazz,
+                            copyTargetPackageFilter.getOrElse(packageFilter.get()), targetFieldClazz,
+                            visitedClasses), getLogger());
+                }
+                classes.addAll(GenerationState.visitedClasses(targetPathMap.values()));
+                classes.addAll(asList(targetClazz, targetFieldClazz));
+                copierClassName = generateCopier(state, fieldPathMap, targetPathMap, modelClazz, targetClazz);
+            } else {
+                copierClassName = null;
+            }
+            classes.addAll(visitedClasses);
+            state.inputs(configuration, classes);
+            generateWrapper(state, fieldPathMap, modelClazz, fieldClazz, baseClazz, typeAdapterClazz,
+                    copierClassName);
+            generateCsv(state, fieldPathMap, modelClazz);
+            generateFieldInfo(state, fieldInfoMap, fieldClazz);
+            generateDslFields(state, fieldInfoMap, modelClazz, fieldClazz, baseClazz, typeProvider);
+            state.generate().forEach(file -> getLogger().info("written : " + file));
         } catch (Exception e) {
             throw new GradleException("generation failed for class " + modelClazz, e);
         }
@@ -268,42 +353,38 @@ public class ModelMapGenTask extends DefaultTask {
                 readMethod, writeMethod, p.isTransient(), cannonicalReplacement);
     }
 
-    private List<VisitorPath> process(Class<?> projetClass, String filter, Class<? extends FieldId> fieldClass)
-            throws Exception {
+    private List<VisitorPath> process(Class<?> projetClass, String filter, Class<? extends FieldId> fieldClass,
+            Set<Class<?>> visitedClasses) throws Exception {
         final List<VisitorPath> collected = new ArrayList<>();
-        new ModelVisitor(getLogger()).visitModel(projetClass, fieldClass, new Visitor(projetClass, collected), filter);
+        final Visitor visitor = new Visitor(projetClass, collected);
+        new ModelVisitor(getLogger()).visitModel(projetClass, fieldClass, visitor, filter);
+        visitedClasses.addAll(visitor.visitedClasses());
         return collected;
     }
 
-    private void generateCsv(Map<FieldId, VisitorPath> fieldPaths, Class<?> clazz) {
+    private void generateCsv(GenerationState state, Map<FieldId, VisitorPath> fieldPaths, Class<?> clazz) {
         final File targetFile = new File(outputResourceDirectory.get(), clazz.getSimpleName() + ".csv");
-        targetFile.getParentFile().mkdirs();
-        FieldCsvGen.write(targetFile, fieldPaths);
-        getLogger().info("written : " + targetFile);
-    }
-
-    private void generateFieldInfo(Map<FieldId, GeneratorFieldInfo> fieldInfoMap, Class<?> fieldClass) {
-        try {
-            final String targetClassName = fieldInfoClassName(fieldClass);
-            final String targetPackage = getFieldInfoPackage(fieldClass);
-            final File targetFile = new File(outputDirectory.get(), targetPackage.replace('.', '/')
-                    + "/" + targetClassName + ".java");
-            final String classTemplate = enumFieldInfo.get() ? Templates.fieldInfoEnum : Templates.fieldInfoClass;
-            createDirectories(targetFile.getParentFile().toPath());
-            final Map<String, String> conf = new HashMap<>();
-            conf.put("package.name", targetPackage);
-            conf.put("process.class", fieldClass.getName());
-            conf.put("process.date", ofLocalizedDateTime(SHORT).format(now()));
-            conf.put("target.class.name", targetClassName);
-            conf.put("imports", FieldInfoGen.imports(fieldInfoMap));
-            conf.put("constants", constants(fieldInfoMap, enumFieldInfo.get()));
-            conf.put("source.generator.name", getClass().getName());
-            final String content = MacroProcessor.replaceProperties(classTemplate, conf);
-            Files.write(content, targetFile, Charset.forName("UTF8"));
-            getLogger().info("written : " + targetFile);
-        } catch (IOException e) {
-            throw new GradleException("error when generating wrapper", e);
-        }
+        final String content = FieldCsvGen.toCsv(fieldPaths);
+        state.add(targetFile, content, () -> content);
+    }
+
+    private void generateFieldInfo(GenerationState state,
+            Map<FieldId, GeneratorFieldInfo> fieldInfoMap,
+            Class<?> fieldClass) {
+        final String targetClassName = fieldInfoClassName(fieldClass);
+        final String targetPackage = getFieldInfoPackage(fieldClass);
+        final File targetFile = new File(outputDirectory.get(), targetPackage.replace('.', '/')
+                + "/" + targetClassName + ".java");
+        final String classTemplate = enumFieldInfo.get() ? Templates.fieldInfoEnum : Templates.fieldInfoClass;
+        final Map<String, String> conf = new HashMap<>();
+        conf.put("package.name", targetPackage);
+        conf.put("process.class", fieldClass.getName());
+        conf.put("process.date", ofLocalizedDateTime(SHORT).format(now()));
+        conf.put("target.class.name", targetClassName);
+        conf.put("imports", FieldInfoGen.imports(fieldInfoMap));
+        conf.put("constants", constants(fieldInfoMap, enumFieldInfo.get()));
+        conf.put("source.generator.name", getClass().getName());
+        state.add(targetFile, classTemplate, conf);
     }
 
     private static String fieldInfoClassName(Class<?> clazz) {
@@ -311,93 +392,113 @@ public class ModelMapGenTask extends DefaultTask {
                 : clazz.getSimpleName() + "Info";
     }
 
-    private void generateDslFields(Map<FieldId, GeneratorFieldInfo> fieldInfoMap,
+    private void generateDslFields(GenerationState state,
+            Map<FieldId, GeneratorFieldInfo> fieldInfoMap,
             Class<?> modelClazz,
             Class<?> fieldClass,
             Class<? extends FieldModel> baseClazz,
             FieldTypeProvider typeProvider) {
-        try {
-            final String targetClassName = dslFieldsClassName(modelClazz);
-            final String fieldInfoClassName = fieldInfoClassName(fieldClass);
-            final String targetFieldInfoPackage = getFieldInfoPackage(fieldClass);
-            final String targetPackage = getDslModelPackage(fieldClass);
-            final String wrapperFqcn = getWrapperPackage(modelClazz) + "." + modelClazz.getSimpleName() + "Wrapper";
-            final File targetFile = new File(outputDirectory.get(), targetPackage.replace('.', '/')
-                    + "/" + targetClassName + ".java");
-            createDirectories(targetFile.getParentFile().toPath());
-            final Map<String, String> conf = new HashMap<>();
-            conf.put("package.name", targetPackage);
-            conf.put("process.class", fieldClass.getName());
-            conf.put("process.date", ofLocalizedDateTime(SHORT).format(now()));
-            conf.put("process.base.class.package", baseClazz.getPackage().getName());
-            conf.put("target.class.name", targetClassName);
-            conf.put("model.class.name", modelClazz.getSimpleName());
-            conf.put("process.field.info.class", targetFieldInfoPackage + "." + fieldInfoClassName);
-            conf.put("imports", DslMethodsGen.imports(fieldInfoMap, typeProvider, dslEntrypointMethods.get() ?
-                    Arrays.asList(wrapperFqcn,
-                            modelClazz.getName(),
-                            DefaultStepWhen.class.getName(),
-                            DefaultValidationRule.class.getName(),
-                            Result.class.getName(),
-                            StepCondition.class.getName(),
-                            StepWhen.class.getName(),
-                            RuleRegistry.class.getName()) : Collections.emptyList()));
-            conf.put("fields", fields(fieldInfoMap, typeProvider, enumFieldInfo.get()));
-            conf.put("methods", iterableMethods(fieldInfoMap, typeProvider));
-            String entryPointMethods = dslEntrypointMethods.get() ? MacroProcessor.replaceProperties(Templates.dslEntrypointMethod, conf) : "";
-            conf.put("entrypoint", entryPointMethods);
-            conf.put("source.generator.name", getClass().getName());
-            final String content = MacroProcessor.replaceProperties(Templates.dslFieldModel, conf);
-            Files.write(content, targetFile, Charset.forName("UTF8"));
-            getLogger().info("written : " + targetFile);
-        } catch (IOException e) {
-            throw new GradleException("error when generating wrapper", e);
-        }
+        final String targetClassName = dslFieldsClassName(modelClazz);
+        final String fieldInfoClassName = fieldInfoClassName(fieldClass);
+        final String targetFieldInfoPackage = getFieldInfoPackage(fieldClass);
+        final String targetPackage = getDslModelPackage(fieldClass);
+        final String wrapperFqcn = getWrapperPackage(modelClazz) + "." + modelClazz.getSimpleName() + "Wrapper";
+        final File targetFile = new File(outputDirectory.get(), targetPackage.replace('.', '/')
+                + "/" + targetClassName + ".java");
+        final Map<String, String> conf = new HashMap<>();
+        conf.put("package.name", targetPackage);
+        conf.put("process.class", fieldClass.getName());
+        conf.put("process.date", ofLocalizedDateTime(SHORT).format(now()));
+        conf.put("process.base.class.package", baseClazz.getPackage().getName());
+        conf.put("target.class.name", targetClassName);
+        conf.put("model.class.name", modelClazz.getSimpleName());
+        conf.put("process.field.info.class", targetFieldInfoPackage + "." + fieldInfoClassName);
+        conf.put("imports", DslMethodsGen.imports(fieldInfoMap, typeProvider, dslEntrypointMethods.get() ?
+                Arrays.asList(wrapperFqcn,
+                        modelClazz.getName(),
+                        DefaultStepWhen.class.getName(),
+                        DefaultValidationRule.class.getName(),
+                        Result.class.getName(),
+                        StepCondition.class.getName(),
+                        StepWhen.class.getName(),
+                        RuleRegistry.class.getName()) : Collections.emptyList()));
+        conf.put("fields", fields(fieldInfoMap, typeProvider, enumFieldInfo.get()));
+        conf.put("methods", iterableMethods(fieldInfoMap, typeProvider));
+        String entryPointMethods = dslEntrypointMethods.get() ? MacroProcessor.replaceProperties(Templates.dslEntrypointMethod, conf) : "";
+        conf.put("entrypoint", entryPointMethods);
+        conf.put("source.generator.name", getClass().getName());
+        state.add(targetFile, Templates.dslFieldModel, conf);
     }
 
     private static String dslFieldsClassName(Class<?> clazz) {
         return "Dsl" + (clazz.getSimpleName().startsWith("E") ? clazz.getSimpleName().substring(1) : clazz.getSimpleName());
     }
 
-    private void generateWrapper(Map<FieldId, VisitorPath> fieldPaths,
+    private void generateWrapper(GenerationState state,
+            Map<FieldId, VisitorPath> fieldPaths,
             Class<?> modelClass,
             Class<?> fieldClass,
             Class<? extends FieldModel> baseClazz,
-            Class<? extends TypeAdapterRegistry> typeAdapterClazz) throws RuntimeException {
-        try {
-            final String targetClassName = modelClass.getSimpleName() + "Wrapper";
-            final String targetFieldInfoPackage = getFieldInfoPackage(fieldClass);
-            final String targetPackage = getWrapperPackage(modelClass);
-            final File targetFile = new File(outputDirectory.get(), targetPackage.replace('.', '/')
-                    + "/" + targetClassName + ".java");
-            createDirectories(targetFile.getParentFile().toPath());
-            Map<String, String> conf = new HashMap<>();
-            conf.put("package.name", targetPackage);
-            conf.put("process.class", modelClass.getCanonicalName());
-            conf.put("process.base.class.package", baseClazz.getCanonicalName());
-            conf.put("process.base.class.name", baseClassName(baseClazz, modelClass));
-            conf.put("process.date", ofLocalizedDateTime(SHORT).format(now()));
-            conf.put("type.adapter.class.package", typeAdapterClazz.getCanonicalName());
-            conf.put("type.adapter.class.name", typeAdapterClazz.getSimpleName());
-            conf.put("constructors", mapConstructors(targetClassName, baseClazz, modelClass));
-            conf.put("target.model.class.name", modelClass.getSimpleName());
-            conf.put("target.model.class.full.name", modelClass.getName());
-            conf.put("target.field.info.package.name", targetFieldInfoPackage);
-            conf.put("target.field.info.class.name", fieldInfoClassName(fieldClass));
-            conf.put("target.class.name", targetClassName);
-            conf.put("map.getter", mapGetter(fieldPaths));
-            conf.put("map.getter.if", mapFieldTypeIfStatement(Templates.mapGetIf, fieldPaths));
-            conf.put("map.setter", mapSetter(fieldPaths));
-            conf.put("map.setter.if", mapFieldTypeIfStatement(Templates.mapSetIf, fieldPaths));
-            conf.put("map.properties", mapFieldProperties(fieldPaths, modelClass));
-            conf.put("source.generator.name", getClass().getName());
-
-            String content = MacroProcessor.replaceProperties(Templates.wrapperClass, conf);
-            Files.write(content, targetFile, Charset.forName("UTF8"));
-            getLogger().info("written : " + targetFile);
-        } catch (IOException e) {
-            throw new GradleException("error when generating wrapper", e);
-        }
+            Class<? extends TypeAdapterRegistry> typeAdapterClazz,
+            String copierClassName) {
+        final String targetClassName = modelClass.getSimpleName() + "Wrapper";
+        final String targetFieldInfoPackage = getFieldInfoPackage(fieldClass);
+        final String targetPackage = getWrapperPackage(modelClass);
+        final File targetFile = new File(outputDirectory.get(), targetPackage.replace('.', '/')
+                + "/" + targetClassName + ".java");
+        Map<String, String> conf = new HashMap<>();
+        conf.put("package.name", targetPackage);
+        conf.put("process.class", modelClass.getCanonicalName());
+        conf.put("process.base.class.package", baseClazz.getCanonicalName());
+        conf.put("process.base.class.name", baseClassName(baseClazz, modelClass));
+        conf.put("process.date", ofLocalizedDateTime(SHORT).format(now()));
+        conf.put("type.adapter.class.package", typeAdapterClazz.getCanonicalName());
+        conf.put("type.adapter.class.name", typeAdapterClazz.getSimpleName());
+        conf.put("constructors", mapConstructors(targetClassName, baseClazz, modelClass));
+        conf.put("target.model.class.name", modelClass.getSimpleName());
+        conf.put("target.model.class.full.name", modelClass.getName());
+        conf.put("target.field.info.package.name", targetFieldInfoPackage);
+        conf.put("target.field.info.class.name", fieldInfoClassName(fieldClass));
+        conf.put("target.class.name", targetClassName);
+        conf.put("map.getter", mapGetter(fieldPaths));
+        conf.put("map.primitive.getter", mapPrimitiveGetter(fieldPaths));
+        conf.put("map.getter.if", mapFieldTypeIfStatement(Templates.mapGetIf, fieldPaths));
+        conf.put("map.setter", mapSetter(fieldPaths));
+        conf.put("map.setter.if", mapFieldTypeIfStatement(Templates.mapSetIf, fieldPaths));
+        conf.put("map.properties", mapFieldProperties(fieldPaths, modelClass));
+        conf.putAll(dirtyTracking(dirtyTracking.getOrElse(false)));
+        conf.put("copier.registration", copierClassName == null ? "" : MacroProcessor.replaceProperties(
+                Templates.copierRegistration, Collections.singletonMap("copier.class.name", copierClassName)));
+        conf.put("source.generator.name", getClass().getName());
+
+        state.add(targetFile, Templates.wrapperClass, conf);
+    }
+
+    private String generateCopier(GenerationState state,
+            Map<FieldId, VisitorPath> fieldPaths,
+            Map<FieldId, VisitorPath> targetFieldPaths,
+            Class<?> modelClass,
+            Class<?> targetModelClass) {
+        final String targetClassName = modelClass.getSimpleName() + "To" + targetModelClass.getSimpleName() + "Copier";
+        final String targetPackage = getWrapperPackage(modelClass);
+        final String targetWrapperPackage = copyTargetWrapperPackage.getOrElse(targetModelClass.equals(modelClass)
+                ? targetPackage : targetModelClass.getPackage().getName());
+        final File targetFile = new File(outputDirectory.get(), targetPackage.replace('.', '/')
+                + "/" + targetClassName + ".java");
+        final Map<String, String> conf = new HashMap<>(mapCopier(fieldPaths, targetFieldPaths,
+                copierCodes(copyMapping.getOrNull()), getLogger()));
+        conf.put("package.name", targetPackage);
+        conf.put("process.class", modelClass.getCanonicalName());
+        conf.put("target.process.class", targetModelClass.getCanonicalName());
+        conf.put("process.date", ofLocalizedDateTime(SHORT).format(now()));
+        conf.put("target.class.name", targetClassName);
+        conf.put("in.wrapper.class.name", targetPackage + "." + modelClass.getSimpleName() + "Wrapper");
+        conf.put("out.wrapper.class.name", targetWrapperPackage + "." + targetModelClass.getSimpleName() + "Wrapper");
+        conf.put("in.model.class.name", modelClass.getCanonicalName());
+        conf.put("out.model.class.name", targetModelClass.getCanonicalName());
+        conf.put("source.generator.name", getClass().getName());
+        state.add(targetFile, Templates.copierClass, conf);
+        return targetClassName;
     }
 
     private String baseClassName(Class<? extends FieldModel> baseClazz, Class<?> modelClass) {
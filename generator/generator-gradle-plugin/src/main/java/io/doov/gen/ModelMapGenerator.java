@@ -21,6 +21,12 @@ public class ModelMapGenerator {
     private String fieldInfoPackage;
     private String dslModelPackage;
     private Boolean dslEntrypointMethods;
+    private Boolean dirtyTracking;
+    private String copyTargetClass;
+    private String copyTargetFieldClass;
+    private String copyTargetPackageFilter;
+    private String copyTargetWrapperPackage;
+    private String copyMapping;
 
     public ModelMapGenerator(String name, Project project) {
         this.name = name;
@@ -28,6 +34,7 @@ public class ModelMapGenerator {
         this.outputResourceDirectory = new File(project.getBuildDir(), "doov/" + name);
         this.enumFieldInfo = true;
         this.dslEntrypointMethods = true;
+        this.dirtyTracking = false;
     }
 
     public String getName() {
@@ -146,4 +153,52 @@ public class ModelMapGenerator {
         this.dslEntrypointMethods = dslEntrypointMethods;
     }
 
+    public Boolean getDirtyTracking() {
+        return dirtyTracking;
+    }
+
+    public void setDirtyTracking(Boolean dirtyTracking) {
+        this.dirtyTracking = dirtyTracking;
+    }
+
+    public String getCopyTargetClass() {
+        return copyTargetClass;
+    }
+
+    public void setCopyTargetClass(String copyTargetClass) {
+        this.copyTargetClass = copyTargetClass;
+    }
+
+    public String getCopyTargetFieldClass() {
+        return copyTargetFieldClass;
+    }
+
+    public void setCopyTargetFieldClass(String copyTargetFieldClass) {
+        this.copyTargetFieldClass = copyTargetFieldClass;
+    }
+
+    public String getCopyTargetPackageFilter() {
+        return copyTargetPackageFilter;
+    }
+
+    public void setCopyTargetPackageFilter(String copyTargetPackageFilter) {
+        this.copyTargetPackageFilter = copyTargetPackageFilter;
+    }
+
+    public String getCopyTargetWrapperPackage() {
+        return copyTargetWrapperPackage;
+    }
+
+    public void setCopyTargetWrapperPackage(String copyTargetWrapperPackage) {
+        this.copyTargetWrapperPackage = copyTargetWrapperPackage;
+    }
+
+    public String getCopyMapping() {
+        return copyMapping;
+    }
+
+    public void setCopyMapping(String copyMapping) {
+        this.copyMapping = copyMapping;
+    }
+
 }
@@ -0,0 +1,51 @@
+package io.doov.gen;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.gradle.api.Project;
+
+public class RuleImageGenerator {
+
+    private final String name;
+    private File outputDirectory;
+    private String imageName;
+    private List<String> ruleClasses;
+
+    public RuleImageGenerator(String name, Project project) {
+        this.name = name;
+        this.outputDirectory = new File(project.getBuildDir(), "doov-image/" + name);
+        this.imageName = name + ".rules";
+        this.ruleClasses = new ArrayList<>();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public File getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    public void setOutputDirectory(File outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    public String getImageName() {
+        return imageName;
+    }
+
+    public void setImageName(String imageName) {
+        this.imageName = imageName;
+    }
+
+    public List<String> getRuleClasses() {
+        return ruleClasses;
+    }
+
+    public void setRuleClasses(List<String> ruleClasses) {
+        this.ruleClasses = ruleClasses;
+    }
+
+}
@@ -0,0 +1,85 @@
+package io.doov.gen;
+
+import java.io.*;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.*;
+
+import io.doov.core.dsl.impl.RuleImage;
+
+/**
+ * Writes the {@link RuleImage} of the rules declared as public static final fields of the configured classes, to be
+ * read at startup with {@link RuleImage#read(InputStream)}.
+ */
+public class RuleImageTask extends DefaultTask {
+
+    private FileCollection classpath;
+    private final Property<File> outputDirectory;
+    private final Property<String> imageName;
+    private final ListProperty<String> ruleClasses;
+
+    public RuleImageTask() {
+        this.outputDirectory = getProject().getObjects().property(File.class);
+        this.imageName = getProject().getObjects().property(String.class);
+        this.ruleClasses = getProject().getObjects().listProperty(String.class);
+    }
+
+    @Classpath
+    public FileCollection getClasspath() {
+        return classpath;
+    }
+
+    public void setClasspath(FileCollection classpath) {
+        this.classpath = classpath;
+    }
+
+    @OutputDirectory
+    public Property<File> getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    @Input
+    public Property<String> getImageName() {
+        return imageName;
+    }
+
+    @Input
+    public ListProperty<String> getRuleClasses() {
+        return ruleClasses;
+    }
+
+    @TaskAction
+    public void action() {
+        URL[] urls = classpath.getFiles().stream().map(f -> {
+            try {
+                return f.toURI().toURL();
+            } catch (MalformedURLException e) {
+                throw new GradleException("Unable to load " + f, e);
+            }
+        }).toArray(URL[]::new);
+        final File targetFile = new File(outputDirectory.get(), imageName.get());
+        try (URLClassLoader classLoader = new URLClassLoader(urls, getClass().getClassLoader())) {
+            List<Class<?>> classes = new ArrayList<>();
+            for (String ruleClass : ruleClasses.get()) {
+                classes.add(Class.forName(ruleClass, true, classLoader));
+            }
+            targetFile.getParentFile().mkdirs();
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(targetFile))) {
+                RuleImage.write(classes, out);
+            }
+            getLogger().info("written : " + targetFile);
+        } catch (Exception e) {
+            throw new GradleException("rule image generation failed for " + ruleClasses.get(), e);
+        }
+    }
+
+}
@@ -26,6 +26,7 @@ import static java.time.LocalDateTime.now;
 import static java.time.format.DateTimeFormatter.ofLocalizedDateTime;
 import static java.time.format.FormatStyle.SHORT;
 import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static org.apache.maven.plugins.annotations.LifecyclePhase.GENERATE_SOURCES;
 
@@ -33,7 +34,6 @@ import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Method;
 import java.net.URLClassLoader;
-import java.nio.charset.Charset;
 import java.util.*;
 
 import org.apache.maven.plugin.*;
@@ -43,8 +43,6 @@ import org.apache.maven.project.MavenProject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.io.Files;
-
 import io.doov.core.*;
 import io.doov.core.dsl.field.FieldTypeProvider;
 import io.doov.core.dsl.field.FieldTypes;
@@ -114,6 +112,24 @@ public final class ModelMapGenMojo extends AbstractMojo {
     @Parameter(defaultValue = "true")
     private boolean dslEntrypointMethods;
 
+    @Parameter(defaultValue = "false")
+    private boolean dirtyTracking;
+
+    @Parameter
+    private String copyTargetClass;
+
+    @Parameter
+    private String copyTargetFieldClass;
+
+    @Parameter
+    private String copyTargetPackageFilter;
+
+    @Parameter
+    private String copyTargetWrapperPackage;
+
+    @Parameter
+    private String copyMapping;
+
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
         if (sourceClass == null) {
@@ -141,6 +157,12 @@ public final class ModelMapGenMojo extends AbstractMojo {
         }
 
         final URLClassLoader classLoader = ClassLoaderUtils.getUrlClassLoader(project);
+        final GenerationState state = GenerationState.load(outputDirectory);
+        final String configuration = configuration();
+        if (state.isUpToDate(configuration, classLoader)) {
+            getLog().info("model classes did not change, skipping generation");
+            return;
+        }
         try {
             List<FieldPath> fieldPaths = fieldPathProvider != null
                     ? loadClassWithType(this.fieldPathProvider, FieldPathProvider.class, null, classLoader)
@@ -154,17 +176,25 @@ public final class ModelMapGenMojo extends AbstractMojo {
                     TypeAdapterRegistry.class, TypeAdapters.class, classLoader);
             FieldTypeProvider typeProvider = loadClassWithType(fieldInfoTypes,
                     FieldTypeProvider.class, FieldTypes.class, classLoader).newInstance();
-            generateModels(fieldClazz, modelClazz, baseClazz, typeAdapterClazz, typeProvider, fieldPaths);
+            generateModels(state, configuration, fieldClazz, modelClazz, baseClazz, typeAdapterClazz, typeProvider,
+                    fieldPaths);
         } catch (Exception e) {
             throw new MojoExecutionException(e.getMessage(), e);
         }
 
     }
 
+    private String configuration() {
+        return asList(outputResourceDirectory, sourceClass, fieldClass, packageFilter, fieldPathProvider, baseClass,
+                typeAdapters, enumFieldInfo, fieldInfoTypes, wrapperPackage, fieldInfoPackage, dslModelPackage,
+                dslEntrypointMethods, dirtyTracking, copyTargetClass, copyTargetFieldClass, copyTargetPackageFilter,
+                copyTargetWrapperPackage, copyMapping).stream().map(String::valueOf).collect(joining(";"));
+    }
+
     private <T> Class<? extends T> loadClassWithType(String className,
             Class<T> type,
             Class<? extends T> defaultClass,
-            URLClassLoader classLoader)
+            ClassLoader classLoader)
             throws MojoExecutionException, ClassNotFoundException {
         Class<? extends T> classToLoad = defaultClass;
         if (className != null) {
@@ -177,28 +207,56 @@ public final class ModelMapGenMojo extends AbstractMojo {
         return classToLoad;
     }
 
-    private void generateModels(Class<? extends FieldId> fieldClazz,
+    private void generateModels(GenerationState state,
+            String configuration,
+            Class<? extends FieldId> fieldClazz,
             Class<?> modelClazz,
             Class<? extends FieldModel> baseClazz,
             Class<? extends TypeAdapterRegistry> typeAdapterClazz,
             FieldTypeProvider typeProvider,
             List<FieldPath> fieldPaths) {
         try {
+            final Set<Class<?>> visitedClasses = new LinkedHashSet<>();
             final List<VisitorPath> collected;
             if (fieldPaths.isEmpty()) {
-                collected = process(modelClazz, packageFilter, fieldClazz);
+                collected = process(modelClazz, packageFilter, fieldClazz, visitedClasses);
             } else {
                 collected = fieldPaths.stream().map(this::createVisitorPath).collect(toList());
             }
             final Map<FieldId, VisitorPath> fieldPathMap = validatePath(collected, logger);
             final Map<FieldId, GeneratorFieldInfo> fieldInfoMap = createFieldInfos(fieldPathMap);
-            Runnable generateCsv = () -> generateCsv(fieldPathMap, modelClazz);
-            Runnable generateWrapper = () -> generateWrapper(fieldPathMap, modelClazz, fieldClazz, baseClazz,
-                    typeAdapterClazz);
-            Runnable generateFieldInfo = () -> generateFieldInfo(fieldInfoMap, fieldClazz);
-            Runnable generateDslFields = () -> generateDslFields(fieldInfoMap, modelClazz, fieldClazz, baseClazz, typeProvider);
-            asList(generateWrapper, generateCsv, generateFieldInfo, generateDslFields).parallelStream()
-                    .forEach(Runnable::run);
+            final Set<Class<?>> classes = GenerationState.visitedClasses(fieldPathMap.values());
+            classes.addAll(asList(modelClazz, fieldClazz, baseClazz, typeAdapterClazz, typeProvider.getClass()));
+            if (fieldPathProvider != null) {
+                classes.add(Class.forName(fieldPathProvider, false, modelClazz.getClassLoader()));
+            }
+            final String copierClassName;
+            if (copyTargetClass != null) {
+                final Class<?> targetClazz = Class.forName(copyTargetClass, true, modelClazz.getClassLoader());
+                final Class<? extends FieldId> targetFieldClazz = loadClassWithType(copyTargetFieldClass,
+                        FieldId.class, fieldClazz, modelClazz.getClassLoader());
+                final Map<FieldId, VisitorPath> targetPathMap;
+                if (targetClazz.equals(modelClazz) && targetFieldClazz.equals(fieldClazz)) {
+                    targetPathMap = fieldPathMap;
+                } else {
+                    targetPathMap = validatePath(process(targetClazz,
+                            copyTargetPackageFilter == null ? packageFilter : copyTargetPackageFilter,
+                            targetFieldClazz, visitedClasses), logger);
+                }
+                classes.addAll(GenerationState.visitedClasses(targetPathMap.values()));
+                classes.addAll(asList(targetClazz, targetFieldClazz));
+                copierClassName = generateCopier(state, fieldPathMap, targetPathMap, modelClazz, targetClazz);
+            } else {
+                copierClassName = null;
+            }
+            classes.addAll(visitedClasses);
+            state.inputs(configuration, classes);
+            generateWrapper(state, fieldPathMap, modelClazz, fieldClazz, baseClazz, typeAdapterClazz,
+                    copierClassName);
+            generateCsv(state, fieldPathMap, modelClazz);
+            generateFieldInfo(state, fieldInfoMap, fieldClazz);
+            generateDslFields(state, fieldInfoMap, modelClazz, fieldClazz, baseClazz, typeProvider);
+            state.generate().forEach(file -> getLog().info("written : " + file));
         } catch (Exception e) {
             throw new RuntimeException("generation failed for class " + modelClazz, e);
         }
@@ -222,42 +280,38 @@ public final class ModelMapGenMojo extends AbstractMojo {
                 readMethod, writeMethod, p.isTransient(), cannonicalReplacement);
     }
 
-    private List<VisitorPath> process(Class<?> projetClass, String filter, Class<? extends FieldId> fieldClass)
-            throws Exception {
+    private List<VisitorPath> process(Class<?> projetClass, String filter, Class<? extends FieldId> fieldClass,
+            Set<Class<?>> visitedClasses) throws Exception {
         final List<VisitorPath> collected = new ArrayList<>();
-        new ModelVisitor(logger).visitModel(projetClass, fieldClass, new Visitor(projetClass, collected), filter);
+        final Visitor visitor = new Visitor(projetClass, collected);
+        new ModelVisitor(logger).visitModel(projetClass, fieldClass, visitor, filter);
+        visitedClasses.addAll(visitor.visitedClasses());
         return collected;
     }
 
-    private void generateCsv(Map<FieldId, VisitorPath> fieldPaths, Class<?> clazz) {
+    private void generateCsv(GenerationState state, Map<FieldId, VisitorPath> fieldPaths, Class<?> clazz) {
         final File targetFile = new File(outputResourceDirectory, clazz.getSimpleName() + ".csv");
-        targetFile.getParentFile().mkdirs();
-        FieldCsvGen.write(targetFile, fieldPaths);
-        getLog().info("written : " + targetFile);
+        final String content = FieldCsvGen.toCsv(fieldPaths);
+        state.add(targetFile, content, () -> content);
     }
 
-    private void generateFieldInfo(Map<FieldId, GeneratorFieldInfo> fieldInfoMap, Class<?> fieldClass) {
-        try {
-            final String targetClassName = fieldInfoClassName(fieldClass);
-            final String targetPackage = fieldInfoPackage(fieldClass);
-            final File targetFile = new File(outputDirectory + "/" + targetPackage.replace('.', '/'),
-                    targetClassName + ".java");
-            final String classTemplate = enumFieldInfo ? Templates.fieldInfoEnum : Templates.fieldInfoClass;
-            createDirectories(targetFile.getParentFile().toPath());
-            final Map<String, String> conf = new HashMap<>();
-            conf.put("package.name", targetPackage);
-            conf.put("process.class", fieldClass.getName());
-            conf.put("process.date", ofLocalizedDateTime(SHORT).format(now()));
-            conf.put("target.class.name", targetClassName);
-            conf.put("imports", FieldInfoGen.imports(fieldInfoMap));
-            conf.put("constants", constants(fieldInfoMap, enumFieldInfo));
-            conf.put("source.generator.name", getClass().getName());
-            final String content = MacroProcessor.replaceProperties(classTemplate, conf);
-            Files.write(content, targetFile, Charset.forName("UTF8"));
-            getLog().info("written : " + targetFile);
-        } catch (IOException e) {
-            throw new RuntimeException("error when generating wrapper", e);
-        }
+    private void generateFieldInfo(GenerationState state,
+            Map<FieldId, GeneratorFieldInfo> fieldInfoMap,
+            Class<?> fieldClass) {
+        final String targetClassName = fieldInfoClassName(fieldClass);
+        final String targetPackage = fieldInfoPackage(fieldClass);
+        final File targetFile = new File(outputDirectory + "/" + targetPackage.replace('.', '/'),
+                targetClassName + ".java");
+        final String classTemplate = enumFieldInfo ? Templates.fieldInfoEnum : Templates.fieldInfoClass;
+        final Map<String, String> conf = new HashMap<>();
+        conf.put("package.name", targetPackage);
+        conf.put("process.class", fieldClass.getName());
+        conf.put("process.date", ofLocalizedDateTime(SHORT).format(now()));
+        conf.put("target.class.name", targetClassName);
+        conf.put("imports", FieldInfoGen.imports(fieldInfoMap));
+        conf.put("constants", constants(fieldInfoMap, enumFieldInfo));
+        conf.put("source.generator.name", getClass().getName());
+        state.add(targetFile, classTemplate, conf);
     }
 
     private static String fieldInfoClassName(Class<?> clazz) {
@@ -265,95 +319,114 @@ public final class ModelMapGenMojo extends AbstractMojo {
                 : clazz.getSimpleName() + "Info";
     }
 
-    private void generateDslFields(Map<FieldId, GeneratorFieldInfo> fieldInfoMap,
+    private void generateDslFields(GenerationState state,
+            Map<FieldId, GeneratorFieldInfo> fieldInfoMap,
             Class<?> modelClazz,
             Class<?> fieldClass,
             Class<? extends FieldModel> baseClazz,
             FieldTypeProvider typeProvider) {
-        try {
-            final String targetClassName = dslFieldsClassName(modelClazz);
-            final String fieldInfoClassName = fieldInfoClassName(fieldClass);
-            final String targetFieldInfoPackage = fieldInfoPackage(fieldClass);
-            final String targetPackage = dslModelPackage(fieldClass);
-            final String wrapperFqcn = wrapperPackage(modelClazz) + "." + modelClazz.getSimpleName() + "Wrapper";
-            final File targetFile = new File(outputDirectory + "/" + targetPackage.replace('.', '/'),
-                    targetClassName + ".java");
-            createDirectories(targetFile.getParentFile().toPath());
-            final Map<String, String> conf = new HashMap<>();
-            conf.put("package.name", targetPackage);
-            conf.put("process.class", fieldClass.getName());
-            conf.put("process.date", ofLocalizedDateTime(SHORT).format(now()));
-            conf.put("process.base.class.package", baseClazz.getPackage().getName());
-            conf.put("target.class.name", targetClassName);
-            conf.put("model.class.name", modelClazz.getSimpleName());
-            conf.put("process.field.info.class", targetFieldInfoPackage + "." + fieldInfoClassName);
-            conf.put("imports", DslMethodsGen.imports(fieldInfoMap, typeProvider,
-                    Arrays.asList(wrapperFqcn,
-                            modelClazz.getName(),
-                            DefaultStepWhen.class.getName(),
-                            DefaultValidationRule.class.getName(),
-                            Result.class.getName(),
-                            StepCondition.class.getName(),
-                            StepWhen.class.getName(),
-                            RuleRegistry.class.getName())));
-            conf.put("fields", fields(fieldInfoMap, typeProvider, enumFieldInfo));
-            conf.put("methods", iterableMethods(fieldInfoMap, typeProvider));
-            String entryPointMethods = dslEntrypointMethods ? MacroProcessor.replaceProperties(Templates.dslEntrypointMethod, conf) : "";
-            conf.put("entrypoint", entryPointMethods);
-            conf.put("source.generator.name", getClass().getName());
-            final String content = MacroProcessor.replaceProperties(Templates.dslFieldModel, conf);
-            Files.write(content, targetFile, Charset.forName("UTF8"));
-            getLog().info("written : " + targetFile);
-        } catch (IOException e) {
-            throw new RuntimeException("error when generating wrapper", e);
-        }
+        final String targetClassName = dslFieldsClassName(modelClazz);
+        final String fieldInfoClassName = fieldInfoClassName(fieldClass);
+        final String targetFieldInfoPackage = fieldInfoPackage(fieldClass);
+        final String targetPackage = dslModelPackage(fieldClass);
+        final String wrapperFqcn = wrapperPackage(modelClazz) + "." + modelClazz.getSimpleName() + "Wrapper";
+        final File targetFile = new File(outputDirectory + "/" + targetPackage.replace('.', '/'),
+                targetClassName + ".java");
+        final Map<String, String> conf = new HashMap<>();
+        conf.put("package.name", targetPackage);
+        conf.put("process.class", fieldClass.getName());
+        conf.put("process.date", ofLocalizedDateTime(SHORT).format(now()));
+        conf.put("process.base.class.package", baseClazz.getPackage().getName());
+        conf.put("target.class.name", targetClassName);
+        conf.put("model.class.name", modelClazz.getSimpleName());
+        conf.put("process.field.info.class", targetFieldInfoPackage + "." + fieldInfoClassName);
+        conf.put("imports", DslMethodsGen.imports(fieldInfoMap, typeProvider,
+                Arrays.asList(wrapperFqcn,
+                        modelClazz.getName(),
+                        DefaultStepWhen.class.getName(),
+                        DefaultValidationRule.class.getName(),
+                        Result.class.getName(),
+                        StepCondition.class.getName(),
+                        StepWhen.class.getName(),
+                        RuleRegistry.class.getName())));
+        conf.put("fields", fields(fieldInfoMap, typeProvider, enumFieldInfo));
+        conf.put("methods", iterableMethods(fieldInfoMap, typeProvider));
+        String entryPointMethods = dslEntrypointMethods ? MacroProcessor.replaceProperties(Templates.dslEntrypointMethod, conf) : "";
+        conf.put("entrypoint", entryPointMethods);
+        conf.put("source.generator.name", getClass().getName());
+        state.add(targetFile, Templates.dslFieldModel, conf);
     }
 
     private static String dslFieldsClassName(Class<?> clazz) {
         return "Dsl" + (clazz.getSimpleName().startsWith("E") ? clazz.getSimpleName().substring(1) : clazz.getSimpleName());
     }
 
-    private void generateWrapper(Map<FieldId, VisitorPath> fieldPaths,
+    private void generateWrapper(GenerationState state,
+            Map<FieldId, VisitorPath> fieldPaths,
             Class<?> modelClass,
             Class<?> fieldClass,
             Class<? extends FieldModel> baseClazz,
-            Class<? extends TypeAdapterRegistry> typeAdapterClazz) throws RuntimeException {
-        try {
-            final String targetClassName = modelClass.getSimpleName() + "Wrapper";
-            final String targetFieldInfoPackage = fieldInfoPackage(fieldClass);
-            final String targetPackage = wrapperPackage(modelClass);
-            final File targetFile = new File(outputDirectory + "/" + targetPackage.replace('.', '/'),
-                    targetClassName + ".java");
-
-            createDirectories(targetFile.getParentFile().toPath());
-
-            Map<String, String> conf = new HashMap<>();
-            conf.put("package.name", targetPackage);
-            conf.put("process.class", modelClass.getCanonicalName());
-            conf.put("process.base.class.package", baseClazz.getCanonicalName());
-            conf.put("process.base.class.name", baseClassName(baseClazz, modelClass));
-            conf.put("process.date", ofLocalizedDateTime(SHORT).format(now()));
-            conf.put("type.adapter.class.package", typeAdapterClazz.getCanonicalName());
-            conf.put("type.adapter.class.name", typeAdapterClazz.getSimpleName());
-            conf.put("constructors", mapConstructors(targetClassName, baseClazz, modelClass));
-            conf.put("target.model.class.name", modelClass.getSimpleName());
-            conf.put("target.model.class.full.name", modelClass.getName());
-            conf.put("target.field.info.package.name", targetFieldInfoPackage);
-            conf.put("target.field.info.class.name", fieldInfoClassName(fieldClass));
-            conf.put("target.class.name", targetClassName);
-            conf.put("map.getter", mapGetter(fieldPaths));
-            conf.put("map.getter.if", mapFieldTypeIfStatement(Templates.mapGetIf, fieldPaths));
-            conf.put("map.setter", mapSetter(fieldPaths));
-            conf.put("map.setter.if", mapFieldTypeIfStatement(Templates.mapSetIf, fieldPaths));
-            conf.put("map.properties", mapFieldProperties(fieldPaths, modelClass));
-            conf.put("source.generator.name", getClass().getName());
-
-            String content = MacroProcessor.replaceProperties(Templates.wrapperClass, conf);
-            Files.write(content, targetFile, Charset.forName("UTF8"));
-            getLog().info("written : " + targetFile);
-        } catch (IOException e) {
-            throw new RuntimeException("error when generating wrapper", e);
-        }
+            Class<? extends TypeAdapterRegistry> typeAdapterClazz,
+            String copierClassName) {
+        final String targetClassName = modelClass.getSimpleName() + "Wrapper";
+        final String targetFieldInfoPackage = fieldInfoPackage(fieldClass);
+        final String targetPackage = wrapperPackage(modelClass);
+        final File targetFile = new File(outputDirectory + "/" + targetPackage.replace('.', '/'),
+                targetClassName + ".java");
+
+        Map<String, String> conf = new HashMap<>();
+        conf.put("package.name", targetPackage);
+        conf.put("process.class", modelClass.getCanonicalName());
+        conf.put("process.base.class.package", baseClazz.getCanonicalName());
+        conf.put("process.base.class.name", baseClassName(baseClazz, modelClass));
+        conf.put("process.date", ofLocalizedDateTime(SHORT).format(now()));
+        conf.put("type.adapter.class.package", typeAdapterClazz.getCanonicalName());
+        conf.put("type.adapter.class.name", typeAdapterClazz.getSimpleName());
+        conf.put("constructors", mapConstructors(targetClassName, baseClazz, modelClass));
+        conf.put("target.model.class.name", modelClass.getSimpleName());
+        conf.put("target.model.class.full.name", modelClass.getName());
+        conf.put("target.field.info.package.name", targetFieldInfoPackage);
+        conf.put("target.field.info.class.name", fieldInfoClassName(fieldClass));
+        conf.put("target.class.name", targetClassName);
+        conf.put("map.getter", mapGetter(fieldPaths));
+        conf.put("map.primitive.getter", mapPrimitiveGetter(fieldPaths));
+        conf.put("map.getter.if", mapFieldTypeIfStatement(Templates.mapGetIf, fieldPaths));
+        conf.put("map.setter", mapSetter(fieldPaths));
+        conf.put("map.setter.if", mapFieldTypeIfStatement(Templates.mapSetIf, fieldPaths));
+        conf.put("map.properties", mapFieldProperties(fieldPaths, modelClass));
+        conf.putAll(dirtyTracking(dirtyTracking));
+        conf.put("copier.registration", copierClassName == null ? "" : MacroProcessor.replaceProperties(
+                Templates.copierRegistration, Collections.singletonMap("copier.class.name", copierClassName)));
+        conf.put("source.generator.name", getClass().getName());
+
+        state.add(targetFile, Templates.wrapperClass, conf);
+    }
+
+    private String generateCopier(GenerationState state,
+            Map<FieldId, VisitorPath> fieldPaths,
+            Map<FieldId, VisitorPath> targetFieldPaths,
+            Class<?> modelClass,
+            Class<?> targetModelClass) {
+        final String targetClassName = modelClass.getSimpleName() + "To" + targetModelClass.getSimpleName() + "Copier";
+        final String targetPackage = wrapperPackage(modelClass);
+        final String targetWrapperPackage = copyTargetWrapperPackage != null ? copyTargetWrapperPackage
+                : targetModelClass.equals(modelClass) ? targetPackage : targetModelClass.getPackage().getName();
+        final File targetFile = new File(outputDirectory + "/" + targetPackage.replace('.', '/'),
+                targetClassName + ".java");
+        final Map<String, String> conf = new HashMap<>(mapCopier(fieldPaths, targetFieldPaths,
+                copierCodes(copyMapping), logger));
+        conf.put("package.name", targetPackage);
+        conf.put("process.class", modelClass.getCanonicalName());
+        conf.put("target.process.class", targetModelClass.getCanonicalName());
+        conf.put("process.date", ofLocalizedDateTime(SHORT).format(now()));
+        conf.put("target.class.name", targetClassName);
+        conf.put("in.wrapper.class.name", targetPackage + "." + modelClass.getSimpleName() + "Wrapper");
+        conf.put("out.wrapper.class.name", targetWrapperPackage + "." + targetModelClass.getSimpleName() + "Wrapper");
+        conf.put("in.model.class.name", modelClass.getCanonicalName());
+        conf.put("out.model.class.name", targetModelClass.getCanonicalName());
+        conf.put("source.generator.name", getClass().getName());
+        state.add(targetFile, Templates.copierClass, conf);
+        return targetClassName;
     }
 
     private String fieldInfoPackage(Class<?> fieldClass) {
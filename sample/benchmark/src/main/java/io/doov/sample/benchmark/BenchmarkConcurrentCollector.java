@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.sample.benchmark;
+
+import static io.doov.core.dsl.field.FieldInfoBuilder.fieldInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.doov.core.*;
+
+/**
+ * Parallel collect of a large model into a {@link ConcurrentFieldModel}, with an increasing number of threads.
+ */
+@Fork(value = 1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BenchmarkConcurrentCollector {
+
+    private static final int FIELD_COUNT = 100_000;
+
+    @State(Scope.Benchmark)
+    public static class CollectorState {
+
+        @Param({ "1", "2", "4", "8" })
+        int threads;
+
+        ForkJoinPool pool;
+        FieldModel source;
+        ConcurrentFieldModel target;
+
+        @Setup
+        public void setup() {
+            List<FieldInfo> fieldInfos = new ArrayList<>(FIELD_COUNT);
+            for (int i = 0; i < FIELD_COUNT; i++) {
+                String code = "FIELD_" + i;
+                fieldInfo().fieldId(() -> code).type(Integer.class).build(fieldInfos);
+            }
+            source = new ConcurrentFieldModel(fieldInfos);
+            fieldInfos.forEach(info -> source.set(info.id(), info.hashCode()));
+            pool = new ForkJoinPool(threads);
+        }
+
+        @Setup(Level.Invocation)
+        public void newTarget() {
+            target = new ConcurrentFieldModel(source.getFieldInfos());
+        }
+
+        @TearDown
+        public void tearDown() {
+            pool.shutdown();
+        }
+
+    }
+
+    @Benchmark
+    public void collect_concurrent_model(CollectorState state, Blackhole blackhole) throws Exception {
+        ConcurrentFieldModel target = state.pool.submit(() -> state.source.parallelStream()
+                        .collect(FieldModels.toConcurrentFieldModel(state.target))).get();
+        blackhole.consume(target);
+    }
+
+}
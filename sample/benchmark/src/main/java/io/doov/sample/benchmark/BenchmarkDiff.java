@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.sample.benchmark;
+
+import static io.doov.sample.field.SampleFieldId.COUNTRY;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.doov.core.*;
+import io.doov.sample.model.Country;
+import io.doov.sample.model.SampleModels;
+import io.doov.sample.wrapper.SampleModelWrapper;
+
+/**
+ * Compares {@link FieldModels#diff(FieldModel, FieldModel)} against comparing the entry streams of both models.
+ */
+@Fork(value = 1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BenchmarkDiff {
+
+    @State(Scope.Benchmark)
+    public static class DiffState {
+
+        FieldModel before = new SampleModelWrapper(SampleModels.sample());
+        FieldModel after = new SampleModelWrapper(SampleModels.sample());
+        PersistentFieldModel persistentBefore = PersistentFieldModel.of(before);
+        PersistentFieldModel persistentAfter;
+
+        @Setup
+        public void setup() {
+            after.set(COUNTRY, Country.CAN);
+            persistentAfter = persistentBefore.with(COUNTRY, Country.CAN);
+        }
+
+    }
+
+    @Benchmark
+    public void stream_diff(DiffState state, Blackhole blackhole) {
+        Map<FieldId, Object> values = new HashMap<>();
+        state.before.stream().forEach(e -> values.put(e.getKey(), e.getValue()));
+        List<FieldId> changed = new ArrayList<>();
+        state.after.stream().filter(e -> !Objects.equals(values.get(e.getKey()), e.getValue()))
+                        .forEach(e -> changed.add(e.getKey()));
+        if (blackhole != null) {
+            blackhole.consume(changed);
+        }
+    }
+
+    @Benchmark
+    public void field_models_diff(DiffState state, Blackhole blackhole) {
+        FieldModelPatch patch = FieldModels.diff(state.before, state.after);
+        if (blackhole != null) {
+            blackhole.consume(patch);
+        }
+    }
+
+    @Benchmark
+    public void persistent_diff(DiffState state, Blackhole blackhole) {
+        FieldModelPatch patch = FieldModels.diff(state.persistentBefore, state.persistentAfter);
+        if (blackhole != null) {
+            blackhole.consume(patch);
+        }
+    }
+
+}
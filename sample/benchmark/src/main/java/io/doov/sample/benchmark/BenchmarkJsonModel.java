@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.sample.benchmark;
+
+import static io.doov.sample.field.SampleFieldId.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.doov.core.FieldId;
+import io.doov.core.FieldModel;
+import io.doov.core.serial.json.JsonFieldModel;
+import io.doov.core.serial.json.JsonPath;
+import io.doov.sample.wrapper.SampleModelWrapper;
+
+/**
+ * Compares validating a JSON document through a lazy {@link JsonFieldModel} against fully deserializing it into a
+ * {@link SampleModelWrapper} before validation.
+ */
+@Fork(value = 1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BenchmarkJsonModel {
+
+    private static final byte[] JSON = ("{" +
+                    "\"user\":{\"id\":1,\"firstName\":\"Foo\",\"lastName\":\"BAR\"," +
+                    "\"birthDate\":\"1980-08-01\",\"address\":\"41 rue Thiers\",\"tel\":\"0102030405\"}," +
+                    "\"account\":{\"id\":9,\"company\":\"LES_FURETS\",\"creationDate\":\"2017-01-01\"," +
+                    "\"acceptEmail\":true,\"email\":\"foo@bar.com\",\"language\":\"FR\",\"country\":\"FR\"," +
+                    "\"login\":\"foobar\",\"password\":\"PqssW0rd\",\"phoneNumber\":\"+33102030409\"," +
+                    "\"timezone\":\"ETC_GMT\",\"top3WebSite\":[" +
+                    "{\"name\":\"Google\",\"url\":\"www.google.com\"}," +
+                    "{\"name\":\"Bing\",\"url\":\"www.bing.com\"}," +
+                    "{\"name\":\"Yahoo\",\"url\":\"www.yahoo.com\"}]}," +
+                    "\"configuration\":{\"maxEmailSize\":25,\"minAge\":18}" +
+                    "}").getBytes(UTF_8);
+
+    private static final Map<FieldId, JsonPath> PATHS = new HashMap<>();
+
+    static {
+        PATHS.put(USER_ID, JsonPath.parse("user.id"));
+        PATHS.put(FIRST_NAME, JsonPath.parse("user.firstName"));
+        PATHS.put(LAST_NAME, JsonPath.parse("user.lastName"));
+        PATHS.put(BIRTHDATE, JsonPath.parse("user.birthDate"));
+        PATHS.put(ACCOUNT_ID, JsonPath.parse("account.id"));
+        PATHS.put(COMPANY, JsonPath.parse("account.company"));
+        PATHS.put(CREATION_DATE, JsonPath.parse("account.creationDate"));
+        PATHS.put(EMAIL_ACCEPTED, JsonPath.parse("account.acceptEmail"));
+        PATHS.put(EMAIL, JsonPath.parse("account.email"));
+        PATHS.put(LANGUAGE, JsonPath.parse("account.language"));
+        PATHS.put(COUNTRY, JsonPath.parse("account.country"));
+        PATHS.put(LOGIN, JsonPath.parse("account.login"));
+        PATHS.put(PASSWD, JsonPath.parse("account.password"));
+        PATHS.put(PHONE_NUMBER, JsonPath.parse("account.phoneNumber"));
+        PATHS.put(TIMEZONE, JsonPath.parse("account.timezone"));
+        PATHS.put(FAVORITE_SITE_NAME_1, JsonPath.parse("account.top3WebSite[0].name"));
+        PATHS.put(FAVORITE_SITE_NAME_2, JsonPath.parse("account.top3WebSite[1].name"));
+        PATHS.put(FAVORITE_SITE_NAME_3, JsonPath.parse("account.top3WebSite[2].name"));
+        PATHS.put(FAVORITE_SITE_URL_1, JsonPath.parse("account.top3WebSite[0].url"));
+        PATHS.put(FAVORITE_SITE_URL_2, JsonPath.parse("account.top3WebSite[1].url"));
+        PATHS.put(FAVORITE_SITE_URL_3, JsonPath.parse("account.top3WebSite[2].url"));
+        PATHS.put(CONFIGURATION_EMAIL_MAX_SIZE, JsonPath.parse("configuration.maxEmailSize"));
+        PATHS.put(CONFIGURATION_MIN_AGE, JsonPath.parse("configuration.minAge"));
+    }
+
+    @Benchmark
+    public void lazy_json_model(Blackhole blackhole) {
+        FieldModel model = new JsonFieldModel(JSON, SampleModelWrapper.fieldInfos(), PATHS);
+        boolean valid = BenchmarkRule.COUNTRY.executeOn(model).value();
+        if (blackhole != null) {
+            blackhole.consume(valid);
+        }
+    }
+
+    @Benchmark
+    public void full_deserialization(Blackhole blackhole) {
+        SampleModelWrapper model = new SampleModelWrapper();
+        model.setAll(new JsonFieldModel(JSON, SampleModelWrapper.fieldInfos(), PATHS));
+        boolean valid = BenchmarkRule.COUNTRY.executeOn(model).value();
+        if (blackhole != null) {
+            blackhole.consume(valid);
+        }
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.sample.benchmark;
+
+import static io.doov.core.dsl.DOOV.count;
+import static io.doov.core.dsl.DOOV.matchAll;
+import static io.doov.core.dsl.DOOV.min;
+import static io.doov.core.dsl.DOOV.sum;
+import static io.doov.core.dsl.time.LocalDateSuppliers.today;
+import static io.doov.core.dsl.time.TemporalAdjuster.firstDayOfYear;
+import static io.doov.sample.field.dsl.DslSampleModel.*;
+import static io.doov.sample.model.Company.BLABLACAR;
+import static java.time.temporal.ChronoUnit.DAYS;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.sample.model.Country;
+import io.doov.sample.model.Timezone;
+
+/**
+ * Heap footprint of the metadata of the sample rules, built 1000 times. The retained heap per rule set is reported
+ * as the {@code bytesPerRuleSet} secondary result.
+ */
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BenchmarkMetadataFootprint {
+
+    private static final int SCALE = 1000;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+
+        public long bytesPerRuleSet;
+
+    }
+
+    @Benchmark
+    public List<ValidationRule> build_sample_rules(Footprint footprint) {
+        long before = usedHeap();
+        List<ValidationRule> rules = new ArrayList<>();
+        for (int i = 0; i < SCALE; i++) {
+            rules.addAll(sampleRules());
+        }
+        footprint.bytesPerRuleSet = (usedHeap() - before) / SCALE;
+        return rules;
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * The rules of the validation sample, built on each call
+     */
+    static List<ValidationRule> sampleRules() {
+        List<ValidationRule> rules = new ArrayList<>();
+        rules.add(when(accountEmail.matches("\\w+[@]\\w+\\.com")
+                        .or(accountEmail.matches("\\w+[@]\\w+\\.fr"))).validate());
+        rules.add(when(matchAll(userBirthdate.ageAt(today()).greaterOrEquals(18),
+                        accountEmail.length().lesserOrEquals(configurationMaxEmailSize),
+                        accountCountry.eq(Country.FR).and(accountPhoneNumber.startsWith("+33")))).validate());
+        rules.add(when(userBirthdate.ageAt(today()).greaterOrEquals(18)
+                        .and(accountEmail.length().lesserOrEquals(configurationMaxEmailSize))
+                        .and(accountCountry.eq(Country.FR))
+                        .and(accountPhoneNumber.startsWith("+33"))).validate());
+        rules.add(when(count(userFirstName.isNotNull(),
+                        userLastName.isNotNull().and(userLastName.matches("[A-Z]+"))).greaterOrEquals(0))
+                        .validate().withShortCircuit(false));
+        rules.add(when(userLastName.isNotNull().and(userLastName.matches("[A-Z]+")
+                        .and(count(accountPhoneNumber.isNotNull(), accountEmail.isNotNull()).greaterThan(0))))
+                        .validate());
+        rules.add(when(userBirthdate.ageAt(accountCreationDate).greaterOrEquals(18)).validate());
+        rules.add(when(userBirthdate.ageAt(accountCreationDate.with(firstDayOfYear())).greaterOrEquals(18))
+                        .validate());
+        rules.add(when(matchAll(userFirstName.mapToInt(name -> 1).eq(1))).validate());
+        rules.add(when(userId.isNotNull()).validate());
+        rules.add(when(userBirthdate.ageAt(today()).greaterOrEquals(18)).validate());
+        rules.add(when(userBirthdate.after(userBirthdate.minus(1, DAYS))).validate());
+        rules.add(when(sum(configurationMinAge.times(0), configurationMaxEmailSize.times(1)).greaterOrEquals(0))
+                        .validate());
+        rules.add(when(min(configurationMinAge, configurationMaxEmailSize).greaterOrEquals(0)).validate());
+        rules.add(when(favoriteSiteName1.anyMatch(s -> !s.contains("dunno"))).validate());
+        rules.add(when(userBirthdate.mapToInt(LocalDate::getYear).eq(1980)).validate());
+        rules.add(when(accountTimezone.mapToString(Timezone::getDescription).contains("00:00")).validate());
+        rules.add(when(accountCompany.eq(BLABLACAR).not()).validate());
+        return rules;
+    }
+
+}
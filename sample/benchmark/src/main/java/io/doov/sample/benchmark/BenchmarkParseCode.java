@@ -0,0 +1,293 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.sample.benchmark;
+
+import static io.doov.core.dsl.field.FieldInfoBuilder.fieldInfo;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.doov.core.CodeLookup;
+import io.doov.core.CodeValuable;
+import io.doov.core.FieldInfo;
+import io.doov.core.serial.adapter.CodeValuableEnumTypeAdapter;
+
+/**
+ * Parses codes of a 200 constants enum, comparing the cached code table against a linear scan of
+ * {@code getEnumConstants()}.
+ */
+@Fork(value = 1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BenchmarkParseCode {
+
+    public enum LargeCode implements CodeLookup<LargeCode> {
+        C000("code-000"),
+        C001("code-001"),
+        C002("code-002"),
+        C003("code-003"),
+        C004("code-004"),
+        C005("code-005"),
+        C006("code-006"),
+        C007("code-007"),
+        C008("code-008"),
+        C009("code-009"),
+        C010("code-010"),
+        C011("code-011"),
+        C012("code-012"),
+        C013("code-013"),
+        C014("code-014"),
+        C015("code-015"),
+        C016("code-016"),
+        C017("code-017"),
+        C018("code-018"),
+        C019("code-019"),
+        C020("code-020"),
+        C021("code-021"),
+        C022("code-022"),
+        C023("code-023"),
+        C024("code-024"),
+        C025("code-025"),
+        C026("code-026"),
+        C027("code-027"),
+        C028("code-028"),
+        C029("code-029"),
+        C030("code-030"),
+        C031("code-031"),
+        C032("code-032"),
+        C033("code-033"),
+        C034("code-034"),
+        C035("code-035"),
+        C036("code-036"),
+        C037("code-037"),
+        C038("code-038"),
+        C039("code-039"),
+        C040("code-040"),
+        C041("code-041"),
+        C042("code-042"),
+        C043("code-043"),
+        C044("code-044"),
+        C045("code-045"),
+        C046("code-046"),
+        C047("code-047"),
+        C048("code-048"),
+        C049("code-049"),
+        C050("code-050"),
+        C051("code-051"),
+        C052("code-052"),
+        C053("code-053"),
+        C054("code-054"),
+        C055("code-055"),
+        C056("code-056"),
+        C057("code-057"),
+        C058("code-058"),
+        C059("code-059"),
+        C060("code-060"),
+        C061("code-061"),
+        C062("code-062"),
+        C063("code-063"),
+        C064("code-064"),
+        C065("code-065"),
+        C066("code-066"),
+        C067("code-067"),
+        C068("code-068"),
+        C069("code-069"),
+        C070("code-070"),
+        C071("code-071"),
+        C072("code-072"),
+        C073("code-073"),
+        C074("code-074"),
+        C075("code-075"),
+        C076("code-076"),
+        C077("code-077"),
+        C078("code-078"),
+        C079("code-079"),
+        C080("code-080"),
+        C081("code-081"),
+        C082("code-082"),
+        C083("code-083"),
+        C084("code-084"),
+        C085("code-085"),
+        C086("code-086"),
+        C087("code-087"),
+        C088("code-088"),
+        C089("code-089"),
+        C090("code-090"),
+        C091("code-091"),
+        C092("code-092"),
+        C093("code-093"),
+        C094("code-094"),
+        C095("code-095"),
+        C096("code-096"),
+        C097("code-097"),
+        C098("code-098"),
+        C099("code-099"),
+        C100("code-100"),
+        C101("code-101"),
+        C102("code-102"),
+        C103("code-103"),
+        C104("code-104"),
+        C105("code-105"),
+        C106("code-106"),
+        C107("code-107"),
+        C108("code-108"),
+        C109("code-109"),
+        C110("code-110"),
+        C111("code-111"),
+        C112("code-112"),
+        C113("code-113"),
+        C114("code-114"),
+        C115("code-115"),
+        C116("code-116"),
+        C117("code-117"),
+        C118("code-118"),
+        C119("code-119"),
+        C120("code-120"),
+        C121("code-121"),
+        C122("code-122"),
+        C123("code-123"),
+        C124("code-124"),
+        C125("code-125"),
+        C126("code-126"),
+        C127("code-127"),
+        C128("code-128"),
+        C129("code-129"),
+        C130("code-130"),
+        C131("code-131"),
+        C132("code-132"),
+        C133("code-133"),
+        C134("code-134"),
+        C135("code-135"),
+        C136("code-136"),
+        C137("code-137"),
+        C138("code-138"),
+        C139("code-139"),
+        C140("code-140"),
+        C141("code-141"),
+        C142("code-142"),
+        C143("code-143"),
+        C144("code-144"),
+        C145("code-145"),
+        C146("code-146"),
+        C147("code-147"),
+        C148("code-148"),
+        C149("code-149"),
+        C150("code-150"),
+        C151("code-151"),
+        C152("code-152"),
+        C153("code-153"),
+        C154("code-154"),
+        C155("code-155"),
+        C156("code-156"),
+        C157("code-157"),
+        C158("code-158"),
+        C159("code-159"),
+        C160("code-160"),
+        C161("code-161"),
+        C162("code-162"),
+        C163("code-163"),
+        C164("code-164"),
+        C165("code-165"),
+        C166("code-166"),
+        C167("code-167"),
+        C168("code-168"),
+        C169("code-169"),
+        C170("code-170"),
+        C171("code-171"),
+        C172("code-172"),
+        C173("code-173"),
+        C174("code-174"),
+        C175("code-175"),
+        C176("code-176"),
+        C177("code-177"),
+        C178("code-178"),
+        C179("code-179"),
+        C180("code-180"),
+        C181("code-181"),
+        C182("code-182"),
+        C183("code-183"),
+        C184("code-184"),
+        C185("code-185"),
+        C186("code-186"),
+        C187("code-187"),
+        C188("code-188"),
+        C189("code-189"),
+        C190("code-190"),
+        C191("code-191"),
+        C192("code-192"),
+        C193("code-193"),
+        C194("code-194"),
+        C195("code-195"),
+        C196("code-196"),
+        C197("code-197"),
+        C198("code-198"),
+        C199("code-199");
+
+        private final String code;
+
+        LargeCode(String code) {
+            this.code = code;
+        }
+
+        @Override
+        public String getCode() {
+            return code;
+        }
+    }
+
+    private static final String[] CODES = Arrays.stream(LargeCode.values()).map(LargeCode::getCode)
+                    .toArray(String[]::new);
+    private static final FieldInfo INFO = fieldInfo().fieldId(() -> "LARGE_CODE").type(LargeCode.class)
+                    .codeLookup(true).build();
+    private static final CodeValuableEnumTypeAdapter ADAPTER = new CodeValuableEnumTypeAdapter();
+
+    @Benchmark
+    public void linear_scan(Blackhole blackhole) {
+        for (String code : CODES) {
+            LargeCode value = Arrays.stream(LargeCode.class.getEnumConstants()).filter(e -> e.getCode().equals(code))
+                            .findFirst().orElse(null);
+            if (blackhole != null) {
+                blackhole.consume(value);
+            }
+        }
+    }
+
+    @Benchmark
+    public void helper_parse_code(Blackhole blackhole) {
+        for (String code : CODES) {
+            LargeCode value = CodeValuable.Helper.parseCode(LargeCode.class, code, null);
+            if (blackhole != null) {
+                blackhole.consume(value);
+            }
+        }
+    }
+
+    @Benchmark
+    public void type_adapter(Blackhole blackhole) {
+        for (String code : CODES) {
+            Object value = ADAPTER.fromString(INFO, code);
+            if (blackhole != null) {
+                blackhole.consume(value);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.sample.benchmark;
+
+import static io.doov.sample.field.SampleFieldId.COUNTRY;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.doov.core.*;
+import io.doov.sample.model.Country;
+import io.doov.sample.model.SampleModels;
+import io.doov.sample.wrapper.SampleModelWrapper;
+
+/**
+ * Compares taking a consistent copy of a model for validation: a {@link BaseFieldModel} copy against a
+ * {@link VersionedFieldModel} snapshot, and a single field update on both.
+ */
+@Fork(value = 1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BenchmarkSnapshot {
+
+    @State(Scope.Benchmark)
+    public static class SnapshotState {
+
+        BaseFieldModel base = new BaseFieldModel(new SampleModelWrapper(SampleModels.sample()));
+        VersionedFieldModel versioned = new VersionedFieldModel(new SampleModelWrapper(SampleModels.sample()));
+
+    }
+
+    @Benchmark
+    public void base_copy(SnapshotState state, Blackhole blackhole) {
+        FieldModel copy = new BaseFieldModel(state.base);
+        boolean valid = BenchmarkRule.COUNTRY.executeOn(copy).value();
+        if (blackhole != null) {
+            blackhole.consume(valid);
+        }
+    }
+
+    @Benchmark
+    public void versioned_snapshot(SnapshotState state, Blackhole blackhole) {
+        FieldModel copy = new VersionedFieldModel(state.versioned.snapshot());
+        boolean valid = BenchmarkRule.COUNTRY.executeOn(copy).value();
+        if (blackhole != null) {
+            blackhole.consume(valid);
+        }
+    }
+
+    @Benchmark
+    public void base_set(SnapshotState state) {
+        state.base.set(COUNTRY, Country.FR);
+    }
+
+    @Benchmark
+    public void versioned_set(SnapshotState state) {
+        state.versioned.set(COUNTRY, Country.FR);
+    }
+
+}
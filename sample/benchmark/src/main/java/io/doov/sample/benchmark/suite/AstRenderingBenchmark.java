@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.sample.benchmark.suite;
+
+import static io.doov.core.dsl.meta.i18n.ResourceBundleProvider.BUNDLE;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.core.dsl.meta.ast.AstHtmlReport;
+import io.doov.core.dsl.meta.ast.AstMarkdownVisitor;
+
+/**
+ * Rendering of the syntax tree of a rule of {@code ruleSize} conditions.
+ */
+@Fork(value = 1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AstRenderingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class RenderingState {
+
+        @Param({ "1", "10", "100" })
+        int ruleSize;
+
+        ValidationRule rule;
+        AstHtmlReport html = new AstHtmlReport(Locale.US);
+
+        @Setup
+        public void setup() {
+            rule = SuiteRules.rule(ruleSize);
+        }
+
+    }
+
+    @Benchmark
+    public void readable(RenderingState state, Blackhole blackhole) {
+        blackhole.consume(state.rule.readable());
+    }
+
+    @Benchmark
+    public void markdown(RenderingState state, Blackhole blackhole) {
+        StringBuilder sb = new StringBuilder();
+        new AstMarkdownVisitor(sb, BUNDLE, Locale.US).browse(state.rule.metadata(), 0);
+        blackhole.consume(sb);
+    }
+
+    @Benchmark
+    public void html(RenderingState state, Blackhole blackhole) {
+        blackhole.consume(state.html.render(state.rule));
+    }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.sample.benchmark.suite;
+
+import static io.doov.core.dsl.impl.SamplingPolicy.traceNone;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.doov.core.FieldModel;
+import io.doov.core.dsl.lang.ValidationRule;
+
+/**
+ * Execution of the same rule on the same model by concurrent threads. The traced executions contend on the
+ * evaluation counters of the syntax tree, the untraced ones do not.
+ * <p>
+ * The number of threads is set by {@link SuiteRunner}, this benchmark is run once per thread count.
+ */
+@Fork(value = 1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ContentionBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class SharedState {
+
+        @Param({ "WRAPPER", "GENERIC" })
+        ModelKind kind;
+
+        FieldModel model;
+        ValidationRule rule;
+
+        @Setup
+        public void setup() {
+            model = kind.create();
+            rule = SuiteRules.rule(10);
+        }
+
+    }
+
+    @Benchmark
+    public void validate_shared(SharedState state, Blackhole blackhole) {
+        blackhole.consume(state.rule.executeOn(state.model).value());
+    }
+
+    @Benchmark
+    public void validate_shared_untraced(SharedState state, Blackhole blackhole) {
+        blackhole.consume(traceNone().execute(state.rule, state.model).value());
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.sample.benchmark.suite;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.doov.core.FieldModel;
+import io.doov.core.dsl.mapping.MappingRegistry;
+
+/**
+ * Execution of a mapping registry of {@code mappingSize} rules between two models of the same kind.
+ */
+@Fork(value = 1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MappingBenchmark {
+
+    @State(Scope.Thread)
+    public static class MappingState {
+
+        @Param({ "WRAPPER", "RUNTIME", "BASE", "GENERIC" })
+        ModelKind kind;
+
+        @Param({ "1", "10", "100" })
+        int mappingSize;
+
+        FieldModel in;
+        FieldModel out;
+        MappingRegistry mappings;
+
+        @Setup
+        public void setup() {
+            in = kind.create();
+            out = kind.create();
+            mappings = SuiteRules.mappings(mappingSize);
+        }
+
+    }
+
+    @Benchmark
+    public void map(MappingState state, Blackhole blackhole) {
+        blackhole.consume(state.mappings.executeOn(state.in, state.out));
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.sample.benchmark.suite;
+
+import java.util.stream.IntStream;
+
+import io.doov.benchmark.model.*;
+import io.doov.core.BaseFieldModel;
+import io.doov.core.FieldModel;
+import io.doov.core.dsl.runtime.GenericModel;
+import io.doov.core.dsl.runtime.RuntimeModel;
+
+/**
+ * The kinds of {@link FieldModel} compared by the suite, all holding the same {@link BenchmarkModel}.
+ */
+public enum ModelKind {
+
+    /**
+     * The generated {@link BenchmarkModelWrapper}.
+     */
+    WRAPPER {
+        @Override
+        public FieldModel create(BenchmarkModel model) {
+            return new BenchmarkModelWrapper(model);
+        }
+    },
+
+    /**
+     * A {@link RuntimeModel} on the {@link RuntimePaths} registry.
+     */
+    RUNTIME {
+        @Override
+        public FieldModel create(BenchmarkModel model) {
+            return new RuntimeModel<>(RuntimePaths.INSTANCE, model);
+        }
+    },
+
+    /**
+     * A {@link BaseFieldModel} copy of the generated wrapper.
+     */
+    BASE {
+        @Override
+        public FieldModel create(BenchmarkModel model) {
+            return new BaseFieldModel(new BenchmarkModelWrapper(model));
+        }
+    },
+
+    /**
+     * A {@link GenericModel} filled with the values of the generated wrapper.
+     */
+    GENERIC {
+        @Override
+        public FieldModel create(BenchmarkModel model) {
+            GenericModel generic = new GenericModel();
+            new BenchmarkModelWrapper(model).stream().forEach(e -> generic.set(e.getKey(), e.getValue()));
+            return generic;
+        }
+    };
+
+    /**
+     * @param model the model
+     * @return the field model of this kind on the given model
+     */
+    public abstract FieldModel create(BenchmarkModel model);
+
+    /**
+     * @return a new field model of this kind on a valid driver with 9 friends
+     */
+    public FieldModel create() {
+        Driver driver = new Driver("driver", 42, true);
+        IntStream.rangeClosed(1, 9).forEach(i -> driver.addFriend(new Friend("friend " + i)));
+        BenchmarkModel model = new BenchmarkModel();
+        model.setDriver(driver);
+        return create(model);
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.sample.benchmark.suite;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.doov.core.FieldModel;
+import io.doov.core.dsl.lang.RuleRegistry;
+
+/**
+ * Execution of all the rules of a registry of {@code registrySize} rules, by model kind.
+ */
+@Fork(value = 1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RegistryScalingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class RegistryState {
+
+        @Param({ "WRAPPER", "RUNTIME", "BASE", "GENERIC" })
+        ModelKind kind;
+
+        @Param({ "10", "100", "1000" })
+        int registrySize;
+
+        FieldModel model;
+        RuleRegistry registry;
+
+        @Setup
+        public void setup() {
+            model = kind.create();
+            registry = SuiteRules.registry(registrySize);
+        }
+
+    }
+
+    @Benchmark
+    public void execute_registry(RegistryState state, Blackhole blackhole) {
+        state.registry.stream().forEach(rule -> blackhole.consume(rule.executeOn(state.model).value()));
+    }
+
+}
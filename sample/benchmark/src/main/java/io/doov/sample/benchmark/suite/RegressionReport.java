@@ -0,0 +1,303 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.sample.benchmark.suite;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Compares the JMH JSON results of {@link SuiteRunner} against a baseline, and exits with status 1 if a benchmark
+ * regressed by more than the threshold.
+ * <p>
+ * A benchmark is identified by its name, thread count and parameters. It regresses when its primary score is worse
+ * than the baseline (lower for throughput, higher for the time modes), or when its normalized allocation rate
+ * {@code gc.alloc.rate.norm} is higher than the baseline by more than the threshold and {@link #ALLOCATION_SLACK}
+ * bytes per operation.
+ * <p>
+ * A current score that is not a finite number, as written by a failed benchmark, is a regression. A baseline score
+ * that is not a finite positive number cannot be compared: the benchmark is reported {@code UNCOMPARED} unless its
+ * allocation rate regressed. The allocation rates are only compared when both are finite.
+ * <p>
+ * Usage: {@code RegressionReport <baseline.json> <results.json> [threshold percent, default 10]}.
+ */
+public final class RegressionReport {
+
+    static final double ALLOCATION_SLACK = 16;
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private RegressionReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: RegressionReport <baseline.json> <results.json> [threshold percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) / 100 : 0.1;
+        List<String> regressions = compare(read(args[0]), read(args[1]), threshold, System.out);
+        System.out.println(regressions.size() + " regression(s) above " + threshold * 100 + "%");
+        if (!regressions.isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Compares the given results, printing a line by benchmark.
+     *
+     * @param baseline the baseline results, by benchmark key
+     * @param current the current results, by benchmark key
+     * @param threshold the relative threshold, 0.1 for 10%
+     * @param out the report output
+     * @return the keys of the regressed benchmarks
+     */
+    static List<String> compare(Map<String, Map<String, Object>> baseline, Map<String, Map<String, Object>> current,
+            double threshold, Appendable out) throws IOException {
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Object>> entry : current.entrySet()) {
+            String key = entry.getKey();
+            Map<String, Object> before = baseline.get(key);
+            if (before == null) {
+                out.append(String.format("NEW         %s%n", key));
+                continue;
+            }
+            boolean throughput = "thrpt".equals(entry.getValue().get("mode"));
+            double scoreBefore = score(before.get("primaryMetric"));
+            double scoreAfter = score(entry.getValue().get("primaryMetric"));
+            boolean comparable = Double.isFinite(scoreBefore) && scoreBefore > 0 && Double.isFinite(scoreAfter);
+            double change = comparable ? (scoreAfter - scoreBefore) / scoreBefore : Double.NaN;
+            boolean regressed = !Double.isFinite(scoreAfter)
+                    || comparable && (throughput ? change < -threshold : change > threshold);
+
+            double allocBefore = allocation(before);
+            double allocAfter = allocation(entry.getValue());
+            boolean allocRegressed = Double.isFinite(allocBefore) && Double.isFinite(allocAfter)
+                    && allocAfter > allocBefore * (1 + threshold) + ALLOCATION_SLACK;
+
+            String status = regressed || allocRegressed ? "REGRESSION" : comparable ? "OK" : "UNCOMPARED";
+            out.append(String.format("%-11s %s: score %.3f -> %.3f (%s), alloc %.1f -> %.1f B/op%n", status, key,
+                    scoreBefore, scoreAfter, comparable ? String.format("%+.1f%%", change * 100) : "n/a",
+                    allocBefore, allocAfter));
+            if (regressed || allocRegressed) {
+                regressions.add(key);
+            }
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                out.append(String.format("MISSING     %s%n", key));
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * Reads a JMH JSON result file.
+     *
+     * @param path the path of the file
+     * @return the results, by benchmark key
+     */
+    static Map<String, Map<String, Object>> read(String path) throws IOException {
+        return parse(new String(Files.readAllBytes(Paths.get(path)), UTF_8));
+    }
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Map<String, Object>> parse(String json) {
+        Map<String, Map<String, Object>> results = new TreeMap<>();
+        for (Object result : (List<Object>) new JsonReader(json).read()) {
+            Map<String, Object> benchmark = (Map<String, Object>) result;
+            results.put(key(benchmark), benchmark);
+        }
+        return results;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String key(Map<String, Object> benchmark) {
+        StringBuilder key = new StringBuilder().append(benchmark.get("benchmark"))
+                .append(" threads=").append(((Number) benchmark.get("threads")).intValue());
+        Object params = benchmark.get("params");
+        if (params != null) {
+            new TreeMap<>((Map<String, Object>) params).forEach((k, v) -> key.append(' ').append(k).append('=')
+                    .append(v));
+        }
+        return key.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static double score(Object metric) {
+        Object score = metric == null ? null : ((Map<String, Object>) metric).get("score");
+        // JMH writes the scores that are not a number as strings
+        return score instanceof Number ? ((Number) score).doubleValue() : Double.NaN;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static double allocation(Map<String, Object> benchmark) {
+        Map<String, Object> secondary = (Map<String, Object>) benchmark.get("secondaryMetrics");
+        if (secondary == null) {
+            return 0;
+        }
+        return secondary.entrySet().stream().filter(e -> e.getKey().endsWith(ALLOCATION))
+                .mapToDouble(e -> score(e.getValue())).findFirst().orElse(0);
+    }
+
+    /**
+     * Minimal reader of the JSON written by JMH: objects, arrays, strings, numbers, booleans and null.
+     */
+    private static final class JsonReader {
+
+        private final String json;
+        private int pos;
+
+        JsonReader(String json) {
+            this.json = json;
+        }
+
+        Object read() {
+            skipWhitespace();
+            char c = json.charAt(pos);
+            switch (c) {
+                case '{':
+                    return readObject();
+                case '[':
+                    return readArray();
+                case '"':
+                    return readString();
+                case 't':
+                    return literal("true", Boolean.TRUE);
+                case 'f':
+                    return literal("false", Boolean.FALSE);
+                case 'n':
+                    return literal("null", null);
+                default:
+                    return readNumber();
+            }
+        }
+
+        private Map<String, Object> readObject() {
+            Map<String, Object> object = new LinkedHashMap<>();
+            pos++;
+            skipWhitespace();
+            if (json.charAt(pos) == '}') {
+                pos++;
+                return object;
+            }
+            do {
+                skipWhitespace();
+                String name = readString();
+                skipWhitespace();
+                expect(':');
+                object.put(name, read());
+                skipWhitespace();
+            } while (json.charAt(pos++) == ',');
+            if (json.charAt(pos - 1) != '}') {
+                throw new IllegalArgumentException("expected '}' at " + (pos - 1));
+            }
+            return object;
+        }
+
+        private List<Object> readArray() {
+            List<Object> array = new ArrayList<>();
+            pos++;
+            skipWhitespace();
+            if (json.charAt(pos) == ']') {
+                pos++;
+                return array;
+            }
+            do {
+                array.add(read());
+                skipWhitespace();
+            } while (json.charAt(pos++) == ',');
+            if (json.charAt(pos - 1) != ']') {
+                throw new IllegalArgumentException("expected ']' at " + (pos - 1));
+            }
+            return array;
+        }
+
+        private String readString() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            char c;
+            while ((c = json.charAt(pos++)) != '"') {
+                if (c == '\\') {
+                    c = json.charAt(pos++);
+                    switch (c) {
+                        case 'n':
+                            sb.append('\n');
+                            break;
+                        case 't':
+                            sb.append('\t');
+                            break;
+                        case 'r':
+                            sb.append('\r');
+                            break;
+                        case 'b':
+                            sb.append('\b');
+                            break;
+                        case 'f':
+                            sb.append('\f');
+                            break;
+                        case 'u':
+                            sb.append((char) Integer.parseInt(json.substring(pos, pos + 4), 16));
+                            pos += 4;
+                            break;
+                        default:
+                            sb.append(c);
+                    }
+                } else {
+                    sb.append(c);
+                }
+            }
+            return sb.toString();
+        }
+
+        private Object readNumber() {
+            int start = pos;
+            while (pos < json.length() && "+-.eE0123456789".indexOf(json.charAt(pos)) >= 0) {
+                pos++;
+            }
+            if (start == pos) {
+                throw new IllegalArgumentException("unexpected character at " + pos);
+            }
+            return Double.parseDouble(json.substring(start, pos));
+        }
+
+        private Object literal(String literal, Object value) {
+            if (!json.startsWith(literal, pos)) {
+                throw new IllegalArgumentException("expected " + literal + " at " + pos);
+            }
+            pos += literal.length();
+            return value;
+        }
+
+        private void expect(char c) {
+            if (json.charAt(pos) != c) {
+                throw new IllegalArgumentException("expected '" + c + "' at " + pos);
+            }
+            pos++;
+        }
+
+        private void skipWhitespace() {
+            while (Character.isWhitespace(json.charAt(pos))) {
+                pos++;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.sample.benchmark.suite;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.doov.benchmark.model.BenchmarkModelWrapper;
+import io.doov.core.FieldInfo;
+import io.doov.core.FieldModel;
+
+/**
+ * Conversion of all the fields of a model to and from strings with its type adapters, by model kind.
+ */
+@Fork(value = 1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SerializationBenchmark {
+
+    @State(Scope.Thread)
+    public static class SerializationState {
+
+        @Param({ "WRAPPER", "RUNTIME", "BASE", "GENERIC" })
+        ModelKind kind;
+
+        List<FieldInfo> fieldInfos = BenchmarkModelWrapper.fieldInfos();
+        FieldModel model;
+        String[] values;
+
+        @Setup
+        public void setup() {
+            model = kind.create();
+            values = fieldInfos.stream().map(model::getAsString).toArray(String[]::new);
+        }
+
+    }
+
+    @Benchmark
+    public void to_strings(SerializationState state, Blackhole blackhole) {
+        for (FieldInfo info : state.fieldInfos) {
+            blackhole.consume(state.model.getAsString(info));
+        }
+    }
+
+    @Benchmark
+    public void from_strings(SerializationState state) {
+        for (int i = 0; i < state.values.length; i++) {
+            state.model.setAsString(state.fieldInfos.get(i), state.values[i]);
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.sample.benchmark.suite;
+
+import static io.doov.benchmark.model.dsl.DslBenchmarkModel.*;
+import static io.doov.core.dsl.DOOV.map;
+import static io.doov.core.dsl.DOOV.matchAll;
+import static io.doov.core.dsl.DOOV.when;
+
+import java.util.stream.IntStream;
+
+import io.doov.core.dsl.impl.DefaultRuleRegistry;
+import io.doov.core.dsl.lang.*;
+import io.doov.core.dsl.mapping.MappingRegistry;
+
+/**
+ * Rules and mappings of increasing size on the benchmark model, all true on {@link ModelKind#create()}.
+ */
+final class SuiteRules {
+
+    private SuiteRules() {
+    }
+
+    static StepCondition condition(int index) {
+        switch (index % 4) {
+            case 0:
+                return name.isNotNull();
+            case 1:
+                return age.greaterOrEquals(18);
+            case 2:
+                return drivingLicense.isTrue();
+            default:
+                return friendName(index % 9 + 1).startsWith("friend");
+        }
+    }
+
+    static ValidationRule rule(int size) {
+        return when(matchAll(IntStream.range(0, size).mapToObj(SuiteRules::condition).toArray(StepCondition[]::new)))
+                .validate();
+    }
+
+    static RuleRegistry registry(int size) {
+        RuleRegistry registry = new DefaultRuleRegistry();
+        IntStream.range(0, size).forEach(i -> when(condition(i)).validate().registerOn(registry));
+        return registry;
+    }
+
+    static MappingRegistry mappings(int size) {
+        return MappingRegistry.mappings(IntStream.range(0, size)
+                .mapToObj(i -> map(friendName(i % 9 + 1)).to(friendName((i + 1) % 9 + 1)))
+                .toArray(MappingRule[]::new));
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.sample.benchmark.suite;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatFactory;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.NoBenchmarksException;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks of this package with the gc profiler, and writes all the results in a single JMH JSON file
+ * that can be compared with {@link RegressionReport}.
+ * <p>
+ * Usage: {@code SuiteRunner <results.json> [include regexp]}. The {@link ContentionBenchmark} is run once per
+ * thread count of {@link #THREADS}, the other benchmarks with a single thread.
+ */
+public final class SuiteRunner {
+
+    static final int[] THREADS = { 1, 2, 4, 8 };
+
+    private static final String SUITE = SuiteRunner.class.getPackage().getName() + ".";
+
+    private SuiteRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, FileNotFoundException {
+        if (args.length < 1) {
+            System.err.println("usage: SuiteRunner <results.json> [include regexp]");
+            System.exit(2);
+        }
+        File output = new File(args[0]);
+        String include = args.length > 1 ? args[1] : ".*";
+
+        List<RunResult> results = new ArrayList<>();
+        String contention = ContentionBenchmark.class.getSimpleName();
+        results.addAll(run(options(include).exclude(contention).threads(1)));
+        for (int threads : THREADS) {
+            results.addAll(run(options(include).exclude("^(?!.*" + contention + ").*").threads(threads)));
+        }
+
+        if (output.getParentFile() != null) {
+            output.getParentFile().mkdirs();
+        }
+        try (PrintStream out = new PrintStream(output)) {
+            ResultFormatFactory.getInstance(ResultFormatType.JSON, out).writeOut(results);
+        }
+        System.out.println("results written to " + output);
+    }
+
+    private static ChainedOptionsBuilder options(String include) {
+        return new OptionsBuilder().include(SUITE + include).addProfiler(GCProfiler.class);
+    }
+
+    private static Collection<RunResult> run(ChainedOptionsBuilder options) throws RunnerException {
+        try {
+            return new Runner(options.build()).run();
+        } catch (NoBenchmarksException e) {
+            return Collections.emptyList();
+        }
+    }
+
+}
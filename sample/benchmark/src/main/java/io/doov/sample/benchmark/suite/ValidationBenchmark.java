@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.sample.benchmark.suite;
+
+import static io.doov.core.dsl.impl.SamplingPolicy.traceNone;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.doov.core.FieldModel;
+import io.doov.core.dsl.lang.ValidationRule;
+
+/**
+ * Execution of a rule of {@code ruleSize} conditions, by model kind.
+ */
+@Fork(value = 1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ValidationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ValidationState {
+
+        @Param({ "WRAPPER", "RUNTIME", "BASE", "GENERIC" })
+        ModelKind kind;
+
+        @Param({ "1", "10", "100" })
+        int ruleSize;
+
+        FieldModel model;
+        ValidationRule rule;
+
+        @Setup
+        public void setup() {
+            model = kind.create();
+            rule = SuiteRules.rule(ruleSize);
+        }
+
+    }
+
+    @Benchmark
+    public void validate(ValidationState state, Blackhole blackhole) {
+        blackhole.consume(state.rule.executeOn(state.model).value());
+    }
+
+    @Benchmark
+    public void validate_untraced(ValidationState state, Blackhole blackhole) {
+        blackhole.consume(traceNone().execute(state.rule, state.model).value());
+    }
+
+}
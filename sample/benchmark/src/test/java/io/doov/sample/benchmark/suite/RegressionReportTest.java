@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.sample.benchmark.suite;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @see RegressionReport
+ */
+public class RegressionReportTest {
+
+    private static final String KEY = "io.doov.Bench.run threads=1 size=10";
+
+    @Test
+    public void should_parse_jmh_results() {
+        Map<String, Map<String, Object>> results = RegressionReport.parse("[ {\n"
+                + "  \"benchmark\" : \"io.doov.Bench.run\", \"mode\" : \"thrpt\", \"threads\" : 1,\n"
+                + "  \"params\" : { \"size\" : \"10\" },\n"
+                + "  \"primaryMetric\" : { \"score\" : 1.5E3, \"scoreUnit\" : \"ops/ms\" },\n"
+                + "  \"secondaryMetrics\" : { \"\\u00b7gc.alloc.rate.norm\" : { \"score\" : 24 } }\n"
+                + "} ]");
+        assertThat(results).containsOnlyKeys(KEY);
+        assertThat(results.get(KEY)).containsEntry("mode", "thrpt");
+        assertThat(((Map<?, ?>) results.get(KEY).get("secondaryMetrics")).keySet())
+                .containsExactly("\u00b7gc.alloc.rate.norm");
+    }
+
+    @Test
+    public void should_reject_malformed_json() {
+        assertThatThrownBy(() -> RegressionReport.parse("[ { \"benchmark\" ; 1 } ]"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void should_report_score_regressions() throws IOException {
+        StringBuilder out = new StringBuilder();
+        assertThat(RegressionReport.compare(results("thrpt", "1000", "0"), results("thrpt", "950", "0"), 0.1, out))
+                .isEmpty();
+        assertThat(out).startsWith("OK ").contains("(-5.0%)");
+        assertThat(RegressionReport.compare(results("thrpt", "1000", "0"), results("thrpt", "800", "0"), 0.1, out))
+                .containsExactly(KEY);
+        assertThat(RegressionReport.compare(results("avgt", "1000", "0"), results("avgt", "800", "0"), 0.1, out))
+                .isEmpty();
+        assertThat(RegressionReport.compare(results("avgt", "1000", "0"), results("avgt", "1200", "0"), 0.1, out))
+                .containsExactly(KEY);
+    }
+
+    @Test
+    public void should_report_allocation_regressions() throws IOException {
+        StringBuilder out = new StringBuilder();
+        assertThat(RegressionReport.compare(results("thrpt", "1000", "0"), results("thrpt", "1000", "16"), 0.1, out))
+                .isEmpty();
+        assertThat(RegressionReport.compare(results("thrpt", "1000", "100"), results("thrpt", "1000", "200"), 0.1,
+                out)).containsExactly(KEY);
+    }
+
+    @Test
+    public void should_not_compare_non_finite_baselines() throws IOException {
+        for (String baseline : new String[] { "0", "\"NaN\"", "\"Infinity\"" }) {
+            StringBuilder out = new StringBuilder();
+            List<String> regressions = RegressionReport.compare(results("thrpt", baseline, "0"),
+                    results("thrpt", "1000", "0"), 0.1, out);
+            assertThat(regressions).isEmpty();
+            assertThat(out).startsWith("UNCOMPARED").contains("(n/a)").doesNotContain("Infinity%")
+                    .doesNotContain("NaN%");
+        }
+    }
+
+    @Test
+    public void should_report_failed_benchmarks() throws IOException {
+        StringBuilder out = new StringBuilder();
+        assertThat(RegressionReport.compare(results("thrpt", "1000", "0"), results("thrpt", "\"NaN\"", "\"NaN\""),
+                0.1, out)).containsExactly(KEY);
+        assertThat(out).startsWith("REGRESSION").contains("(n/a)");
+    }
+
+    @Test
+    public void should_report_new_and_missing_benchmarks() throws IOException {
+        StringBuilder out = new StringBuilder();
+        Map<String, Map<String, Object>> other = RegressionReport.parse("[ { \"benchmark\" : \"io.doov.Bench.other\","
+                + " \"mode\" : \"thrpt\", \"threads\" : 1, \"primaryMetric\" : { \"score\" : 1 } } ]");
+        assertThat(RegressionReport.compare(other, results("thrpt", "1000", "0"), 0.1, out)).isEmpty();
+        assertThat(out).contains("NEW         " + KEY).contains("MISSING     io.doov.Bench.other threads=1");
+    }
+
+    private static Map<String, Map<String, Object>> results(String mode, String score, String allocation) {
+        return RegressionReport.parse("[ { \"benchmark\" : \"io.doov.Bench.run\", \"mode\" : \"" + mode + "\","
+                + " \"threads\" : 1, \"params\" : { \"size\" : \"10\" }, \"primaryMetric\" : { \"score\" : " + score
+                + " }, \"secondaryMetrics\" : { \"\\u00b7gc.alloc.rate.norm\" : { \"score\" : " + allocation
+                + " } } } ]");
+    }
+
+}
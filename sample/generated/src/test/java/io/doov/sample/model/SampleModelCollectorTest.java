@@ -18,12 +18,18 @@ package io.doov.sample.model;
 import static io.doov.sample.wrapper.SampleModelWrapper.toConcurrentFieldModel;
 import static io.doov.sample.wrapper.SampleModelWrapper.toFieldModel;
 
+import java.util.Map.Entry;
+import java.util.stream.Collector;
+
 import org.assertj.core.api.Assertions;
 import org.assertj.core.api.SoftAssertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import io.doov.core.ConcurrentFieldModel;
+import io.doov.core.FieldId;
 import io.doov.core.FieldModel;
+import io.doov.core.FieldModels;
 import io.doov.sample.field.SampleFieldId;
 import io.doov.sample.field.SampleFieldInfo;
 import io.doov.sample.wrapper.SampleModelWrapper;
@@ -51,6 +57,23 @@ public class SampleModelCollectorTest {
         should_collect_all_values_when_collect(target, source);
     }
 
+    @Test
+    public void should_collect_all_values_when_collect_parallel_concurrent_model() {
+        ConcurrentFieldModel target = source.parallelStream()
+                        .collect(FieldModels.toConcurrentFieldModel(new ConcurrentFieldModel(source.getFieldInfos())));
+        should_collect_all_values_when_collect(target, source);
+    }
+
+    @Test
+    public void should_not_keep_values_when_collector_is_reused() {
+        SampleModelWrapper target = new SampleModelWrapper();
+        Collector<Entry<FieldId, Object>, ?, SampleModelWrapper> collector = FieldModels.toConcurrentFieldModel(target);
+        source.parallelStream().collect(collector);
+        target.clear();
+        new SampleModelWrapper().parallelStream().collect(collector);
+        Assertions.assertThat(target.<String> get(SampleFieldId.EMAIL)).isNull();
+    }
+
     @Test
     public void should_setter_and_getter_work() {
         final SampleModelWrapper wrapper = new SampleModelWrapper();
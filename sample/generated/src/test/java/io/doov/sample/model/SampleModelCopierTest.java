@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.sample.model;
+
+import static io.doov.core.dsl.DOOV.map;
+import static io.doov.core.dsl.DOOV.mappings;
+import static io.doov.core.dsl.mapping.TypeConverters.converter;
+import static io.doov.sample.field.SampleFieldId.*;
+import static io.doov.sample.field.dsl.DslSampleModel.*;
+import static io.doov.sample.model.SampleModels.sample;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.BaseFieldModel;
+import io.doov.core.FieldInfo;
+import io.doov.core.ModelCopier;
+import io.doov.core.ModelCopiers;
+import io.doov.core.dsl.lang.Context;
+import io.doov.core.dsl.mapping.MappingRegistry;
+import io.doov.sample.wrapper.SampleModelWrapper;
+
+public class SampleModelCopierTest {
+
+    @Test
+    public void should_copy_all_fields() {
+        SampleModelWrapper in = new SampleModelWrapper(sample());
+        SampleModelWrapper out = new SampleModelWrapper(new SampleModel());
+
+        ModelCopier<SampleModelWrapper, SampleModelWrapper> copier =
+                ModelCopiers.copier(SampleModelWrapper.class, SampleModelWrapper.class);
+        assertThat(copier).isNotNull();
+        copier.copy(in, out);
+
+        for (FieldInfo info : in.getFieldInfos()) {
+            assertThat((Object) out.get(info.id())).as(info.id().code()).isEqualTo(in.get(info.id()));
+        }
+    }
+
+    @Test
+    public void should_index_corresponding_fields() {
+        ModelCopier<SampleModelWrapper, SampleModelWrapper> copier =
+                ModelCopiers.copier(SampleModelWrapper.class, SampleModelWrapper.class);
+        assertThat(copier.index(EMAIL, EMAIL)).isNotNegative();
+        assertThat(copier.index(EMAIL, LOGIN)).isEqualTo(-1);
+    }
+
+    @Test
+    public void should_map_fields_with_copier() {
+        MappingRegistry mappings = mappings(
+                map(accountEmail).to(accountEmail),
+                map(configurationMinAge).to(configurationMinAge),
+                map(favoriteSiteUrl2).to(favoriteSiteUrl2),
+                map(userFirstName).using(converter(String::length, 0, "length")).to(configurationMaxEmailSize));
+        SampleModelWrapper in = new SampleModelWrapper(sample());
+        SampleModelWrapper out = new SampleModelWrapper(new SampleModel());
+
+        Context context = mappings.validateAndExecute(in, out);
+
+        assertThat(out.getModel().getAccount().getEmail()).isEqualTo("foo@bar.com");
+        assertThat(out.getModel().getConfiguration().getMinAge()).isEqualTo(18);
+        assertThat(out.getModel().getAccount().getTop3WebSite()).hasSize(2);
+        assertThat(out.getModel().getAccount().getTop3WebSite().get(0)).isNull();
+        assertThat(out.getModel().getAccount().getTop3WebSite().get(1).getUrl()).isEqualTo("www.bing.com");
+        assertThat(out.getModel().getConfiguration().getMaxEmailSize()).isEqualTo(3);
+        assertThat(context.getEvalValue(EMAIL)).isEqualTo("foo@bar.com");
+        assertThat(context.getEvalValue(CONFIGURATION_MIN_AGE)).isEqualTo(18);
+    }
+
+    @Test
+    public void should_mark_copied_fields_dirty() {
+        MappingRegistry mappings = mappings(
+                map(accountEmail).to(accountEmail),
+                map(configurationMinAge).to(configurationMinAge));
+        SampleModelWrapper in = new SampleModelWrapper(sample());
+        SampleModelWrapper out = new SampleModelWrapper(new SampleModel());
+
+        mappings.validateAndExecute(in, out);
+
+        assertThat(out.isDirty(EMAIL)).isTrue();
+        assertThat(out.isDirty(CONFIGURATION_MIN_AGE)).isTrue();
+        assertThat(out.dirtyFields().cardinality()).isEqualTo(2);
+
+        out.resetDirty();
+        ModelCopiers.copier(SampleModelWrapper.class, SampleModelWrapper.class).copy(in, out);
+
+        assertThat(out.isDirty(EMAIL)).isTrue();
+        assertThat(out.isDirty(FIRST_NAME)).isTrue();
+    }
+
+    @Test
+    public void should_map_alternating_model_classes() {
+        MappingRegistry mappings = mappings(map(accountEmail).to(accountEmail));
+        SampleModelWrapper in = new SampleModelWrapper(sample());
+
+        for (int i = 0; i < 3; i++) {
+            SampleModelWrapper wrapper = new SampleModelWrapper(new SampleModel());
+            BaseFieldModel base = new BaseFieldModel(SampleModelWrapper.fieldInfos());
+            mappings.validateAndExecute(in, wrapper);
+            mappings.validateAndExecute(in, base);
+            assertThat(wrapper.<String> get(EMAIL)).isEqualTo("foo@bar.com");
+            assertThat(base.<String> get(EMAIL)).isEqualTo("foo@bar.com");
+        }
+    }
+
+}
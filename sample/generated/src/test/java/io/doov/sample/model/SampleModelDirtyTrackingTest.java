@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.sample.model;
+
+import static io.doov.core.dsl.DOOV.map;
+import static io.doov.core.dsl.DOOV.mappings;
+import static io.doov.core.dsl.DOOV.when;
+import static io.doov.sample.field.SampleFieldId.*;
+import static io.doov.sample.field.dsl.DslSampleModel.*;
+import static io.doov.sample.model.SampleModels.sample;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.dsl.impl.DefaultRuleRegistry;
+import io.doov.core.dsl.impl.IncrementalExecution;
+import io.doov.core.dsl.lang.Result;
+import io.doov.core.dsl.lang.RuleRegistry;
+import io.doov.core.dsl.mapping.MappingRegistry;
+import io.doov.sample.wrapper.SampleModelWrapper;
+
+public class SampleModelDirtyTrackingTest {
+
+    private SampleModelWrapper wrapper;
+
+    @BeforeEach
+    public void before() {
+        wrapper = new SampleModelWrapper(sample());
+    }
+
+    @Test
+    public void should_mark_set_fields_dirty() {
+        assertThat(wrapper.dirtyFields().isEmpty()).isTrue();
+
+        wrapper.set(EMAIL, "bar@foo.com");
+        wrapper.setAsString(CONFIGURATION_MIN_AGE, "21");
+
+        assertThat(wrapper.isDirty(EMAIL)).isTrue();
+        assertThat(wrapper.isDirty(CONFIGURATION_MIN_AGE)).isTrue();
+        assertThat(wrapper.isDirty(FIRST_NAME)).isFalse();
+        assertThat(wrapper.dirtyFields().cardinality()).isEqualTo(2);
+
+        wrapper.resetDirty();
+
+        assertThat(wrapper.dirtyFields().isEmpty()).isTrue();
+    }
+
+    @Test
+    public void should_only_execute_rules_reading_dirty_fields() {
+        RuleRegistry registry = new DefaultRuleRegistry();
+        when(accountEmail.isNotNull()).validate().registerOn(registry);
+        when(configurationMinAge.greaterThan(10)).validate().registerOn(registry);
+        when(accountEmail.isNull().and(userFirstName.isNotNull())).validate().registerOn(registry);
+        IncrementalExecution execution = registry.incrementalOn(wrapper);
+
+        List<Result> first = execution.execute();
+        assertThat(execution.evaluated()).isEqualTo(3);
+        assertThat(first).extracting(Result::value).containsExactly(true, true, false);
+
+        List<Result> second = execution.execute();
+        assertThat(execution.evaluated()).isEqualTo(0);
+        assertThat(second).containsExactlyElementsOf(first);
+
+        wrapper.set(CONFIGURATION_MIN_AGE, 5);
+        assertThat(execution.execute()).extracting(Result::value).containsExactly(true, false, false);
+        assertThat(execution.evaluated()).isEqualTo(1);
+
+        // the third rule short-circuits on the email and does not read the first name
+        wrapper.set(FIRST_NAME, null);
+        execution.execute();
+        assertThat(execution.evaluated()).isEqualTo(0);
+
+        wrapper.set(EMAIL, null);
+        assertThat(execution.execute()).extracting(Result::value).containsExactly(false, false, false);
+        assertThat(execution.evaluated()).isEqualTo(2);
+        assertThat(execution.reads(2).get(wrapper.fieldInfoIndex().ordinal(FIRST_NAME))).isTrue();
+    }
+
+    @Test
+    public void should_execute_rules_reading_mapped_fields() {
+        RuleRegistry registry = new DefaultRuleRegistry();
+        when(accountEmail.isNotNull()).validate().registerOn(registry);
+        when(configurationMinAge.greaterThan(10)).validate().registerOn(registry);
+        SampleModel model = sample();
+        model.getAccount().setEmail(null);
+        SampleModelWrapper target = new SampleModelWrapper(model);
+        IncrementalExecution execution = registry.incrementalOn(target);
+        assertThat(execution.execute()).extracting(Result::value).containsExactly(false, true);
+
+        MappingRegistry mappings = mappings(map(accountEmail).to(accountEmail));
+        mappings.validateAndExecute(wrapper, target);
+
+        assertThat(execution.execute()).extracting(Result::value).containsExactly(true, true);
+        assertThat(execution.evaluated()).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 Courtanet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.doov.sample.model;
+
+import static io.doov.sample.field.SampleFieldId.*;
+import static io.doov.sample.field.dsl.DslSampleModel.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.dsl.lang.Result;
+import io.doov.core.dsl.lang.StepCondition;
+import io.doov.sample.wrapper.SampleModelWrapper;
+
+public class SampleModelPrimitiveTest {
+
+    private SampleModel model;
+    private SampleModelWrapper wrapper;
+
+    @BeforeEach
+    public void before() {
+        model = new SampleModel();
+        wrapper = new SampleModelWrapper(model);
+    }
+
+    private static Result execute(StepCondition condition, SampleModelWrapper wrapper) {
+        return when(condition).validate().withShortCircuit(false).executeOn(wrapper);
+    }
+
+    @Test
+    public void should_read_null_paths_as_null() {
+        model.setConfiguration(null);
+        model.setAccount(null);
+        assertThat(wrapper.isNull(CONFIGURATION_MIN_AGE)).isTrue();
+        assertThat(wrapper.getInt(CONFIGURATION_MIN_AGE)).isEqualTo(0);
+        assertThat(wrapper.getBoolean(CONFIGURATION_MAILING_CAMPAIGN)).isFalse();
+        assertThat(wrapper.isNull(EMAIL)).isTrue();
+    }
+
+    @Test
+    public void should_read_primitive_values() {
+        model.setConfiguration(new Configuration());
+        model.getConfiguration().setMinAge(18);
+        model.getConfiguration().setMaxLong(Long.MAX_VALUE);
+        model.getConfiguration().setMaxDouble(1.5d);
+        model.getConfiguration().setMaxFloat(2.5f);
+        model.getConfiguration().setMailingCampaign(true);
+
+        assertThat(wrapper.isNull(CONFIGURATION_MIN_AGE)).isFalse();
+        assertThat(wrapper.getInt(CONFIGURATION_MIN_AGE)).isEqualTo(18);
+        assertThat(wrapper.getLong(CONFIGURATION_MAX_LONG)).isEqualTo(Long.MAX_VALUE);
+        assertThat(wrapper.getDouble(CONFIGURATION_MAX_DOUBLE)).isEqualTo(1.5d);
+        assertThat(wrapper.getDouble(CONFIGURATION_MAX_FLOAT)).isEqualTo(2.5d);
+        assertThat(wrapper.getBoolean(CONFIGURATION_MAILING_CAMPAIGN)).isTrue();
+    }
+
+    @Test
+    public void should_evaluate_conditions_on_primitive_values() {
+        model.setConfiguration(null);
+        assertThat(execute(configurationMinAge.greaterOrEquals(18), wrapper).value()).isFalse();
+        assertThat(execute(configurationMailingCampaign.not(), wrapper).value()).isFalse();
+
+        model.setConfiguration(new Configuration());
+        model.getConfiguration().setMinAge(18);
+        model.getConfiguration().setMaxFloat(2.5f);
+        model.getConfiguration().setMaxDouble(-0d);
+
+        Result result = execute(configurationMinAge.greaterOrEquals(18)
+                .and(configurationMinAge.lesserThan(18).not())
+                .and(configurationMaxFloat.lesserThan(3f))
+                .and(configurationMaxDouble.lesserThan(0d).not())
+                .and(configurationMailingCampaign.isFalse()), wrapper);
+        assertThat(result.value()).isTrue();
+        assertThat(result.getContext().getEvalValue(CONFIGURATION_MIN_AGE)).isEqualTo(18);
+        assertThat(result.getContext().getEvalValue(CONFIGURATION_MAX_FLOAT)).isEqualTo(2.5f);
+        assertThat(result.getContext().getEvalValue(CONFIGURATION_MAILING_CAMPAIGN)).isEqualTo(false);
+    }
+
+}
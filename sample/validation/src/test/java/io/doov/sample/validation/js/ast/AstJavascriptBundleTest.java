@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.sample.validation.js.ast;
+
+import static io.doov.core.dsl.impl.DefaultRuleRegistry.REGISTRY_DEFAULT;
+import static io.doov.core.dsl.meta.i18n.ResourceBundleProvider.BUNDLE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import javax.script.ScriptException;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import io.doov.core.dsl.lang.ValidationRule;
+import io.doov.js.ast.AstJavascriptBundle;
+import io.doov.js.ast.AstJavascriptVisitor;
+import io.doov.js.ast.ScriptEnginePool;
+import io.doov.sample.validation.SampleRules;
+
+/**
+ * @see AstJavascriptBundle
+ */
+public class AstJavascriptBundleTest {
+
+    private static final String CONFIGURATION = "{max:{email:{size:24}}, min:{age:18}}";
+    private static final String ACCOUNT = "{email:\"potato@tomato.fr\", creation:{date:\"2012-10-10\"}, "
+                    + "country:\"FR\", company:\"LESFURETS.COM\", phone:{number:\"+334567890120\"}, "
+                    + "timezone:\"2014-06-01T12:00:00-04:00\"}";
+    private static final String USER = "{id:\"notnull\", birthdate:\"1980\", first:{name:\"french\"}, "
+                    + "last:{name:\"FRIES\"}}";
+
+    private static final ScriptEnginePool POOL = new ScriptEnginePool(1);
+
+    @BeforeAll
+    public static void init() {
+        new SampleRules();
+    }
+
+    private static String bundle() {
+        ByteArrayOutputStream ops = new ByteArrayOutputStream();
+        new AstJavascriptBundle("rules", BUNDLE, Locale.ENGLISH).write(REGISTRY_DEFAULT, ops);
+        return new String(ops.toByteArray(), UTF_8);
+    }
+
+    @Test
+    void field_accessors_are_shared() {
+        String bundle = bundle();
+
+        assertThat(bundle.split("\\[\"account\",\"email\"\\]", -1)).hasSize(2);
+        assertThat(bundle).doesNotContain("account.email");
+        assertThat(bundle.split("function count\\(", -1)).hasSize(2);
+    }
+
+    @Test
+    void bundle_evaluates_like_each_rule() throws ScriptException {
+        List<ValidationRule> rules = REGISTRY_DEFAULT.stream().collect(Collectors.toList());
+        String model = "var model = {configuration:" + CONFIGURATION + ", account:" + ACCOUNT + ", user:" + USER
+                        + "};";
+        @SuppressWarnings("unchecked")
+        List<Object> results = (List<Object>) POOL.eval(bundle(), model,
+                        "Java.to(rules.validate(model), 'java.util.List')");
+
+        assertThat(results).hasSize(rules.size());
+        String globals = "var configuration = " + CONFIGURATION + "; var account = " + ACCOUNT + "; var user = "
+                        + USER + ";";
+        int compared = 0;
+        for (int i = 0; i < rules.size(); i++) {
+            ByteArrayOutputStream ops = new ByteArrayOutputStream();
+            new AstJavascriptVisitor(ops, BUNDLE, Locale.ENGLISH).browse(rules.get(i).metadata(), 0);
+            Object expected;
+            try {
+                expected = POOL.eval(globals, new String(ops.toByteArray(), UTF_8));
+            } catch (ScriptException e) {
+                // positional fields like favorite.site.name.1 are only valid javascript in the bundle
+                continue;
+            }
+            assertThat(results.get(i)).as(rules.get(i).readable()).isEqualTo(expected);
+            compared++;
+        }
+        assertThat(compared).isGreaterThan(rules.size() / 2);
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) by Courtanet, All Rights Reserved.
+ */
+package io.doov.sample.validation.js.engine;
+
+import static io.doov.core.dsl.meta.i18n.ResourceBundleProvider.BUNDLE;
+import static io.doov.sample.validation.SampleRules.RULE_EMAIL;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+import java.util.concurrent.*;
+
+import javax.script.CompiledScript;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+
+import org.junit.jupiter.api.Test;
+
+import io.doov.js.ast.AstJavascriptVisitor;
+import io.doov.js.ast.ScriptEngineFactory;
+import io.doov.js.ast.ScriptEnginePool;
+
+/**
+ * @see ScriptEnginePool
+ */
+public class ScriptEnginePoolTest {
+
+    private static final String VALID = "var account = {email:\"potato@tomato.fr\"};";
+    private static final String INVALID = "var account = {email:\"potato\"};";
+
+    private static String javascript() {
+        ByteArrayOutputStream ops = new ByteArrayOutputStream();
+        new AstJavascriptVisitor(ops, BUNDLE, Locale.ENGLISH).browse(RULE_EMAIL.metadata(), 0);
+        return new String(ops.toByteArray(), UTF_8);
+    }
+
+    @Test
+    void eval_like_a_new_engine() throws ScriptException {
+        ScriptEnginePool pool = new ScriptEnginePool(1);
+        ScriptEngine engine = ScriptEngineFactory.create();
+        engine.eval(VALID);
+
+        assertThat(pool.eval(VALID, javascript())).isEqualTo(engine.eval(javascript()));
+        assertThat(pool.eval(INVALID, javascript())).isEqualTo(false);
+        assertThat(pool.eval("typeof moment(\"2018-01-01\").isBefore")).isEqualTo("function");
+    }
+
+    @Test
+    void compiled_scripts_are_cached() throws ScriptException {
+        ScriptEnginePool pool = new ScriptEnginePool(1);
+
+        assertThat(pool.compile(javascript())).isSameAs(pool.compile(javascript()));
+    }
+
+    @Test
+    void declared_globals_are_reset() throws ScriptException {
+        ScriptEnginePool pool = new ScriptEnginePool(1);
+        pool.eval(VALID);
+
+        assertThat(pool.eval("typeof account")).isEqualTo("undefined");
+    }
+
+    @Test
+    void mutated_globals_are_reset() throws ScriptException {
+        ScriptEnginePool pool = new ScriptEnginePool(1);
+        pool.eval("moment.leaked = 1; moment.fn.leaked = 1;");
+
+        assertThat(pool.eval("typeof moment.leaked + ' ' + typeof moment().leaked")).isEqualTo("undefined undefined");
+    }
+
+    @Test
+    void replaced_globals_are_restored() throws ScriptException {
+        ScriptEnginePool pool = new ScriptEnginePool(1);
+        pool.eval("moment = null; moment2 = 1;");
+
+        assertThat(pool.eval("typeof moment + ' ' + typeof moment2")).isEqualTo("function undefined");
+    }
+
+    @Test
+    void moment_locale_is_restored() throws ScriptException {
+        ScriptEnginePool pool = new ScriptEnginePool(1);
+        pool.eval("moment.locale('fr'); moment.locale();");
+
+        assertThat(pool.eval("moment.locale()")).isEqualTo("en");
+    }
+
+    @Test
+    void moment_is_evaluated_once() throws ScriptException {
+        ScriptEnginePool pool = new ScriptEnginePool(1);
+
+        assertThat(pool.eval("moment")).isEqualTo(pool.eval("moment"));
+    }
+
+    @Test
+    void reset_does_not_evict_cached_scripts() throws ScriptException {
+        ScriptEnginePool pool = new ScriptEnginePool(1, 2);
+        CompiledScript compiled = pool.compile(javascript());
+        pool.eval(VALID);
+
+        assertThat(pool.compile(javascript())).isSameAs(compiled);
+    }
+
+    @Test
+    void concurrent_eval() throws Exception {
+        ScriptEnginePool pool = new ScriptEnginePool(2);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                String model = i % 2 == 0 ? VALID : INVALID;
+                results.add(executor.submit(() -> pool.eval(model, javascript())));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertThat(results.get(i).get()).isEqualTo(i % 2 == 0);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}